@@ -0,0 +1,89 @@
+package pl.boleklolek.benchmark;
+
+import pl.boleklolek.loop.Updateable;
+import pl.boleklolek.model.kernel.VehicleStore;
+import pl.boleklolek.model.speedometer.dynamics.KinematicDynamics;
+import pl.boleklolek.model.speedometer.dynamics.LongitudinalDynamics;
+import pl.boleklolek.model.speedometer.dynamics.VehicleDynamics;
+import pl.boleklolek.model.speedometer.dynamics.enums.Integrator;
+
+/**
+ * Ta klasa mierzy koszt jednego kroku pojazdu (vehicle-tick) dla każdego modelu dynamiki.
+ * Jedna operacja to aktualizacja prędkości jednego pojazdu w magazynie stanu pojazdów; kierowca naprzemiennie
+ * przyspiesza, jedzie na biegu jałowym i hamuje, aby model pracował w całym zakresie prędkości i biegów.
+ * Dodatkowo dla każdego modelu wypisywany jest czas rozpędzania od 0 do 100 km/h.
+ */
+public class DynamicsBenchmark
+{
+    /**
+     * Liczba kroków jednej fazy jazdy (gaz, bieg jałowy, hamowanie).
+     */
+    private static final int PHASE = 2_000;
+    /**
+     * Mierzone modele dynamiki.
+     */
+    private static final VehicleDynamics[] MODELS = {
+            KinematicDynamics.DEFAULT,
+            LongitudinalDynamics.passengerCar(Integrator.SEMI_IMPLICIT_EULER),
+            LongitudinalDynamics.passengerCar(Integrator.RK4)
+    };
+
+    /**
+     * Konstruktor prywatny.
+     */
+    private DynamicsBenchmark()
+    {
+    }
+
+    /**
+     * Uruchamia benchmark.
+     *
+     * @param args argumenty wejścia
+     * @throws Exception wyjątek rzucony przez mierzoną operację
+     */
+    public static void main(String[] args) throws Exception
+    {
+        MicroBenchmark.printHeader();
+        for (VehicleDynamics model : MODELS)
+        {
+            VehicleStore store = new VehicleStore(1);
+            int slot = store.allocate();
+            store.setMaxSpeed(slot, 230.0);
+            store.setDynamics(slot, model);
+            int[] step = new int[1];
+            MicroBenchmark.run(model.toString(), () ->
+            {
+                int phase = step[0]++ / PHASE % 3;
+                store.setPedal(slot, 1 - phase);
+                store.updateSpeed(slot, Updateable.STEP);
+                return store;
+            });
+        }
+
+        System.out.println();
+        System.out.printf("%-32s %16s%n", "model", "0-100 km/h [s]");
+        for (VehicleDynamics model : MODELS)
+        {
+            System.out.printf("%-32s %16.2f%n", model, timeTo(model, 100.0));
+        }
+    }
+
+    /**
+     * Wyznacza czas rozpędzania przy pełnym gazie do zadanej prędkości.
+     *
+     * @param model model dynamiki
+     * @param speed prędkość docelowa (km/h)
+     * @return czas rozpędzania w sekundach
+     */
+    private static double timeTo(VehicleDynamics model, double speed)
+    {
+        double v = 0.0;
+        int steps = 0;
+        while (v < speed)
+        {
+            v = model.integrate(v, 1.0, Updateable.STEP);
+            steps++;
+        }
+        return steps * Updateable.STEP;
+    }
+}
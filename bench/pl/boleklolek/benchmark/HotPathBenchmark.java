@@ -0,0 +1,105 @@
+package pl.boleklolek.benchmark;
+
+import pl.boleklolek.dao.xml.MemoryXML;
+import pl.boleklolek.dao.xml.Settings;
+import pl.boleklolek.loop.Updateable;
+import pl.boleklolek.model.Dashboard;
+import pl.boleklolek.model.computer.Computer;
+import pl.boleklolek.model.computer.Memory;
+import pl.boleklolek.model.lights.Lights;
+import pl.boleklolek.model.odometer.Odometer;
+import pl.boleklolek.model.snapshot.DashboardSnapshot;
+import pl.boleklolek.model.speedometer.Speedometer;
+
+/**
+ * Ta klasa mierzy ścieżkę krytyczną symulacji: kroki prędkościomierza, komputera pokładowego, licznika przebiegu
+ * i całej deski rozdzielczej, a także gettery wywoływane przez interfejs graficzny w każdej klatce
+ * (kopiujące tablice, ich indeksowane odpowiedniki bez alokacji oraz publikację i odczyt migawek stanu).
+ * Argumenty wejścia (opcjonalne) filtrują benchmarki po fragmencie nazwy.
+ */
+public class HotPathBenchmark
+{
+    /**
+     * Dystans dodawany do licznika w jednym kroku (km, ok. 100 km/h przy kroku 10 ms).
+     */
+    private static final double DISTANCE = 100.0 / 3600 * Updateable.STEP;
+
+    /**
+     * Konstruktor prywatny.
+     */
+    private HotPathBenchmark()
+    {
+    }
+
+    /**
+     * Uruchamia benchmarki.
+     *
+     * @param args fragmenty nazw benchmarków do uruchomienia (wszystkie, gdy brak)
+     * @throws Exception wyjątek rzucony przez mierzoną operację
+     */
+    public static void main(String[] args) throws Exception
+    {
+        Dashboard dashboard = new Dashboard(new MemoryXML(), new Settings(), new Odometer(), new Lights(), new Memory());
+        dashboard.startComputer();
+        dashboard.accelerateCar();
+        dashboard.applyInputs();
+        Speedometer speedometer = dashboard.getSpeedometer();
+        Computer computer = dashboard.getComputer();
+        Odometer odometer = dashboard.getOdometer();
+        DashboardSnapshot snapshot = new DashboardSnapshot();
+
+        MicroBenchmark.printHeader();
+        run(args, "Speedometer.update", () ->
+        {
+            speedometer.update(Updateable.STEP);
+            return speedometer;
+        });
+        run(args, "Computer.update", () ->
+        {
+            computer.update(Updateable.STEP);
+            return computer;
+        });
+        run(args, "Odometer.addDistance", () ->
+        {
+            odometer.addDistance(DISTANCE);
+            return odometer;
+        });
+        run(args, "Dashboard.update", () ->
+        {
+            dashboard.update(Updateable.STEP);
+            return dashboard;
+        });
+        run(args, "Computer.getTrips", computer::getTrips);
+        run(args, "Odometer.getDailyMileages", odometer::getDailyMileages);
+        run(args, "Computer.getTrip", () -> computer.getTrip(0));
+        run(args, "Odometer.getDailyMileage", () -> odometer.getDailyMileage(0));
+        run(args, "Dashboard.publishSnapshot", () ->
+        {
+            dashboard.publishSnapshot();
+            return dashboard;
+        });
+        run(args, "Dashboard.readSnapshot", () -> dashboard.readSnapshot(snapshot));
+        System.exit(0);
+    }
+
+    /**
+     * Uruchamia benchmark, jeżeli jego nazwa pasuje do filtra.
+     *
+     * @param filters   fragmenty nazw benchmarków
+     * @param name      nazwa benchmarku
+     * @param operation operacja
+     * @throws Exception wyjątek rzucony przez operację
+     */
+    private static void run(String[] filters, String name, MicroBenchmark.Operation operation) throws Exception
+    {
+        boolean selected = filters.length == 0;
+        for (String filter : filters)
+        {
+            selected |= name.contains(filter);
+        }
+        if (selected)
+        {
+            MicroBenchmark.run(name, operation);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package pl.boleklolek.benchmark;
+
+import pl.boleklolek.loop.TimingWheel;
+import pl.boleklolek.loop.Updateable;
+import pl.boleklolek.model.computer.Computer;
+import pl.boleklolek.model.computer.Memory;
+import pl.boleklolek.model.kernel.VehicleStore;
+import pl.boleklolek.model.odometer.Odometer;
+import pl.boleklolek.model.speedometer.Speedometer;
+
+/**
+ * Ta klasa porównuje wydajność aktualizacji pojazdów obiekt po obiekcie z aktualizacją blokową magazynu stanu pojazdów.
+ * Dla kolejnych rozmiarów floty wypisuje liczbę aktualizacji pojazdów na sekundę.
+ */
+public class KernelBenchmark
+{
+    /**
+     * Rozmiary floty.
+     */
+    private static final int[] SIZES = {1, 10, 100, 1_000, 10_000, 100_000};
+    /**
+     * Docelowa liczba aktualizacji pojazdów w jednym pomiarze.
+     */
+    private static final long WORK = 50_000_000L;
+
+    /**
+     * Konstruktor prywatny.
+     */
+    private KernelBenchmark()
+    {
+    }
+
+    /**
+     * Uruchamia benchmark.
+     *
+     * @param args argumenty wejścia
+     */
+    public static void main(String[] args)
+    {
+        System.out.printf("%10s %18s %18s%n", "pojazdy", "obiekty [tick/s]", "blok [tick/s]");
+        for (int size : SIZES)
+        {
+            int steps = (int) Math.max(WORK / size, 10);
+            measureObjects(size, steps / 10);
+            measureBlock(size, steps / 10);
+            double objects = measureObjects(size, steps);
+            double block = measureBlock(size, steps);
+            System.out.printf("%10d %18.0f %18.0f%n", size, objects, block);
+        }
+    }
+
+    /**
+     * Mierzy aktualizację pojazdów obiekt po obiekcie.
+     *
+     * @param size  liczba pojazdów
+     * @param steps liczba kroków
+     * @return liczba aktualizacji pojazdów na sekundę
+     */
+    private static double measureObjects(int size, int steps)
+    {
+        Speedometer[] speedometers = new Speedometer[size];
+        Computer[] computers = new Computer[size];
+        for (int i = 0; i < size; i++)
+        {
+            speedometers[i] = new Speedometer();
+            speedometers[i].setPedal(i % 50 / 49.0);
+            computers[i] = new Computer(new Memory(), speedometers[i], new Odometer(), new TimingWheel());
+        }
+        long start = System.nanoTime();
+        for (int s = 0; s < steps; s++)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                speedometers[i].update(Updateable.STEP);
+                computers[i].update(Updateable.STEP);
+            }
+        }
+        return rate((long) size * steps, start);
+    }
+
+    /**
+     * Mierzy aktualizację blokową magazynu stanu pojazdów.
+     *
+     * @param size  liczba pojazdów
+     * @param steps liczba kroków
+     * @return liczba aktualizacji pojazdów na sekundę
+     */
+    private static double measureBlock(int size, int steps)
+    {
+        VehicleStore store = new VehicleStore(size);
+        for (int i = 0; i < size; i++)
+        {
+            int slot = store.allocate();
+            store.setMaxSpeed(slot, 230.0);
+            store.setPedal(slot, i % 50 / 49.0);
+        }
+        long start = System.nanoTime();
+        for (int s = 0; s < steps; s++)
+        {
+            store.update(Updateable.STEP);
+        }
+        return rate((long) size * steps, start);
+    }
+
+    /**
+     * Przelicza liczbę aktualizacji na aktualizacje na sekundę.
+     *
+     * @param ticks liczba aktualizacji
+     * @param start czas rozpoczęcia pomiaru (nanosekundy)
+     * @return liczba aktualizacji na sekundę
+     */
+    private static double rate(long ticks, long start)
+    {
+        return ticks / ((System.nanoTime() - start) / 1e9);
+    }
+}
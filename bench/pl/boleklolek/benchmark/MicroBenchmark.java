@@ -0,0 +1,159 @@
+package pl.boleklolek.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Ta klasa jest prostym harnessem mikrobenchmarków (wzorowanym na JMH z profilerem GC).
+ * Każda operacja jest rozgrzewana, a następnie mierzona w kilku iteracjach o stałym czasie.
+ * Raportowana jest przepustowość (operacje na sekundę), liczba bajtów alokowanych na operację,
+ * tempo alokacji oraz liczba odśmiecań w czasie pomiaru.
+ */
+public class MicroBenchmark
+{
+    /**
+     * Liczba iteracji rozgrzewających.
+     */
+    private static final int WARMUP_ITERATIONS = 3;
+    /**
+     * Liczba iteracji pomiarowych.
+     */
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    /**
+     * Czas trwania jednej iteracji (nanosekundy).
+     */
+    private static final long ITERATION_NANOS = 1_000_000_000L;
+    /**
+     * Liczba operacji wykonywanych między kolejnymi odczytami zegara.
+     */
+    private static final int BATCH = 1_000;
+
+    /**
+     * Ujście wyników operacji, które zapobiega ich usunięciu przez kompilator JIT.
+     */
+    private static Object sink;
+
+    /**
+     * Konstruktor prywatny.
+     */
+    private MicroBenchmark()
+    {
+    }
+
+    /**
+     * Wypisuje nagłówek tabeli wyników.
+     */
+    public static void printHeader()
+    {
+        System.out.printf("%-32s %16s %10s %10s %12s %8s%n", "benchmark", "ops/s", "± [%]", "B/op", "alok. [MB/s]", "GC");
+    }
+
+    /**
+     * Mierzy operację i wypisuje wiersz z wynikami.
+     *
+     * @param name      nazwa benchmarku
+     * @param operation operacja
+     * @throws Exception wyjątek rzucony przez operację
+     */
+    public static void run(String name, Operation operation) throws Exception
+    {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+        {
+            iteration(operation);
+        }
+
+        double[] throughput = new double[MEASUREMENT_ITERATIONS];
+        long ops = 0;
+        long nanos = 0;
+        long gcBefore = gcCount();
+        long bytesBefore = allocatedBytes();
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++)
+        {
+            long[] result = iteration(operation);
+            ops += result[0];
+            nanos += result[1];
+            throughput[i] = result[0] / (result[1] / 1e9);
+        }
+        long bytes = allocatedBytes() - bytesBefore;
+        long gc = gcCount() - gcBefore;
+
+        double mean = ops / (nanos / 1e9);
+        double variance = 0.0;
+        for (double value : throughput)
+        {
+            variance += (value - mean) * (value - mean);
+        }
+        double error = Math.sqrt(variance / throughput.length) / mean * 100.0;
+        System.out.printf("%-32s %16.0f %10.1f %10.1f %12.1f %8d%n", name, mean, error, (double) bytes / ops, bytes / (nanos / 1e9) / (1024 * 1024), gc);
+    }
+
+    /**
+     * Wykonuje jedną iterację o stałym czasie.
+     *
+     * @param operation operacja
+     * @return tablica z liczbą operacji i czasem trwania iteracji w nanosekundach
+     * @throws Exception wyjątek rzucony przez operację
+     */
+    private static long[] iteration(Operation operation) throws Exception
+    {
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do
+        {
+            for (int i = 0; i < BATCH; i++)
+            {
+                sink = operation.run();
+            }
+            ops += BATCH;
+            elapsed = System.nanoTime() - start;
+        }
+        while (elapsed < ITERATION_NANOS);
+        return new long[]{ops, elapsed};
+    }
+
+    /**
+     * Zwraca liczbę bajtów zaalokowanych przez bieżący wątek.
+     *
+     * @return liczba bajtów lub 0, gdy maszyna wirtualna nie udostępnia tego pomiaru
+     */
+    private static long allocatedBytes()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Zwraca łączną liczbę odśmiecań wszystkich kolektorów.
+     *
+     * @return liczba odśmiecań
+     */
+    private static long gcCount()
+    {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            count += Math.max(bean.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    /**
+     * Ten interfejs opisuje mierzoną operację.
+     */
+    @FunctionalInterface
+    public interface Operation
+    {
+        /**
+         * Wykonuje operację.
+         *
+         * @return wynik operacji (trafia do ujścia, aby nie został usunięty przez kompilator JIT)
+         * @throws Exception wyjątek rzucony przez operację
+         */
+        Object run() throws Exception;
+    }
+}
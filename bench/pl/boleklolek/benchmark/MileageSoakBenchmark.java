@@ -0,0 +1,85 @@
+package pl.boleklolek.benchmark;
+
+import pl.boleklolek.loop.Updateable;
+import pl.boleklolek.model.kernel.VehicleStore;
+import pl.boleklolek.model.odometer.Mileage;
+
+/**
+ * Ta klasa sprawdza dokładność sumowania przebiegów w długim przebiegu symulacji.
+ * Pojazdy jadą ze stałymi prędkościami, zaczynając od dużego przebiegu całkowitego, a po zadanej liczbie dni
+ * przejechany dystans (z magazynu stanu pojazdów, z powiązanego z nim przebiegu dziennego i ze zwykłej sumy
+ * typu double) porównywany jest z dystansem wyliczonym analitycznie (prędkość razy czas).
+ * Argument wejścia (opcjonalny) to liczba symulowanych dni.
+ */
+public class MileageSoakBenchmark
+{
+    /**
+     * Domyślna liczba symulowanych dni.
+     */
+    private static final int DEFAULT_DAYS = 30;
+    /**
+     * Początkowy przebieg całkowity (km).
+     */
+    private static final double INIT_MILEAGE = 300_000.0;
+    /**
+     * Prędkości pojazdów (km/h).
+     */
+    private static final double[] SPEEDS = {7.3, 50.0, 90.0, 133.7, 230.0};
+
+    /**
+     * Konstruktor prywatny.
+     */
+    private MileageSoakBenchmark()
+    {
+    }
+
+    /**
+     * Uruchamia benchmark.
+     *
+     * @param args liczba symulowanych dni (opcjonalnie)
+     */
+    public static void main(String[] args)
+    {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DAYS;
+        long steps = (long) days * 24 * 60 * 60 * Updateable.DELTA_TIME;
+
+        VehicleStore store = new VehicleStore(SPEEDS.length);
+        int[] slots = new int[SPEEDS.length];
+        Mileage[] dailyMileages = new Mileage[SPEEDS.length];
+        double[] plain = new double[SPEEDS.length];
+        double[] increment = new double[SPEEDS.length];
+        for (int i = 0; i < SPEEDS.length; i++)
+        {
+            slots[i] = store.allocate();
+            store.setMaxSpeed(slots[i], SPEEDS[i]);
+            store.setSpeed(slots[i], SPEEDS[i]);
+            store.setTotalMileage(slots[i], INIT_MILEAGE);
+            dailyMileages[i] = new Mileage();
+            dailyMileages[i].bind(store, slots[i]);
+            plain[i] = INIT_MILEAGE;
+            increment[i] = SPEEDS[i] * (Updateable.STEP / 3600);
+        }
+
+        long start = System.nanoTime();
+        for (long s = 0; s < steps; s++)
+        {
+            store.update(Updateable.STEP);
+            for (int i = 0; i < plain.length; i++)
+            {
+                plain[i] += increment[i];
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Dni: %d, kroki: %d, czas: %.1f s%n", days, steps, seconds);
+        System.out.printf("%10s %18s %14s %14s %14s%n", "km/h", "analitycznie [km]", "suma [m]", "magazyn [m]", "dzienny [m]");
+        for (int i = 0; i < SPEEDS.length; i++)
+        {
+            double exact = SPEEDS[i] * steps / Updateable.DELTA_TIME / 3600;
+            double total = store.getTotalMileage(slots[i]) - INIT_MILEAGE;
+            double daily = dailyMileages[i].get();
+            System.out.printf("%10.1f %18.3f %14.6f %14.6f %14.6f%n", SPEEDS[i], exact,
+                    (plain[i] - INIT_MILEAGE - exact) * 1000, (total - exact) * 1000, (daily - exact) * 1000);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package pl.boleklolek.benchmark;
+
+import pl.boleklolek.model.computer.ColumnarTripStore;
+import pl.boleklolek.model.computer.Memory;
+import pl.boleklolek.model.computer.TripRecord;
+import pl.boleklolek.model.computer.trip.SpeedSketch;
+import pl.boleklolek.model.computer.trip.Trip;
+import pl.boleklolek.model.odometer.Mileage;
+import pl.boleklolek.model.odometer.MileageException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ta klasa porównuje przechowywanie podróży jako obiektów (lista, pamięć komputera pokładowego) z magazynem
+ * kolumnowym. Dla każdego sposobu wypisuje zajętość sterty na podróż, a następnie przepustowość sumowania
+ * przebiegów wszystkich podróży (podróże na sekundę).
+ * Argument wejścia (opcjonalny) to liczba podróży.
+ */
+public class TripStoreBenchmark
+{
+    /**
+     * Domyślna liczba podróży.
+     */
+    private static final int DEFAULT_TRIPS = 200_000;
+    /**
+     * Liczba powtórzeń sumowania.
+     */
+    private static final int REPEATS = 20;
+
+    /**
+     * Konstruktor prywatny.
+     */
+    private TripStoreBenchmark()
+    {
+    }
+
+    /**
+     * Uruchamia benchmark.
+     *
+     * @param args liczba podróży (opcjonalnie)
+     * @throws MileageException wyjątek przebiegu
+     */
+    public static void main(String[] args) throws MileageException
+    {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TRIPS;
+
+        long before = usedHeap();
+        List<Trip> list = createTrips(count);
+        long listBytes = usedHeap() - before;
+
+        before = usedHeap();
+        Memory memory = new Memory();
+        for (Trip trip : list)
+        {
+            memory.add(trip);
+        }
+        long memoryBytes = usedHeap() - before + listBytes;
+
+        before = usedHeap();
+        ColumnarTripStore store = new ColumnarTripStore(count);
+        store.addAll(list);
+        long storeBytes = usedHeap() - before;
+
+        System.out.printf("Podróże: %d%n", count);
+        System.out.printf("%-28s %14s%n", "przechowywanie", "sterta [B/podróż]");
+        System.out.printf("%-28s %14.1f%n", "lista obiektów", (double) listBytes / count);
+        System.out.printf("%-28s %14.1f%n", "pamięć (z indeksami)", (double) memoryBytes / count);
+        System.out.printf("%-28s %14.1f%n", "magazyn kolumnowy", (double) storeBytes / count);
+
+        System.out.println();
+        System.out.printf("%-28s %18s%n", "sumowanie przebiegów", "podróże/s");
+        ToDoubleFunction<Trip> distance = trip -> trip.getMileage().get();
+        System.out.printf("%-28s %18.0f%n", "lista obiektów", measure(count, () -> sum(list)));
+        System.out.printf("%-28s %18.0f%n", "pamięć (strumień)", measure(count, () -> memory.stream().mapToDouble(distance).sum()));
+        System.out.printf("%-28s %18.0f%n", "kopie (strumień)", measure(count, () -> store.stream().mapToDouble(distance).sum()));
+        System.out.printf("%-28s %18.0f%n", "rekordy (strumień)", measure(count, () -> store.records().mapToDouble(TripRecord::getMileage).sum()));
+        System.out.printf("%-28s %18.0f%n", "rekordy (równolegle)", measure(count, () -> store.records().parallel().mapToDouble(TripRecord::getMileage).sum()));
+        System.out.printf("%-28s %18.0f%n", "kolumna", measure(count, store::getTotalMileage));
+    }
+
+    /**
+     * Tworzy listę podróży o losowych wartościach.
+     *
+     * @param count liczba podróży
+     * @return lista podróży
+     * @throws MileageException wyjątek przebiegu
+     */
+    private static List<Trip> createTrips(int count) throws MileageException
+    {
+        Random random = new Random(1);
+        List<Trip> trips = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            trips.add(new Trip(new UUID(random.nextLong(), random.nextLong()), random.nextDouble() * 120,
+                    random.nextDouble() * 200, new Mileage(random.nextDouble() * 500), random.nextInt(36_000),
+                    new SpeedSketch(), random.nextDouble() * 30));
+        }
+        return trips;
+    }
+
+    /**
+     * Sumuje przebiegi podróży z listy.
+     *
+     * @param trips lista podróży
+     * @return suma przebiegów
+     */
+    private static double sum(List<Trip> trips)
+    {
+        double sum = 0.0;
+        for (Trip trip : trips)
+        {
+            sum += trip.getMileage().get();
+        }
+        return sum;
+    }
+
+    /**
+     * Mierzy przepustowość sumowania (po rozgrzewce).
+     *
+     * @param count liczba podróży
+     * @param scan  sumowanie
+     * @return liczba podróży na sekundę
+     */
+    private static double measure(int count, Scan scan)
+    {
+        double sink = 0.0;
+        for (int i = 0; i < REPEATS; i++)
+        {
+            sink += scan.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++)
+        {
+            sink += scan.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (sink < 0)
+        {
+            System.out.println(sink);
+        }
+        return (double) count * REPEATS / seconds;
+    }
+
+    /**
+     * Zwraca zajętość sterty po odśmiecaniu.
+     *
+     * @return liczba zajętych bajtów
+     */
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Ten interfejs opisuje mierzone sumowanie.
+     */
+    @FunctionalInterface
+    private interface Scan
+    {
+        /**
+         * Wykonuje sumowanie.
+         *
+         * @return suma
+         */
+        double run();
+    }
+}
@@ -12,5 +12,9 @@ public enum DAO
     /**
      * Baza danych.
      */
-    DATABASE
+    DATABASE,
+    /**
+     * Archiwum podróży mapowane w pamięci.
+     */
+    ARCHIVE
 }
@@ -0,0 +1,163 @@
+package pl.boleklolek.dao.archive;
+
+import pl.boleklolek.model.computer.TripRecords;
+import pl.boleklolek.model.computer.UuidIndex;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Ta klasa opisuje indeks UUID - wiersz archiwum przechowywany w pliku mapowanym w pamięci.
+ * Nagłówek pliku zawiera znacznik, liczbę miejsc i liczbę rekordów archiwum, z którą indeks jest zgodny.
+ */
+class MappedUuidIndex extends UuidIndex
+{
+    /**
+     * Znacznik pliku indeksu ("TRIX").
+     */
+    private static final int MAGIC = 0x54524958;
+    /**
+     * Rozmiar nagłówka indeksu w bajtach.
+     */
+    private static final int HEADER_SIZE = 16;
+    /**
+     * Położenie liczby miejsc w nagłówku.
+     */
+    private static final int CAPACITY_OFFSET = 4;
+    /**
+     * Położenie liczby rekordów w nagłówku.
+     */
+    private static final int COUNT_OFFSET = 8;
+
+    /**
+     * Kanał pliku indeksu.
+     */
+    private final FileChannel channel;
+    /**
+     * Zmapowany plik indeksu.
+     */
+    private MappedByteBuffer buffer;
+    /**
+     * Liczba miejsc w indeksie (potęga dwójki).
+     */
+    private int capacity;
+
+    /**
+     * Konstruktor indeksu UUID w pliku.
+     *
+     * @param records rekordy archiwum
+     * @param channel kanał pliku indeksu
+     */
+    MappedUuidIndex(TripRecords records, FileChannel channel)
+    {
+        super(records);
+        this.channel = channel;
+    }
+
+    /**
+     * Mapuje plik indeksu, jeśli jest zgodny z archiwum o danej liczbie rekordów.
+     *
+     * @param count liczba rekordów archiwum
+     * @return prawda, jeśli indeks jest aktualny; w przeciwnym razie trzeba go odbudować
+     * @throws IOException wyjątek wejścia/wyjścia
+     */
+    boolean open(int count) throws IOException
+    {
+        if (channel.size() < HEADER_SIZE)
+        {
+            return false;
+        }
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        int slots = head.getInt(CAPACITY_OFFSET);
+        if (head.getInt(0) != MAGIC || head.getLong(COUNT_OFFSET) != count || Integer.bitCount(slots) != 1
+                || (long) count * 2 > slots || channel.size() < HEADER_SIZE + (long) slots * 4)
+        {
+            return false;
+        }
+        capacity = slots;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * 4);
+        return true;
+    }
+
+    /**
+     * Zapisuje w nagłówku liczbę rekordów archiwum, z którą indeks jest zgodny.
+     *
+     * @param count liczba rekordów
+     */
+    void setCount(int count)
+    {
+        buffer.putLong(COUNT_OFFSET, count);
+    }
+
+    /**
+     * Zapisuje zmiany indeksu na dysk.
+     */
+    void force()
+    {
+        if (buffer != null)
+        {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Zwraca liczbę miejsc w indeksie.
+     *
+     * @return liczba miejsc
+     */
+    @Override
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Odczytuje miejsce indeksu.
+     *
+     * @param slot miejsce
+     * @return numer wiersza + 1 lub 0
+     */
+    @Override
+    protected int getSlot(int slot)
+    {
+        return buffer.getInt(HEADER_SIZE + slot * 4);
+    }
+
+    /**
+     * Zapisuje miejsce indeksu.
+     *
+     * @param slot  miejsce
+     * @param value numer wiersza + 1 lub 0
+     */
+    @Override
+    protected void setSlot(int slot, int value)
+    {
+        buffer.putInt(HEADER_SIZE + slot * 4, value);
+    }
+
+    /**
+     * Mapuje plik indeksu o danej liczbie miejsc i czyści go.
+     *
+     * @param capacity liczba miejsc
+     */
+    @Override
+    protected void allocate(int capacity)
+    {
+        try
+        {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * 4);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Nie można zmapować indeksu archiwum!", e);
+        }
+        this.capacity = capacity;
+        for (int slot = 0; slot < capacity; slot++)
+        {
+            setSlot(slot, 0);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+    }
+}
@@ -0,0 +1,154 @@
+package pl.boleklolek.dao.archive;
+
+import pl.boleklolek.dao.MemoryDAO;
+import pl.boleklolek.model.computer.Memory;
+import pl.boleklolek.model.computer.trip.Trip;
+import pl.boleklolek.model.odometer.Odometer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ta klasa obsługuje odczyt/zapis pamięci komputera pokładowego w archiwum podróży mapowanym w pamięci.
+ * Zapis aktualizuje w archiwum podróże o tym samym UUID i dopisuje nowe (podobnie jak w bazie danych),
+ * więc archiwum przechowuje całą historię podróży. Odczyt tworzy pamięć zawierającą tylko podróże aktualne
+ * (A, B, ...) - pozostałe podróże można przeglądać stronami przez repozytorium archiwum ({@link #getArchive()})
+ * i przywracać do pamięci pojedynczo.
+ */
+public class MemoryArchive implements MemoryDAO
+{
+    /**
+     * Plik archiwum podróży.
+     */
+    private String archiveFile;
+    /**
+     * Liczba podróży aktualnych (A, B, ...), które są wczytywane do pamięci.
+     */
+    private int activeTrips;
+    /**
+     * Otwarte archiwum podróży.
+     */
+    private TripArchive archive;
+
+    /**
+     * Konstruktor MemoryArchive.
+     * Plik archiwum podróży: dashboard_memory.trips (oraz indeks dashboard_memory.trips.idx)
+     */
+    public MemoryArchive()
+    {
+        this.archiveFile = "dashboard_memory.trips";
+        this.activeTrips = Odometer.DEFAULT_NUM_OF_DAILY_MILEAGES;
+    }
+
+    /**
+     * Getter pliku archiwum.
+     *
+     * @return string z nazwą i rozszerzeniem pliku archiwum
+     */
+    public String getArchiveFile()
+    {
+        return archiveFile;
+    }
+
+    /**
+     * Setter pliku archiwum. Zamyka archiwum otwarte z poprzedniego pliku.
+     *
+     * @param archiveFile string z nazwą pliku archiwum
+     * @throws IOException wyjątek wejścia/wyjścia
+     */
+    public synchronized void setArchiveFile(String archiveFile) throws IOException
+    {
+        if (archive != null && !archiveFile.equals(this.archiveFile))
+        {
+            archive.close();
+            archive = null;
+        }
+        this.archiveFile = archiveFile;
+    }
+
+    /**
+     * Setter liczby podróży aktualnych.
+     * Archiwum przechowuje co najwyżej TripArchive.MAX_ACTIVE podróży aktualnych, więc wywołujący musi ograniczyć
+     * tę liczbę (kolejne podróże są zapisywane jako zwykłe podróże archiwum).
+     *
+     * @param activeTrips liczba podróży aktualnych (od 0 do TripArchive.MAX_ACTIVE)
+     */
+    public void setActiveTrips(int activeTrips)
+    {
+        if (activeTrips < 0 || activeTrips > TripArchive.MAX_ACTIVE)
+        {
+            throw new IllegalArgumentException("Niepoprawna liczba aktualnych podróży!");
+        }
+        this.activeTrips = activeTrips;
+    }
+
+    /**
+     * Zwraca archiwum podróży, otwierając je przy pierwszym użyciu.
+     *
+     * @return archiwum podróży
+     * @throws IOException wyjątek wejścia/wyjścia
+     */
+    public synchronized TripArchive getArchive() throws IOException
+    {
+        if (archive == null)
+        {
+            archive = new TripArchive(archiveFile);
+        }
+        return archive;
+    }
+
+    /**
+     * Zapisuje pamięć komputera pokładowego w archiwum.
+     * Podróże występujące w archiwum są nadpisywane w miejscu, a nowe są dopisywane na końcu.
+     * Pierwsze podróże pamięci zostają zapisane w nagłówku jako aktualne.
+     *
+     * @param memory pamięć, której stan chcemy zapisać
+     */
+    @Override
+    public void saveMemory(Memory memory)
+    {
+        try
+        {
+            TripArchive archive = getArchive();
+            List<UUID> active = new ArrayList<>(activeTrips);
+            for (Trip trip : memory)
+            {
+                archive.put(trip);
+                if (active.size() < activeTrips)
+                {
+                    active.add(trip.getUuid());
+                }
+            }
+            archive.setActive(active);
+            archive.flush();
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Wczytuje z archiwum pamięć zawierającą tylko podróże aktualne.
+     *
+     * @return wczytany obiekt pamięci
+     * @throws IOException wyjątek wejścia/wyjścia
+     */
+    @Override
+    public Memory loadMemory() throws IOException
+    {
+        TripArchive archive = getArchive();
+        Memory memory = new Memory();
+        for (UUID uuid : archive.getActive())
+        {
+            Trip trip = archive.findByUuid(uuid);
+            if (trip != null)
+            {
+                memory.add(trip);
+            }
+        }
+        return memory;
+    }
+}
@@ -0,0 +1,854 @@
+package pl.boleklolek.dao.archive;
+
+import pl.boleklolek.model.computer.Repository;
+import pl.boleklolek.model.computer.RowSort;
+import pl.boleklolek.model.computer.TripRecord;
+import pl.boleklolek.model.computer.TripRecords;
+import pl.boleklolek.model.computer.UuidIndex;
+import pl.boleklolek.model.computer.trip.Trip;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ta klasa opisuje archiwum podróży w pliku mapowanym w pamięci.
+ * Podróże są zapisane jako rekordy o stałej długości (UUID, przebieg, średnia i maksymalna prędkość, zużycie,
+ * czas trwania w nanosekundach), więc podróż o danym indeksie jest odczytywana i zapisywana wprost w pliku,
+ * a o tym, które strony pliku są w pamięci, decyduje pamięć podręczna systemu operacyjnego. Plik jest mapowany
+ * segmentami, mapowanymi dopiero przy pierwszym dostępie, dlatego otwarcie archiwum trwa tyle samo niezależnie
+ * od liczby podróży. Plik rośnie dwukrotnie (od MIN_RECORDS rekordów), gdy zabraknie w nim miejsca, a segment
+ * obejmuje tylko istniejącą część pliku - po powiększeniu niepełny segment jest mapowany ponownie.
+ * Indeks UUID - wiersz ({@link UuidIndex}) leży w osobnym pliku mapowanym (rozszerzenie .idx); jeżeli jest
+ * nieaktualny lub go brakuje, jest odbudowywany z rekordów.
+ * Nagłówek archiwum przechowuje liczbę rekordów i UUID podróży aktualnych (A, B, ...). Szkice rozkładu prędkości
+ * i stan trwania podróży nie są archiwizowane. Usunięcie podróży zachowuje kolejność - kolejne rekordy są
+ * przesuwane w pliku, więc kosztuje tyle, ile rekordów leży za usuniętym.
+ * Metoda get(), iterator i strumienie wydają niezależne kopie podróży, a strumień rekordów tylko do odczytu
+ * ({@link #records()}) przegląda archiwum bez tworzenia podróży.
+ * Operacje zmieniające archiwum są synchronizowane. Zamknięcie archiwum zapisuje zmiany na dysk - samo
+ * odmapowanie pliku następuje przy odśmiecaniu.
+ */
+public class TripArchive implements Repository<Trip>, TripRecords, Closeable
+{
+    /**
+     * Znacznik pliku archiwum ("TRIP").
+     */
+    private static final int MAGIC = 0x54524950;
+    /**
+     * Wersja formatu archiwum.
+     */
+    private static final int VERSION = 1;
+    /**
+     * Rozmiar nagłówka archiwum w bajtach.
+     */
+    private static final int HEADER_SIZE = 4096;
+    /**
+     * Rozmiar rekordu podróży w bajtach.
+     */
+    private static final int RECORD_SIZE = 64;
+    /**
+     * Liczba rekordów w segmencie jako potęga dwójki.
+     */
+    private static final int SEGMENT_SHIFT = 20;
+    /**
+     * Maska numeru rekordu w segmencie.
+     */
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    /**
+     * Liczba rekordów w pełnym segmencie.
+     */
+    private static final int SEGMENT_RECORDS = 1 << SEGMENT_SHIFT;
+    /**
+     * Minimalna liczba rekordów, na którą jest przygotowany plik archiwum.
+     */
+    private static final int MIN_RECORDS = 64;
+    /**
+     * Maksymalna liczba podróży aktualnych zapisywanych w nagłówku.
+     */
+    public static final int MAX_ACTIVE = 64;
+
+    /**
+     * Położenie wersji w nagłówku.
+     */
+    private static final int VERSION_OFFSET = 4;
+    /**
+     * Położenie rozmiaru rekordu w nagłówku.
+     */
+    private static final int RECORD_SIZE_OFFSET = 8;
+    /**
+     * Położenie liczby podróży aktualnych w nagłówku.
+     */
+    private static final int ACTIVE_COUNT_OFFSET = 12;
+    /**
+     * Położenie liczby rekordów w nagłówku.
+     */
+    private static final int COUNT_OFFSET = 16;
+    /**
+     * Położenie UUID podróży aktualnych w nagłówku.
+     */
+    private static final int ACTIVE_OFFSET = 64;
+
+    /**
+     * Położenie starszych 64 bitów UUID w rekordzie.
+     */
+    private static final int UUID_HIGH = 0;
+    /**
+     * Położenie młodszych 64 bitów UUID w rekordzie.
+     */
+    private static final int UUID_LOW = 8;
+    /**
+     * Położenie przebiegu w rekordzie.
+     */
+    private static final int MILEAGE = 16;
+    /**
+     * Położenie średniej prędkości w rekordzie.
+     */
+    private static final int AVERAGE_SPEED = 24;
+    /**
+     * Położenie prędkości maksymalnej w rekordzie.
+     */
+    private static final int MAX_SPEED = 32;
+    /**
+     * Położenie zużycia w rekordzie.
+     */
+    private static final int CONSUMPTION = 40;
+    /**
+     * Położenie czasu trwania w rekordzie.
+     */
+    private static final int ELAPSED_NANOS = 48;
+
+    /**
+     * Ścieżka pliku archiwum.
+     */
+    private final Path path;
+    /**
+     * Kanał pliku archiwum.
+     */
+    private final FileChannel data;
+    /**
+     * Kanał pliku indeksu.
+     */
+    private final FileChannel indexFile;
+    /**
+     * Indeks UUID - wiersz w pliku indeksu.
+     */
+    private final MappedUuidIndex index;
+    /**
+     * Zmapowany nagłówek archiwum.
+     */
+    private final MappedByteBuffer header;
+    /**
+     * Zmapowane segmenty rekordów (null, dopóki segment nie zostanie użyty); tablica jest kopiowana przy powiększaniu.
+     */
+    private volatile MappedByteBuffer[] segments;
+    /**
+     * Liczba rekordów, które mieszczą się w pliku archiwum.
+     */
+    private volatile long recordCapacity;
+    /**
+     * Liczba rekordów.
+     */
+    private volatile int count;
+
+    /**
+     * Otwiera archiwum podróży, tworząc je, jeśli nie istnieje.
+     *
+     * @param file ścieżka pliku archiwum
+     * @throws IOException wyjątek wejścia/wyjścia lub niepoprawny plik archiwum
+     */
+    public TripArchive(String file) throws IOException
+    {
+        this.path = Paths.get(file);
+        this.data = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexFile = FileChannel.open(Paths.get(file + ".idx"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = data.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.segments = new MappedByteBuffer[0];
+        this.index = new MappedUuidIndex(this, indexFile);
+
+        int magic = header.getInt(0);
+        if (magic == 0)
+        {
+            header.putInt(0, MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.putInt(RECORD_SIZE_OFFSET, RECORD_SIZE);
+        }
+        else if (magic != MAGIC || header.getInt(VERSION_OFFSET) != VERSION || header.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE)
+        {
+            close();
+            throw new IOException("Niepoprawny plik archiwum podróży!");
+        }
+        this.count = (int) header.getLong(COUNT_OFFSET);
+        this.recordCapacity = Math.max((data.size() - HEADER_SIZE) / RECORD_SIZE, count);
+        openIndex();
+    }
+
+    /**
+     * Getter ścieżki pliku archiwum.
+     *
+     * @return ścieżka pliku archiwum
+     */
+    public Path getPath()
+    {
+        return path;
+    }
+
+    /**
+     * Zwraca UUID podróży aktualnych zapisanych w nagłówku.
+     *
+     * @return lista UUID podróży aktualnych
+     */
+    public synchronized List<UUID> getActive()
+    {
+        int active = header.getInt(ACTIVE_COUNT_OFFSET);
+        List<UUID> uuids = new ArrayList<>(active);
+        for (int i = 0; i < active; i++)
+        {
+            int offset = ACTIVE_OFFSET + i * 16;
+            uuids.add(new UUID(header.getLong(offset), header.getLong(offset + 8)));
+        }
+        return uuids;
+    }
+
+    /**
+     * Zapisuje w nagłówku UUID podróży aktualnych.
+     *
+     * @param uuids lista UUID podróży aktualnych (co najwyżej MAX_ACTIVE)
+     */
+    public synchronized void setActive(List<UUID> uuids)
+    {
+        if (uuids.size() > MAX_ACTIVE)
+        {
+            throw new IllegalArgumentException("Zbyt wiele aktualnych podróży!");
+        }
+        for (int i = 0; i < uuids.size(); i++)
+        {
+            int offset = ACTIVE_OFFSET + i * 16;
+            header.putLong(offset, uuids.get(i).getMostSignificantBits());
+            header.putLong(offset + 8, uuids.get(i).getLeastSignificantBits());
+        }
+        header.putInt(ACTIVE_COUNT_OFFSET, uuids.size());
+    }
+
+    /**
+     * Zapisuje migawkę podróży - nadpisuje jej rekord, jeśli podróż jest w archiwum, w przeciwnym razie ją dodaje.
+     *
+     * @param trip podróż
+     */
+    public synchronized void put(Trip trip)
+    {
+        int row = indexOf(trip.getUuid());
+        if (row == -1)
+        {
+            add(trip);
+        }
+        else
+        {
+            write(row, trip);
+        }
+    }
+
+    /**
+     * Getter wszystkich podróży.
+     * Zwraca listę niezależnych kopii - do przeglądania bez kopiowania służy strumień rekordów.
+     *
+     * @return lista kopii podróży
+     */
+    @Override
+    public synchronized List<Trip> getAll()
+    {
+        List<Trip> trips = new ArrayList<>(count);
+        for (int row = 0; row < count; row++)
+        {
+            trips.add(copy(row));
+        }
+        return trips;
+    }
+
+    /**
+     * Getter konkretnej podróży.
+     *
+     * @param index indeks
+     * @return niezależna kopia podróży
+     */
+    @Override
+    public Trip get(int index)
+    {
+        return copy(checkIndex(index));
+    }
+
+    /**
+     * Zwraca rekord podróży o danym indeksie (tylko do odczytu, wprost z pliku).
+     *
+     * @param index indeks
+     * @return rekord podróży
+     */
+    public TripRecord record(int index)
+    {
+        return new TripRecord(this, checkIndex(index));
+    }
+
+    /**
+     * Setter konkretnej podróży. Zapisuje migawkę podróży w danym rekordzie.
+     *
+     * @param index indeks
+     * @param trip  podróż
+     */
+    @Override
+    public synchronized void set(int index, Trip trip)
+    {
+        checkIndex(index);
+        UUID uuid = trip.getUuid();
+        int found = indexOf(uuid);
+        if (found != -1 && found != index)
+        {
+            throw new IllegalArgumentException("Podróż o danym UUID jest już w archiwum!");
+        }
+        if (found == -1)
+        {
+            this.index.remove(index);
+            writeRecord(index, trip);
+            this.index.insert(index);
+        }
+        else
+        {
+            write(index, trip);
+        }
+    }
+
+    /**
+     * Dodaje migawkę podróży na koniec archiwum.
+     *
+     * @param trip podróż
+     */
+    @Override
+    public synchronized void add(Trip trip)
+    {
+        if (containsUuid(trip.getUuid()))
+        {
+            throw new IllegalArgumentException("Podróż o danym UUID jest już w archiwum!");
+        }
+        if (count == recordCapacity)
+        {
+            grow(Math.max(MIN_RECORDS, recordCapacity * 2));
+        }
+        index.reserve(count + 1);
+        writeRecord(count, trip);
+        index.insert(count);
+        setCount(count + 1);
+    }
+
+    /**
+     * Usuwa podróż po indeksie z zachowaniem kolejności - kolejne rekordy są przesuwane w pliku o jedną pozycję,
+     * a ich wpisy w indeksie UUID przenumerowane. Koszt jest proporcjonalny do liczby rekordów za usuniętym.
+     *
+     * @param index indeks
+     */
+    @Override
+    public synchronized void remove(int index)
+    {
+        checkIndex(index);
+        this.index.remove(index);
+        for (int row = index + 1; row < count; row++)
+        {
+            moveRecord(row, row - 1);
+        }
+        setCount(count - 1);
+        this.index.closeGap(index);
+    }
+
+    /**
+     * Zwraca pozycję podróży o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return indeks podróży lub -1, jeśli podróży nie ma w archiwum
+     */
+    @Override
+    public synchronized int indexOf(UUID uuid)
+    {
+        return index.indexOf(uuid);
+    }
+
+    /**
+     * Wyszukuje podróż o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return niezależna kopia podróży lub null, jeśli podróży nie ma w archiwum
+     */
+    @Override
+    public synchronized Trip findByUuid(UUID uuid)
+    {
+        int row = indexOf(uuid);
+        return row != -1 ? copy(row) : null;
+    }
+
+    /**
+     * Sprawdza, czy archiwum zawiera podróż o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return prawda, jeśli archiwum zawiera podróż
+     */
+    @Override
+    public synchronized boolean containsUuid(UUID uuid)
+    {
+        return indexOf(uuid) != -1;
+    }
+
+    /**
+     * Usuwa podróż o danym UUID z archiwum.
+     *
+     * @param uuid UUID podróży
+     * @return prawda, jeśli podróż została usunięta
+     */
+    @Override
+    public synchronized boolean removeByUuid(UUID uuid)
+    {
+        int row = indexOf(uuid);
+        if (row == -1)
+        {
+            return false;
+        }
+        remove(row);
+        return true;
+    }
+
+    /**
+     * Sortuje rekordy względem komparatora (stabilnie), porównując tymczasowe kopie rekordów.
+     * Rekordy są przestawiane w pliku cyklami permutacji, a indeks UUID jest odbudowywany.
+     * Jeżeli komparator będzie pusty, to zostanie wywołane sortowanie po interfejsie Comparable.
+     *
+     * @param comp komparator
+     */
+    @Override
+    public synchronized void sort(Comparator<Trip> comp)
+    {
+        int[] order = RowSort.sort(this, comp);
+        BitSet placed = new BitSet(order.length);
+        long[] record = new long[RECORD_SIZE / 8];
+        for (int start = 0; start < order.length; start++)
+        {
+            if (placed.get(start) || order[start] == start)
+            {
+                continue;
+            }
+            readRecord(start, record);
+            int row = start;
+            while (order[row] != start)
+            {
+                moveRecord(order[row], row);
+                placed.set(row);
+                row = order[row];
+            }
+            writeRecord(row, record);
+            placed.set(row);
+        }
+        index.rebuild(index.getCapacity());
+        index.setCount(count);
+    }
+
+    /**
+     * Pobiera liczbę podróży.
+     *
+     * @return liczba podróży
+     */
+    @Override
+    public int size()
+    {
+        return count;
+    }
+
+    /**
+     * Zapisuje zmiany archiwum na dysk.
+     */
+    public synchronized void flush()
+    {
+        header.force();
+        for (MappedByteBuffer segment : segments)
+        {
+            if (segment != null)
+            {
+                segment.force();
+            }
+        }
+        index.force();
+    }
+
+    /**
+     * Zapisuje zmiany i zamyka pliki archiwum.
+     *
+     * @throws IOException wyjątek wejścia/wyjścia
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        flush();
+        data.close();
+        indexFile.close();
+    }
+
+    /**
+     * Zwraca starsze 64 bity UUID podróży.
+     *
+     * @param row wiersz
+     * @return starsze 64 bity UUID
+     */
+    @Override
+    public long getUuidHigh(int row)
+    {
+        return segment(row).getLong(offset(row) + UUID_HIGH);
+    }
+
+    /**
+     * Zwraca młodsze 64 bity UUID podróży.
+     *
+     * @param row wiersz
+     * @return młodsze 64 bity UUID
+     */
+    @Override
+    public long getUuidLow(int row)
+    {
+        return segment(row).getLong(offset(row) + UUID_LOW);
+    }
+
+    /**
+     * Zwraca przebieg podróży.
+     *
+     * @param row wiersz
+     * @return przebieg (km)
+     */
+    @Override
+    public double getMileage(int row)
+    {
+        return segment(row).getDouble(offset(row) + MILEAGE);
+    }
+
+    /**
+     * Ustawia przebieg podróży.
+     *
+     * @param row     wiersz
+     * @param mileage przebieg (km)
+     */
+    @Override
+    public void setMileage(int row, double mileage)
+    {
+        segment(row).putDouble(offset(row) + MILEAGE, mileage);
+    }
+
+    /**
+     * Zwraca średnią prędkość podróży.
+     *
+     * @param row wiersz
+     * @return średnia prędkość (km/h)
+     */
+    @Override
+    public double getAverageSpeed(int row)
+    {
+        return segment(row).getDouble(offset(row) + AVERAGE_SPEED);
+    }
+
+    /**
+     * Ustawia średnią prędkość podróży.
+     *
+     * @param row          wiersz
+     * @param averageSpeed średnia prędkość (km/h)
+     */
+    @Override
+    public void setAverageSpeed(int row, double averageSpeed)
+    {
+        segment(row).putDouble(offset(row) + AVERAGE_SPEED, averageSpeed);
+    }
+
+    /**
+     * Zwraca prędkość maksymalną podróży.
+     *
+     * @param row wiersz
+     * @return prędkość maksymalna (km/h)
+     */
+    @Override
+    public double getMaxSpeed(int row)
+    {
+        return segment(row).getDouble(offset(row) + MAX_SPEED);
+    }
+
+    /**
+     * Ustawia prędkość maksymalną podróży.
+     *
+     * @param row      wiersz
+     * @param maxSpeed prędkość maksymalna (km/h)
+     */
+    @Override
+    public void setMaxSpeed(int row, double maxSpeed)
+    {
+        segment(row).putDouble(offset(row) + MAX_SPEED, maxSpeed);
+    }
+
+    /**
+     * Zwraca zużycie paliwa lub energii w podróży.
+     *
+     * @param row wiersz
+     * @return zużycie
+     */
+    @Override
+    public double getConsumption(int row)
+    {
+        return segment(row).getDouble(offset(row) + CONSUMPTION);
+    }
+
+    /**
+     * Ustawia zużycie paliwa lub energii w podróży.
+     *
+     * @param row         wiersz
+     * @param consumption zużycie
+     */
+    @Override
+    public void setConsumption(int row, double consumption)
+    {
+        segment(row).putDouble(offset(row) + CONSUMPTION, consumption);
+    }
+
+    /**
+     * Zwraca czas trwania podróży.
+     *
+     * @param row wiersz
+     * @return czas trwania (ns)
+     */
+    @Override
+    public long getElapsedNanos(int row)
+    {
+        return segment(row).getLong(offset(row) + ELAPSED_NANOS);
+    }
+
+    /**
+     * Ustawia czas trwania podróży.
+     *
+     * @param row          wiersz
+     * @param elapsedNanos czas trwania (ns)
+     */
+    @Override
+    public void setElapsedNanos(int row, long elapsedNanos)
+    {
+        segment(row).putLong(offset(row) + ELAPSED_NANOS, elapsedNanos);
+    }
+
+    /**
+     * Zwraca informację o archiwum.
+     *
+     * @return string z informacjami o archiwum
+     */
+    @Override
+    public String toString()
+    {
+        return "-- ARCHIWUM PODRÓŻY --" + System.lineSeparator() +
+                "Plik: " + path + System.lineSeparator() +
+                "Liczba podróży: " + count;
+    }
+
+    /**
+     * Sprawdza poprawność indeksu.
+     *
+     * @param index indeks
+     * @return indeks
+     */
+    private int checkIndex(int index)
+    {
+        if (index < 0 || index >= count)
+        {
+            throw new IndexOutOfBoundsException("Indeks: " + index + ", rozmiar: " + count);
+        }
+        return index;
+    }
+
+    /**
+     * Zwraca segment zawierający dany rekord, mapując go przy pierwszym użyciu.
+     *
+     * @param row wiersz
+     * @return zmapowany segment
+     */
+    private MappedByteBuffer segment(int row)
+    {
+        int number = row >>> SEGMENT_SHIFT;
+        MappedByteBuffer[] mapped = segments;
+        if (number < mapped.length && mapped[number] != null)
+        {
+            return mapped[number];
+        }
+        return mapSegment(number);
+    }
+
+    /**
+     * Powiększa plik archiwum. Niepełny ostatni segment jest odrzucany, aby przy następnym użyciu został
+     * zmapowany ponownie w nowym rozmiarze (plik rośnie przy mapowaniu).
+     *
+     * @param records nowa liczba rekordów w pliku
+     */
+    private void grow(long records)
+    {
+        MappedByteBuffer[] mapped = segments.clone();
+        for (int number = 0; number < mapped.length; number++)
+        {
+            if (mapped[number] != null && mapped[number].capacity() < segmentSize(number, records))
+            {
+                mapped[number] = null;
+            }
+        }
+        recordCapacity = records;
+        segments = mapped;
+    }
+
+    /**
+     * Wyznacza rozmiar segmentu w bajtach - pełny segment lub część pliku, która do niego należy.
+     *
+     * @param number  numer segmentu
+     * @param records liczba rekordów w pliku
+     * @return rozmiar segmentu w bajtach
+     */
+    private static int segmentSize(int number, long records)
+    {
+        long first = (long) number << SEGMENT_SHIFT;
+        return (int) Math.max(0, Math.min(SEGMENT_RECORDS, records - first)) * RECORD_SIZE;
+    }
+
+    /**
+     * Mapuje segment rekordów w części pliku, która do niego należy.
+     *
+     * @param number numer segmentu
+     * @return zmapowany segment
+     */
+    private synchronized MappedByteBuffer mapSegment(int number)
+    {
+        MappedByteBuffer[] mapped = segments;
+        if (number >= mapped.length)
+        {
+            mapped = Arrays.copyOf(mapped, number + 1);
+        }
+        MappedByteBuffer segment = mapped[number];
+        if (segment == null)
+        {
+            long position = HEADER_SIZE + ((long) number << SEGMENT_SHIFT) * RECORD_SIZE;
+            try
+            {
+                segment = data.map(FileChannel.MapMode.READ_WRITE, position, segmentSize(number, recordCapacity));
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("Nie można zmapować segmentu archiwum!", e);
+            }
+            mapped[number] = segment;
+            segments = mapped;
+        }
+        return segment;
+    }
+
+    /**
+     * Wyznacza położenie rekordu w segmencie.
+     *
+     * @param row wiersz
+     * @return położenie rekordu w bajtach
+     */
+    private static int offset(int row)
+    {
+        return (row & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    /**
+     * Zapisuje migawkę podróży razem z UUID w danym rekordzie.
+     *
+     * @param row  wiersz
+     * @param trip podróż
+     */
+    private void writeRecord(int row, Trip trip)
+    {
+        UUID uuid = trip.getUuid();
+        MappedByteBuffer segment = segment(row);
+        int offset = offset(row);
+        segment.putLong(offset + UUID_HIGH, uuid.getMostSignificantBits());
+        segment.putLong(offset + UUID_LOW, uuid.getLeastSignificantBits());
+        write(row, trip);
+    }
+
+    /**
+     * Odczytuje surowy rekord.
+     *
+     * @param row    wiersz
+     * @param record bufor na słowa rekordu
+     */
+    private void readRecord(int row, long[] record)
+    {
+        MappedByteBuffer segment = segment(row);
+        int offset = offset(row);
+        for (int i = 0; i < record.length; i++)
+        {
+            record[i] = segment.getLong(offset + i * 8);
+        }
+    }
+
+    /**
+     * Zapisuje surowy rekord.
+     *
+     * @param row    wiersz
+     * @param record słowa rekordu
+     */
+    private void writeRecord(int row, long[] record)
+    {
+        MappedByteBuffer segment = segment(row);
+        int offset = offset(row);
+        for (int i = 0; i < record.length; i++)
+        {
+            segment.putLong(offset + i * 8, record[i]);
+        }
+    }
+
+    /**
+     * Przenosi rekord z jednego wiersza do drugiego (bez zmiany indeksu UUID).
+     *
+     * @param from wiersz źródłowy
+     * @param to   wiersz docelowy
+     */
+    private void moveRecord(int from, int to)
+    {
+        MappedByteBuffer source = segment(from);
+        MappedByteBuffer target = segment(to);
+        int sourceOffset = offset(from);
+        int targetOffset = offset(to);
+        for (int i = 0; i < RECORD_SIZE; i += 8)
+        {
+            target.putLong(targetOffset + i, source.getLong(sourceOffset + i));
+        }
+    }
+
+    /**
+     * Ustawia liczbę rekordów w nagłówku archiwum i indeksu.
+     *
+     * @param count liczba rekordów
+     */
+    private void setCount(int count)
+    {
+        this.count = count;
+        header.putLong(COUNT_OFFSET, count);
+        index.setCount(count);
+    }
+
+    /**
+     * Mapuje plik indeksu UUID. Jeżeli indeksu brakuje lub nie odpowiada archiwum, odbudowuje go z rekordów.
+     *
+     * @throws IOException wyjątek wejścia/wyjścia
+     */
+    private void openIndex() throws IOException
+    {
+        if (!index.open(count))
+        {
+            index.rebuild(UuidIndex.capacityFor(count));
+            index.setCount(count);
+        }
+    }
+}
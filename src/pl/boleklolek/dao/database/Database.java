@@ -5,6 +5,7 @@ import pl.boleklolek.dao.serializers.XMLSerializer;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
 /**
@@ -107,6 +108,21 @@ class Database
         }
     }
 
+    /**
+     * Sprawdza w metadanych połączenia, czy tabela pamięci zawiera daną kolumnę.
+     *
+     * @param column nazwa kolumny
+     * @return prawda, jeśli kolumna istnieje
+     * @throws SQLException wyjątek SQL
+     */
+    public boolean hasColumn(String column) throws SQLException
+    {
+        try (ResultSet rs = connection.getMetaData().getColumns(getDatabaseName(), null, getTableName(), column))
+        {
+            return rs.next();
+        }
+    }
+
     /**
      * Wczytuje ustawienia bazy danych z pliku XML.
      *
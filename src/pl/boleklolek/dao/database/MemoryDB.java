@@ -2,6 +2,7 @@ package pl.boleklolek.dao.database;
 
 import pl.boleklolek.dao.MemoryDAO;
 import pl.boleklolek.model.computer.Memory;
+import pl.boleklolek.model.computer.trip.SpeedSketch;
 import pl.boleklolek.model.computer.trip.Trip;
 import pl.boleklolek.model.odometer.Mileage;
 import pl.boleklolek.model.odometer.MileageException;
@@ -15,6 +16,10 @@ import java.util.UUID;
 
 /**
  * Ta klasa obsługuje odczyt/zapis pamięci komputera pokładowego w bazie danych.
+ * Szkic rozkładu prędkości podróży jest przechowywany w kolumnie tekstowej speedSketch (NVARCHAR(MAX)),
+ * a zużycie paliwa lub energii w kolumnie liczbowej consumption (FLOAT).
+ * Tabele utworzone przed dodaniem tych kolumn są odczytywane z wartościami domyślnymi i uzupełniane o brakujące
+ * kolumny przy pierwszym zapisie.
  */
 public class MemoryDB implements MemoryDAO
 {
@@ -39,6 +44,7 @@ public class MemoryDB implements MemoryDAO
      * Zapisuje pamięć podróży do bazy danych poprzez zapytania SQL z uzupełnionymi wartościami podróży.
      * Jeżeli podróż występuje w bazie, to aktualizuje jej dane zapytaniem UPDATE.
      * Jeżeli podróż nie występuje w bazie, to dodaje ją zapytaniem INSERT.
+     * Obecność w bazie jest sprawdzana w indeksie UUID wczytanej pamięci, więc zapis jest liniowy względem liczby podróży.
      *
      * @param memory pamięć, której stan chcemy zapisać
      * @throws SQLException           wyjątek SQL
@@ -61,21 +67,24 @@ public class MemoryDB implements MemoryDAO
 
         database.connect();
         String data = database.getDatabaseName() + ".dbo." + database.getTableName();
+        migrate(data);
 
-        String insertQuery = "INSERT INTO " + data + " (UUID, averageSpeed, maxSpeed, mileage, elapsedTime) VALUES (?, ?, ?, ?, ?)";
-        String updateQuery = "UPDATE " + data + " SET averageSpeed = ?, maxSpeed = ?, mileage = ?, elapsedTime = ? WHERE UUID = ?";
+        String insertQuery = "INSERT INTO " + data + " (UUID, averageSpeed, maxSpeed, mileage, elapsedTime, speedSketch, consumption) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String updateQuery = "UPDATE " + data + " SET averageSpeed = ?, maxSpeed = ?, mileage = ?, elapsedTime = ?, speedSketch = ?, consumption = ? WHERE UUID = ?";
 
         PreparedStatement insert = database.getConnection().prepareStatement(insertQuery);
         PreparedStatement update = database.getConnection().prepareStatement(updateQuery);
-        for (Trip trip : memory.getAll())
+        for (Trip trip : memory)
         {
-            if (dbMemory.getAll().contains(trip))
+            if (dbMemory.containsUuid(trip.getUuid()))
             {
                 update.setDouble(1, trip.getAverageSpeed());
                 update.setDouble(2, trip.getMaxSpeed());
                 update.setDouble(3, trip.getMileage().get());
                 update.setLong(4, trip.getElapsedTime());
-                update.setString(5, trip.getUuid().toString());
+                update.setString(5, trip.getSpeedSketch().encode());
+                update.setDouble(6, trip.getConsumption());
+                update.setString(7, trip.getUuid().toString());
                 update.execute();
             }
             else
@@ -85,6 +94,8 @@ public class MemoryDB implements MemoryDAO
                 insert.setDouble(3, trip.getMaxSpeed());
                 insert.setDouble(4, trip.getMileage().get());
                 insert.setLong(5, trip.getElapsedTime());
+                insert.setString(6, trip.getSpeedSketch().encode());
+                insert.setDouble(7, trip.getConsumption());
                 insert.execute();
             }
         }
@@ -108,6 +119,9 @@ public class MemoryDB implements MemoryDAO
         database.connect();
         String data = database.getDatabaseName() + ".dbo." + database.getTableName();
 
+        boolean hasSpeedSketch = database.hasColumn("speedSketch");
+        boolean hasConsumption = database.hasColumn("consumption");
+
         Statement statement = database.getConnection().createStatement();
         String query = "SELECT * FROM " + data;
 
@@ -129,8 +143,18 @@ public class MemoryDB implements MemoryDAO
                 mileage = new Mileage();
             }
             long time = rs.getLong("elapsedTime");
+            SpeedSketch speedSketch;
+            try
+            {
+                speedSketch = SpeedSketch.decode(hasSpeedSketch ? rs.getString("speedSketch") : null);
+            }
+            catch (IllegalArgumentException e)
+            {
+                speedSketch = new SpeedSketch();
+            }
+            double consumption = hasConsumption ? rs.getDouble("consumption") : 0.0;
 
-            memory.add(new Trip(uuid, avgSpeed, maxSpeed, mileage, time));
+            memory.add(new Trip(uuid, avgSpeed, maxSpeed, mileage, time, speedSketch, consumption));
         }
         statement.close();
         database.disconnect();
@@ -138,6 +162,26 @@ public class MemoryDB implements MemoryDAO
         return memory;
     }
 
+    /**
+     * Dodaje do tabeli pamięci kolumny speedSketch i consumption, jeśli tabela została utworzona bez nich.
+     *
+     * @param data pełna nazwa tabeli pamięci
+     * @throws SQLException wyjątek SQL
+     */
+    private void migrate(String data) throws SQLException
+    {
+        Statement statement = database.getConnection().createStatement();
+        if (!database.hasColumn("speedSketch"))
+        {
+            statement.execute("ALTER TABLE " + data + " ADD speedSketch NVARCHAR(MAX) NULL");
+        }
+        if (!database.hasColumn("consumption"))
+        {
+            statement.execute("ALTER TABLE " + data + " ADD consumption FLOAT NOT NULL DEFAULT 0");
+        }
+        statement.close();
+    }
+
     /**
      * Wczytuje ustawienia połączenia z bazą danych.
      */
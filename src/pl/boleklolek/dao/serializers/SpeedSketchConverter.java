@@ -0,0 +1,49 @@
+package pl.boleklolek.dao.serializers;
+
+import com.thoughtworks.xstream.converters.SingleValueConverter;
+import pl.boleklolek.model.computer.trip.SpeedSketch;
+
+/**
+ * Ta klasa zapisuje szkic rozkładu prędkości w pliku XML jako jedną wartość tekstową
+ * (tylko niezerowe kubełki) zamiast pełnej tablicy liczników.
+ */
+public class SpeedSketchConverter implements SingleValueConverter
+{
+    /**
+     * Sprawdza, czy konwerter obsługuje daną klasę.
+     * Interfejs XStream deklaruje parametr jako surowy typ Class, więc nie można go zawęzić do Class&lt;?&gt;.
+     *
+     * @param type klasa
+     * @return prawda, jeśli klasa to SpeedSketch
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean canConvert(Class type)
+    {
+        return type == SpeedSketch.class;
+    }
+
+    /**
+     * Koduje szkic do postaci tekstowej.
+     *
+     * @param obj szkic
+     * @return string z zakodowanym szkicem
+     */
+    @Override
+    public String toString(Object obj)
+    {
+        return ((SpeedSketch) obj).encode();
+    }
+
+    /**
+     * Dekoduje szkic z postaci tekstowej.
+     *
+     * @param str string z zakodowanym szkicem
+     * @return obiekt szkicu
+     */
+    @Override
+    public Object fromString(String str)
+    {
+        return SpeedSketch.decode(str);
+    }
+}
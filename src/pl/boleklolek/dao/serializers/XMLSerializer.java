@@ -15,11 +15,14 @@ public class XMLSerializer extends XStream implements Serializer
 {
     /**
      * Konstruktor serializera XML.
+     * Nieznane elementy (np. usunięte pola ze starszych plików) są pomijane przy deserializacji.
      */
     public XMLSerializer()
     {
         super();
         this.allowTypeHierarchy(Collection.class);
+        this.ignoreUnknownElements();
+        this.registerConverter(new SpeedSketchConverter());
     }
 
     /**
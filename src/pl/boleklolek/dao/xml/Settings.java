@@ -2,9 +2,11 @@ package pl.boleklolek.dao.xml;
 
 import pl.boleklolek.dao.serializers.Serializer;
 import pl.boleklolek.dao.serializers.XMLSerializer;
+import pl.boleklolek.model.computer.consumption.enums.ConsumptionType;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * Ta klasa przechowuje ustawienia aplikacji w pliku XML.
@@ -22,13 +24,42 @@ public class Settings implements Serializable
     private final transient Serializer serializer;
 
     /**
-     * Szybkość aktualizacji średniej prędkości w sekundach.
+     * Domyślne okna średnich prędkości kroczących w minutach.
      */
-    private int frequencyOfAvgSpeed;
+    private static final int[] DEFAULT_AVG_SPEED_WINDOWS = {1, 5, 15};
+    /**
+     * Domyślna liczba aktualnych podróży.
+     */
+    private static final int DEFAULT_NUM_OF_TRIPS = 2;
+    /**
+     * Maksymalna liczba aktualnych podróży (podróże A-Z, nie więcej niż podróży aktualnych w archiwum).
+     */
+    public static final int MAX_NUM_OF_TRIPS = 26;
+    /**
+     * Domyślny rodzaj napędu.
+     */
+    private static final ConsumptionType DEFAULT_CONSUMPTION_TYPE = ConsumptionType.FUEL;
+
+    /**
+     * Okna średnich prędkości kroczących w minutach.
+     */
+    private int[] avgSpeedWindows;
     /**
      * Indeks podróży na ekranie LCD.
      */
     private int actualTripIndex;
+    /**
+     * Liczba aktualnych podróży (liczników przebiegu dziennego).
+     */
+    private int numOfTrips;
+    /**
+     * Rodzaj napędu (model zużycia).
+     */
+    private ConsumptionType consumptionType;
+    /**
+     * Pojemność zbiornika paliwa lub baterii.
+     */
+    private double energyCapacity;
 
     /**
      * Konstruktor ustawień aplikacji.
@@ -42,23 +73,45 @@ public class Settings implements Serializable
     }
 
     /**
-     * Getter szybkości aktualizacji prędkości średniej.
+     * Getter okien średnich prędkości kroczących.
+     *
+     * @return kopia tablicy długości okien w minutach
+     */
+    public int[] getAvgSpeedWindows()
+    {
+        return avgSpeedWindows.clone();
+    }
+
+    /**
+     * Setter okien średnich prędkości kroczących.
+     *
+     * @param windows długości okien w minutach
+     */
+    public void setAvgSpeedWindows(int... windows)
+    {
+        this.avgSpeedWindows = windows.clone();
+    }
+
+    /**
+     * Sprawdza poprawność okien średnich prędkości kroczących.
      *
-     * @return szybkość odświeżania w sekundach
+     * @param windows długości okien w minutach
+     * @return prawda, jeśli podano przynajmniej jedno okno, a wszystkie okna są dodatnie
      */
-    public int getFrequencyOfAvgSpeed()
+    private static boolean isValidAvgSpeedWindows(int[] windows)
     {
-        return frequencyOfAvgSpeed;
+        return windows != null && windows.length > 0 && Arrays.stream(windows).allMatch(window -> window > 0);
     }
 
     /**
-     * Setter szybkości aktualizacji prędkości średniej.
+     * Sprawdza poprawność liczby aktualnych podróży.
      *
-     * @param frequency szybkość odświeżania w sekundach
+     * @param numOfTrips liczba aktualnych podróży
+     * @return prawda, jeśli liczba należy do przedziału od 1 do MAX_NUM_OF_TRIPS
      */
-    public void setFreqOfAvgSpeed(int frequency)
+    public static boolean isValidNumOfTrips(int numOfTrips)
     {
-        this.frequencyOfAvgSpeed = frequency;
+        return numOfTrips > 0 && numOfTrips <= MAX_NUM_OF_TRIPS;
     }
 
     /**
@@ -81,6 +134,66 @@ public class Settings implements Serializable
         this.actualTripIndex = tripIndex;
     }
 
+    /**
+     * Getter liczby aktualnych podróży.
+     *
+     * @return liczba aktualnych podróży
+     */
+    public int getNumOfTrips()
+    {
+        return numOfTrips;
+    }
+
+    /**
+     * Setter liczby aktualnych podróży.
+     *
+     * @param numOfTrips liczba aktualnych podróży
+     */
+    public void setNumOfTrips(int numOfTrips)
+    {
+        this.numOfTrips = numOfTrips;
+    }
+
+    /**
+     * Getter rodzaju napędu.
+     *
+     * @return rodzaj napędu
+     */
+    public ConsumptionType getConsumptionType()
+    {
+        return consumptionType;
+    }
+
+    /**
+     * Setter rodzaju napędu.
+     *
+     * @param consumptionType rodzaj napędu
+     */
+    public void setConsumptionType(ConsumptionType consumptionType)
+    {
+        this.consumptionType = consumptionType;
+    }
+
+    /**
+     * Getter pojemności zbiornika paliwa lub baterii.
+     *
+     * @return pojemność w litrach lub kWh
+     */
+    public double getEnergyCapacity()
+    {
+        return energyCapacity;
+    }
+
+    /**
+     * Setter pojemności zbiornika paliwa lub baterii.
+     *
+     * @param energyCapacity pojemność w litrach lub kWh
+     */
+    public void setEnergyCapacity(double energyCapacity)
+    {
+        this.energyCapacity = energyCapacity;
+    }
+
     /**
      * Zapisuje ustawienia aplikacji do pliku XML (settings.xml).
      * Tworzy też ich kopie (settings_backup.xml).
@@ -107,25 +220,34 @@ public class Settings implements Serializable
     public void load() throws IOException, ClassNotFoundException
     {
         Settings settings = serializer.deserialize(Settings.class, "settings.xml");
-        if (settings.getFrequencyOfAvgSpeed() <= 0 || settings.getActualTripIndex() < 0 || settings.getActualTripIndex() > 1)
+        int numOfTrips = isValidNumOfTrips(settings.getNumOfTrips()) ? settings.getNumOfTrips() : DEFAULT_NUM_OF_TRIPS;
+        if (!isValidAvgSpeedWindows(settings.avgSpeedWindows) || settings.getActualTripIndex() < 0 || settings.getActualTripIndex() >= numOfTrips)
         {
             initDefault();
         }
         else
         {
-            frequencyOfAvgSpeed = settings.getFrequencyOfAvgSpeed();
+            avgSpeedWindows = settings.getAvgSpeedWindows();
             actualTripIndex = settings.getActualTripIndex();
+            this.numOfTrips = numOfTrips;
+            consumptionType = settings.getConsumptionType() != null ? settings.getConsumptionType() : DEFAULT_CONSUMPTION_TYPE;
+            energyCapacity = settings.getEnergyCapacity() > 0 ? settings.getEnergyCapacity() : consumptionType.getDefaultCapacity();
         }
     }
 
     /**
      * Inicjalizuje ustawienia domyślne.
-     * Szybkość aktualizacji prędkości średniej: 2 sekundy.
+     * Okna średnich prędkości kroczących: 1, 5 i 15 minut.
      * Indeks podróży na ekranie LCD: 0 (podróż A).
+     * Liczba aktualnych podróży: 2 (podróże A i B).
+     * Rodzaj napędu: silnik spalinowy, zbiornik 50 l.
      */
     private void initDefault()
     {
-        frequencyOfAvgSpeed = 2;
+        avgSpeedWindows = DEFAULT_AVG_SPEED_WINDOWS.clone();
         actualTripIndex = 0;
+        numOfTrips = DEFAULT_NUM_OF_TRIPS;
+        consumptionType = DEFAULT_CONSUMPTION_TYPE;
+        energyCapacity = DEFAULT_CONSUMPTION_TYPE.getDefaultCapacity();
     }
 }
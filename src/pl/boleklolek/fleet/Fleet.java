@@ -0,0 +1,247 @@
+package pl.boleklolek.fleet;
+
+import pl.boleklolek.model.Dashboard;
+
+import java.util.function.Supplier;
+
+/**
+ * Ta klasa opisuje flotę pojazdów, czyli wiele desek rozdzielczych działających w obrębie jednej maszyny wirtualnej.
+ * Pojazdy są dzielone na partycje, a każdą partycję aktualizuje osobny wątek (domyślnie jeden na rdzeń procesora).
+ */
+public class Fleet
+{
+    /**
+     * Partycje floty.
+     */
+    private final FleetPartition[] partitions;
+    /**
+     * Czas uruchomienia floty (nanosekundy).
+     */
+    private long startTime;
+    /**
+     * Czas ostatniego pomiaru wydajności (nanosekundy).
+     */
+    private long sampleTime;
+    /**
+     * Liczba aktualizacji pojazdów w chwili ostatniego pomiaru wydajności.
+     */
+    private long sampleTicks;
+
+    /**
+     * Konstruktor floty z liczbą partycji równą liczbie rdzeni procesora.
+     */
+    public Fleet()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Konstruktor floty.
+     *
+     * @param numOfPartitions liczba partycji (wątków)
+     */
+    public Fleet(int numOfPartitions)
+    {
+        if (numOfPartitions < 1)
+        {
+            throw new IllegalArgumentException("Flota musi mieć co najmniej jedną partycję!");
+        }
+        this.partitions = new FleetPartition[numOfPartitions];
+        for (int i = 0; i < numOfPartitions; i++)
+        {
+            this.partitions[i] = new FleetPartition();
+        }
+    }
+
+    /**
+     * Tworzy flotę o podanej liczbie pojazdów.
+     *
+     * @param numOfVehicles liczba pojazdów
+     * @param factory       fabryka desek rozdzielczych
+     * @return obiekt floty
+     */
+    public static Fleet of(int numOfVehicles, Supplier<Dashboard> factory)
+    {
+        Fleet fleet = new Fleet();
+        for (int i = 0; i < numOfVehicles; i++)
+        {
+            fleet.add(factory.get());
+        }
+        return fleet;
+    }
+
+    /**
+     * Dodaje deskę rozdzielczą do najmniej obciążonej partycji.
+     *
+     * @param dashboard deska rozdzielcza
+     */
+    public synchronized void add(Dashboard dashboard)
+    {
+        FleetPartition smallest = partitions[0];
+        for (FleetPartition partition : partitions)
+        {
+            if (partition.size() < smallest.size())
+            {
+                smallest = partition;
+            }
+        }
+        smallest.add(dashboard);
+    }
+
+    /**
+     * Usuwa deskę rozdzielczą z floty.
+     *
+     * @param dashboard deska rozdzielcza
+     * @return prawda, jeśli deska rozdzielcza należała do floty
+     */
+    public synchronized boolean remove(Dashboard dashboard)
+    {
+        for (FleetPartition partition : partitions)
+        {
+            if (partition.remove(dashboard))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Zwraca liczbę pojazdów we flocie.
+     *
+     * @return liczba pojazdów
+     */
+    public int size()
+    {
+        int size = 0;
+        for (FleetPartition partition : partitions)
+        {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    /**
+     * Zwraca liczbę partycji floty.
+     *
+     * @return liczba partycji
+     */
+    public int getNumOfPartitions()
+    {
+        return partitions.length;
+    }
+
+    /**
+     * Uruchamia wątki wszystkich partycji.
+     */
+    public synchronized void start()
+    {
+        startTime = System.nanoTime();
+        sampleTime = startTime;
+        sampleTicks = getVehicleTicks();
+        for (int i = 0; i < partitions.length; i++)
+        {
+            partitions[i].getEngine().start("fleet-tick-" + i);
+        }
+    }
+
+    /**
+     * Zatrzymuje wątki wszystkich partycji.
+     */
+    public synchronized void stop()
+    {
+        for (FleetPartition partition : partitions)
+        {
+            partition.getEngine().stop();
+        }
+    }
+
+    /**
+     * Zwraca łączną liczbę aktualizacji pojazdów we flocie.
+     *
+     * @return liczba aktualizacji pojazdów
+     */
+    public long getVehicleTicks()
+    {
+        long ticks = 0;
+        for (FleetPartition partition : partitions)
+        {
+            ticks += partition.getVehicleTicks();
+        }
+        return ticks;
+    }
+
+    /**
+     * Zwraca łączną liczbę przekroczeń okresu kroku we wszystkich partycjach.
+     *
+     * @return liczba przekroczeń
+     */
+    public long getOverruns()
+    {
+        long overruns = 0;
+        for (FleetPartition partition : partitions)
+        {
+            overruns += partition.getEngine().getOverruns();
+        }
+        return overruns;
+    }
+
+    /**
+     * Zwraca łączną liczbę pominiętych kroków we wszystkich partycjach.
+     *
+     * @return liczba pominiętych kroków
+     */
+    public long getSkippedTicks()
+    {
+        long skipped = 0;
+        for (FleetPartition partition : partitions)
+        {
+            skipped += partition.getEngine().getSkippedTicks();
+        }
+        return skipped;
+    }
+
+    /**
+     * Zwraca średnią liczbę aktualizacji pojazdów na sekundę od uruchomienia floty.
+     *
+     * @return liczba aktualizacji pojazdów na sekundę
+     */
+    public double getTicksPerSecond()
+    {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return seconds > 0 ? getVehicleTicks() / seconds : 0.0;
+    }
+
+    /**
+     * Mierzy liczbę aktualizacji pojazdów na sekundę od poprzedniego pomiaru.
+     *
+     * @return liczba aktualizacji pojazdów na sekundę
+     */
+    public synchronized double sampleTicksPerSecond()
+    {
+        long now = System.nanoTime();
+        long ticks = getVehicleTicks();
+        double seconds = (now - sampleTime) / 1e9;
+        double rate = seconds > 0 ? (ticks - sampleTicks) / seconds : 0.0;
+        sampleTime = now;
+        sampleTicks = ticks;
+        return rate;
+    }
+
+    /**
+     * Zwraca informacje o flocie.
+     *
+     * @return string z informacjami o flocie
+     */
+    @Override
+    public String toString()
+    {
+        return "-- FLOTA --" + System.lineSeparator() +
+                "Pojazdy: " + size() + System.lineSeparator() +
+                "Partycje: " + partitions.length + System.lineSeparator() +
+                "Aktualizacje pojazdów/s: " + (long) getTicksPerSecond() + System.lineSeparator() +
+                "Pojazdy na rdzeń: " + size() / partitions.length + System.lineSeparator() +
+                "Przekroczenia okresu: " + getOverruns() + System.lineSeparator() +
+                "Kroki pominięte: " + getSkippedTicks();
+    }
+}
@@ -0,0 +1,132 @@
+package pl.boleklolek.fleet;
+
+import pl.boleklolek.loop.TickEngine;
+import pl.boleklolek.loop.Updateable;
+import pl.boleklolek.model.Dashboard;
+import pl.boleklolek.model.kernel.VehicleStore;
+
+import java.util.Arrays;
+
+/**
+ * Ta klasa opisuje partycję floty, czyli grupę desek rozdzielczych aktualizowanych przez jeden wątek.
+ * Stan fizyczny wszystkich pojazdów partycji leży we wspólnym magazynie, więc w każdym kroku
+ * cały blok jest przesuwany jednym przebiegiem, a następnie aktualizowane są statystyki podróży, koła czasowe i migawki stanu.
+ */
+class FleetPartition implements Updateable
+{
+    /**
+     * Silnik kroków partycji.
+     */
+    private final TickEngine engine;
+    /**
+     * Wspólny magazyn stanu pojazdów partycji.
+     */
+    private final VehicleStore store;
+    /**
+     * Tablica desek rozdzielczych partycji (podmieniana w całości przy każdej zmianie).
+     */
+    private volatile Dashboard[] dashboards;
+    /**
+     * Liczba wykonanych aktualizacji pojazdów.
+     */
+    private volatile long vehicleTicks;
+
+    /**
+     * Konstruktor partycji floty.
+     */
+    FleetPartition()
+    {
+        this.engine = new TickEngine(this);
+        this.store = new VehicleStore(64);
+        this.dashboards = new Dashboard[0];
+    }
+
+    /**
+     * Getter silnika kroków.
+     *
+     * @return obiekt silnika kroków
+     */
+    TickEngine getEngine()
+    {
+        return engine;
+    }
+
+    /**
+     * Zwraca liczbę desek rozdzielczych w partycji.
+     *
+     * @return liczba desek rozdzielczych
+     */
+    int size()
+    {
+        return dashboards.length;
+    }
+
+    /**
+     * Getter liczby wykonanych aktualizacji pojazdów.
+     *
+     * @return liczba aktualizacji pojazdów
+     */
+    long getVehicleTicks()
+    {
+        return vehicleTicks;
+    }
+
+    /**
+     * Dodaje deskę rozdzielczą do partycji.
+     *
+     * @param dashboard deska rozdzielcza
+     */
+    synchronized void add(Dashboard dashboard)
+    {
+        dashboard.attach(store);
+        Dashboard[] copy = Arrays.copyOf(dashboards, dashboards.length + 1);
+        copy[copy.length - 1] = dashboard;
+        dashboards = copy;
+    }
+
+    /**
+     * Usuwa deskę rozdzielczą z partycji.
+     *
+     * @param dashboard deska rozdzielcza
+     * @return prawda, jeśli deska rozdzielcza należała do partycji
+     */
+    synchronized boolean remove(Dashboard dashboard)
+    {
+        Dashboard[] current = dashboards;
+        for (int i = 0; i < current.length; i++)
+        {
+            if (current[i] == dashboard)
+            {
+                dashboard.attach(new VehicleStore(1));
+                Dashboard[] copy = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, copy, i, current.length - i - 1);
+                dashboards = copy;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Aktualizuje wszystkie deski rozdzielcze partycji.
+     *
+     * @param step krok czasowy w sekundach
+     */
+    @Override
+    public synchronized void update(double step)
+    {
+        Dashboard[] current = dashboards;
+        for (Dashboard dashboard : current)
+        {
+            dashboard.applyInputs();
+        }
+        store.update(step);
+        for (Dashboard dashboard : current)
+        {
+            dashboard.getTimingWheel().advance(step);
+            dashboard.getComputer().updateTrips(step);
+            dashboard.publishSnapshot();
+        }
+        vehicleTicks += current.length;
+    }
+}
@@ -0,0 +1,147 @@
+package pl.boleklolek.loop;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Ta klasa opisuje ograniczoną kolejkę poleceń bez blokad dla wielu producentów i jednego konsumenta (MPSC).
+ * Producenci (np. wątek interfejsu graficznego lub konsoli) rezerwują miejsce w pierścieniu operacją CAS na liczniku
+ * końca kolejki, a jedyny konsument (wątek pętli) opróżnia kolejkę raz na krok, więc każde polecenie jest wykonywane
+ * w znanym kroku pętli, a seria poleceń jest przetwarzana hurtowo. Dodanie polecenia nie alokuje pamięci.
+ *
+ * @param <E> typ polecenia
+ */
+public class CommandQueue<E>
+{
+    /**
+     * Maska indeksu w pierścieniu.
+     */
+    private final int mask;
+    /**
+     * Pierścień poleceń (puste miejsce to null).
+     */
+    private final AtomicReferenceArray<E> buffer;
+    /**
+     * Numer następnego miejsca do zarezerwowania przez producenta.
+     */
+    private final AtomicLong tail;
+    /**
+     * Numer następnego polecenia do odczytania przez konsumenta.
+     */
+    private final AtomicLong head;
+    /**
+     * Liczba poleceń odrzuconych z powodu zapełnienia kolejki.
+     */
+    private final AtomicLong rejected;
+
+    /**
+     * Konstruktor kolejki poleceń.
+     *
+     * @param capacity pojemność kolejki (zaokrąglana w górę do potęgi dwójki)
+     */
+    public CommandQueue(int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Pojemność kolejki musi być dodatnia!");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+        {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+        this.rejected = new AtomicLong();
+    }
+
+    /**
+     * Getter pojemności kolejki.
+     *
+     * @return pojemność kolejki
+     */
+    public int getCapacity()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * Zwraca przybliżoną liczbę poleceń w kolejce.
+     *
+     * @return liczba poleceń
+     */
+    public int size()
+    {
+        return (int) Math.max(tail.get() - head.get(), 0);
+    }
+
+    /**
+     * Getter liczby odrzuconych poleceń.
+     *
+     * @return liczba poleceń odrzuconych z powodu zapełnienia kolejki
+     */
+    public long getRejected()
+    {
+        return rejected.get();
+    }
+
+    /**
+     * Dodaje polecenie na koniec kolejki. Może być wywoływana przez wiele wątków jednocześnie.
+     *
+     * @param command polecenie
+     * @return prawda, jeśli polecenie zostało dodane; fałsz, jeśli kolejka jest pełna
+     */
+    public boolean offer(E command)
+    {
+        if (command == null)
+        {
+            throw new NullPointerException("Polecenie nie może być puste!");
+        }
+        while (true)
+        {
+            long t = tail.get();
+            if (t - head.get() > mask)
+            {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1))
+            {
+                buffer.lazySet((int) t & mask, command);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Wykonuje i usuwa z kolejki polecenia dodane przed wywołaniem, zachowując ich kolejność.
+     * Może być wywoływana tylko przez jeden wątek (konsumenta). Polecenie, którego producent zarezerwował miejsce,
+     * ale jeszcze go nie zapisał, zostanie wykonane przy następnym opróżnianiu.
+     *
+     * @param consumer czynność wykonywana dla każdego polecenia
+     * @return liczba wykonanych poleceń
+     */
+    public int drain(Consumer<? super E> consumer)
+    {
+        long h = head.get();
+        long limit = tail.get();
+        int count = 0;
+        while (h < limit)
+        {
+            int index = (int) h & mask;
+            E command = buffer.get(index);
+            if (command == null)
+            {
+                break;
+            }
+            buffer.lazySet(index, null);
+            head.lazySet(++h);
+            consumer.accept(command);
+            count++;
+        }
+        return count;
+    }
+}
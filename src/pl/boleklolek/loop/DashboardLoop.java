@@ -1,22 +1,15 @@
 package pl.boleklolek.loop;
 
-import pl.boleklolek.utils.SingletonExecutor;
-
-import java.util.concurrent.TimeUnit;
-
 /**
  * Ta klasa obsługuje pętlę główną aplikacji w celu aktualizacji zmiennych.
+ * Pętla zbiera histogramy czasu trwania aktualizacji i spóźnień startu kroków (percentyle p50, p99, p99.9).
  */
 public class DashboardLoop
 {
     /**
-     * Pole informujące, czy pętla jest uruchomiona.
-     */
-    private static boolean running;
-    /**
-     * Obiekt implementujący interfejs Updateable (deska rozdzielcza).
+     * Silnik kroków aktualizujący deskę rozdzielczą.
      */
-    private final Updateable dashboard;
+    private final TickEngine engine;
 
     /**
      * Konstruktor pętli deski rozdzielczej.
@@ -25,19 +18,95 @@ public class DashboardLoop
      */
     public DashboardLoop(Updateable dashboard)
     {
-        this.dashboard = dashboard;
+        this.engine = new TickEngine(dashboard);
+    }
+
+    /**
+     * Konstruktor pętli deski rozdzielczej napędzanej podanym zegarem symulacji.
+     *
+     * @param dashboard deska rozdzielcza
+     * @param clock     zegar symulacji
+     */
+    public DashboardLoop(Updateable dashboard, SimulationClock clock)
+    {
+        this.engine = new TickEngine(dashboard, clock);
+    }
+
+    /**
+     * Getter silnika kroków.
+     *
+     * @return obiekt silnika kroków
+     */
+    public TickEngine getEngine()
+    {
+        return engine;
+    }
+
+    /**
+     * Getter zegara symulacji.
+     *
+     * @return zegar symulacji
+     */
+    public SimulationClock getClock()
+    {
+        return engine.getClock();
+    }
+
+    /**
+     * Getter histogramu czasów trwania aktualizacji deski rozdzielczej.
+     *
+     * @return histogram czasów trwania aktualizacji
+     */
+    public LatencyHistogram getLatency()
+    {
+        return engine.getLatency();
+    }
+
+    /**
+     * Getter histogramu spóźnień startu kroków względem okresu pętli.
+     *
+     * @return histogram spóźnień startu kroków
+     */
+    public LatencyHistogram getJitter()
+    {
+        return engine.getJitter();
+    }
+
+    /**
+     * Getter liczby przekroczeń okresu kroku.
+     *
+     * @return liczba przekroczeń
+     */
+    public long getOverruns()
+    {
+        return engine.getOverruns();
     }
 
     /**
      * Startuje pętlę, jeżeli nie została ona wcześniej uruchomiona.
-     * Wywołuje w każdym kroku metodę update().
+     * Wywołuje w każdym kroku metodę update() z krokiem równym czasowi, który faktycznie upłynął.
      */
     public void start()
     {
-        if (!running)
-        {
-            SingletonExecutor.getInstance().scheduleAtFixedRate(dashboard::update, 0, Updateable.TICK, TimeUnit.MICROSECONDS);
-            running = true;
-        }
+        engine.start("dashboard-tick");
+    }
+
+    /**
+     * Zatrzymuje pętlę.
+     */
+    public void stop()
+    {
+        engine.stop();
+    }
+
+    /**
+     * Zwraca statystyki pętli.
+     *
+     * @return string ze statystykami pętli
+     */
+    @Override
+    public String toString()
+    {
+        return engine.toString();
     }
 }
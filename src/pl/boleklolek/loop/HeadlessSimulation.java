@@ -0,0 +1,140 @@
+package pl.boleklolek.loop;
+
+import pl.boleklolek.model.Dashboard;
+import pl.boleklolek.model.computer.trip.Trip;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ta klasa obsługuje symulację bez interfejsu, wykonywaną z maksymalną szybkością procesora.
+ * Zamiast czekać na upływ czasu rzeczywistego, wywołuje kolejne kroki deski rozdzielczej jeden po drugim,
+ * aż do osiągnięcia zadanego czasu symulacji. Kierowcę zastępuje powtarzalny cykl jazdy
+ * zlecony w kole czasowym deski rozdzielczej: przyspieszanie, jazda, hamowanie i postój.
+ */
+public class HeadlessSimulation
+{
+    /**
+     * Domyślny czas symulacji (jedna doba, w sekundach).
+     */
+    public static final long DEFAULT_DURATION = 24 * 60 * 60;
+    /**
+     * Okres cyklu jazdy (sekundy).
+     */
+    private static final long CYCLE = 100;
+
+    /**
+     * Deska rozdzielcza.
+     */
+    private final Dashboard dashboard;
+    /**
+     * Czas symulacji (sekundy).
+     */
+    private final long duration;
+    /**
+     * Liczba wykonanych kroków.
+     */
+    private long ticks;
+    /**
+     * Czas trwania symulacji w czasie rzeczywistym (nanosekundy).
+     */
+    private long elapsedNanos;
+    /**
+     * Przejechany dystans (km).
+     */
+    private double distance;
+
+    /**
+     * Konstruktor symulacji bez interfejsu.
+     *
+     * @param dashboard deska rozdzielcza
+     * @param duration  czas symulacji w sekundach
+     */
+    public HeadlessSimulation(Dashboard dashboard, long duration)
+    {
+        if (duration <= 0)
+        {
+            throw new IllegalArgumentException("Czas symulacji musi być dodatni!");
+        }
+        this.dashboard = dashboard;
+        this.duration = duration;
+    }
+
+    /**
+     * Uruchamia symulację i czeka na jej zakończenie.
+     */
+    public void run()
+    {
+        TimingWheel timingWheel = dashboard.getTimingWheel();
+        timingWheel.scheduleAtFixedRate(dashboard::accelerateCar, 0, CYCLE, TimeUnit.SECONDS);
+        timingWheel.scheduleAtFixedRate(dashboard::idleCar, 20, CYCLE, TimeUnit.SECONDS);
+        timingWheel.scheduleAtFixedRate(dashboard::brakeCar, 80, CYCLE, TimeUnit.SECONDS);
+        timingWheel.scheduleAtFixedRate(dashboard::idleCar, 90, CYCLE, TimeUnit.SECONDS);
+
+        long steps = duration * Updateable.DELTA_TIME;
+        double initMileage = dashboard.getOdometer().getTotalMileage();
+        long start = System.nanoTime();
+        for (long i = 0; i < steps; i++)
+        {
+            dashboard.update(Updateable.STEP);
+        }
+        elapsedNanos = System.nanoTime() - start;
+        ticks = steps;
+        distance = dashboard.getOdometer().getTotalMileage() - initMileage;
+    }
+
+    /**
+     * Getter liczby wykonanych kroków.
+     *
+     * @return liczba kroków
+     */
+    public long getTicks()
+    {
+        return ticks;
+    }
+
+    /**
+     * Zwraca liczbę kroków wykonanych na sekundę czasu rzeczywistego.
+     *
+     * @return liczba kroków na sekundę
+     */
+    public double getTicksPerSecond()
+    {
+        return elapsedNanos > 0 ? ticks / (elapsedNanos / 1e9) : 0.0;
+    }
+
+    /**
+     * Getter przejechanego dystansu.
+     *
+     * @return dystans w km
+     */
+    public double getDistance()
+    {
+        return distance;
+    }
+
+    /**
+     * Zwraca raport z symulacji: wydajność, przejechany dystans i statystyki podróży.
+     *
+     * @return string z raportem symulacji
+     */
+    @Override
+    public String toString()
+    {
+        DecimalFormat df = new DecimalFormat("0.0");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("-- SYMULACJA --").append(System.lineSeparator());
+        sb.append("Czas symulacji: ").append(duration).append(" s").append(System.lineSeparator());
+        sb.append("Czas rzeczywisty: ").append(df.format(elapsedNanos / 1e9)).append(" s").append(System.lineSeparator());
+        sb.append("Kroki: ").append(ticks).append(System.lineSeparator());
+        sb.append("Kroki/s: ").append((long) getTicksPerSecond()).append(System.lineSeparator());
+        sb.append("Przyspieszenie: x").append(df.format(duration / (elapsedNanos / 1e9))).append(System.lineSeparator());
+        sb.append("Dystans: ").append(df.format(distance)).append(" km");
+        for (Trip trip : dashboard.getComputer().getTrips())
+        {
+            sb.append(System.lineSeparator()).append(trip);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,184 @@
+package pl.boleklolek.loop;
+
+import java.util.Arrays;
+
+/**
+ * Ta klasa opisuje histogram czasów o przedziałach logarytmiczno-liniowych (podobnie jak HdrHistogram).
+ * Każda potęga dwójki jest dzielona na 32 równe przedziały, więc błąd względny nie przekracza ok. 3%.
+ * Zapis wartości nie alokuje pamięci - zwiększa jedynie licznik w stałej tablicy.
+ * Histogram jest zapisywany przez jeden wątek (pętli), a odczyty z innych wątków są przybliżone.
+ */
+public class LatencyHistogram
+{
+    /**
+     * Liczba bitów określających przedział w obrębie potęgi dwójki.
+     */
+    private static final int SUB_BITS = 5;
+    /**
+     * Liczba przedziałów w obrębie potęgi dwójki.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /**
+     * Liczba wszystkich przedziałów (wartości do 2^63 - 1 nanosekund).
+     */
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    /**
+     * Liczniki wartości w przedziałach.
+     */
+    private final long[] counts;
+    /**
+     * Liczba zapisanych wartości.
+     */
+    private volatile long count;
+    /**
+     * Suma zapisanych wartości (nanosekundy).
+     */
+    private long sum;
+    /**
+     * Największa zapisana wartość (nanosekundy).
+     */
+    private volatile long max;
+
+    /**
+     * Konstruktor pustego histogramu.
+     */
+    public LatencyHistogram()
+    {
+        this.counts = new long[BUCKETS];
+    }
+
+    /**
+     * Zapisuje wartość w histogramie. Wartości ujemne są traktowane jak zero.
+     *
+     * @param nanos wartość w nanosekundach
+     */
+    public void record(long nanos)
+    {
+        long value = Math.max(nanos, 0);
+        counts[indexOf(value)]++;
+        sum += value;
+        if (value > max)
+        {
+            max = value;
+        }
+        count++;
+    }
+
+    /**
+     * Czyści histogram.
+     */
+    public void reset()
+    {
+        Arrays.fill(counts, 0);
+        sum = 0;
+        max = 0;
+        count = 0;
+    }
+
+    /**
+     * Getter liczby zapisanych wartości.
+     *
+     * @return liczba wartości
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Getter największej zapisanej wartości.
+     *
+     * @return największa wartość w nanosekundach
+     */
+    public long getMax()
+    {
+        return max;
+    }
+
+    /**
+     * Zwraca średnią zapisanych wartości.
+     *
+     * @return średnia w nanosekundach
+     */
+    public double getMean()
+    {
+        long count = this.count;
+        return count > 0 ? (double) sum / count : 0.0;
+    }
+
+    /**
+     * Zwraca percentyl zapisanych wartości (górną granicę przedziału, w którym się znajduje).
+     *
+     * @param percentile percentyl z przedziału [0, 100]
+     * @return wartość percentyla w nanosekundach
+     */
+    public long getPercentile(double percentile)
+    {
+        long count = this.count;
+        if (count == 0)
+        {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0.0), 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += counts[i];
+            if (seen >= rank)
+            {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Wyznacza indeks przedziału dla wartości.
+     *
+     * @param value wartość nieujemna
+     * @return indeks przedziału
+     */
+    private static int indexOf(long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Wyznacza górną granicę przedziału.
+     *
+     * @param index indeks przedziału
+     * @return największa wartość należąca do przedziału
+     */
+    private static long upperBound(int index)
+    {
+        if (index < SUB_BUCKETS)
+        {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long lower = (1L << (shift + SUB_BITS)) | (sub << shift);
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Zwraca podsumowanie histogramu w mikrosekundach.
+     *
+     * @return string z liczbą wartości, średnią, percentylami p50, p99, p99.9 i maksimum
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("n: %d | śr.: %.1f µs | p50: %.1f µs | p99: %.1f µs | p99.9: %.1f µs | maks.: %.1f µs",
+                getCount(), getMean() / 1000.0, getPercentile(50.0) / 1000.0, getPercentile(99.0) / 1000.0,
+                getPercentile(99.9) / 1000.0, getMax() / 1000.0);
+    }
+}
@@ -0,0 +1,129 @@
+package pl.boleklolek.loop;
+
+/**
+ * Ta klasa opisuje zegar symulacji biegnący w stałej proporcji do czasu rzeczywistego.
+ * Zmiana mnożnika nie powoduje skoku czasu - nowy mnożnik obowiązuje od chwili zmiany.
+ */
+public class ScaledClock implements SimulationClock
+{
+    /**
+     * Największy dopuszczalny mnożnik szybkości symulacji.
+     */
+    public static final double MAX_SPEED_FACTOR = 1000.0;
+
+    /**
+     * Bieżący odcinek zegara (podmieniany w całości przy zmianie mnożnika).
+     */
+    private volatile Segment segment;
+
+    /**
+     * Konstruktor zegara biegnącego w czasie rzeczywistym.
+     */
+    public ScaledClock()
+    {
+        this(1.0);
+    }
+
+    /**
+     * Konstruktor zegara.
+     *
+     * @param speedFactor mnożnik szybkości symulacji
+     */
+    public ScaledClock(double speedFactor)
+    {
+        this.segment = new Segment(System.nanoTime(), 0, validate(speedFactor));
+    }
+
+    /**
+     * Zwraca bieżący czas symulacji.
+     *
+     * @return czas symulacji w nanosekundach
+     */
+    @Override
+    public long nanoTime()
+    {
+        return segment.at(System.nanoTime());
+    }
+
+    /**
+     * Getter mnożnika szybkości symulacji.
+     *
+     * @return mnożnik szybkości symulacji
+     */
+    @Override
+    public double getSpeedFactor()
+    {
+        return segment.speedFactor;
+    }
+
+    /**
+     * Setter mnożnika szybkości symulacji.
+     *
+     * @param speedFactor mnożnik szybkości symulacji z przedziału [0, MAX_SPEED_FACTOR]
+     */
+    public synchronized void setSpeedFactor(double speedFactor)
+    {
+        validate(speedFactor);
+        long now = System.nanoTime();
+        segment = new Segment(now, segment.at(now), speedFactor);
+    }
+
+    /**
+     * Sprawdza poprawność mnożnika szybkości symulacji.
+     *
+     * @param speedFactor mnożnik szybkości symulacji
+     * @return mnożnik szybkości symulacji
+     */
+    private static double validate(double speedFactor)
+    {
+        if (!(speedFactor >= 0.0 && speedFactor <= MAX_SPEED_FACTOR))
+        {
+            throw new IllegalArgumentException("Mnożnik szybkości symulacji musi należeć do przedziału [0, " + MAX_SPEED_FACTOR + "]!");
+        }
+        return speedFactor;
+    }
+
+    /**
+     * Ta klasa opisuje odcinek zegara o stałym mnożniku.
+     */
+    private static final class Segment
+    {
+        /**
+         * Czas rzeczywisty początku odcinka (nanosekundy).
+         */
+        private final long realStart;
+        /**
+         * Czas symulacji początku odcinka (nanosekundy).
+         */
+        private final long simulationStart;
+        /**
+         * Mnożnik szybkości symulacji.
+         */
+        private final double speedFactor;
+
+        /**
+         * Konstruktor odcinka zegara.
+         *
+         * @param realStart       czas rzeczywisty początku odcinka
+         * @param simulationStart czas symulacji początku odcinka
+         * @param speedFactor     mnożnik szybkości symulacji
+         */
+        private Segment(long realStart, long simulationStart, double speedFactor)
+        {
+            this.realStart = realStart;
+            this.simulationStart = simulationStart;
+            this.speedFactor = speedFactor;
+        }
+
+        /**
+         * Przelicza czas rzeczywisty na czas symulacji.
+         *
+         * @param realTime czas rzeczywisty w nanosekundach
+         * @return czas symulacji w nanosekundach
+         */
+        private long at(long realTime)
+        {
+            return simulationStart + (long) ((realTime - realStart) * speedFactor);
+        }
+    }
+}
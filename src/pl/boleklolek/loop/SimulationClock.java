@@ -0,0 +1,24 @@
+package pl.boleklolek.loop;
+
+/**
+ * Interfejs SimulationClock.
+ * Opisuje zegar czasu symulacji, który napędza silnik kroków.
+ * Fizyka, czas podróży, naliczanie średniej prędkości i miganie kierunkowskazów liczone są w czasie symulacji,
+ * więc przyspieszenie lub spowolnienie zegara zmienia tempo ich wszystkich jednocześnie.
+ */
+public interface SimulationClock
+{
+    /**
+     * Zwraca bieżący czas symulacji (monotoniczny).
+     *
+     * @return czas symulacji w nanosekundach
+     */
+    long nanoTime();
+
+    /**
+     * Zwraca mnożnik szybkości symulacji, czyli liczbę sekund symulacji przypadających na sekundę rzeczywistą.
+     *
+     * @return mnożnik szybkości symulacji (0 - symulacja wstrzymana)
+     */
+    double getSpeedFactor();
+}
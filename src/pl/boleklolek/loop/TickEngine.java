@@ -0,0 +1,361 @@
+package pl.boleklolek.loop;
+
+import pl.boleklolek.utils.DashboardExecutors;
+import pl.boleklolek.utils.MonitoredExecutor;
+import pl.boleklolek.utils.enums.ExecutorRole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ta klasa obsługuje silnik kroków o stałym okresie, który mierzy upływ czasu zegarem symulacji.
+ * Czas, który upłynął, jest zbierany w akumulatorze i rozliczany krokami nominalnymi.
+ * Przy przyspieszonym zegarze w jednym przebiegu pętli wykonywanych jest proporcjonalnie więcej kroków,
+ * a przy spowolnionym - kroki są rzadsze, więc krok całkowania pozostaje zawsze taki sam.
+ * Gdy wątek się spóźni, silnik wykonuje ograniczoną liczbę kroków nadrabiających,
+ * a pozostały zaległy czas rozlicza jednym, dłuższym krokiem, dzięki czemu żaden czas nie jest tracony.
+ */
+public class TickEngine implements Runnable
+{
+    /**
+     * Domyślna maksymalna liczba kroków wykonywanych w jednym przebiegu pętli.
+     */
+    public static final int DEFAULT_MAX_CATCH_UP = 5;
+
+    /**
+     * Obiekt aktualizowany w każdym kroku.
+     */
+    private final Updateable updateable;
+    /**
+     * Okres kroku w nanosekundach.
+     */
+    private final long tickNanos;
+    /**
+     * Krok nominalny w sekundach.
+     */
+    private final double step;
+    /**
+     * Maksymalna liczba kroków wykonywanych w jednym przebiegu pętli.
+     */
+    private final int maxCatchUp;
+    /**
+     * Zegar symulacji.
+     */
+    private final SimulationClock clock;
+    /**
+     * Histogram czasów trwania aktualizacji.
+     */
+    private final LatencyHistogram latency;
+    /**
+     * Histogram spóźnień startu kroków względem planowanego okresu.
+     */
+    private final LatencyHistogram jitter;
+    /**
+     * Pole informujące, czy silnik jest uruchomiony.
+     */
+    private volatile boolean running;
+    /**
+     * Nazwa wątku silnika.
+     */
+    private String name;
+    /**
+     * Wątek silnika.
+     */
+    private volatile Thread thread;
+    /**
+     * Czas nierozliczony jeszcze krokami (nanosekundy).
+     */
+    private long accumulator;
+    /**
+     * Liczba wykonanych kroków.
+     */
+    private volatile long ticks;
+    /**
+     * Liczba kroków wykonanych w ramach nadrabiania zaległości.
+     */
+    private volatile long catchUpTicks;
+    /**
+     * Liczba kroków, których aktualizacja trwała dłużej niż okres kroku.
+     */
+    private volatile long overruns;
+    /**
+     * Liczba kroków pominiętych i rozliczonych zbiorczo jednym dłuższym krokiem.
+     */
+    private volatile long skippedTicks;
+
+    /**
+     * Konstruktor silnika z domyślnym okresem kroku i limitem nadrabiania.
+     *
+     * @param updateable obiekt aktualizowany w każdym kroku
+     */
+    public TickEngine(Updateable updateable)
+    {
+        this(updateable, Updateable.TICK, DEFAULT_MAX_CATCH_UP);
+    }
+
+    /**
+     * Konstruktor silnika.
+     *
+     * @param updateable obiekt aktualizowany w każdym kroku
+     * @param tick       okres kroku w mikrosekundach
+     * @param maxCatchUp maksymalna liczba kroków wykonywanych w jednym przebiegu pętli
+     */
+    public TickEngine(Updateable updateable, long tick, int maxCatchUp)
+    {
+        this(updateable, tick, maxCatchUp, new ScaledClock());
+    }
+
+    /**
+     * Konstruktor silnika z domyślnym okresem kroku i limitem nadrabiania, napędzanego podanym zegarem symulacji.
+     *
+     * @param updateable obiekt aktualizowany w każdym kroku
+     * @param clock      zegar symulacji
+     */
+    public TickEngine(Updateable updateable, SimulationClock clock)
+    {
+        this(updateable, Updateable.TICK, DEFAULT_MAX_CATCH_UP, clock);
+    }
+
+    /**
+     * Konstruktor silnika.
+     *
+     * @param updateable obiekt aktualizowany w każdym kroku
+     * @param tick       okres kroku w mikrosekundach czasu symulacji
+     * @param maxCatchUp maksymalna liczba kroków wykonywanych w jednym przebiegu pętli (przy mnożniku szybkości 1)
+     * @param clock      zegar symulacji
+     */
+    public TickEngine(Updateable updateable, long tick, int maxCatchUp, SimulationClock clock)
+    {
+        if (tick <= 0 || maxCatchUp < 1)
+        {
+            throw new IllegalArgumentException("Niepoprawne parametry silnika kroków!");
+        }
+        this.updateable = updateable;
+        this.tickNanos = TimeUnit.MICROSECONDS.toNanos(tick);
+        this.step = tick / 1_000_000.0;
+        this.maxCatchUp = maxCatchUp;
+        this.clock = clock;
+        this.latency = new LatencyHistogram();
+        this.jitter = new LatencyHistogram();
+    }
+
+    /**
+     * Uruchamia silnik na wątku zarezerwowanym w puli pętli fizyki, jeżeli nie został on wcześniej uruchomiony.
+     *
+     * @param name nazwa wątku
+     */
+    public synchronized void start(String name)
+    {
+        if (!running)
+        {
+            running = true;
+            this.name = name;
+            MonitoredExecutor executor = DashboardExecutors.get(ExecutorRole.TICK);
+            executor.reserveThread();
+            executor.execute(this);
+        }
+    }
+
+    /**
+     * Zatrzymuje silnik.
+     */
+    public synchronized void stop()
+    {
+        if (running)
+        {
+            running = false;
+            Thread current = thread;
+            if (current != null)
+            {
+                LockSupport.unpark(current);
+            }
+        }
+    }
+
+    /**
+     * Sprawdza, czy silnik jest uruchomiony.
+     *
+     * @return prawda, jeśli silnik jest uruchomiony
+     */
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    /**
+     * Getter liczby wykonanych kroków.
+     *
+     * @return liczba kroków
+     */
+    public long getTicks()
+    {
+        return ticks;
+    }
+
+    /**
+     * Getter liczby kroków nadrabiających zaległości.
+     *
+     * @return liczba kroków nadrabiających
+     */
+    public long getCatchUpTicks()
+    {
+        return catchUpTicks;
+    }
+
+    /**
+     * Getter liczby przekroczeń okresu kroku.
+     *
+     * @return liczba przekroczeń
+     */
+    public long getOverruns()
+    {
+        return overruns;
+    }
+
+    /**
+     * Getter liczby pominiętych kroków.
+     *
+     * @return liczba pominiętych kroków
+     */
+    public long getSkippedTicks()
+    {
+        return skippedTicks;
+    }
+
+    /**
+     * Getter zegara symulacji.
+     *
+     * @return zegar symulacji
+     */
+    public SimulationClock getClock()
+    {
+        return clock;
+    }
+
+    /**
+     * Getter histogramu czasów trwania aktualizacji.
+     *
+     * @return histogram czasów trwania aktualizacji
+     */
+    public LatencyHistogram getLatency()
+    {
+        return latency;
+    }
+
+    /**
+     * Getter histogramu spóźnień startu kroków.
+     *
+     * @return histogram spóźnień startu kroków
+     */
+    public LatencyHistogram getJitter()
+    {
+        return jitter;
+    }
+
+    /**
+     * Pętla silnika wykonywana na wątku puli.
+     */
+    @Override
+    public void run()
+    {
+        thread = Thread.currentThread();
+        String poolName = thread.getName();
+        thread.setName(name);
+        try
+        {
+            loop();
+        }
+        finally
+        {
+            thread.setName(poolName);
+            thread = null;
+            DashboardExecutors.get(ExecutorRole.TICK).releaseThread();
+        }
+    }
+
+    /**
+     * Czeka do terminu kolejnego kroku, po czym rozlicza czas symulacji, który faktycznie upłynął.
+     * Czas oczekiwania jest przeliczany na czas rzeczywisty według mnożnika szybkości zegara.
+     * Spóźnienie wybudzenia względem terminu (w czasie rzeczywistym) jest zapisywane w histogramie drgań.
+     */
+    private void loop()
+    {
+        long previous = clock.nanoTime();
+        while (running)
+        {
+            double speedFactor = clock.getSpeedFactor();
+            long wait = tickNanos - accumulator - (clock.nanoTime() - previous);
+            if (wait > 0)
+            {
+                LockSupport.parkNanos(speedFactor > 0 ? (long) (wait / speedFactor) : tickNanos);
+                continue;
+            }
+            long now = clock.nanoTime();
+            double scale = speedFactor > 0 ? speedFactor : 1.0;
+            jitter.record((long) ((now - previous + accumulator - tickNanos) / scale));
+            accumulator += Math.max(now - previous, 0);
+            previous = now;
+            advance(scale);
+        }
+    }
+
+    /**
+     * Rozlicza zgromadzony czas krokami nominalnymi, a nadmiar ponad limit nadrabiania - jednym dłuższym krokiem.
+     * Limit nadrabiania i czas przeznaczony na jeden krok skalowane są mnożnikiem szybkości zegara.
+     *
+     * @param speedFactor mnożnik szybkości zegara
+     */
+    private void advance(double speedFactor)
+    {
+        int stepsPerTick = (int) Math.max(1, Math.ceil(speedFactor));
+        int limit = maxCatchUp * stepsPerTick;
+        long budget = (long) (tickNanos / speedFactor);
+        int steps = 0;
+        while (accumulator >= tickNanos && steps < limit)
+        {
+            long start = System.nanoTime();
+            updateable.update(step);
+            long duration = System.nanoTime() - start;
+            latency.record(duration);
+            if (duration > budget)
+            {
+                overruns++;
+            }
+            accumulator -= tickNanos;
+            ticks++;
+            if (steps >= stepsPerTick)
+            {
+                catchUpTicks++;
+            }
+            steps++;
+        }
+        if (accumulator >= tickNanos)
+        {
+            long missed = accumulator / tickNanos;
+            long start = System.nanoTime();
+            updateable.update(missed * step);
+            latency.record(System.nanoTime() - start);
+            accumulator -= missed * tickNanos;
+            ticks++;
+            skippedTicks += missed;
+        }
+    }
+
+    /**
+     * Zwraca informacje o statystykach silnika kroków.
+     *
+     * @return string ze statystykami silnika
+     */
+    @Override
+    public String toString()
+    {
+        return "-- PĘTLA --" + System.lineSeparator() +
+                "Kroki: " + ticks + System.lineSeparator() +
+                "Kroki nadrabiające: " + catchUpTicks + System.lineSeparator() +
+                "Przekroczenia okresu: " + overruns + System.lineSeparator() +
+                "Kroki pominięte: " + skippedTicks + System.lineSeparator() +
+                "Szybkość symulacji: x" + clock.getSpeedFactor() + System.lineSeparator() +
+                "Czas aktualizacji: " + latency + System.lineSeparator() +
+                "Spóźnienie kroku: " + jitter;
+    }
+}
@@ -0,0 +1,353 @@
+package pl.boleklolek.loop;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ta klasa opisuje haszowane koło czasowe (hashed timing wheel) dla czynności okresowych deski rozdzielczej.
+ * Koło jest napędzane krokami pętli głównej - każdy krok przesuwa je o czas, który upłynął.
+ * Zlecenie i anulowanie czynności kosztuje O(1): nowe czynności i anulowania trafiają do kolejek bez blokad,
+ * które wątek pętli opróżnia przy każdym kroku koła, a czynności są przechowywane w listach dwukierunkowych kubełków.
+ * Czynności wykonywane są w wątku pętli, więc muszą być krótkie.
+ */
+public class TimingWheel
+{
+    /**
+     * Domyślna liczba kubełków koła (potęga dwójki).
+     */
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * Okres jednego kroku koła (nanosekundy).
+     */
+    private final long tickNanos;
+    /**
+     * Maska indeksu kubełka.
+     */
+    private final int mask;
+    /**
+     * Początki list czynności w kubełkach.
+     */
+    private final Timeout[] buckets;
+    /**
+     * Czynności zlecone, jeszcze nieumieszczone w kubełkach.
+     */
+    private final Queue<Timeout> pending;
+    /**
+     * Czynności anulowane, jeszcze nieusunięte z kubełków.
+     */
+    private final Queue<Timeout> cancelled;
+    /**
+     * Czas koła (nanosekundy od utworzenia).
+     */
+    private volatile long time;
+    /**
+     * Numer bieżącego kroku koła.
+     */
+    private long tick;
+    /**
+     * Czas, który upłynął, a nie został jeszcze rozliczony krokami koła (nanosekundy).
+     */
+    private long remainder;
+
+    /**
+     * Konstruktor koła czasowego z krokiem równym okresowi pętli głównej.
+     */
+    public TimingWheel()
+    {
+        this(Updateable.TICK, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Konstruktor koła czasowego.
+     *
+     * @param tick      okres kroku koła w mikrosekundach
+     * @param wheelSize liczba kubełków (zaokrąglana w górę do potęgi dwójki)
+     */
+    public TimingWheel(long tick, int wheelSize)
+    {
+        if (tick <= 0 || wheelSize <= 0)
+        {
+            throw new IllegalArgumentException("Niepoprawne parametry koła czasowego!");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize)
+        {
+            size <<= 1;
+        }
+        this.tickNanos = TimeUnit.MICROSECONDS.toNanos(tick);
+        this.mask = size - 1;
+        this.buckets = new Timeout[size];
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.cancelled = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Zleca jednorazową czynność.
+     *
+     * @param task  czynność
+     * @param delay opóźnienie
+     * @param unit  jednostka czasu
+     * @return uchwyt czynności
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit)
+    {
+        return enqueue(task, unit.toNanos(delay), 0);
+    }
+
+    /**
+     * Zleca czynność okresową. Kolejne terminy liczone są od terminu poprzedniego, więc okres nie dryfuje.
+     *
+     * @param task         czynność
+     * @param initialDelay opóźnienie pierwszego wykonania
+     * @param period       okres
+     * @param unit         jednostka czasu
+     * @return uchwyt czynności
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit)
+    {
+        if (period <= 0)
+        {
+            throw new IllegalArgumentException("Okres musi być dodatni!");
+        }
+        return enqueue(task, unit.toNanos(initialDelay), unit.toNanos(period));
+    }
+
+    /**
+     * Przesuwa koło o podany krok czasowy, wykonując czynności, których termin minął.
+     *
+     * @param step krok czasowy w sekundach
+     */
+    public void advance(double step)
+    {
+        remainder += (long) (step * 1e9);
+        while (remainder >= tickNanos)
+        {
+            remainder -= tickNanos;
+            tickOnce();
+        }
+    }
+
+    /**
+     * Getter czasu koła.
+     *
+     * @return czas koła w nanosekundach od jego utworzenia
+     */
+    public long getTime()
+    {
+        return time;
+    }
+
+    /**
+     * Tworzy uchwyt czynności i dodaje go do kolejki zleceń.
+     *
+     * @param task   czynność
+     * @param delay  opóźnienie w nanosekundach
+     * @param period okres w nanosekundach (0 - czynność jednorazowa)
+     * @return uchwyt czynności
+     */
+    private Timeout enqueue(Runnable task, long delay, long period)
+    {
+        Timeout timeout = new Timeout(this, task, time + Math.max(delay, 0), period);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Wykonuje jeden krok koła: umieszcza nowe czynności w kubełkach, usuwa anulowane i wykonuje te z bieżącego kubełka.
+     */
+    private void tickOnce()
+    {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null)
+        {
+            if (!timeout.isCancelled())
+            {
+                insert(timeout, tick);
+            }
+        }
+        while ((timeout = cancelled.poll()) != null)
+        {
+            unlink(timeout);
+        }
+
+        int index = (int) (tick & mask);
+        timeout = buckets[index];
+        while (timeout != null)
+        {
+            Timeout next = timeout.next;
+            if (timeout.rounds <= 0)
+            {
+                unlink(timeout);
+                expire(timeout);
+            }
+            else
+            {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+        tick++;
+        time += tickNanos;
+    }
+
+    /**
+     * Wykonuje czynność i - jeżeli jest okresowa - zleca jej kolejne wykonanie.
+     *
+     * @param timeout uchwyt czynności
+     */
+    private void expire(Timeout timeout)
+    {
+        if (timeout.isCancelled())
+        {
+            return;
+        }
+        try
+        {
+            timeout.task.run();
+        }
+        catch (RuntimeException e)
+        {
+            e.printStackTrace();
+        }
+        if (timeout.period > 0 && !timeout.isCancelled())
+        {
+            timeout.deadline += timeout.period;
+            insert(timeout, tick + 1);
+        }
+    }
+
+    /**
+     * Umieszcza czynność w kubełku odpowiadającym jej terminowi.
+     * Obroty są liczone od najwcześniejszego kroku - czynność wstawiana podczas przeglądania bieżącego kubełka
+     * zostanie w nim odwiedzona dopiero po pełnym obrocie koła.
+     *
+     * @param timeout  uchwyt czynności
+     * @param earliest najwcześniejszy krok, w którym czynność może zostać wykonana
+     */
+    private void insert(Timeout timeout, long earliest)
+    {
+        long target = Math.max((timeout.deadline + tickNanos - 1) / tickNanos, earliest);
+        timeout.rounds = (target - earliest) / buckets.length;
+        int index = (int) (target & mask);
+        timeout.bucket = index;
+        timeout.prev = null;
+        timeout.next = buckets[index];
+        if (buckets[index] != null)
+        {
+            buckets[index].prev = timeout;
+        }
+        buckets[index] = timeout;
+    }
+
+    /**
+     * Usuwa czynność z jej kubełka.
+     *
+     * @param timeout uchwyt czynności
+     */
+    private void unlink(Timeout timeout)
+    {
+        if (timeout.bucket < 0)
+        {
+            return;
+        }
+        if (timeout.prev != null)
+        {
+            timeout.prev.next = timeout.next;
+        }
+        else
+        {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null)
+        {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    /**
+     * Ta klasa opisuje uchwyt czynności zleconej w kole czasowym.
+     */
+    public static final class Timeout
+    {
+        /**
+         * Koło czasowe.
+         */
+        private final TimingWheel wheel;
+        /**
+         * Czynność.
+         */
+        private final Runnable task;
+        /**
+         * Okres (nanosekundy, 0 - czynność jednorazowa).
+         */
+        private final long period;
+        /**
+         * Termin wykonania (czas koła w nanosekundach).
+         */
+        private long deadline;
+        /**
+         * Liczba pełnych obrotów koła pozostałych do wykonania.
+         */
+        private long rounds;
+        /**
+         * Indeks kubełka (-1 - poza kołem).
+         */
+        private int bucket;
+        /**
+         * Poprzednia czynność w kubełku.
+         */
+        private Timeout prev;
+        /**
+         * Następna czynność w kubełku.
+         */
+        private Timeout next;
+        /**
+         * Pole informujące, czy czynność została anulowana.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Konstruktor uchwytu czynności.
+         *
+         * @param wheel    koło czasowe
+         * @param task     czynność
+         * @param deadline termin wykonania
+         * @param period   okres
+         */
+        private Timeout(TimingWheel wheel, Runnable task, long deadline, long period)
+        {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+            this.bucket = -1;
+        }
+
+        /**
+         * Anuluje czynność. Usunięcie z kubełka nastąpi przy najbliższym kroku koła.
+         */
+        public void cancel()
+        {
+            if (!cancelled)
+            {
+                cancelled = true;
+                wheel.cancelled.add(this);
+            }
+        }
+
+        /**
+         * Sprawdza, czy czynność została anulowana.
+         *
+         * @return prawda, jeśli czynność została anulowana
+         */
+        public boolean isCancelled()
+        {
+            return cancelled;
+        }
+    }
+}
@@ -7,16 +7,30 @@ package pl.boleklolek.loop;
 public interface Updateable
 {
     /**
-     * Okres jednego kroku w pętli aplikacji (mikrosekundy).
+     * Okres jednego kroku w pętli aplikacji (mikrosekundy czasu symulacji).
      */
     long TICK = 10_000L;
     /**
-     * Czas pomiędzy kolejnymi aktualizacjami w mikrosekundach.
+     * Liczba kroków pętli aplikacji na sekundę czasu symulacji.
      */
     long DELTA_TIME = 1_000_000L / TICK;
+    /**
+     * Nominalny krok całkowania w sekundach.
+     */
+    double STEP = 1.0 / DELTA_TIME;
+
+    /**
+     * Aktualizuje zmienne danego obiektu o nominalny krok.
+     */
+    default void update()
+    {
+        update(STEP);
+    }
 
     /**
-     * Aktualizuje zmienne danego obiektu.
+     * Aktualizuje zmienne danego obiektu o podany krok czasowy.
+     *
+     * @param step krok czasowy w sekundach
      */
-    void update();
+    void update(double step);
 }
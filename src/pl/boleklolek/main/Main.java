@@ -2,10 +2,18 @@ package pl.boleklolek.main;
 
 import pl.boleklolek.dao.DAO;
 import pl.boleklolek.dao.MemoryDAO;
+import pl.boleklolek.dao.archive.MemoryArchive;
 import pl.boleklolek.dao.database.MemoryDB;
 import pl.boleklolek.dao.xml.MemoryXML;
+import pl.boleklolek.dao.xml.Settings;
+import pl.boleklolek.loop.DashboardLoop;
+import pl.boleklolek.loop.HeadlessSimulation;
 import pl.boleklolek.model.Dashboard;
-import pl.boleklolek.utils.SingletonExecutor;
+import pl.boleklolek.model.computer.Memory;
+import pl.boleklolek.model.lights.Lights;
+import pl.boleklolek.model.odometer.Odometer;
+import pl.boleklolek.utils.DashboardExecutors;
+import pl.boleklolek.utils.enums.ExecutorRole;
 import pl.boleklolek.view.console.Menu;
 import pl.boleklolek.view.gui.DashboardFrame;
 
@@ -23,31 +31,81 @@ public class Main
      * W zależności od argumentów wiersza poleceń zostanie włączona dana instancja aplikacji.
      * 1. Okrojona wersja konsolowa (argument: console).
      * 2. Aplikacja z interfejsem graficznym stworzonym w bibliotece Swing (domyślnie bez argumentów).
+     * 3. Symulacja bez interfejsu z maksymalną szybkością (argumenty: headless [czas symulacji w sekundach]).
+     * Statystyki pętli są dostępne w menu aplikacji, a z właściwością systemową dashboard.loopStats=true
+     * są dodatkowo wypisywane na standardowe wyjście przy zamykaniu.
      *
      * @param args argumenty wejścia
      */
     public static void main(String[] args)
     {
-        Map<DAO, MemoryDAO> memoryDAOs = new HashMap<>(2);
+        if (args.length >= 1 && args[0].equals("headless"))
+        {
+            runHeadless(args);
+            return;
+        }
+
+        Map<DAO, MemoryDAO> memoryDAOs = new HashMap<>(3);
         memoryDAOs.put(DAO.XML, new MemoryXML());
         memoryDAOs.put(DAO.DATABASE, new MemoryDB());
+        memoryDAOs.put(DAO.ARCHIVE, new MemoryArchive());
 
         Dashboard dashboard = new Dashboard(memoryDAOs.get(DAO.XML));
         dashboard.startComputer();
+        DashboardLoop loop = new DashboardLoop(dashboard, dashboard.getClock());
+        loop.start();
 
         if (args.length >= 1 && args[0].equals("console"))
         {
-            SingletonExecutor.getInstance().submit(() -> new Menu(dashboard, memoryDAOs).display());
+            DashboardExecutors.blocking(ExecutorRole.CONSOLE).submit(() -> new Menu(dashboard, loop, memoryDAOs).display());
         }
         else
         {
-            SwingUtilities.invokeLater(() -> new DashboardFrame(dashboard, memoryDAOs).display());
+            SwingUtilities.invokeLater(() -> new DashboardFrame(dashboard, loop, memoryDAOs).display());
         }
 
         Runtime.getRuntime().addShutdownHook(new Thread(() ->
         {
-            SingletonExecutor.getInstance().shutdown();
+            loop.stop();
+            DashboardExecutors.shutdown();
             dashboard.saveAll();
+            if (Boolean.getBoolean("dashboard.loopStats"))
+            {
+                System.out.println(loop);
+            }
         }));
     }
+
+    /**
+     * Uruchamia symulację bez interfejsu na nowej desce rozdzielczej (bez odczytu i zapisu stanu aplikacji).
+     * Po zakończeniu wypisuje raport z wydajnością, przejechanym dystansem i statystykami podróży.
+     *
+     * @param args argumenty wejścia (drugi argument to czas symulacji w sekundach, domyślnie jedna doba)
+     */
+    private static void runHeadless(String[] args)
+    {
+        long duration = HeadlessSimulation.DEFAULT_DURATION;
+        if (args.length >= 2)
+        {
+            try
+            {
+                duration = Long.parseLong(args[1]);
+            }
+            catch (NumberFormatException e)
+            {
+                duration = 0;
+            }
+            if (duration <= 0)
+            {
+                System.err.println("Niepoprawny czas symulacji: " + args[1]);
+                return;
+            }
+        }
+        System.setProperty("java.awt.headless", "true");
+        Dashboard dashboard = new Dashboard(new MemoryXML(), new Settings(), new Odometer(), new Lights(), new Memory());
+        dashboard.startComputer();
+        HeadlessSimulation simulation = new HeadlessSimulation(dashboard, duration);
+        simulation.run();
+        System.out.println(simulation);
+    }
 }
@@ -2,31 +2,48 @@ package pl.boleklolek.model;
 
 import pl.boleklolek.dao.DashboardDAO;
 import pl.boleklolek.dao.MemoryDAO;
+import pl.boleklolek.dao.archive.MemoryArchive;
+import pl.boleklolek.dao.archive.TripArchive;
 import pl.boleklolek.dao.state.DashboardState;
 import pl.boleklolek.dao.xml.MemoryXML;
 import pl.boleklolek.dao.xml.Settings;
-import pl.boleklolek.loop.DashboardLoop;
+import pl.boleklolek.loop.CommandQueue;
+import pl.boleklolek.loop.ScaledClock;
+import pl.boleklolek.loop.TimingWheel;
 import pl.boleklolek.loop.Updateable;
 import pl.boleklolek.model.computer.Computer;
 import pl.boleklolek.model.computer.Memory;
+import pl.boleklolek.model.computer.consumption.ConsumptionModel;
+import pl.boleklolek.model.computer.consumption.enums.ConsumptionType;
+import pl.boleklolek.model.kernel.VehicleStore;
 import pl.boleklolek.model.lights.Lights;
 import pl.boleklolek.model.lights.enums.FogLightsLocation;
 import pl.boleklolek.model.lights.enums.HeadLightsPosition;
 import pl.boleklolek.model.lights.enums.SignalLightsDirection;
 import pl.boleklolek.model.odometer.Odometer;
 import pl.boleklolek.model.radio.Radio;
+import pl.boleklolek.model.snapshot.DashboardSnapshot;
+import pl.boleklolek.model.snapshot.SnapshotBuffer;
 import pl.boleklolek.model.speedometer.Speedometer;
+import pl.boleklolek.model.speedometer.enums.DriverCommand;
 
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Ta klasa opisuje deskę rozdzielczą. Nadzoruje ona swoje elementy składowe.
  */
 public class Dashboard implements Updateable
 {
+    /**
+     * Domyślna pojemność kolejki poleceń kierowcy.
+     */
+    private static final int DEFAULT_INPUT_CAPACITY = 1024;
+
     /**
      * Prędkościomierz.
      */
@@ -55,10 +72,42 @@ public class Dashboard implements Updateable
      * DAO deski rozdzielczej.
      */
     private final DashboardDAO dashboardDAO;
+    /**
+     * Koło czasowe czynności okresowych deski rozdzielczej (napędzane krokami pętli głównej).
+     */
+    private final TimingWheel timingWheel;
+    /**
+     * Zegar symulacji, który napędza pętlę główną deski rozdzielczej.
+     */
+    private final ScaledClock clock;
+    /**
+     * Bufor migawek stanu publikowanych po każdym kroku.
+     */
+    private final SnapshotBuffer snapshots;
+    /**
+     * Kolejka poleceń kierowcy oczekujących na wykonanie w wątku pętli.
+     */
+    private final CommandQueue<DriverCommand> inputs;
+    /**
+     * Czynność wykonująca polecenie kierowcy (tworzona raz, aby opróżnianie kolejki nie alokowało pamięci).
+     */
+    private final Consumer<DriverCommand> inputHandler;
+    /**
+     * Zmiana modelu zużycia oczekująca na wykonanie w wątku pętli (null, gdy brak zmiany).
+     */
+    private final AtomicReference<ConsumptionChange> pendingConsumption;
     /**
      * DAO pamięci komputera pokładowego.
      */
     private MemoryDAO memoryDAO;
+    /**
+     * Magazyn stanu pojazdów, w którym przechowywany jest stan prędkościomierza i licznika przebiegu.
+     */
+    private VehicleStore store;
+    /**
+     * Slot pojazdu w magazynie.
+     */
+    private int slot;
 
     /**
      * Konstruktor deski rozdzielczej.
@@ -69,52 +118,110 @@ public class Dashboard implements Updateable
      */
     public Dashboard(MemoryDAO memoryDAO)
     {
-        this.settings = new Settings();
-        try
-        {
-            this.settings.load();
-        }
-        catch (IOException | ClassNotFoundException e)
-        {
-            this.settings.save();
-        }
+        this(memoryDAO, new DashboardState(), loadSettings(), null, null, null);
+    }
 
-        this.dashboardDAO = new DashboardState();
+    /**
+     * Konstruktor deski rozdzielczej z podanym stanem początkowym, bez odczytu z plików.
+     * Służy do tworzenia wielu pojazdów w obrębie jednej maszyny wirtualnej (np. floty).
+     *
+     * @param memoryDAO DAO pamięci komputera pokładowego
+     * @param settings  ustawienia
+     * @param odometer  licznik przebiegu
+     * @param lights    światła
+     * @param memory    pamięć komputera pokładowego
+     */
+    public Dashboard(MemoryDAO memoryDAO, Settings settings, Odometer odometer, Lights lights, Memory memory)
+    {
+        this(memoryDAO, new DashboardState(), settings, odometer, lights, memory);
+    }
+
+    /**
+     * Konstruktor deski rozdzielczej.
+     * Brakujące (puste) składowe są wczytywane z DAO, a gdy to się nie powiedzie - tworzone od nowa.
+     *
+     * @param memoryDAO    DAO pamięci komputera pokładowego
+     * @param dashboardDAO DAO deski rozdzielczej
+     * @param settings     ustawienia
+     * @param odometer     licznik przebiegu
+     * @param lights       światła
+     * @param memory       pamięć komputera pokładowego
+     */
+    private Dashboard(MemoryDAO memoryDAO, DashboardDAO dashboardDAO, Settings settings, Odometer odometer, Lights lights, Memory memory)
+    {
+        this.settings = settings;
+        this.dashboardDAO = dashboardDAO;
         this.memoryDAO = memoryDAO;
-        Odometer odometer;
-        try
+        if (odometer == null)
         {
-            odometer = this.dashboardDAO.loadOdometer();
+            try
+            {
+                odometer = this.dashboardDAO.loadOdometer();
+            }
+            catch (IOException | ClassNotFoundException e)
+            {
+                odometer = new Odometer();
+            }
         }
-        catch (IOException | ClassNotFoundException e)
+        if (lights == null)
         {
-            odometer = new Odometer();
+            try
+            {
+                lights = this.dashboardDAO.loadLights();
+            }
+            catch (IOException | ClassNotFoundException e)
+            {
+                lights = new Lights();
+            }
         }
-        Lights lights;
-        try
-        {
-            lights = this.dashboardDAO.loadLights();
-        }
-        catch (IOException | ClassNotFoundException e)
+        if (memory == null)
         {
-            lights = new Lights();
+            try
+            {
+                memory = this.memoryDAO.loadMemory();
+            }
+            catch (SQLException | ClassNotFoundException | IOException throwables)
+            {
+                memory = new Memory();
+            }
         }
-        Memory memory;
+        this.timingWheel = new TimingWheel();
+        this.clock = new ScaledClock();
+        this.speedometer = new Speedometer();
+        this.odometer = odometer;
+        this.odometer.setNumOfDailyMileages(settings.getNumOfTrips());
+        this.lights = lights;
+        this.lights.setTimingWheel(this.timingWheel);
+        this.computer = new Computer(memory, this.speedometer, this.odometer, this.timingWheel);
+        this.computer.setAvgSpeedWindows(settings.getAvgSpeedWindows());
+        this.computer.setConsumptionModel(settings.getConsumptionType().createModel(), settings.getEnergyCapacity());
+        this.radio = new Radio();
+        this.snapshots = new SnapshotBuffer(this.computer.getNumOfTrips());
+        this.inputs = new CommandQueue<>(DEFAULT_INPUT_CAPACITY);
+        this.inputHandler = this::execute;
+        this.pendingConsumption = new AtomicReference<>();
+        attach(new VehicleStore(1));
+        publishSnapshot();
+    }
+
+    /**
+     * Wczytuje ustawienia aplikacji.
+     * Gdy próba wczytania się nie powiedzie, zapisywane są ustawienia domyślne.
+     *
+     * @return obiekt ustawień
+     */
+    private static Settings loadSettings()
+    {
+        Settings settings = new Settings();
         try
         {
-            memory = this.memoryDAO.loadMemory();
+            settings.load();
         }
-        catch (SQLException | ClassNotFoundException | IOException throwables)
+        catch (IOException | ClassNotFoundException e)
         {
-            memory = new Memory();
+            settings.save();
         }
-        this.speedometer = new Speedometer();
-        this.odometer = odometer;
-        this.lights = lights;
-        this.computer = new Computer(memory, this.speedometer, this.odometer);
-        this.computer.setFreqOfAvgSpeed(settings.getFrequencyOfAvgSpeed());
-        this.radio = new Radio();
-        new DashboardLoop(this).start();
+        return settings;
     }
 
     /**
@@ -167,43 +274,177 @@ public class Dashboard implements Updateable
         return settings;
     }
 
+    /**
+     * Getter koła czasowego.
+     *
+     * @return obiekt koła czasowego
+     */
+    public TimingWheel getTimingWheel()
+    {
+        return timingWheel;
+    }
+
+    /**
+     * Getter zegara symulacji.
+     *
+     * @return obiekt zegara symulacji
+     */
+    public ScaledClock getClock()
+    {
+        return clock;
+    }
+
+    /**
+     * Setter mnożnika szybkości symulacji.
+     * Fizyka, czas podróży, średnia prędkość i kierunkowskazy przyspieszają lub zwalniają jednocześnie.
+     *
+     * @param speedFactor mnożnik szybkości symulacji (np. 0.5, 10, 100)
+     */
+    public void setSpeedFactor(double speedFactor)
+    {
+        clock.setSpeedFactor(speedFactor);
+    }
+
+    /**
+     * Publikuje migawkę bieżącego stanu deski rozdzielczej.
+     * Wywoływana przez wątek pętli po zakończeniu każdego kroku.
+     */
+    public void publishSnapshot()
+    {
+        snapshots.publish(speedometer, computer, odometer.getTotalMileage());
+    }
+
+    /**
+     * Odczytuje spójną migawkę stanu deski rozdzielczej z ostatniego kroku, bez blokowania pętli.
+     *
+     * @param target obiekt migawki, który zostanie nadpisany
+     * @return ten sam obiekt migawki
+     */
+    public DashboardSnapshot readSnapshot(DashboardSnapshot target)
+    {
+        return snapshots.read(target);
+    }
+
+    /**
+     * Podpina prędkościomierz i licznik przebiegu pod nowy slot w podanym magazynie stanu pojazdów.
+     * Aktualny stan jest przenoszony, a poprzedni slot zwalniany.
+     *
+     * @param store magazyn stanu pojazdów
+     */
+    public void attach(VehicleStore store)
+    {
+        int slot = store.allocate();
+        speedometer.attach(store, slot);
+        odometer.attach(store, slot);
+        if (this.store != null)
+        {
+            this.store.release(this.slot);
+        }
+        this.store = store;
+        this.slot = slot;
+    }
+
     /**
      * Przyspiesza samochód.
+     * Polecenie jest wykonywane na początku najbliższego kroku pętli.
      */
     public void accelerateCar()
     {
-        double acceleration = speedometer.getDefaultAcceleration() + 25.0;
-        speedometer.setAcceleration(acceleration);
+        inputs.offer(DriverCommand.ACCELERATE);
     }
 
     /**
      * Wprowadza w stan bezczynności samochodu (nieprzyspieszanie ani niezwalnianie - bieg jałowy).
+     * Polecenie jest wykonywane na początku najbliższego kroku pętli.
      */
     public void idleCar()
     {
-        speedometer.setAcceleration(speedometer.getDefaultAcceleration());
+        inputs.offer(DriverCommand.IDLE);
     }
 
     /**
      * Zwalnia samochód.
-     * Włączony tempomat jest dezaktywowany.
+     * Włączony tempomat jest dezaktywowany. Polecenie jest wykonywane na początku najbliższego kroku pętli.
      */
     public void brakeCar()
     {
-        double acceleration = speedometer.getDefaultAcceleration() - 35.0;
-        speedometer.setAcceleration(acceleration);
-        if (speedometer.isLimiter())
-        {
-            speedometer.setLimiter(false);
-        }
+        inputs.offer(DriverCommand.BRAKE);
     }
 
     /**
      * Przełącza tempomat.
+     * Polecenie jest wykonywane na początku najbliższego kroku pętli.
      */
     public void toggleLimiter()
     {
-        speedometer.toggleLimiter();
+        inputs.offer(DriverCommand.TOGGLE_LIMITER);
+    }
+
+    /**
+     * Tankuje samochód (napełnia zbiornik paliwa lub baterię).
+     * Polecenie jest wykonywane na początku najbliższego kroku pętli.
+     */
+    public void refuelCar()
+    {
+        inputs.offer(DriverCommand.REFUEL);
+    }
+
+    /**
+     * Wykonuje oczekującą zmianę modelu zużycia i polecenia kierowcy oczekujące w kolejce.
+     * Wywoływana przez wątek pętli na początku każdego kroku. Zmiana modelu zużycia nie przechodzi przez kolejkę,
+     * więc nie ginie, gdy kolejka jest zapełniona.
+     *
+     * @return liczba wykonanych poleceń
+     */
+    public int applyInputs()
+    {
+        ConsumptionChange change = pendingConsumption.getAndSet(null);
+        if (change != null)
+        {
+            computer.setConsumptionModel(change.model, change.energyCapacity);
+        }
+        return inputs.drain(inputHandler);
+    }
+
+    /**
+     * Getter liczby poleceń kierowcy odrzuconych z powodu zapełnienia kolejki.
+     *
+     * @return liczba odrzuconych poleceń
+     */
+    public long getRejectedInputs()
+    {
+        return inputs.getRejected();
+    }
+
+    /**
+     * Wykonuje polecenie kierowcy na prędkościomierzu.
+     *
+     * @param command polecenie kierowcy
+     */
+    private void execute(DriverCommand command)
+    {
+        switch (command)
+        {
+            case ACCELERATE:
+                speedometer.setPedal(1.0);
+                break;
+            case IDLE:
+                speedometer.setPedal(0.0);
+                break;
+            case BRAKE:
+                speedometer.setPedal(-1.0);
+                if (speedometer.isLimiter())
+                {
+                    speedometer.setLimiter(false);
+                }
+                break;
+            case TOGGLE_LIMITER:
+                speedometer.toggleLimiter();
+                break;
+            case REFUEL:
+                computer.refuel();
+                break;
+        }
     }
 
     /**
@@ -294,17 +535,16 @@ public class Dashboard implements Updateable
      */
     public void startComputer()
     {
-        for (int i = 0; i < computer.getTrips().length; i++)
+        for (int i = 0; i < computer.getNumOfTrips(); i++)
         {
             computer.startTrip(i);
         }
-        computer.startTimer();
     }
 
     /**
      * Startuje nową podróż.
      *
-     * @param tripIndex indeks podróży (A - 0 lub B - 1)
+     * @param tripIndex indeks podróży (A - 0, B - 1, ...)
      */
     public void startNewTrip(int tripIndex)
     {
@@ -315,7 +555,7 @@ public class Dashboard implements Updateable
     /**
      * Resetuje podróż.
      *
-     * @param tripIndex indeks podróży (A - 0 lub B - 1)
+     * @param tripIndex indeks podróży (A - 0, B - 1, ...)
      */
     public void resetTrip(int tripIndex)
     {
@@ -343,7 +583,7 @@ public class Dashboard implements Updateable
     public void loadMemory() throws SQLException, ClassNotFoundException, IOException
     {
         computer.setMemory(memoryDAO.loadMemory());
-        for (int i = 0; i < computer.getTrips().length; i++)
+        for (int i = 0; i < computer.getNumOfTrips(); i++)
         {
             computer.loadTrip(i);
             computer.startTrip(i);
@@ -352,12 +592,19 @@ public class Dashboard implements Updateable
 
     /**
      * Zapisuje pamięć komputera pokładowego.
+     * Trwające podróże są zapisywane z czasem trwania do bieżącej chwili, bez zmiany ich stanu w wątku pętli.
+     * Archiwum podróży oznacza aktualne podróże (A, B, ...) jako te, które zostaną wczytane do pamięci;
+     * oznaczanych jest co najwyżej TripArchive.MAX_ACTIVE pierwszych podróży, pozostałe trafiają do archiwum.
      *
      * @throws SQLException           wyjątek SQL
      * @throws ClassNotFoundException wyjątek klasa nie znaleziona
      */
     public void saveMemory() throws SQLException, ClassNotFoundException
     {
+        if (memoryDAO instanceof MemoryArchive)
+        {
+            ((MemoryArchive) memoryDAO).setActiveTrips(Math.min(computer.getNumOfTrips(), TripArchive.MAX_ACTIVE));
+        }
         memoryDAO.saveMemory(computer.getMemory());
     }
 
@@ -387,20 +634,54 @@ public class Dashboard implements Updateable
     }
 
     /**
-     * Setter szybkości aktualizacji średniej prędkości.
+     * Setter okien średnich prędkości kroczących.
+     *
+     * @param windows długości okien w minutach
+     */
+    public void setAvgSpeedWindows(int... windows)
+    {
+        computer.setAvgSpeedWindows(windows);
+        settings.setAvgSpeedWindows(windows);
+    }
+
+    /**
+     * Ustawia rodzaj napędu (model zużycia) i pojemność zbiornika paliwa lub baterii, który zostaje napełniony.
+     * Ustawienia są zapisywane od razu, a model komputera pokładowego zmienia się na początku najbliższego kroku pętli
+     * (tak jak przy tankowaniu), więc wątek pętli nie odczytuje modelu i zbiornika w trakcie zmiany.
+     *
+     * @param consumptionType rodzaj napędu
+     * @param energyCapacity  pojemność zbiornika paliwa lub baterii (l lub kWh)
+     */
+    public void setConsumption(ConsumptionType consumptionType, double energyCapacity)
+    {
+        if (energyCapacity <= 0)
+        {
+            throw new IllegalArgumentException("Pojemność zbiornika musi być dodatnia!");
+        }
+        pendingConsumption.set(new ConsumptionChange(consumptionType.createModel(), energyCapacity));
+        settings.setConsumptionType(consumptionType);
+        settings.setEnergyCapacity(energyCapacity);
+    }
+
+    /**
+     * Setter liczby aktualnych podróży.
+     * Zmiana nastąpi przy ponownym uruchomieniu programu.
      *
-     * @param frequency szybkość aktualizacji średniej prędkości w sekundach
+     * @param numOfTrips liczba aktualnych podróży (od 1 do Settings.MAX_NUM_OF_TRIPS)
      */
-    public void setFreqOfAvgSpeed(int frequency)
+    public void setNumOfTrips(int numOfTrips)
     {
-        computer.setFreqOfAvgSpeed(frequency);
-        settings.setFreqOfAvgSpeed(frequency);
+        if (!Settings.isValidNumOfTrips(numOfTrips))
+        {
+            throw new IllegalArgumentException("Niepoprawna liczba aktualnych podróży!");
+        }
+        settings.setNumOfTrips(numOfTrips);
     }
 
     /**
      * Setter indeksu aktualnej podróży.
      *
-     * @param index indeks podróży (A - 0 lub B - 1)
+     * @param index indeks podróży (A - 0, B - 1, ...)
      */
     public void setActualTripIndex(int index)
     {
@@ -436,13 +717,19 @@ public class Dashboard implements Updateable
     }
 
     /**
-     * Aktualizuje prędkościomierz i komputer pokładowy.
+     * Wykonuje oczekujące polecenia kierowcy, aktualizuje prędkościomierz, przesuwa koło czasowe (zegar podróży),
+     * aktualizuje komputer pokładowy i publikuje migawkę stanu.
+     *
+     * @param step krok czasowy w sekundach
      */
     @Override
-    public void update()
+    public void update(double step)
     {
-        speedometer.update();
-        computer.update();
+        applyInputs();
+        speedometer.update(step);
+        timingWheel.advance(step);
+        computer.update(step);
+        publishSnapshot();
     }
 
     /**
@@ -460,4 +747,31 @@ public class Dashboard implements Updateable
                 radio + System.lineSeparator() +
                 computer;
     }
+
+    /**
+     * Ta klasa opisuje zmianę modelu zużycia oczekującą na wykonanie w wątku pętli.
+     */
+    private static final class ConsumptionChange
+    {
+        /**
+         * Model zużycia paliwa lub energii.
+         */
+        private final ConsumptionModel model;
+        /**
+         * Pojemność zbiornika paliwa lub baterii.
+         */
+        private final double energyCapacity;
+
+        /**
+         * Konstruktor zmiany modelu zużycia.
+         *
+         * @param model          model zużycia paliwa lub energii
+         * @param energyCapacity pojemność zbiornika paliwa lub baterii
+         */
+        private ConsumptionChange(ConsumptionModel model, double energyCapacity)
+        {
+            this.model = model;
+            this.energyCapacity = energyCapacity;
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package pl.boleklolek.model.computer;
+
+/**
+ * Ta klasa opisuje indeks UUID - wiersz przechowywany w tablicy int na stercie.
+ */
+class ArrayUuidIndex extends UuidIndex
+{
+    /**
+     * Tablica indeksu (numer wiersza + 1, 0 oznacza puste miejsce).
+     */
+    private int[] table;
+
+    /**
+     * Konstruktor indeksu UUID na stercie.
+     *
+     * @param records  rekordy podróży
+     * @param capacity liczba miejsc (potęga dwójki)
+     */
+    ArrayUuidIndex(TripRecords records, int capacity)
+    {
+        super(records);
+        this.table = new int[capacity];
+    }
+
+    /**
+     * Zwraca liczbę miejsc tablicy.
+     *
+     * @return liczba miejsc
+     */
+    @Override
+    public int getCapacity()
+    {
+        return table.length;
+    }
+
+    /**
+     * Odczytuje miejsce tablicy.
+     *
+     * @param slot miejsce
+     * @return numer wiersza + 1 lub 0
+     */
+    @Override
+    protected int getSlot(int slot)
+    {
+        return table[slot];
+    }
+
+    /**
+     * Zapisuje miejsce tablicy.
+     *
+     * @param slot  miejsce
+     * @param value numer wiersza + 1 lub 0
+     */
+    @Override
+    protected void setSlot(int slot, int value)
+    {
+        table[slot] = value;
+    }
+
+    /**
+     * Przydziela pustą tablicę.
+     *
+     * @param capacity liczba miejsc
+     */
+    @Override
+    protected void allocate(int capacity)
+    {
+        table = new int[capacity];
+    }
+}
@@ -0,0 +1,608 @@
+package pl.boleklolek.model.computer;
+
+import pl.boleklolek.model.computer.enums.TripOrder;
+import pl.boleklolek.model.computer.trip.Trip;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.DoubleStream;
+
+/**
+ * Ta klasa przechowuje podróże w równoległych kolumnach typów prostych (structure of arrays).
+ * UUID podróży zajmuje dwie kolumny typu long, przebieg, średnia i maksymalna prędkość oraz zużycie - kolumny
+ * typu double, a czas trwania w nanosekundach - kolumnę typu long. Podróż kosztuje więc kilkadziesiąt bajtów
+ * zamiast kilku obiektów z nagłówkami, a przeglądanie jednej kolumny (np. sumowanie przebiegów) jest prostą pętlą
+ * po ciągłej tablicy. Szkice rozkładu prędkości i stan trwania podróży nie są przechowywane - zapisywana jest
+ * migawka podróży z chwili dodania.
+ * Metoda get(), iterator i strumienie wydają niezależne kopie podróży. Do przeglądania bez tworzenia podróży
+ * służą strumień rekordów tylko do odczytu ({@link #records()}) i strumienie wartości kolumn.
+ * Indeks UUID - wiersz to tablica z adresowaniem otwartym ({@link UuidIndex}), bez obiektów na każdą podróż.
+ * Usunięcie podróży zachowuje kolejność pozostałych (kolejne wiersze są przesuwane o jedną pozycję).
+ */
+public class ColumnarTripStore implements Repository<Trip>, TripRecords
+{
+    /**
+     * Domyślna początkowa pojemność magazynu.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Liczba podróży.
+     */
+    private int size;
+    /**
+     * Starsze 64 bity UUID.
+     */
+    private long[] uuidHigh;
+    /**
+     * Młodsze 64 bity UUID.
+     */
+    private long[] uuidLow;
+    /**
+     * Przebiegi (km).
+     */
+    private double[] mileage;
+    /**
+     * Średnie prędkości (km/h).
+     */
+    private double[] averageSpeed;
+    /**
+     * Prędkości maksymalne (km/h).
+     */
+    private double[] maxSpeed;
+    /**
+     * Zużycia paliwa lub energii.
+     */
+    private double[] consumption;
+    /**
+     * Czasy trwania (ns).
+     */
+    private long[] elapsedNanos;
+    /**
+     * Indeks UUID - wiersz.
+     */
+    private final UuidIndex index;
+
+    /**
+     * Konstruktor magazynu kolumnowego o domyślnej pojemności.
+     */
+    public ColumnarTripStore()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Konstruktor magazynu kolumnowego.
+     *
+     * @param capacity początkowa pojemność
+     */
+    public ColumnarTripStore(int capacity)
+    {
+        if (capacity < 0)
+        {
+            throw new IllegalArgumentException("Pojemność magazynu nie może być ujemna!");
+        }
+        capacity = Math.max(capacity, 1);
+        this.uuidHigh = new long[capacity];
+        this.uuidLow = new long[capacity];
+        this.mileage = new double[capacity];
+        this.averageSpeed = new double[capacity];
+        this.maxSpeed = new double[capacity];
+        this.consumption = new double[capacity];
+        this.elapsedNanos = new long[capacity];
+        this.index = new ArrayUuidIndex(this, UuidIndex.capacityFor(capacity));
+    }
+
+    /**
+     * Dodaje wszystkie podróże (np. z pamięci komputera pokładowego).
+     *
+     * @param trips podróże
+     */
+    public void addAll(Iterable<? extends Trip> trips)
+    {
+        for (Trip trip : trips)
+        {
+            add(trip);
+        }
+    }
+
+    /**
+     * Getter wszystkich podróży.
+     * Zwraca listę niezależnych kopii - do przeglądania bez kopiowania służy strumień rekordów.
+     *
+     * @return lista kopii podróży
+     */
+    @Override
+    public List<Trip> getAll()
+    {
+        List<Trip> trips = new ArrayList<>(size);
+        for (int row = 0; row < size; row++)
+        {
+            trips.add(copy(row));
+        }
+        return trips;
+    }
+
+    /**
+     * Getter konkretnej podróży.
+     *
+     * @param index indeks
+     * @return niezależna kopia podróży
+     */
+    @Override
+    public Trip get(int index)
+    {
+        return copy(checkIndex(index));
+    }
+
+    /**
+     * Zwraca rekord podróży o danym indeksie (tylko do odczytu).
+     * Rekord jest związany z wierszem, a nie z podróżą - po usunięciu podróży wskazuje inną podróż.
+     *
+     * @param index indeks
+     * @return rekord podróży
+     */
+    public TripRecord record(int index)
+    {
+        return new TripRecord(this, checkIndex(index));
+    }
+
+    /**
+     * Setter konkretnej podróży. Zapisuje migawkę podróży w danym wierszu.
+     *
+     * @param index indeks
+     * @param trip  podróż
+     */
+    @Override
+    public void set(int index, Trip trip)
+    {
+        checkIndex(index);
+        UUID uuid = trip.getUuid();
+        int found = indexOf(uuid);
+        if (found != -1 && found != index)
+        {
+            throw new IllegalArgumentException("Podróż o danym UUID jest już w magazynie!");
+        }
+        if (found == -1)
+        {
+            this.index.remove(index);
+            writeRow(index, trip);
+            this.index.insert(index);
+        }
+        else
+        {
+            write(index, trip);
+        }
+    }
+
+    /**
+     * Dodaje migawkę podróży do magazynu.
+     *
+     * @param trip podróż
+     */
+    @Override
+    public void add(Trip trip)
+    {
+        if (containsUuid(trip.getUuid()))
+        {
+            throw new IllegalArgumentException("Podróż o danym UUID jest już w magazynie!");
+        }
+        if (size == uuidHigh.length)
+        {
+            grow(size * 2);
+        }
+        index.reserve(size + 1);
+        writeRow(size, trip);
+        index.insert(size++);
+    }
+
+    /**
+     * Usuwa podróż po indeksie z zachowaniem kolejności - kolejne podróże są przesuwane o jedną pozycję,
+     * a ich wpisy w indeksie UUID przenumerowane.
+     *
+     * @param index indeks
+     */
+    @Override
+    public void remove(int index)
+    {
+        checkIndex(index);
+        this.index.remove(index);
+        int moved = --size - index;
+        System.arraycopy(uuidHigh, index + 1, uuidHigh, index, moved);
+        System.arraycopy(uuidLow, index + 1, uuidLow, index, moved);
+        System.arraycopy(mileage, index + 1, mileage, index, moved);
+        System.arraycopy(averageSpeed, index + 1, averageSpeed, index, moved);
+        System.arraycopy(maxSpeed, index + 1, maxSpeed, index, moved);
+        System.arraycopy(consumption, index + 1, consumption, index, moved);
+        System.arraycopy(elapsedNanos, index + 1, elapsedNanos, index, moved);
+        this.index.closeGap(index);
+    }
+
+    /**
+     * Zwraca pozycję podróży o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return indeks podróży lub -1, jeśli podróży nie ma w magazynie
+     */
+    @Override
+    public int indexOf(UUID uuid)
+    {
+        return index.indexOf(uuid);
+    }
+
+    /**
+     * Wyszukuje podróż o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return niezależna kopia podróży lub null, jeśli podróży nie ma w magazynie
+     */
+    @Override
+    public Trip findByUuid(UUID uuid)
+    {
+        int row = indexOf(uuid);
+        return row != -1 ? copy(row) : null;
+    }
+
+    /**
+     * Sprawdza, czy magazyn zawiera podróż o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return prawda, jeśli magazyn zawiera podróż
+     */
+    @Override
+    public boolean containsUuid(UUID uuid)
+    {
+        return indexOf(uuid) != -1;
+    }
+
+    /**
+     * Usuwa podróż o danym UUID z magazynu.
+     *
+     * @param uuid UUID podróży
+     * @return prawda, jeśli podróż została usunięta
+     */
+    @Override
+    public boolean removeByUuid(UUID uuid)
+    {
+        int row = indexOf(uuid);
+        if (row == -1)
+        {
+            return false;
+        }
+        remove(row);
+        return true;
+    }
+
+    /**
+     * Sortuje podróże względem komparatora (stabilnie), porównując tymczasowe kopie wierszy.
+     * Jeżeli komparator będzie pusty, to zostanie wywołane sortowanie po interfejsie Comparable.
+     *
+     * @param comp komparator
+     */
+    @Override
+    public void sort(Comparator<Trip> comp)
+    {
+        permute(RowSort.sort(this, comp));
+    }
+
+    /**
+     * Sortuje podróże według kryterium, porównując bezpośrednio wartości kolumny.
+     *
+     * @param order      kryterium uporządkowania
+     * @param descending czy w kolejności malejącej
+     */
+    public void sort(TripOrder order, boolean descending)
+    {
+        double[] keys = values(order).toArray();
+        int sign = descending ? -1 : 1;
+        permute(RowSort.sort(size, (i, j) -> sign * Double.compare(keys[i], keys[j])));
+    }
+
+    /**
+     * Zwraca strumień wartości kolumny danego kryterium (bez tworzenia obiektów podróży).
+     * Strumień można przetwarzać równolegle.
+     *
+     * @param order kryterium
+     * @return strumień wartości kolumny
+     */
+    public DoubleStream values(TripOrder order)
+    {
+        switch (order)
+        {
+            case MILEAGE:
+                return Arrays.stream(mileage, 0, size);
+            case ELAPSED_TIME:
+                return Arrays.stream(elapsedNanos, 0, size).asDoubleStream();
+            case AVERAGE_SPEED:
+                return Arrays.stream(averageSpeed, 0, size);
+            default:
+                return Arrays.stream(maxSpeed, 0, size);
+        }
+    }
+
+    /**
+     * Sumuje przebiegi wszystkich podróży jedną pętlą po kolumnie.
+     *
+     * @return suma przebiegów (km)
+     */
+    public double getTotalMileage()
+    {
+        double sum = 0.0;
+        for (int row = 0; row < size; row++)
+        {
+            sum += mileage[row];
+        }
+        return sum;
+    }
+
+    /**
+     * Sumuje zużycia wszystkich podróży jedną pętlą po kolumnie.
+     *
+     * @return suma zużyć
+     */
+    public double getTotalConsumption()
+    {
+        double sum = 0.0;
+        for (int row = 0; row < size; row++)
+        {
+            sum += consumption[row];
+        }
+        return sum;
+    }
+
+    /**
+     * Pobiera liczbę podróży.
+     *
+     * @return liczba podróży
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Zwraca starsze 64 bity UUID podróży.
+     *
+     * @param row wiersz
+     * @return starsze 64 bity UUID
+     */
+    @Override
+    public long getUuidHigh(int row)
+    {
+        return uuidHigh[row];
+    }
+
+    /**
+     * Zwraca młodsze 64 bity UUID podróży.
+     *
+     * @param row wiersz
+     * @return młodsze 64 bity UUID
+     */
+    @Override
+    public long getUuidLow(int row)
+    {
+        return uuidLow[row];
+    }
+
+    /**
+     * Zwraca przebieg podróży.
+     *
+     * @param row wiersz
+     * @return przebieg (km)
+     */
+    @Override
+    public double getMileage(int row)
+    {
+        return mileage[row];
+    }
+
+    /**
+     * Ustawia przebieg podróży.
+     *
+     * @param row      wiersz
+     * @param distance przebieg (km)
+     */
+    @Override
+    public void setMileage(int row, double distance)
+    {
+        mileage[row] = distance;
+    }
+
+    /**
+     * Zwraca średnią prędkość podróży.
+     *
+     * @param row wiersz
+     * @return średnia prędkość (km/h)
+     */
+    @Override
+    public double getAverageSpeed(int row)
+    {
+        return averageSpeed[row];
+    }
+
+    /**
+     * Ustawia średnią prędkość podróży.
+     *
+     * @param row   wiersz
+     * @param speed średnia prędkość (km/h)
+     */
+    @Override
+    public void setAverageSpeed(int row, double speed)
+    {
+        averageSpeed[row] = speed;
+    }
+
+    /**
+     * Zwraca prędkość maksymalną podróży.
+     *
+     * @param row wiersz
+     * @return prędkość maksymalna (km/h)
+     */
+    @Override
+    public double getMaxSpeed(int row)
+    {
+        return maxSpeed[row];
+    }
+
+    /**
+     * Ustawia prędkość maksymalną podróży.
+     *
+     * @param row   wiersz
+     * @param speed prędkość maksymalna (km/h)
+     */
+    @Override
+    public void setMaxSpeed(int row, double speed)
+    {
+        maxSpeed[row] = speed;
+    }
+
+    /**
+     * Zwraca zużycie paliwa lub energii w podróży.
+     *
+     * @param row wiersz
+     * @return zużycie
+     */
+    @Override
+    public double getConsumption(int row)
+    {
+        return consumption[row];
+    }
+
+    /**
+     * Ustawia zużycie paliwa lub energii w podróży.
+     *
+     * @param row    wiersz
+     * @param amount zużycie
+     */
+    @Override
+    public void setConsumption(int row, double amount)
+    {
+        consumption[row] = amount;
+    }
+
+    /**
+     * Zwraca czas trwania podróży.
+     *
+     * @param row wiersz
+     * @return czas trwania (ns)
+     */
+    @Override
+    public long getElapsedNanos(int row)
+    {
+        return elapsedNanos[row];
+    }
+
+    /**
+     * Ustawia czas trwania podróży.
+     *
+     * @param row   wiersz
+     * @param nanos czas trwania (ns)
+     */
+    @Override
+    public void setElapsedNanos(int row, long nanos)
+    {
+        elapsedNanos[row] = nanos;
+    }
+
+    /**
+     * Zwraca informację o podróżach w magazynie.
+     *
+     * @return string z informacjami o podróżach w magazynie
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("-- MAGAZYN PODRÓŻY --");
+        int i = 0;
+        for (Trip trip : this)
+        {
+            sb.append(System.lineSeparator()).append("[").append(++i).append("] ").append(trip);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Sprawdza poprawność indeksu.
+     *
+     * @param index indeks
+     * @return indeks
+     */
+    private int checkIndex(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Indeks: " + index + ", rozmiar: " + size);
+        }
+        return index;
+    }
+
+    /**
+     * Zapisuje migawkę podróży razem z UUID w danym wierszu.
+     *
+     * @param row  wiersz
+     * @param trip podróż
+     */
+    private void writeRow(int row, Trip trip)
+    {
+        UUID uuid = trip.getUuid();
+        uuidHigh[row] = uuid.getMostSignificantBits();
+        uuidLow[row] = uuid.getLeastSignificantBits();
+        write(row, trip);
+    }
+
+    /**
+     * Ustawia wiersze w podanej kolejności i odbudowuje indeks UUID.
+     *
+     * @param order numery wierszy w nowej kolejności
+     */
+    private void permute(int[] order)
+    {
+        long[] high = new long[uuidHigh.length];
+        long[] low = new long[uuidLow.length];
+        double[] mileages = new double[mileage.length];
+        double[] averages = new double[averageSpeed.length];
+        double[] maxima = new double[maxSpeed.length];
+        double[] consumptions = new double[consumption.length];
+        long[] nanos = new long[elapsedNanos.length];
+        for (int i = 0; i < order.length; i++)
+        {
+            int row = order[i];
+            high[i] = uuidHigh[row];
+            low[i] = uuidLow[row];
+            mileages[i] = mileage[row];
+            averages[i] = averageSpeed[row];
+            maxima[i] = maxSpeed[row];
+            consumptions[i] = consumption[row];
+            nanos[i] = elapsedNanos[row];
+        }
+        uuidHigh = high;
+        uuidLow = low;
+        mileage = mileages;
+        averageSpeed = averages;
+        maxSpeed = maxima;
+        consumption = consumptions;
+        elapsedNanos = nanos;
+        index.rebuild(index.getCapacity());
+    }
+
+    /**
+     * Powiększa kolumny.
+     *
+     * @param capacity nowa pojemność
+     */
+    private void grow(int capacity)
+    {
+        uuidHigh = Arrays.copyOf(uuidHigh, capacity);
+        uuidLow = Arrays.copyOf(uuidLow, capacity);
+        mileage = Arrays.copyOf(mileage, capacity);
+        averageSpeed = Arrays.copyOf(averageSpeed, capacity);
+        maxSpeed = Arrays.copyOf(maxSpeed, capacity);
+        consumption = Arrays.copyOf(consumption, capacity);
+        elapsedNanos = Arrays.copyOf(elapsedNanos, capacity);
+    }
+}
@@ -1,22 +1,36 @@
 package pl.boleklolek.model.computer;
 
+import pl.boleklolek.loop.TimingWheel;
 import pl.boleklolek.loop.Updateable;
+import pl.boleklolek.model.computer.consumption.ConsumptionModel;
+import pl.boleklolek.model.computer.consumption.FuelConsumption;
+import pl.boleklolek.model.computer.enums.TripOrder;
+import pl.boleklolek.model.computer.trip.SpeedSketch;
 import pl.boleklolek.model.computer.trip.Trip;
-import pl.boleklolek.model.odometer.MileageException;
 import pl.boleklolek.model.odometer.Odometer;
 import pl.boleklolek.model.speedometer.Speedometer;
-import pl.boleklolek.utils.SingletonExecutor;
 
-import java.util.Arrays;
+import java.text.DecimalFormat;
 import java.util.Comparator;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
+import java.util.function.LongSupplier;
 
 /**
  * Ta klasa opisuje komputer pokładowy.
+ * Statystyki prędkości są aktualizowane strumieniowo w każdym kroku: dokładna średnia prędkość całej podróży
+ * oraz średnie kroczące z konfigurowalnych okien czasowych.
+ * W każdym kroku całkowane jest też zużycie paliwa lub energii według wymiennego modelu zużycia
+ * (z prędkości i przyspieszenia), z którego wyznaczane są zużycie chwilowe, zużycie podróży i zasięg.
+ * Czas trwania podróży odmierza czas koła czasowego - monotoniczny zegar nanosekundowy przesuwany krokami pętli,
+ * więc jest dokładny przy dowolnej częstotliwości kroków i dowolnej szybkości symulacji.
  */
 public class Computer implements Updateable
 {
+    /**
+     * Liczba nanosekund w godzinie.
+     */
+    private static final double NANOS_PER_HOUR = 3600e9;
+
     /**
      * Prędkościomierz.
      */
@@ -26,9 +40,9 @@ public class Computer implements Updateable
      */
     private final Odometer odometer;
     /**
-     * Tablica czynności zleconych w ScheduledServiceExecutor.
+     * Zegar czasu trwania podróży (czas koła czasowego w nanosekundach).
      */
-    private final transient ScheduledFuture<?>[] futures;
+    private final LongSupplier clock;
     /**
      * Tablica aktualnych podróży.
      */
@@ -38,9 +52,37 @@ public class Computer implements Updateable
      */
     private Memory memory;
     /**
-     * Szybkość aktualizacji średniej prędkości.
+     * Średnie prędkości kroczące.
+     */
+    private RollingAverage[] rollingAverages;
+    /**
+     * Ostatnia prędkość dodana do szkiców rozkładu prędkości.
+     */
+    private double sketchSpeed = Double.NaN;
+    /**
+     * Numer kubełka szkicu ostatniej prędkości.
+     */
+    private int sketchBucket;
+    /**
+     * Model zużycia paliwa lub energii.
+     */
+    private ConsumptionModel consumptionModel;
+    /**
+     * Pojemność zbiornika paliwa lub baterii.
+     */
+    private double energyCapacity;
+    /**
+     * Ilość paliwa lub energii w zbiorniku lub baterii.
+     */
+    private double energyLevel;
+    /**
+     * Chwilowe tempo zużycia (jednostki modelu zużycia na godzinę).
+     */
+    private double consumptionRate;
+    /**
+     * Prędkość z poprzedniego kroku (do wyznaczenia przyspieszenia).
      */
-    private int frequencyOfAvgSpeed;
+    private double lastSpeed = Double.NaN;
 
     /**
      * Konstruktor komputera pokładowego.
@@ -49,16 +91,21 @@ public class Computer implements Updateable
      * @param memory      pamięć
      * @param speedometer prędkościomierz
      * @param odometer    licznik przebiegu
+     * @param timingWheel koło czasowe
      */
-    public Computer(Memory memory, Speedometer speedometer, Odometer odometer)
+    public Computer(Memory memory, Speedometer speedometer, Odometer odometer, TimingWheel timingWheel)
     {
         this.memory = memory;
         this.speedometer = speedometer;
         this.odometer = odometer;
+        this.clock = timingWheel::getTime;
 
-        int numOfTrips = odometer.getDailyMileages().length;
-        this.futures = new ScheduledFuture[numOfTrips];
+        int numOfTrips = odometer.getNumOfDailyMileages();
         this.trips = new Trip[numOfTrips];
+        this.rollingAverages = new RollingAverage[0];
+        this.consumptionModel = FuelConsumption.passengerCar();
+        this.energyCapacity = 50.0;
+        this.energyLevel = energyCapacity;
         for (int i = 0; i < numOfTrips; i++)
         {
             loadTrip(i);
@@ -75,6 +122,27 @@ public class Computer implements Updateable
         return trips.clone();
     }
 
+    /**
+     * Getter podróży o danym indeksie (bez kopiowania tablicy).
+     *
+     * @param index indeks podróży (A - 0, B - 1, ...)
+     * @return obiekt podróży
+     */
+    public Trip getTrip(int index)
+    {
+        return trips[index];
+    }
+
+    /**
+     * Zwraca liczbę aktualnych podróży.
+     *
+     * @return liczba podróży
+     */
+    public int getNumOfTrips()
+    {
+        return trips.length;
+    }
+
     /**
      * Getter pamięci.
      *
@@ -96,19 +164,169 @@ public class Computer implements Updateable
     }
 
     /**
-     * Setter szybkości aktualizacji średniej prędkości.
+     * Ustawia okna średnich prędkości kroczących. Zebrane dotąd średnie kroczące są odrzucane.
+     *
+     * @param windows długości okien w minutach
+     */
+    public void setAvgSpeedWindows(int... windows)
+    {
+        RollingAverage[] rollingAverages = new RollingAverage[windows.length];
+        for (int i = 0; i < windows.length; i++)
+        {
+            rollingAverages[i] = new RollingAverage(windows[i] * 60);
+        }
+        this.rollingAverages = rollingAverages;
+    }
+
+    /**
+     * Zwraca liczbę okien średnich prędkości kroczących.
+     *
+     * @return liczba okien
+     */
+    public int getNumOfAvgSpeedWindows()
+    {
+        return rollingAverages.length;
+    }
+
+    /**
+     * Zwraca długość okna średniej prędkości kroczącej.
+     *
+     * @param index indeks okna
+     * @return długość okna w minutach
+     */
+    public int getAvgSpeedWindow(int index)
+    {
+        return rollingAverages[index].getWindow() / 60;
+    }
+
+    /**
+     * Zwraca średnią prędkość kroczącą.
+     *
+     * @param index indeks okna
+     * @return średnia prędkość z okna w km/h
+     */
+    public double getRollingAverageSpeed(int index)
+    {
+        return rollingAverages[index].getAverageSpeed();
+    }
+
+    /**
+     * Getter modelu zużycia.
      *
-     * @param frequency szybkość odświeżania w sekundach
+     * @return model zużycia paliwa lub energii
      */
-    public void setFreqOfAvgSpeed(int frequency)
+    public ConsumptionModel getConsumptionModel()
     {
-        this.frequencyOfAvgSpeed = frequency;
+        return consumptionModel;
+    }
+
+    /**
+     * Ustawia model zużycia i pojemność zbiornika paliwa lub baterii, który zostaje napełniony.
+     * Jeżeli nowy model liczy zużycie w innej jednostce, zużycie aktualnych podróży zostanie wyzerowane
+     * w najbliższym kroku (podróże z pamięci zachowują zużycie w swojej jednostce).
+     * Metoda musi być wywoływana w wątku pętli (np. przez kolejkę poleceń kierowcy).
+     *
+     * @param consumptionModel model zużycia paliwa lub energii
+     * @param energyCapacity   pojemność zbiornika paliwa lub baterii (w jednostkach modelu)
+     */
+    public void setConsumptionModel(ConsumptionModel consumptionModel, double energyCapacity)
+    {
+        if (energyCapacity <= 0)
+        {
+            throw new IllegalArgumentException("Pojemność zbiornika musi być dodatnia!");
+        }
+        this.consumptionModel = consumptionModel;
+        this.energyCapacity = energyCapacity;
+        this.energyLevel = energyCapacity;
+    }
+
+    /**
+     * Getter pojemności zbiornika paliwa lub baterii.
+     *
+     * @return pojemność w jednostkach modelu zużycia
+     */
+    public double getEnergyCapacity()
+    {
+        return energyCapacity;
+    }
+
+    /**
+     * Getter ilości paliwa lub energii w zbiorniku lub baterii.
+     *
+     * @return ilość w jednostkach modelu zużycia
+     */
+    public double getEnergyLevel()
+    {
+        return energyLevel;
+    }
+
+    /**
+     * Napełnia zbiornik paliwa lub baterię.
+     */
+    public void refuel()
+    {
+        energyLevel = energyCapacity;
+    }
+
+    /**
+     * Zwraca chwilowe tempo zużycia.
+     *
+     * @return zużycie w jednostkach modelu na godzinę
+     */
+    public double getConsumptionRate()
+    {
+        return consumptionRate;
+    }
+
+    /**
+     * Zwraca chwilowe zużycie na 100 km.
+     *
+     * @return zużycie na 100 km (0 podczas postoju)
+     */
+    public double getInstantConsumption()
+    {
+        return getInstantConsumption(consumptionRate, speedometer.getSpeed());
+    }
+
+    /**
+     * Zwraca szacowany zasięg na podstawie średniego zużycia podróży.
+     *
+     * @param index indeks podróży (A - 0, B - 1, ...)
+     * @return zasięg w km (0, gdy zużycie podróży nie jest jeszcze znane)
+     */
+    public double getRange(int index)
+    {
+        return getRange(energyLevel, trips[index].getConsumptionPer100km());
+    }
+
+    /**
+     * Przelicza tempo zużycia na zużycie na 100 km.
+     *
+     * @param rate  tempo zużycia w jednostkach modelu na godzinę
+     * @param speed prędkość w km/h
+     * @return zużycie na 100 km (0 podczas postoju)
+     */
+    public static double getInstantConsumption(double rate, double speed)
+    {
+        return speed >= 1.0 ? rate / speed * 100 : 0.0;
+    }
+
+    /**
+     * Wyznacza zasięg z ilości paliwa lub energii i zużycia na 100 km.
+     *
+     * @param energyLevel    ilość paliwa lub energii
+     * @param consumption100 zużycie na 100 km
+     * @return zasięg w km (0, gdy zużycie nie jest dodatnie)
+     */
+    public static double getRange(double energyLevel, double consumption100)
+    {
+        return consumption100 > 0 ? energyLevel / consumption100 * 100 : 0.0;
     }
 
     /**
      * Tworzy nową podróż i dodaje ją do pamięci.
      *
-     * @param index indeks podróży (A - 0 lub B - 1)
+     * @param index indeks podróży (A - 0, B - 1, ...)
      */
     public void createNewTrip(int index)
     {
@@ -127,7 +345,7 @@ public class Computer implements Updateable
      * Wczytuje daną podróż.
      * Jeżeli nie znajdzie jej w pamięci, to tworzy nową podróż i ją wczytuje.
      *
-     * @param index indeks podróży (A - 0 lub B - 1)
+     * @param index indeks podróży (A - 0, B - 1, ...)
      */
     public void loadTrip(int index)
     {
@@ -143,14 +361,28 @@ public class Computer implements Updateable
 
     /**
      * Wczytuje daną podróż z pamięci komputera pokładowego i ustawia jej przebieg w liczniku.
+     * Zastępowana podróż zostaje wstrzymana, a wczytana podróż trwa dalej, jeżeli trwała zastępowana.
      *
-     * @param tripIndex   indeks podróży (A - 0 lub B - 1)
+     * @param tripIndex   indeks podróży (A - 0, B - 1, ...)
      * @param memoryIndex indeks podróży w pamięci
      */
     public void loadTripFromMemory(int tripIndex, int memoryIndex)
     {
-        trips[tripIndex] = memory.get(memoryIndex);
-        odometer.setDailyMileage(tripIndex, trips[tripIndex].getMileage());
+        Trip trip = memory.get(memoryIndex);
+        Trip previous = trips[tripIndex];
+        boolean running = previous != null && previous.isRunning();
+        if (previous != null && previous != trip)
+        {
+            previous.pause();
+            memory.update(previous);
+        }
+        trips[tripIndex] = trip;
+        if (running)
+        {
+            trip.start(clock);
+            memory.update(trip);
+        }
+        odometer.setDailyMileage(tripIndex, trip.getMileage());
     }
 
     /**
@@ -160,33 +392,52 @@ public class Computer implements Updateable
      */
     public void removeTripFromMemory(int index)
     {
-        if (!Arrays.asList(trips).contains(memory.get(index)))
+        removeTripFromMemory(memory.get(index).getUuid());
+    }
+
+    /**
+     * Usuwa podróż o danym UUID z pamięci, jeżeli nie jest ona aktualnie używana.
+     *
+     * @param uuid UUID podróży
+     * @return prawda, jeśli podróż została usunięta
+     */
+    public boolean removeTripFromMemory(UUID uuid)
+    {
+        return indexOfTrip(uuid) == -1 && memory.removeByUuid(uuid);
+    }
+
+    /**
+     * Dodaje podróż (np. przywróconą z archiwum) na koniec pamięci, jeżeli pamięć nie zawiera podróży o tym samym UUID.
+     *
+     * @param trip podróż
+     * @return prawda, jeśli podróż została dodana
+     */
+    public boolean addTripToMemory(Trip trip)
+    {
+        if (memory.containsUuid(trip.getUuid()))
         {
-            memory.remove(index);
+            return false;
         }
+        memory.add(trip);
+        return true;
     }
 
     /**
      * Startuje podróż.
-     * Rozpoczęcie naliczania średniej prędkości z wykorzystaniem SingletonExecutora.
+     * Rozpoczęcie odmierzania czasu podróży i naliczania średniej prędkości w kolejnych krokach komputera pokładowego.
      *
-     * @param index indeks podróży (A - 0 lub B - 1)
+     * @param index indeks podróży (A - 0, B - 1, ...)
      */
     public void startTrip(int index)
     {
-        Trip trip = trips[index];
-        double initDistance = Math.abs(odometer.getTotalMileage() - trip.getMileage().get());
-        if (futures[index] != null)
-        {
-            futures[index].cancel(true);
-        }
-        futures[index] = SingletonExecutor.getInstance().scheduleAtFixedRate(() -> calcAverageSpeed(trip, initDistance), 1, frequencyOfAvgSpeed, TimeUnit.SECONDS);
+        trips[index].start(clock);
+        memory.update(trips[index]);
     }
 
     /**
      * Resetuje podróż.
      *
-     * @param index indeks podróży (A - 0 lub B - 1)
+     * @param index indeks podróży (A - 0, B - 1, ...)
      */
     public void resetTrip(int index)
     {
@@ -195,28 +446,83 @@ public class Computer implements Updateable
     }
 
     /**
-     * Zamienia podróże A i B ze sobą.
+     * Zamienia ze sobą aktualne podróże o podanych indeksach.
+     *
+     * @param i indeks pierwszej podróży
+     * @param j indeks drugiej podróży
+     */
+    public void swapTrips(int i, int j)
+    {
+        Trip temp = trips[i];
+        trips[i] = trips[j];
+        trips[j] = temp;
+        odometer.swapDailyMileages(i, j);
+    }
+
+    /**
+     * Ustawia podróż z pamięci jako aktualną podróż o danym indeksie.
+     * Jeżeli podróż jest już aktualna pod innym indeksem, podróże zostają zamienione miejscami.
+     *
+     * @param tripIndex   indeks aktualnej podróży
+     * @param memoryIndex indeks podróży w pamięci
+     */
+    public void setTrip(int tripIndex, int memoryIndex)
+    {
+        int current = indexOfTrip(memory.get(memoryIndex).getUuid());
+        if (current == -1)
+        {
+            loadTripFromMemory(tripIndex, memoryIndex);
+        }
+        else if (current != tripIndex)
+        {
+            swapTrips(tripIndex, current);
+        }
+    }
+
+    /**
+     * Zwraca indeks aktualnej podróży.
+     *
+     * @param trip podróż
+     * @return indeks aktualnej podróży lub -1, jeśli podróż nie jest aktualna
      */
-    public void swapTrips()
+    public int indexOfTrip(Trip trip)
     {
-        Trip temp = trips[0];
-        trips[0] = trips[1];
-        trips[1] = temp;
+        return indexOfTrip(trip.getUuid());
     }
 
     /**
-     * Uruchamia zliczanie czasu podróżom.
-     * Wykorzystuje SingletonExecutora w celu dodawania sekundy do czasu podróży.
+     * Zwraca indeks aktualnej podróży o danym UUID.
+     * Przegląda tylko aktualne podróże (ich liczba jest równa liczbie przebiegów dziennych), a nie całą pamięć.
+     *
+     * @param uuid UUID podróży
+     * @return indeks aktualnej podróży lub -1, jeśli podróż nie jest aktualna
      */
-    public void startTimer()
+    public int indexOfTrip(UUID uuid)
     {
-        SingletonExecutor.getInstance().scheduleAtFixedRate(() ->
+        for (int i = 0; i < trips.length; i++)
         {
-            for (Trip trip : trips)
+            if (trips[i].getUuid().equals(uuid))
             {
-                trip.addTime(1);
+                return i;
             }
-        }, 0, 1, TimeUnit.SECONDS);
+        }
+        return -1;
+    }
+
+    /**
+     * Zwraca nazwę aktualnej podróży o danym indeksie (A, B, ..., Z, AA, AB, ...).
+     *
+     * @param index indeks podróży
+     * @return nazwa podróży
+     */
+    public static String getTripName(int index)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = index; i >= 0; i = i / 26 - 1)
+        {
+            sb.insert(0, (char) ('A' + i % 26));
+        }
+        return sb.toString();
     }
 
     /**
@@ -231,15 +537,97 @@ public class Computer implements Updateable
     }
 
     /**
-     * Kalkuluje zmianę prędkości średniej.
+     * Sortuje podróże w pamięci komputera pokładowego według kryterium, od największej wartości.
+     * Wykorzystuje indeks posortowany pamięci, więc nie porównuje podróży od nowa.
+     *
+     * @param order kryterium uporządkowania
+     */
+    public void sortTripsInMemory(TripOrder order)
+    {
+        memory.sort(order, true);
+    }
+
+    /**
+     * Kalkuluje zmianę prędkości średniej trwających podróży (przebieg podróży przez jej czas trwania).
+     */
+    private void calcAverageSpeed()
+    {
+        for (Trip trip : trips)
+        {
+            if (trip.isRunning())
+            {
+                long nanos = trip.getElapsedNanos();
+                if (nanos > 0)
+                {
+                    trip.setAverageSpeed(trip.getMileage().get() / nanos * NANOS_PER_HOUR);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dodaje bieżącą prędkość do szkiców rozkładu prędkości wystartowanych podróży.
+     * Waga próbki to liczba nominalnych kroków w kroku czasowym (co najmniej 1), więc krok nadrabiający
+     * pominięty czas liczy się tyle, ile pominięte kroki, a kwantyle pozostają ważone czasem.
+     * Numer kubełka jest liczony ponownie tylko przy zmianie prędkości.
+     *
+     * @param speed aktualna prędkość
+     * @param step  krok czasowy w sekundach
+     */
+    private void calcSpeedSketches(double speed, double step)
+    {
+        long weight = Math.max(1, Math.round(step / Updateable.STEP));
+        if (speed != sketchSpeed)
+        {
+            sketchSpeed = speed;
+            sketchBucket = SpeedSketch.bucketOf(speed);
+        }
+        for (int i = 0; i < trips.length; i++)
+        {
+            if (trips[i].isRunning())
+            {
+                trips[i].getSpeedSketch().addToBucket(sketchBucket, weight);
+            }
+        }
+    }
+
+    /**
+     * Dodaje dystans z bieżącego kroku do średnich prędkości kroczących.
+     *
+     * @param speed aktualna prędkość
+     * @param step  krok czasowy w sekundach
+     */
+    private void calcRollingAverages(double speed, double step)
+    {
+        double distance = (speed / 3600) * step;
+        for (RollingAverage rollingAverage : rollingAverages)
+        {
+            rollingAverage.add(distance, step);
+        }
+    }
+
+    /**
+     * Całkuje zużycie paliwa lub energii z bieżącego kroku i dodaje je do wszystkich aktualnych podróży
+     * (tak jak przebieg), oznaczając je jednostką bieżącego modelu. Przyspieszenie jest wyznaczane z różnicy prędkości
+     * między krokami.
      *
-     * @param trip         podróż
-     * @param initDistance początkowy dystans
+     * @param speed aktualna prędkość
+     * @param step  krok czasowy w sekundach
      */
-    private void calcAverageSpeed(Trip trip, double initDistance)
+    private void calcConsumption(double speed, double step)
     {
-        double deltaDistance = Math.abs(odometer.getTotalMileage() - initDistance);
-        trip.setAverageSpeed(deltaDistance / trip.getElapsedTime() * 3600);
+        double acceleration = Double.isNaN(lastSpeed) ? 0.0 : (speed - lastSpeed) / step;
+        lastSpeed = speed;
+        double rate = consumptionModel.getRate(speed, acceleration);
+        double amount = rate * step / 3600;
+        consumptionRate = rate;
+        energyLevel = Math.min(Math.max(energyLevel - amount, 0.0), energyCapacity);
+        String unit = consumptionModel.getUnit();
+        for (Trip trip : trips)
+        {
+            trip.setConsumptionUnit(unit);
+            trip.addConsumption(amount);
+        }
     }
 
     /**
@@ -266,28 +654,55 @@ public class Computer implements Updateable
     @Override
     public String toString()
     {
-        return "-- KOMPUTER POKŁADOWY --" + System.lineSeparator() +
-                "[Podróż A]" + trips[0].toString().substring(8) + System.lineSeparator() +
-                "[Podróż B]" + trips[1].toString().substring(8) + System.lineSeparator() +
-                memory;
+        DecimalFormat df = new DecimalFormat("0.0");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("-- KOMPUTER POKŁADOWY --").append(System.lineSeparator());
+        for (int i = 0; i < trips.length; i++)
+        {
+            sb.append("[Podróż ").append(getTripName(i)).append("]").append(trips[i].toString().substring(8)).append(System.lineSeparator());
+        }
+        for (RollingAverage rollingAverage : rollingAverages)
+        {
+            sb.append("Średnia prędkość (").append(rollingAverage.getWindow() / 60).append(" min): ").append(df.format(rollingAverage.getAverageSpeed())).append(" km/h").append(System.lineSeparator());
+        }
+        String unit = consumptionModel.getUnit();
+        sb.append("Zużycie chwilowe: ").append(df.format(getInstantConsumption())).append(" ").append(unit).append("/100 km").append(System.lineSeparator());
+        sb.append("Stan zbiornika: ").append(df.format(energyLevel)).append(" / ").append(df.format(energyCapacity)).append(" ").append(unit).append(System.lineSeparator());
+        for (int i = 0; i < trips.length; i++)
+        {
+            sb.append("Zasięg (podróż ").append(getTripName(i)).append("): ").append(df.format(getRange(i))).append(" km").append(System.lineSeparator());
+        }
+        sb.append(memory);
+        return sb.toString();
     }
 
     /**
-     * Aktualizuje licznik przebiegu oraz prędkość maksymalną.
+     * Aktualizuje licznik przebiegu oraz statystyki prędkości podróży.
+     *
+     * @param step krok czasowy w sekundach
      */
     @Override
-    public void update()
+    public void update(double step)
     {
         double currentSpeed = speedometer.getSpeed();
-        double distance = (currentSpeed / 3600) / DELTA_TIME;
-        try
-        {
-            odometer.addDistance(distance);
-        }
-        catch (MileageException e)
-        {
-            System.err.println(e.getMessage());
-        }
-        calcMaxSpeed(currentSpeed);
+        odometer.advance((currentSpeed / 3600) * step);
+        updateTrips(step);
+    }
+
+    /**
+     * Aktualizuje statystyki podróży względem bieżącej prędkości.
+     * Wywoływana w każdym kroku - samodzielnie lub po zbiorczej aktualizacji magazynu stanu pojazdów.
+     *
+     * @param step krok czasowy w sekundach
+     */
+    public void updateTrips(double step)
+    {
+        double speed = speedometer.getSpeed();
+        calcMaxSpeed(speed);
+        calcAverageSpeed();
+        calcSpeedSketches(speed, step);
+        calcRollingAverages(speed, step);
+        calcConsumption(speed, step);
     }
 }
@@ -1,15 +1,33 @@
 package pl.boleklolek.model.computer;
 
+import pl.boleklolek.model.computer.enums.TripOrder;
+import pl.boleklolek.model.computer.trip.SpeedSketch;
 import pl.boleklolek.model.computer.trip.Trip;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.UUID;
 
 /**
  * Ta klasa opisuje pamięć komputera pokładowego.
+ * Obok listy podróży pamięć utrzymuje indeks UUID - pozycja na liście, dzięki któremu wyszukiwanie, sprawdzanie
+ * obecności i usuwanie podróży po UUID odbywa się w czasie stałym (poza przesunięciem pozycji dalszych podróży
+ * przy usuwaniu lub wstawianiu). UUID podróży w pamięci są unikalne. Indeks nie jest serializowany - po odczytaniu
+ * pamięci jest odtwarzany z listy podróży.
+ * Dodatkowo dla każdego kryterium z {@link TripOrder} pamięć utrzymuje indeks posortowany, aktualizowany w czasie
+ * logarytmicznym przy dodaniu, usunięciu lub zmianie podróży, który służy do uporządkowanego przeglądania,
+ * wyboru k największych podróży i sortowania bez porównywania wszystkich podróży od nowa.
+ * Podróże trwające (zmieniające się w każdym kroku) są przestawiane w indeksach leniwie - przed każdym
+ * uporządkowanym odczytem, a nie w każdym kroku komputera pokładowego.
  */
 public class Memory implements Serializable, Repository<Trip>
 {
@@ -22,6 +40,18 @@ public class Memory implements Serializable, Repository<Trip>
      * Lista podróży.
      */
     private final List<Trip> trips;
+    /**
+     * Indeks pozycji podróży na liście po ich UUID.
+     */
+    private transient Map<UUID, Integer> positions;
+    /**
+     * Indeksy posortowane według kryteriów uporządkowania.
+     */
+    private transient Map<TripOrder, SortedTripIndex> indexes;
+    /**
+     * Podróże trwające, przestawiane w indeksach posortowanych przed uporządkowanym odczytem.
+     */
+    private transient Map<UUID, Trip> live;
 
     /**
      * Konstruktor pamięci komputera pokładowego.
@@ -29,6 +59,8 @@ public class Memory implements Serializable, Repository<Trip>
     public Memory()
     {
         this.trips = new ArrayList<>();
+        this.positions = new HashMap<>();
+        initIndexes();
     }
 
     /**
@@ -40,6 +72,8 @@ public class Memory implements Serializable, Repository<Trip>
     public void swap(int i, int j)
     {
         Collections.swap(trips, i, j);
+        positions.put(trips.get(i).getUuid(), i);
+        positions.put(trips.get(j).getUuid(), j);
     }
 
     /**
@@ -53,6 +87,28 @@ public class Memory implements Serializable, Repository<Trip>
         return new ArrayList<>(trips);
     }
 
+    /**
+     * Zwraca iterator po podróżach (bez kopiowania, bez możliwości usuwania).
+     *
+     * @return iterator
+     */
+    @Override
+    public Iterator<Trip> iterator()
+    {
+        return Collections.unmodifiableList(trips).iterator();
+    }
+
+    /**
+     * Zwraca spliterator listy podróży (dzielący zakres na połowy, wykrywający modyfikacje w trakcie przeglądania).
+     *
+     * @return spliterator
+     */
+    @Override
+    public Spliterator<Trip> spliterator()
+    {
+        return trips.spliterator();
+    }
+
     /**
      * Getter konkretnej podróży.
      *
@@ -74,7 +130,16 @@ public class Memory implements Serializable, Repository<Trip>
     @Override
     public void set(int index, Trip trip)
     {
-        trips.set(index, trip);
+        Integer position = positions.get(trip.getUuid());
+        if (position != null && position != index)
+        {
+            throw new IllegalArgumentException("Podróż o danym UUID jest już w pamięci!");
+        }
+        Trip previous = trips.set(index, trip);
+        positions.remove(previous.getUuid());
+        unindex(previous);
+        positions.put(trip.getUuid(), index);
+        index(trip);
     }
 
     /**
@@ -85,7 +150,10 @@ public class Memory implements Serializable, Repository<Trip>
     @Override
     public void add(Trip trip)
     {
+        requireUnique(trip);
         trips.add(trip);
+        positions.put(trip.getUuid(), trips.size() - 1);
+        index(trip);
     }
 
     /**
@@ -96,7 +164,10 @@ public class Memory implements Serializable, Repository<Trip>
      */
     public void add(int index, Trip trip)
     {
+        requireUnique(trip);
         trips.add(index, trip);
+        reindex(index);
+        index(trip);
     }
 
     /**
@@ -107,7 +178,66 @@ public class Memory implements Serializable, Repository<Trip>
     @Override
     public void remove(int index)
     {
-        trips.remove(index);
+        Trip trip = trips.remove(index);
+        positions.remove(trip.getUuid());
+        unindex(trip);
+        reindex(index);
+    }
+
+    /**
+     * Zwraca pozycję podróży o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return indeks podróży lub -1, jeśli podróży nie ma w pamięci
+     */
+    @Override
+    public int indexOf(UUID uuid)
+    {
+        Integer position = positions.get(uuid);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Wyszukuje podróż o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return podróż lub null, jeśli podróży nie ma w pamięci
+     */
+    @Override
+    public Trip findByUuid(UUID uuid)
+    {
+        Integer position = positions.get(uuid);
+        return position != null ? trips.get(position) : null;
+    }
+
+    /**
+     * Sprawdza, czy pamięć zawiera podróż o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return prawda, jeśli pamięć zawiera podróż
+     */
+    @Override
+    public boolean containsUuid(UUID uuid)
+    {
+        return positions.containsKey(uuid);
+    }
+
+    /**
+     * Usuwa podróż o danym UUID z pamięci.
+     *
+     * @param uuid UUID podróży
+     * @return prawda, jeśli podróż została usunięta
+     */
+    @Override
+    public boolean removeByUuid(UUID uuid)
+    {
+        Integer position = positions.get(uuid);
+        if (position == null)
+        {
+            return false;
+        }
+        remove(position);
+        return true;
     }
 
     /**
@@ -120,6 +250,73 @@ public class Memory implements Serializable, Repository<Trip>
     public void sort(Comparator<Trip> tripComparator)
     {
         trips.sort(tripComparator);
+        reindex(0);
+    }
+
+    /**
+     * Sortuje podróże według kryterium na podstawie indeksu posortowanego (bez porównywania podróży).
+     *
+     * @param order      kryterium uporządkowania
+     * @param descending czy w kolejności malejącej
+     */
+    public void sort(TripOrder order, boolean descending)
+    {
+        List<Trip> sorted = getSorted(order, descending);
+        trips.clear();
+        trips.addAll(sorted);
+        reindex(0);
+    }
+
+    /**
+     * Zwraca podróże uporządkowane według kryterium bez zmiany kolejności podróży w pamięci.
+     *
+     * @param order      kryterium uporządkowania
+     * @param descending czy w kolejności malejącej
+     * @return uporządkowana lista podróży
+     */
+    public List<Trip> getSorted(TripOrder order, boolean descending)
+    {
+        refreshLive();
+        return indexes.get(order).toList(descending);
+    }
+
+    /**
+     * Zwraca k podróży o największych wartościach kryterium, od największej.
+     *
+     * @param order kryterium uporządkowania
+     * @param k     liczba podróży
+     * @return lista co najwyżej k podróży
+     */
+    public List<Trip> getTop(TripOrder order, int k)
+    {
+        refreshLive();
+        return indexes.get(order).top(k, true);
+    }
+
+    /**
+     * Zgłasza zmianę podróży i przestawia ją w indeksach posortowanych.
+     * Podróż trwająca jest od tej chwili przestawiana przed każdym uporządkowanym odczytem, aż do jej wstrzymania.
+     *
+     * @param trip zmieniona podróż
+     */
+    public void update(Trip trip)
+    {
+        if (findByUuid(trip.getUuid()) != trip)
+        {
+            return;
+        }
+        for (SortedTripIndex index : indexes.values())
+        {
+            index.update(trip);
+        }
+        if (trip.isRunning())
+        {
+            live.put(trip.getUuid(), trip);
+        }
+        else
+        {
+            live.remove(trip.getUuid());
+        }
     }
 
     /**
@@ -133,6 +330,134 @@ public class Memory implements Serializable, Repository<Trip>
         return trips.size();
     }
 
+    /**
+     * Scala szkice rozkładu prędkości wszystkich podróży w pamięci.
+     * Szkice są scalane równolegle w częściowe szkice, które na końcu są łączone.
+     *
+     * @return nowy szkic rozkładu prędkości wszystkich podróży
+     */
+    public SpeedSketch getSpeedSketch()
+    {
+        return parallelStream().collect(SpeedSketch::new, (sketch, trip) -> sketch.merge(trip.getSpeedSketch()), SpeedSketch::merge);
+    }
+
+    /**
+     * Sprawdza, czy podróży o danym UUID nie ma jeszcze w pamięci.
+     *
+     * @param trip podróż
+     */
+    private void requireUnique(Trip trip)
+    {
+        if (positions.containsKey(trip.getUuid()))
+        {
+            throw new IllegalArgumentException("Podróż o danym UUID jest już w pamięci!");
+        }
+    }
+
+    /**
+     * Tworzy puste indeksy posortowane.
+     */
+    private void initIndexes()
+    {
+        indexes = new EnumMap<>(TripOrder.class);
+        for (TripOrder order : TripOrder.values())
+        {
+            indexes.put(order, new SortedTripIndex(order));
+        }
+        live = new LinkedHashMap<>();
+    }
+
+    /**
+     * Dodaje podróż do indeksów posortowanych.
+     *
+     * @param trip podróż
+     */
+    private void index(Trip trip)
+    {
+        for (SortedTripIndex index : indexes.values())
+        {
+            index.add(trip);
+        }
+        if (trip.isRunning())
+        {
+            live.put(trip.getUuid(), trip);
+        }
+    }
+
+    /**
+     * Usuwa podróż z indeksów posortowanych.
+     *
+     * @param trip podróż
+     */
+    private void unindex(Trip trip)
+    {
+        for (SortedTripIndex index : indexes.values())
+        {
+            index.remove(trip);
+        }
+        live.remove(trip.getUuid());
+    }
+
+    /**
+     * Przestawia podróże trwające w indeksach posortowanych zgodnie z ich aktualnym stanem.
+     * Podróże, które przestały trwać, są przestawiane ostatni raz.
+     */
+    private void refreshLive()
+    {
+        Iterator<Trip> iterator = live.values().iterator();
+        while (iterator.hasNext())
+        {
+            Trip trip = iterator.next();
+            for (SortedTripIndex index : indexes.values())
+            {
+                index.update(trip);
+            }
+            if (!trip.isRunning())
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Uaktualnia indeks pozycji podróży od danej pozycji do końca listy.
+     *
+     * @param from pozycja początkowa
+     */
+    private void reindex(int from)
+    {
+        for (int i = from; i < trips.size(); i++)
+        {
+            positions.put(trips.get(i).getUuid(), i);
+        }
+    }
+
+    /**
+     * Odtwarza indeks pozycji i indeksy posortowane po odczytaniu pamięci.
+     * Powtórzone podróże (o tym samym UUID) są pomijane - zostaje pierwsze wystąpienie.
+     *
+     * @return odczytana pamięć
+     */
+    private Object readResolve()
+    {
+        positions = new HashMap<>();
+        int size = 0;
+        for (Trip trip : trips)
+        {
+            if (positions.putIfAbsent(trip.getUuid(), size) == null)
+            {
+                trips.set(size++, trip);
+            }
+        }
+        trips.subList(size, trips.size()).clear();
+        initIndexes();
+        for (Trip trip : trips)
+        {
+            index(trip);
+        }
+        return this;
+    }
+
     /**
      * Zwraca informację o podróżach w pamięci.
      *
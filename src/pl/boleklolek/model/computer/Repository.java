@@ -3,21 +3,110 @@ package pl.boleklolek.model.computer;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Interfejs repozytorium.
+ * Elementy repozytorium są identyfikowane przez UUID, a repozytorium utrzymuje indeks UUID - pozycja,
+ * więc wyszukiwanie, sprawdzanie obecności i usuwanie po UUID nie wymaga przeglądania kolekcji.
+ * Elementy można przeglądać bez kopiowania kolekcji: iteratorem, strumieniem (także równoległym, dzielonym
+ * spliteratorem na równe części), w zakresie pozycji lub stronami.
  *
  * @param <T> dowolna klasa T implementująca interfejs Serializable
  */
-public interface Repository<T extends Serializable>
+public interface Repository<T extends Serializable> extends Iterable<T>
 {
     /**
      * Getter wszystkich elementów kolekcji.
+     * Zwraca kopię kolekcji - do przeglądania służą iterator i strumienie.
      *
      * @return kolekcja obiektów klasy T
      */
     Collection<T> getAll();
 
+    /**
+     * Zwraca iterator po elementach kolekcji (bez kopiowania).
+     *
+     * @return iterator
+     */
+    @Override
+    default Iterator<T> iterator()
+    {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Zwraca spliterator po elementach kolekcji, dzielący zakres pozycji na połowy.
+     *
+     * @return spliterator
+     */
+    @Override
+    default Spliterator<T> spliterator()
+    {
+        return new RepositorySpliterator<>(this, 0, -1);
+    }
+
+    /**
+     * Zwraca sekwencyjny strumień elementów kolekcji.
+     *
+     * @return strumień
+     */
+    default Stream<T> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Zwraca równoległy strumień elementów kolekcji (przetwarzany w puli fork/join).
+     *
+     * @return strumień równoległy
+     */
+    default Stream<T> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Zwraca sekwencyjny strumień elementów z zakresu pozycji.
+     *
+     * @param from pozycja pierwszego elementu (włącznie)
+     * @param to   pozycja za ostatnim elementem (wyłącznie)
+     * @return strumień
+     */
+    default Stream<T> stream(int from, int to)
+    {
+        if (from < 0 || to > size() || from > to)
+        {
+            throw new IndexOutOfBoundsException("Niepoprawny zakres: [" + from + ", " + to + ")");
+        }
+        return StreamSupport.stream(new RepositorySpliterator<>(this, from, to), false);
+    }
+
+    /**
+     * Zwraca stronę elementów kolekcji.
+     *
+     * @param page     numer strony (od 0)
+     * @param pageSize liczba elementów na stronie
+     * @return lista elementów strony (pusta za ostatnią stroną)
+     */
+    default List<T> getPage(int page, int pageSize)
+    {
+        if (page < 0 || pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Niepoprawna strona!");
+        }
+        int size = size();
+        int from = (int) Math.min((long) page * pageSize, size);
+        return stream(from, Math.min(from + pageSize, size)).collect(Collectors.toList());
+    }
+
     /**
      * Getter konkretnego elementu.
      *
@@ -42,12 +131,44 @@ public interface Repository<T extends Serializable>
     void add(T t);
 
     /**
-     * Usuwa element z kolekcji.
+     * Usuwa element z kolekcji. Pozostałe elementy zachowują kolejność - kolejne przesuwają się o jedną pozycję.
      *
      * @param index indeks
      */
     void remove(int index);
 
+    /**
+     * Zwraca pozycję elementu o danym UUID.
+     *
+     * @param uuid UUID elementu
+     * @return indeks elementu lub -1, jeśli elementu nie ma w kolekcji
+     */
+    int indexOf(UUID uuid);
+
+    /**
+     * Wyszukuje element o danym UUID.
+     *
+     * @param uuid UUID elementu
+     * @return obiekt klasy T lub null, jeśli elementu nie ma w kolekcji
+     */
+    T findByUuid(UUID uuid);
+
+    /**
+     * Sprawdza, czy kolekcja zawiera element o danym UUID.
+     *
+     * @param uuid UUID elementu
+     * @return prawda, jeśli kolekcja zawiera element
+     */
+    boolean containsUuid(UUID uuid);
+
+    /**
+     * Usuwa element o danym UUID z kolekcji.
+     *
+     * @param uuid UUID elementu
+     * @return prawda, jeśli element został usunięty
+     */
+    boolean removeByUuid(UUID uuid);
+
     /**
      * Sortuje względem komparatora.
      *
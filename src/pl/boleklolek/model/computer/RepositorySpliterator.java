@@ -0,0 +1,130 @@
+package pl.boleklolek.model.computer;
+
+import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Ta klasa opisuje spliterator przeglądający zakres pozycji repozytorium przez dostęp po indeksie.
+ * Zakres jest dzielony na połowy, więc przy przetwarzaniu równoległym (fork/join) części są równe i znane
+ * co do rozmiaru. Koniec zakresu jest ustalany przy pierwszym użyciu, jeżeli nie został podany.
+ * Repozytorium nie może być strukturalnie modyfikowane w trakcie przeglądania.
+ *
+ * @param <T> typ elementu repozytorium
+ */
+class RepositorySpliterator<T extends Serializable> implements Spliterator<T>
+{
+    /**
+     * Przeglądane repozytorium.
+     */
+    private final Repository<T> repository;
+    /**
+     * Pozycja następnego elementu.
+     */
+    private int index;
+    /**
+     * Pozycja za ostatnim elementem (-1, dopóki nie zostanie ustalona).
+     */
+    private int fence;
+
+    /**
+     * Konstruktor spliteratora.
+     *
+     * @param repository repozytorium
+     * @param origin     pozycja pierwszego elementu
+     * @param fence      pozycja za ostatnim elementem lub -1, aby przeglądać do końca repozytorium
+     */
+    RepositorySpliterator(Repository<T> repository, int origin, int fence)
+    {
+        this.repository = repository;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    /**
+     * Zwraca pozycję za ostatnim elementem, ustalając ją przy pierwszym użyciu.
+     *
+     * @return pozycja za ostatnim elementem
+     */
+    private int getFence()
+    {
+        if (fence < 0)
+        {
+            fence = repository.size();
+        }
+        return fence;
+    }
+
+    /**
+     * Wykonuje czynność dla następnego elementu.
+     *
+     * @param action czynność
+     * @return prawda, jeśli element istniał
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (index < getFence())
+        {
+            action.accept(repository.get(index++));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wykonuje czynność dla wszystkich pozostałych elementów.
+     *
+     * @param action czynność
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action)
+    {
+        int hi = getFence();
+        for (int i = index; i < hi; i++)
+        {
+            action.accept(repository.get(i));
+        }
+        index = hi;
+    }
+
+    /**
+     * Oddziela pierwszą połowę pozostałego zakresu.
+     *
+     * @return spliterator pierwszej połowy lub null, jeśli zakres jest zbyt mały
+     */
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        int lo = index;
+        int mid = (lo + getFence()) >>> 1;
+        if (lo >= mid)
+        {
+            return null;
+        }
+        index = mid;
+        return new RepositorySpliterator<>(repository, lo, mid);
+    }
+
+    /**
+     * Zwraca liczbę pozostałych elementów.
+     *
+     * @return liczba pozostałych elementów
+     */
+    @Override
+    public long estimateSize()
+    {
+        return getFence() - index;
+    }
+
+    /**
+     * Zwraca cechy spliteratora.
+     *
+     * @return cechy: uporządkowany, o znanym rozmiarze (także po podziale), bez pustych elementów
+     */
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
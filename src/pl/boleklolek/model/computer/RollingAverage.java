@@ -0,0 +1,173 @@
+package pl.boleklolek.model.computer;
+
+/**
+ * Ta klasa opisuje średnią prędkość kroczącą z ostatnich N sekund.
+ * Dystans i czas są zbierane w pierścieniu jednosekundowych kubełków, a sumy okna są aktualizowane przyrostowo,
+ * więc jeden krok kosztuje O(1) niezależnie od długości okna i nie alokuje pamięci.
+ */
+public class RollingAverage
+{
+    /**
+     * Długość kubełka w sekundach.
+     */
+    private static final double BUCKET = 1.0;
+    /**
+     * Tolerancja porównania czasu kubełka (kompensuje błąd sumowania kroków).
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Dystanse zebrane w kubełkach.
+     */
+    private final double[] distances;
+    /**
+     * Czasy zebrane w kubełkach.
+     */
+    private final double[] times;
+    /**
+     * Indeks bieżącego kubełka.
+     */
+    private int index;
+    /**
+     * Czas zebrany w bieżącym kubełku.
+     */
+    private double bucketTime;
+    /**
+     * Dystans w całym oknie.
+     */
+    private double windowDistance;
+    /**
+     * Czas w całym oknie.
+     */
+    private double windowTime;
+
+    /**
+     * Konstruktor średniej kroczącej.
+     *
+     * @param window długość okna w sekundach
+     */
+    public RollingAverage(int window)
+    {
+        if (window <= 0)
+        {
+            throw new IllegalArgumentException("Długość okna musi być dodatnia!");
+        }
+        this.distances = new double[window];
+        this.times = new double[window];
+    }
+
+    /**
+     * Getter długości okna.
+     *
+     * @return długość okna w sekundach
+     */
+    public int getWindow()
+    {
+        return distances.length;
+    }
+
+    /**
+     * Dodaje dystans przejechany w jednym kroku.
+     * Krok dłuższy niż reszta bieżącego kubełka (np. nadrabianie zaległych kroków) jest dzielony między kolejne
+     * kubełki proporcjonalnie do czasu, więc okno nie obejmuje więcej czasu, niż ustawiono. Po zapełnieniu kubełka
+     * najstarszy kubełek jest usuwany z okna, a przy każdym pełnym obrocie pierścienia sumy okna są przeliczane
+     * od nowa, aby nie kumulować błędów odejmowania.
+     *
+     * @param distance dystans w km
+     * @param step     krok czasowy w sekundach
+     */
+    public void add(double distance, double step)
+    {
+        double span = distances.length * BUCKET;
+        if (step > span)
+        {
+            distance *= span / step;
+            step = span;
+        }
+        while (bucketTime + step >= BUCKET - EPSILON)
+        {
+            double part = Math.min(Math.max(BUCKET - bucketTime, 0.0), step);
+            double share = step > 0.0 ? distance * part / step : distance;
+            accumulate(share, part);
+            distance -= share;
+            step -= part;
+            bucketTime -= BUCKET;
+            nextBucket();
+        }
+        accumulate(distance, step);
+    }
+
+    /**
+     * Dodaje dystans i czas do bieżącego kubełka i sum okna.
+     *
+     * @param distance dystans w km
+     * @param step     czas w sekundach
+     */
+    private void accumulate(double distance, double step)
+    {
+        distances[index] += distance;
+        times[index] += step;
+        windowDistance += distance;
+        windowTime += step;
+        bucketTime += step;
+    }
+
+    /**
+     * Przechodzi do następnego kubełka, usuwając z okna najstarszy kubełek.
+     */
+    private void nextBucket()
+    {
+        index++;
+        if (index == distances.length)
+        {
+            index = 0;
+            resync();
+        }
+        windowDistance -= distances[index];
+        windowTime -= times[index];
+        distances[index] = 0.0;
+        times[index] = 0.0;
+    }
+
+    /**
+     * Zwraca średnią prędkość w oknie.
+     *
+     * @return średnia prędkość w km/h (0, gdy okno jest puste)
+     */
+    public double getAverageSpeed()
+    {
+        return windowTime > 0.0 ? windowDistance / windowTime * 3600 : 0.0;
+    }
+
+    /**
+     * Czyści okno.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < distances.length; i++)
+        {
+            distances[i] = 0.0;
+            times[i] = 0.0;
+        }
+        index = 0;
+        bucketTime = 0.0;
+        windowDistance = 0.0;
+        windowTime = 0.0;
+    }
+
+    /**
+     * Przelicza sumy okna na podstawie kubełków.
+     */
+    private void resync()
+    {
+        double distance = 0.0;
+        double time = 0.0;
+        for (int i = 0; i < distances.length; i++)
+        {
+            distance += distances[i];
+            time += times[i];
+        }
+        windowDistance = distance;
+        windowTime = time;
+    }
+}
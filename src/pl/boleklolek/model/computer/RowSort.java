@@ -0,0 +1,109 @@
+package pl.boleklolek.model.computer;
+
+import pl.boleklolek.model.computer.trip.SpeedSketch;
+import pl.boleklolek.model.computer.trip.Trip;
+
+import java.util.Comparator;
+
+/**
+ * Ta klasa sortuje numery wierszy rekordów podróży bez tworzenia obiektów dla elementów.
+ * Wynikiem jest permutacja wierszy (sortowanie przez scalanie na tablicy typu int, stabilne),
+ * którą magazyn rekordów stosuje do swoich danych.
+ */
+public final class RowSort
+{
+    /**
+     * Konstruktor prywatny.
+     */
+    private RowSort()
+    {
+    }
+
+    /**
+     * Wyznacza kolejność wierszy rekordów według komparatora podróży, porównując tymczasowe kopie podróży
+     * (ze wspólnym pustym szkicem rozkładu prędkości, bo szkice nie są przechowywane w rekordach).
+     * Jeżeli komparator będzie pusty, to zostanie wywołane sortowanie po interfejsie Comparable.
+     *
+     * @param records rekordy podróży
+     * @param comp    komparator
+     * @return numery wierszy w nowej kolejności
+     */
+    public static int[] sort(TripRecords records, Comparator<Trip> comp)
+    {
+        Comparator<Trip> comparator = comp != null ? comp : Comparator.naturalOrder();
+        SpeedSketch sketch = new SpeedSketch();
+        return sort(records.size(), (i, j) -> comparator.compare(records.copy(i, sketch), records.copy(j, sketch)));
+    }
+
+    /**
+     * Wyznacza kolejność wierszy według porównania wierszy.
+     *
+     * @param size       liczba wierszy
+     * @param comparator porównanie wierszy
+     * @return numery wierszy w nowej kolejności
+     */
+    public static int[] sort(int size, RowComparator comparator)
+    {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            rows[i] = i;
+        }
+        mergeSort(rows, new int[size], 0, size, comparator);
+        return rows;
+    }
+
+    /**
+     * Sortuje stabilnie zakres tablicy numerów wierszy (sortowanie przez scalanie).
+     *
+     * @param rows       numery wierszy
+     * @param buffer     bufor roboczy
+     * @param from       początek zakresu (włącznie)
+     * @param to         koniec zakresu (wyłącznie)
+     * @param comparator porównanie wierszy
+     */
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, RowComparator comparator)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid, comparator);
+        mergeSort(rows, buffer, mid, to, comparator);
+        if (comparator.compare(rows[mid - 1], rows[mid]) <= 0)
+        {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++)
+        {
+            if (j >= to || (i < mid && comparator.compare(buffer[i], buffer[j]) <= 0))
+            {
+                rows[k] = buffer[i++];
+            }
+            else
+            {
+                rows[k] = buffer[j++];
+            }
+        }
+    }
+
+    /**
+     * Ten interfejs opisuje porównanie dwóch wierszy.
+     */
+    @FunctionalInterface
+    public interface RowComparator
+    {
+        /**
+         * Porównuje wiersze.
+         *
+         * @param i pierwszy wiersz
+         * @param j drugi wiersz
+         * @return wartość porównania
+         */
+        int compare(int i, int j);
+    }
+}
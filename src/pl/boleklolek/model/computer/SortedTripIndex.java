@@ -0,0 +1,173 @@
+package pl.boleklolek.model.computer;
+
+import pl.boleklolek.model.computer.enums.TripOrder;
+import pl.boleklolek.model.computer.trip.Trip;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Ta klasa opisuje indeks podróży posortowany według jednego kryterium.
+ * Węzły drzewa przechowują klucz podróży z chwili ostatniej aktualizacji, dzięki czemu zmienioną podróż można
+ * odnaleźć i przestawić w drzewie w czasie logarytmicznym. Podróże o równych kluczach są uporządkowane według
+ * klucza rozstrzygającego kryterium, a dopiero potem po UUID.
+ */
+class SortedTripIndex
+{
+    /**
+     * Porządek węzłów: klucz, klucz rozstrzygający, a przy równych kluczach UUID podróży.
+     */
+    private static final Comparator<Node> NODE_ORDER = Comparator.<Node>comparingDouble(node -> node.key)
+            .thenComparingLong(node -> node.tieKey)
+            .thenComparing(node -> node.trip.getUuid());
+
+    /**
+     * Kryterium uporządkowania.
+     */
+    private final TripOrder order;
+    /**
+     * Drzewo węzłów uporządkowanych według klucza.
+     */
+    private final NavigableSet<Node> nodes;
+    /**
+     * Węzły podróży po ich UUID.
+     */
+    private final Map<UUID, Node> byUuid;
+
+    /**
+     * Konstruktor indeksu posortowanego.
+     *
+     * @param order kryterium uporządkowania
+     */
+    SortedTripIndex(TripOrder order)
+    {
+        this.order = order;
+        this.nodes = new TreeSet<>(NODE_ORDER);
+        this.byUuid = new HashMap<>();
+    }
+
+    /**
+     * Dodaje podróż do indeksu.
+     *
+     * @param trip podróż
+     */
+    void add(Trip trip)
+    {
+        Node node = new Node(order.key(trip), order.tieKey(trip), trip);
+        nodes.add(node);
+        byUuid.put(trip.getUuid(), node);
+    }
+
+    /**
+     * Usuwa podróż z indeksu.
+     *
+     * @param trip podróż
+     */
+    void remove(Trip trip)
+    {
+        Node node = byUuid.remove(trip.getUuid());
+        if (node != null)
+        {
+            nodes.remove(node);
+        }
+    }
+
+    /**
+     * Przestawia podróż w indeksie zgodnie z jej aktualnym kluczem.
+     * Jeżeli klucze się nie zmieniły, indeks pozostaje bez zmian.
+     *
+     * @param trip podróż
+     */
+    void update(Trip trip)
+    {
+        Node node = byUuid.get(trip.getUuid());
+        if (node == null)
+        {
+            return;
+        }
+        double key = order.key(trip);
+        if (Double.compare(node.key, key) != 0 || node.tieKey != order.tieKey(trip) || node.trip != trip)
+        {
+            nodes.remove(node);
+            add(trip);
+        }
+    }
+
+    /**
+     * Usuwa wszystkie podróże z indeksu.
+     */
+    void clear()
+    {
+        nodes.clear();
+        byUuid.clear();
+    }
+
+    /**
+     * Zwraca podróże w kolejności indeksu.
+     *
+     * @param descending czy w kolejności malejącej
+     * @return lista podróży
+     */
+    List<Trip> toList(boolean descending)
+    {
+        return top(nodes.size(), descending);
+    }
+
+    /**
+     * Zwraca pierwsze podróże w kolejności indeksu bez sortowania całej pamięci.
+     *
+     * @param k          liczba podróży
+     * @param descending czy w kolejności malejącej (największe klucze jako pierwsze)
+     * @return lista co najwyżej k podróży
+     */
+    List<Trip> top(int k, boolean descending)
+    {
+        List<Trip> result = new ArrayList<>(Math.max(Math.min(k, nodes.size()), 0));
+        Iterator<Node> iterator = descending ? nodes.descendingIterator() : nodes.iterator();
+        while (result.size() < k && iterator.hasNext())
+        {
+            result.add(iterator.next().trip);
+        }
+        return result;
+    }
+
+    /**
+     * Ta klasa opisuje węzeł indeksu - podróż z kluczami z chwili ostatniej aktualizacji.
+     */
+    private static final class Node
+    {
+        /**
+         * Klucz sortowania.
+         */
+        private final double key;
+        /**
+         * Klucz rozstrzygający.
+         */
+        private final long tieKey;
+        /**
+         * Podróż.
+         */
+        private final Trip trip;
+
+        /**
+         * Konstruktor węzła.
+         *
+         * @param key    klucz sortowania
+         * @param tieKey klucz rozstrzygający
+         * @param trip   podróż
+         */
+        private Node(double key, long tieKey, Trip trip)
+        {
+            this.key = key;
+            this.tieKey = tieKey;
+            this.trip = trip;
+        }
+    }
+}
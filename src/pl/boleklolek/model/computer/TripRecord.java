@@ -0,0 +1,149 @@
+package pl.boleklolek.model.computer;
+
+import pl.boleklolek.model.computer.trip.Trip;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ta klasa opisuje rekord podróży - widok tylko do odczytu jednego wiersza rekordów podróży (flyweight).
+ * Rekord nie jest podróżą: nie trwa, nie ma szkicu rozkładu prędkości i nie zmienia danych. Gettery odczytują
+ * wartości wprost z wiersza, a toTrip() tworzy niezależną kopię podróży. Spliterator rekordów przestawia jeden
+ * obiekt rekordu na kolejne wiersze, więc element strumienia jest ważny tylko do pobrania następnego.
+ */
+public final class TripRecord
+{
+    /**
+     * Rekordy podróży.
+     */
+    private final TripRecords records;
+    /**
+     * Wiersz rekordów.
+     */
+    private int row;
+
+    /**
+     * Konstruktor rekordu.
+     *
+     * @param records rekordy podróży
+     * @param row     wiersz rekordów
+     */
+    public TripRecord(TripRecords records, int row)
+    {
+        this.records = records;
+        this.row = row;
+    }
+
+    /**
+     * Getter wiersza.
+     *
+     * @return wiersz rekordów
+     */
+    public int getRow()
+    {
+        return row;
+    }
+
+    /**
+     * Przestawia rekord na dany wiersz.
+     *
+     * @param row wiersz rekordów
+     * @return ten rekord
+     */
+    TripRecord setRow(int row)
+    {
+        this.row = row;
+        return this;
+    }
+
+    /**
+     * Getter UUID (tworzy obiekt UUID z rekordu).
+     *
+     * @return unikatowy identyfikator
+     */
+    public UUID getUuid()
+    {
+        return new UUID(records.getUuidHigh(row), records.getUuidLow(row));
+    }
+
+    /**
+     * Getter przebiegu.
+     *
+     * @return przebieg (km)
+     */
+    public double getMileage()
+    {
+        return records.getMileage(row);
+    }
+
+    /**
+     * Getter średniej prędkości.
+     *
+     * @return średnia prędkość (km/h)
+     */
+    public double getAverageSpeed()
+    {
+        return records.getAverageSpeed(row);
+    }
+
+    /**
+     * Getter maksymalnej prędkości.
+     *
+     * @return prędkość maksymalna (km/h)
+     */
+    public double getMaxSpeed()
+    {
+        return records.getMaxSpeed(row);
+    }
+
+    /**
+     * Getter zużycia paliwa lub energii.
+     *
+     * @return zużycie
+     */
+    public double getConsumption()
+    {
+        return records.getConsumption(row);
+    }
+
+    /**
+     * Zwraca czas trwania podróży w nanosekundach.
+     *
+     * @return ilość nanosekund
+     */
+    public long getElapsedNanos()
+    {
+        return records.getElapsedNanos(row);
+    }
+
+    /**
+     * Zwraca czas trwania podróży w sekundach.
+     *
+     * @return ilość sekund
+     */
+    public long getElapsedTime()
+    {
+        return TimeUnit.NANOSECONDS.toSeconds(getElapsedNanos());
+    }
+
+    /**
+     * Tworzy niezależną kopię podróży z wiersza.
+     *
+     * @return kopia podróży
+     */
+    public Trip toTrip()
+    {
+        return records.copy(row);
+    }
+
+    /**
+     * Zwraca informację o podróży z wiersza.
+     *
+     * @return string z informacjami o podróży
+     */
+    @Override
+    public String toString()
+    {
+        return toTrip().toString();
+    }
+}
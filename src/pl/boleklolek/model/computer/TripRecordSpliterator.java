@@ -0,0 +1,131 @@
+package pl.boleklolek.model.computer;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Ta klasa opisuje spliterator rekordów podróży, dzielący zakres wierszy na połowy.
+ * Każda część po podziale ma własny obiekt rekordu, który jest przestawiany na kolejne wiersze, więc element jest ważny
+ * tylko do pobrania następnego. Koniec zakresu jest ustalany przy pierwszym użyciu, jeżeli nie został podany.
+ */
+public class TripRecordSpliterator implements Spliterator<TripRecord>
+{
+    /**
+     * Rekordy podróży.
+     */
+    private final TripRecords records;
+    /**
+     * Rekord przestawiany na kolejne wiersze.
+     */
+    private final TripRecord record;
+    /**
+     * Następny wiersz.
+     */
+    private int index;
+    /**
+     * Wiersz za ostatnim (-1, dopóki nie zostanie ustalony).
+     */
+    private int fence;
+
+    /**
+     * Konstruktor spliteratora.
+     *
+     * @param records rekordy podróży
+     * @param origin  pierwszy wiersz
+     * @param fence   wiersz za ostatnim lub -1, aby przeglądać do końca rekordów
+     */
+    public TripRecordSpliterator(TripRecords records, int origin, int fence)
+    {
+        this.records = records;
+        this.record = new TripRecord(records, origin);
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    /**
+     * Zwraca wiersz za ostatnim, ustalając go przy pierwszym użyciu.
+     *
+     * @return wiersz za ostatnim
+     */
+    private int getFence()
+    {
+        if (fence < 0)
+        {
+            fence = records.size();
+        }
+        return fence;
+    }
+
+    /**
+     * Wykonuje czynność dla rekordu następnego wiersza.
+     *
+     * @param action czynność
+     * @return prawda, jeśli wiersz istniał
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super TripRecord> action)
+    {
+        if (index < getFence())
+        {
+            action.accept(record.setRow(index++));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Wykonuje czynność dla rekordów wszystkich pozostałych wierszy.
+     *
+     * @param action czynność
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super TripRecord> action)
+    {
+        int hi = getFence();
+        for (int row = index; row < hi; row++)
+        {
+            action.accept(record.setRow(row));
+        }
+        index = hi;
+    }
+
+    /**
+     * Oddziela pierwszą połowę pozostałego zakresu.
+     *
+     * @return spliterator pierwszej połowy lub null, jeśli zakres jest zbyt mały
+     */
+    @Override
+    public Spliterator<TripRecord> trySplit()
+    {
+        int lo = index;
+        int mid = (lo + getFence()) >>> 1;
+        if (lo >= mid)
+        {
+            return null;
+        }
+        index = mid;
+        return new TripRecordSpliterator(records, lo, mid);
+    }
+
+    /**
+     * Zwraca liczbę pozostałych wierszy.
+     *
+     * @return liczba pozostałych wierszy
+     */
+    @Override
+    public long estimateSize()
+    {
+        return getFence() - index;
+    }
+
+    /**
+     * Zwraca cechy spliteratora.
+     *
+     * @return cechy: uporządkowany, o znanym rozmiarze (także po podziale), bez pustych elementów
+     */
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+}
@@ -0,0 +1,183 @@
+package pl.boleklolek.model.computer;
+
+import pl.boleklolek.model.computer.trip.SpeedSketch;
+import pl.boleklolek.model.computer.trip.Trip;
+import pl.boleklolek.model.odometer.Mileage;
+import pl.boleklolek.model.odometer.MileageException;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Ten interfejs opisuje podróże przechowywane poza obiektami, jako rekordy o stałych polach dostępne po numerze
+ * wiersza (np. w kolumnach tablic lub w pliku mapowanym w pamięci). Wiersze można przeglądać bez tworzenia
+ * podróży jako rekordy tylko do odczytu ({@link TripRecord}) albo kopiować do niezależnych podróży.
+ */
+public interface TripRecords
+{
+    /**
+     * Zwraca liczbę rekordów.
+     *
+     * @return liczba rekordów
+     */
+    int size();
+
+    /**
+     * Zwraca starsze 64 bity UUID podróży.
+     *
+     * @param row wiersz
+     * @return starsze 64 bity UUID
+     */
+    long getUuidHigh(int row);
+
+    /**
+     * Zwraca młodsze 64 bity UUID podróży.
+     *
+     * @param row wiersz
+     * @return młodsze 64 bity UUID
+     */
+    long getUuidLow(int row);
+
+    /**
+     * Zwraca przebieg podróży.
+     *
+     * @param row wiersz
+     * @return przebieg (km)
+     */
+    double getMileage(int row);
+
+    /**
+     * Ustawia przebieg podróży.
+     *
+     * @param row     wiersz
+     * @param mileage przebieg (km)
+     */
+    void setMileage(int row, double mileage);
+
+    /**
+     * Zwraca średnią prędkość podróży.
+     *
+     * @param row wiersz
+     * @return średnia prędkość (km/h)
+     */
+    double getAverageSpeed(int row);
+
+    /**
+     * Ustawia średnią prędkość podróży.
+     *
+     * @param row          wiersz
+     * @param averageSpeed średnia prędkość (km/h)
+     */
+    void setAverageSpeed(int row, double averageSpeed);
+
+    /**
+     * Zwraca prędkość maksymalną podróży.
+     *
+     * @param row wiersz
+     * @return prędkość maksymalna (km/h)
+     */
+    double getMaxSpeed(int row);
+
+    /**
+     * Ustawia prędkość maksymalną podróży.
+     *
+     * @param row      wiersz
+     * @param maxSpeed prędkość maksymalna (km/h)
+     */
+    void setMaxSpeed(int row, double maxSpeed);
+
+    /**
+     * Zwraca zużycie paliwa lub energii w podróży.
+     *
+     * @param row wiersz
+     * @return zużycie
+     */
+    double getConsumption(int row);
+
+    /**
+     * Ustawia zużycie paliwa lub energii w podróży.
+     *
+     * @param row         wiersz
+     * @param consumption zużycie
+     */
+    void setConsumption(int row, double consumption);
+
+    /**
+     * Zwraca czas trwania podróży.
+     *
+     * @param row wiersz
+     * @return czas trwania (ns)
+     */
+    long getElapsedNanos(int row);
+
+    /**
+     * Ustawia czas trwania podróży.
+     *
+     * @param row          wiersz
+     * @param elapsedNanos czas trwania (ns)
+     */
+    void setElapsedNanos(int row, long elapsedNanos);
+
+    /**
+     * Zwraca strumień rekordów podróży tylko do odczytu (bez tworzenia podróży). Element strumienia jest ważny
+     * tylko do pobrania następnego; strumień można przetwarzać równolegle.
+     *
+     * @return strumień rekordów
+     */
+    default Stream<TripRecord> records()
+    {
+        return StreamSupport.stream(new TripRecordSpliterator(this, 0, -1), false);
+    }
+
+    /**
+     * Tworzy niezależną kopię podróży z danego wiersza (z pustym szkicem rozkładu prędkości).
+     *
+     * @param row wiersz
+     * @return kopia podróży
+     */
+    default Trip copy(int row)
+    {
+        return copy(row, new SpeedSketch());
+    }
+
+    /**
+     * Tworzy kopię podróży z danego wiersza z podanym szkicem rozkładu prędkości
+     * (np. wspólnym pustym szkicem dla kopii tymczasowych).
+     *
+     * @param row    wiersz
+     * @param sketch szkic rozkładu prędkości
+     * @return kopia podróży
+     */
+    default Trip copy(int row, SpeedSketch sketch)
+    {
+        Mileage mileage;
+        try
+        {
+            mileage = new Mileage(getMileage(row));
+        }
+        catch (MileageException e)
+        {
+            mileage = new Mileage();
+        }
+        Trip trip = new Trip(new UUID(getUuidHigh(row), getUuidLow(row)), getAverageSpeed(row), getMaxSpeed(row),
+                mileage, 0, sketch, getConsumption(row));
+        trip.setElapsedNanos(getElapsedNanos(row));
+        return trip;
+    }
+
+    /**
+     * Zapisuje migawkę podróży w danym wierszu (bez UUID).
+     *
+     * @param row  wiersz
+     * @param trip podróż
+     */
+    default void write(int row, Trip trip)
+    {
+        setMileage(row, trip.getMileage().get());
+        setAverageSpeed(row, trip.getAverageSpeed());
+        setMaxSpeed(row, trip.getMaxSpeed());
+        setConsumption(row, trip.getConsumption());
+        setElapsedNanos(row, trip.getElapsedNanos());
+    }
+}
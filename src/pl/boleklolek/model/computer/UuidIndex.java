@@ -0,0 +1,235 @@
+package pl.boleklolek.model.computer;
+
+import java.util.UUID;
+
+/**
+ * Ta klasa opisuje indeks UUID - wiersz rekordów podróży w postaci tablicy z adresowaniem otwartym
+ * (sondowanie liniowe, usuwanie z przesuwaniem wstecz kolejnych wpisów ciągu).
+ * Miejsce tablicy przechowuje numer wiersza + 1 (0 oznacza puste miejsce), a UUID są odczytywane z rekordów,
+ * więc indeks nie tworzy obiektów dla podróży. Podklasy dostarczają pamięć tablicy (np. tablicę int na stercie
+ * lub plik mapowany w pamięci). Indeks jest powiększany dwukrotnie, gdy zapełnienie przekroczy połowę.
+ */
+public abstract class UuidIndex
+{
+    /**
+     * Minimalna liczba miejsc w tablicy.
+     */
+    public static final int MIN_CAPACITY = 16;
+
+    /**
+     * Rekordy podróży, z których odczytywane są UUID.
+     */
+    private final TripRecords records;
+
+    /**
+     * Konstruktor indeksu UUID.
+     *
+     * @param records rekordy podróży
+     */
+    protected UuidIndex(TripRecords records)
+    {
+        this.records = records;
+    }
+
+    /**
+     * Wyznacza liczbę miejsc tablicy dla danej liczby wierszy (potęga dwójki, co najmniej dwukrotność liczby wierszy).
+     *
+     * @param rows liczba wierszy
+     * @return liczba miejsc
+     */
+    public static int capacityFor(int rows)
+    {
+        int capacity = MIN_CAPACITY;
+        while (capacity < rows * 2L)
+        {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Zwraca liczbę miejsc tablicy (potęga dwójki).
+     *
+     * @return liczba miejsc
+     */
+    public abstract int getCapacity();
+
+    /**
+     * Odczytuje miejsce tablicy.
+     *
+     * @param slot miejsce
+     * @return numer wiersza + 1 lub 0
+     */
+    protected abstract int getSlot(int slot);
+
+    /**
+     * Zapisuje miejsce tablicy.
+     *
+     * @param slot  miejsce
+     * @param value numer wiersza + 1 lub 0
+     */
+    protected abstract void setSlot(int slot, int value);
+
+    /**
+     * Przydziela pustą tablicę o danej liczbie miejsc w miejsce dotychczasowej.
+     *
+     * @param capacity liczba miejsc (potęga dwójki)
+     */
+    protected abstract void allocate(int capacity);
+
+    /**
+     * Zwraca wiersz podróży o danym UUID.
+     *
+     * @param uuid UUID podróży
+     * @return wiersz lub -1, jeśli podróży nie ma w indeksie
+     */
+    public int indexOf(UUID uuid)
+    {
+        return find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Zwraca wiersz podróży o danym UUID.
+     *
+     * @param high starsze 64 bity UUID
+     * @param low  młodsze 64 bity UUID
+     * @return wiersz lub -1, jeśli podróży nie ma w indeksie
+     */
+    public int find(long high, long low)
+    {
+        int slot = findSlot(high, low);
+        return slot >= 0 ? getSlot(slot) - 1 : -1;
+    }
+
+    /**
+     * Przygotowuje indeks na daną liczbę wierszy, powiększając i odbudowując tablicę, jeśli zapełnienie
+     * przekroczyłoby połowę. Odbudowa obejmuje wiersze zapisane już w rekordach.
+     *
+     * @param rows liczba wierszy
+     */
+    public void reserve(int rows)
+    {
+        if (rows * 2L > getCapacity())
+        {
+            rebuild(capacityFor(rows));
+        }
+    }
+
+    /**
+     * Wpisuje wiersz do indeksu (UUID jest odczytywany z rekordu).
+     *
+     * @param row wiersz
+     */
+    public void insert(int row)
+    {
+        int mask = getCapacity() - 1;
+        int slot = home(records.getUuidHigh(row), records.getUuidLow(row));
+        while (getSlot(slot) != 0)
+        {
+            slot = (slot + 1) & mask;
+        }
+        setSlot(slot, row + 1);
+    }
+
+    /**
+     * Usuwa wiersz z indeksu. Musi być wywołane, zanim rekord wiersza zostanie nadpisany.
+     *
+     * @param row wiersz
+     */
+    public void remove(int row)
+    {
+        int slot = findSlot(records.getUuidHigh(row), records.getUuidLow(row));
+        if (slot < 0)
+        {
+            return;
+        }
+        int mask = getCapacity() - 1;
+        int hole = slot;
+        setSlot(hole, 0);
+        for (int next = (hole + 1) & mask; getSlot(next) != 0; next = (next + 1) & mask)
+        {
+            int entry = getSlot(next) - 1;
+            int start = home(records.getUuidHigh(entry), records.getUuidLow(entry));
+            if (((next - start) & mask) >= ((next - hole) & mask))
+            {
+                setSlot(hole, getSlot(next));
+                setSlot(next, 0);
+                hole = next;
+            }
+        }
+    }
+
+    /**
+     * Przenumerowuje wiersze po usunięciu wiersza z zachowaniem kolejności (kolejne wiersze przesunęły się
+     * o jedną pozycję w górę). Położenie wpisów w tablicy się nie zmienia.
+     *
+     * @param row usunięty wiersz
+     */
+    public void closeGap(int row)
+    {
+        int capacity = getCapacity();
+        for (int slot = 0; slot < capacity; slot++)
+        {
+            int entry = getSlot(slot);
+            if (entry > row + 1)
+            {
+                setSlot(slot, entry - 1);
+            }
+        }
+    }
+
+    /**
+     * Odbudowuje indeks z rekordów w tablicy o danej liczbie miejsc.
+     *
+     * @param capacity liczba miejsc (potęga dwójki)
+     */
+    public void rebuild(int capacity)
+    {
+        allocate(capacity);
+        int size = records.size();
+        for (int row = 0; row < size; row++)
+        {
+            insert(row);
+        }
+    }
+
+    /**
+     * Wyszukuje miejsce UUID w tablicy.
+     *
+     * @param high starsze 64 bity UUID
+     * @param low  młodsze 64 bity UUID
+     * @return miejsce w tablicy lub -1, jeśli UUID nie występuje
+     */
+    private int findSlot(long high, long low)
+    {
+        int mask = getCapacity() - 1;
+        for (int slot = home(high, low); ; slot = (slot + 1) & mask)
+        {
+            int entry = getSlot(slot);
+            if (entry == 0)
+            {
+                return -1;
+            }
+            if (records.getUuidHigh(entry - 1) == high && records.getUuidLow(entry - 1) == low)
+            {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Wyznacza początkowe miejsce UUID w tablicy (mieszanie bitów jak w MurmurHash3).
+     *
+     * @param high starsze 64 bity UUID
+     * @param low  młodsze 64 bity UUID
+     * @return miejsce w tablicy
+     */
+    private int home(long high, long low)
+    {
+        long h = high ^ low;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & (getCapacity() - 1);
+    }
+}
@@ -0,0 +1,25 @@
+package pl.boleklolek.model.computer.consumption;
+
+/**
+ * Ten interfejs opisuje model zużycia paliwa lub energii.
+ * Model wyznacza chwilowe tempo zużycia na podstawie prędkości i przyspieszenia pojazdu. Jest wywoływany
+ * w każdym kroku komputera pokładowego, dlatego nie może alokować pamięci i musi być niezmienny.
+ */
+public interface ConsumptionModel
+{
+    /**
+     * Wyznacza chwilowe tempo zużycia.
+     *
+     * @param speed        prędkość w km/h
+     * @param acceleration przyspieszenie w km/h na sekundę
+     * @return tempo zużycia w jednostkach modelu na godzinę (ujemne przy odzyskiwaniu energii)
+     */
+    double getRate(double speed, double acceleration);
+
+    /**
+     * Getter jednostki zużycia.
+     *
+     * @return jednostka zużycia (np. l lub kWh)
+     */
+    String getUnit();
+}
@@ -0,0 +1,86 @@
+package pl.boleklolek.model.computer.consumption;
+
+/**
+ * Ta klasa opisuje model zużycia energii przez samochód elektryczny.
+ * Dodatnia moc na kołach jest pobierana z baterii ze stratami układu napędowego, część ujemnej mocy
+ * (hamowania) wraca do baterii dzięki rekuperacji - nie więcej niż dopuszczalna moc ładowania, resztę przejmują
+ * hamulce cierne - a odbiorniki pokładowe pobierają stałą moc.
+ */
+public class ElectricConsumption extends RoadLoadConsumption
+{
+    /**
+     * Sprawność układu napędowego.
+     */
+    private final double efficiency;
+    /**
+     * Sprawność rekuperacji.
+     */
+    private final double recuperation;
+    /**
+     * Maksymalna moc rekuperacji (kW).
+     */
+    private final double maxRecuperationPower;
+    /**
+     * Moc odbiorników pokładowych (kW).
+     */
+    private final double auxiliaryPower;
+
+    /**
+     * Konstruktor modelu zużycia energii.
+     *
+     * @param mass                 masa pojazdu (kg)
+     * @param dragArea             powierzchnia oporu (m^2)
+     * @param rollingCoefficient   współczynnik oporu toczenia
+     * @param efficiency           sprawność układu napędowego z przedziału (0, 1]
+     * @param recuperation         sprawność rekuperacji z przedziału [0, 1]
+     * @param maxRecuperationPower maksymalna moc rekuperacji (kW)
+     * @param auxiliaryPower       moc odbiorników pokładowych (kW)
+     */
+    public ElectricConsumption(double mass, double dragArea, double rollingCoefficient, double efficiency, double recuperation, double maxRecuperationPower, double auxiliaryPower)
+    {
+        super(mass, dragArea, rollingCoefficient);
+        if (efficiency <= 0 || efficiency > 1 || recuperation < 0 || recuperation > 1 || maxRecuperationPower < 0 || auxiliaryPower < 0)
+        {
+            throw new IllegalArgumentException("Niepoprawne parametry modelu zużycia energii!");
+        }
+        this.efficiency = efficiency;
+        this.recuperation = recuperation;
+        this.maxRecuperationPower = maxRecuperationPower;
+        this.auxiliaryPower = auxiliaryPower;
+    }
+
+    /**
+     * Tworzy model typowego samochodu osobowego z napędem elektrycznym.
+     *
+     * @return model zużycia energii
+     */
+    public static ElectricConsumption passengerCar()
+    {
+        return new ElectricConsumption(1800.0, 0.6, 0.009, 0.9, 0.6, 60.0, 0.5);
+    }
+
+    /**
+     * Wyznacza chwilowe tempo zużycia energii.
+     *
+     * @param speed        prędkość w km/h
+     * @param acceleration przyspieszenie w km/h na sekundę
+     * @return zużycie energii w kWh na godzinę (czyli moc w kW, ujemna przy rekuperacji)
+     */
+    @Override
+    public double getRate(double speed, double acceleration)
+    {
+        double power = getPower(speed, acceleration);
+        return auxiliaryPower + (power > 0 ? power / efficiency : Math.max(power * recuperation, -maxRecuperationPower));
+    }
+
+    /**
+     * Getter jednostki zużycia.
+     *
+     * @return kilowatogodziny
+     */
+    @Override
+    public String getUnit()
+    {
+        return "kWh";
+    }
+}
@@ -0,0 +1,77 @@
+package pl.boleklolek.model.computer.consumption;
+
+/**
+ * Ta klasa opisuje model zużycia paliwa przez silnik spalinowy.
+ * Silnik zużywa stałą ilość paliwa na biegu jałowym, a ponadto paliwo o energii odpowiadającej
+ * dodatniej mocy na kołach podzielonej przez sprawność silnika. Hamowanie nie odzyskuje paliwa.
+ */
+public class FuelConsumption extends RoadLoadConsumption
+{
+    /**
+     * Energia zawarta w litrze benzyny (kWh).
+     */
+    private static final double FUEL_ENERGY = 8.9;
+
+    /**
+     * Sprawność silnika i układu napędowego.
+     */
+    private final double efficiency;
+    /**
+     * Zużycie na biegu jałowym (l/h).
+     */
+    private final double idleRate;
+
+    /**
+     * Konstruktor modelu zużycia paliwa.
+     *
+     * @param mass               masa pojazdu (kg)
+     * @param dragArea           powierzchnia oporu (m^2)
+     * @param rollingCoefficient współczynnik oporu toczenia
+     * @param efficiency         sprawność silnika i układu napędowego z przedziału (0, 1]
+     * @param idleRate           zużycie na biegu jałowym (l/h)
+     */
+    public FuelConsumption(double mass, double dragArea, double rollingCoefficient, double efficiency, double idleRate)
+    {
+        super(mass, dragArea, rollingCoefficient);
+        if (efficiency <= 0 || efficiency > 1 || idleRate < 0)
+        {
+            throw new IllegalArgumentException("Niepoprawne parametry modelu zużycia paliwa!");
+        }
+        this.efficiency = efficiency;
+        this.idleRate = idleRate;
+    }
+
+    /**
+     * Tworzy model typowego samochodu osobowego z silnikiem benzynowym.
+     *
+     * @return model zużycia paliwa
+     */
+    public static FuelConsumption passengerCar()
+    {
+        return new FuelConsumption(1400.0, 0.65, 0.012, 0.25, 0.8);
+    }
+
+    /**
+     * Wyznacza chwilowe tempo zużycia paliwa.
+     *
+     * @param speed        prędkość w km/h
+     * @param acceleration przyspieszenie w km/h na sekundę
+     * @return zużycie paliwa w l/h
+     */
+    @Override
+    public double getRate(double speed, double acceleration)
+    {
+        return idleRate + Math.max(getPower(speed, acceleration), 0.0) / (efficiency * FUEL_ENERGY);
+    }
+
+    /**
+     * Getter jednostki zużycia.
+     *
+     * @return litry
+     */
+    @Override
+    public String getUnit()
+    {
+        return "l";
+    }
+}
@@ -0,0 +1,67 @@
+package pl.boleklolek.model.computer.consumption;
+
+/**
+ * Ta klasa opisuje model zużycia oparty na mocy potrzebnej do pokonania oporów ruchu.
+ * Moc na kołach jest sumą mocy potrzebnej do zmiany prędkości pojazdu o zadanej masie,
+ * do pokonania oporu powietrza i do pokonania oporu toczenia. Klasy pochodne przeliczają ją na zużycie.
+ */
+public abstract class RoadLoadConsumption implements ConsumptionModel
+{
+    /**
+     * Przyspieszenie ziemskie (m/s^2).
+     */
+    private static final double GRAVITY = 9.81;
+    /**
+     * Gęstość powietrza (kg/m^3).
+     */
+    private static final double AIR_DENSITY = 1.225;
+    /**
+     * Przelicznik km/h na m/s.
+     */
+    private static final double KMH = 3.6;
+
+    /**
+     * Masa pojazdu (kg).
+     */
+    private final double mass;
+    /**
+     * Współczynnik oporu powietrza (połowa iloczynu gęstości powietrza i powierzchni oporu, kg/m).
+     */
+    private final double dragFactor;
+    /**
+     * Siła oporu toczenia (N).
+     */
+    private final double rollingForce;
+
+    /**
+     * Konstruktor modelu opartego na oporach ruchu.
+     *
+     * @param mass               masa pojazdu (kg)
+     * @param dragArea           powierzchnia oporu, czyli iloczyn współczynnika oporu i powierzchni czołowej (m^2)
+     * @param rollingCoefficient współczynnik oporu toczenia
+     */
+    protected RoadLoadConsumption(double mass, double dragArea, double rollingCoefficient)
+    {
+        if (mass <= 0 || dragArea < 0 || rollingCoefficient < 0)
+        {
+            throw new IllegalArgumentException("Niepoprawne parametry modelu zużycia!");
+        }
+        this.mass = mass;
+        this.dragFactor = 0.5 * AIR_DENSITY * dragArea;
+        this.rollingForce = rollingCoefficient * mass * GRAVITY;
+    }
+
+    /**
+     * Wyznacza moc na kołach.
+     *
+     * @param speed        prędkość w km/h
+     * @param acceleration przyspieszenie w km/h na sekundę
+     * @return moc w kW (ujemna, gdy pojazd zwalnia szybciej niż wynika to z oporów ruchu)
+     */
+    protected double getPower(double speed, double acceleration)
+    {
+        double v = speed / KMH;
+        double force = mass * acceleration / KMH + dragFactor * v * v + (v > 0 ? rollingForce : 0.0);
+        return force * v / 1000;
+    }
+}
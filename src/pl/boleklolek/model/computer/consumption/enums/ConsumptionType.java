@@ -0,0 +1,99 @@
+package pl.boleklolek.model.computer.consumption.enums;
+
+import pl.boleklolek.model.computer.consumption.ConsumptionModel;
+import pl.boleklolek.model.computer.consumption.ElectricConsumption;
+import pl.boleklolek.model.computer.consumption.FuelConsumption;
+
+/**
+ * Ta klasa enum określa rodzaj napędu, od którego zależy model zużycia.
+ */
+public enum ConsumptionType
+{
+    /**
+     * Silnik spalinowy (zużycie paliwa, zbiornik 50 l).
+     */
+    FUEL("paliwo", "l", 50.0)
+            {
+                @Override
+                public ConsumptionModel createModel()
+                {
+                    return FuelConsumption.passengerCar();
+                }
+            },
+    /**
+     * Napęd elektryczny (zużycie energii, bateria 60 kWh).
+     */
+    ELECTRIC("energia elektryczna", "kWh", 60.0)
+            {
+                @Override
+                public ConsumptionModel createModel()
+                {
+                    return ElectricConsumption.passengerCar();
+                }
+            };
+
+    /**
+     * Nazwa rodzaju napędu.
+     */
+    private final String name;
+    /**
+     * Jednostka zużycia.
+     */
+    private final String unit;
+    /**
+     * Domyślna pojemność zbiornika lub baterii.
+     */
+    private final double defaultCapacity;
+
+    /**
+     * Konstruktor rodzaju napędu.
+     *
+     * @param name            nazwa
+     * @param unit            jednostka zużycia
+     * @param defaultCapacity domyślna pojemność zbiornika lub baterii
+     */
+    ConsumptionType(String name, String unit, double defaultCapacity)
+    {
+        this.name = name;
+        this.unit = unit;
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    /**
+     * Tworzy model zużycia typowego samochodu osobowego o danym napędzie.
+     *
+     * @return model zużycia
+     */
+    public abstract ConsumptionModel createModel();
+
+    /**
+     * Getter jednostki zużycia (taka sama jak jednostka tworzonego modelu).
+     *
+     * @return jednostka zużycia (l lub kWh)
+     */
+    public String getUnit()
+    {
+        return unit;
+    }
+
+    /**
+     * Getter domyślnej pojemności zbiornika lub baterii.
+     *
+     * @return pojemność w jednostkach modelu zużycia
+     */
+    public double getDefaultCapacity()
+    {
+        return defaultCapacity;
+    }
+
+    /**
+     * Zwraca nazwę rodzaju napędu.
+     *
+     * @return nazwa
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
@@ -0,0 +1,105 @@
+package pl.boleklolek.model.computer.enums;
+
+import pl.boleklolek.model.computer.trip.Trip;
+
+/**
+ * Ta klasa enum określa kryteria uporządkowania podróży, według których pamięć utrzymuje indeksy posortowane.
+ */
+public enum TripOrder
+{
+    /**
+     * Przebieg podróży (przy równym przebiegu rozstrzyga czas trwania, jak w Trip.compareTo).
+     */
+    MILEAGE("przebieg")
+            {
+                @Override
+                public double key(Trip trip)
+                {
+                    return trip.getMileage().get();
+                }
+
+                @Override
+                public long tieKey(Trip trip)
+                {
+                    return trip.getElapsedNanos();
+                }
+            },
+    /**
+     * Czas trwania podróży.
+     */
+    ELAPSED_TIME("czas")
+            {
+                @Override
+                public double key(Trip trip)
+                {
+                    return trip.getElapsedNanos();
+                }
+            },
+    /**
+     * Średnia prędkość podróży.
+     */
+    AVERAGE_SPEED("średnia prędkość")
+            {
+                @Override
+                public double key(Trip trip)
+                {
+                    return trip.getAverageSpeed();
+                }
+            },
+    /**
+     * Prędkość maksymalna podróży.
+     */
+    MAX_SPEED("prędkość maksymalna")
+            {
+                @Override
+                public double key(Trip trip)
+                {
+                    return trip.getMaxSpeed();
+                }
+            };
+
+    /**
+     * Nazwa kryterium.
+     */
+    private final String name;
+
+    /**
+     * Konstruktor kryterium uporządkowania.
+     *
+     * @param name nazwa
+     */
+    TripOrder(String name)
+    {
+        this.name = name;
+    }
+
+    /**
+     * Wyznacza klucz sortowania podróży.
+     *
+     * @param trip podróż
+     * @return klucz sortowania
+     */
+    public abstract double key(Trip trip);
+
+    /**
+     * Wyznacza klucz rozstrzygający kolejność podróży o równych kluczach sortowania.
+     *
+     * @param trip podróż
+     * @return klucz rozstrzygający (domyślnie 0 - brak dodatkowego kryterium)
+     */
+    public long tieKey(Trip trip)
+    {
+        return 0;
+    }
+
+    /**
+     * Zwraca nazwę kryterium.
+     *
+     * @return nazwa
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
@@ -0,0 +1,312 @@
+package pl.boleklolek.model.computer.trip;
+
+import java.io.Serializable;
+
+/**
+ * Ta klasa opisuje szkic rozkładu prędkości (w stylu DDSketch) o stałym rozmiarze.
+ * Prędkości są zliczane w kubełkach o wykładniczo rosnącej szerokości, dzięki czemu każdy kwantyl
+ * jest wyznaczany z błędem względnym nie większym niż 1%, niezależnie od liczby próbek.
+ * Prędkości poniżej 0.5 km/h są traktowane jako postój. Szkice można scalać (sumując liczniki kubełków),
+ * co pozwala wyznaczać kwantyle wielu podróży bez przechowywania surowych próbek.
+ * Przechowywany jest tylko zajęty zakres kubełków (BUCKETS to górna granica), przydzielany przy pierwszej
+ * próbce jazdy i powiększany w miarę potrzeby - pusty szkic nie zajmuje tablicy liczników.
+ */
+public class SpeedSketch implements Serializable
+{
+    /**
+     * Stałe pole zawierające identyfikator wersji.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * Błąd względny kwantyli.
+     */
+    public static final double RELATIVE_ACCURACY = 0.01;
+    /**
+     * Najmniejsza prędkość zliczana w kubełkach (km/h) - mniejsze prędkości to postój.
+     */
+    public static final double MIN_SPEED = 0.5;
+    /**
+     * Największa rozróżniana prędkość (km/h) - większe prędkości trafiają do ostatniego kubełka.
+     */
+    public static final double MAX_SPEED = 1000.0;
+    /**
+     * Stosunek granic kolejnych kubełków.
+     */
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    /**
+     * Logarytm naturalny stosunku granic kubełków.
+     */
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    /**
+     * Indeks logarytmiczny pierwszego kubełka.
+     */
+    private static final int OFFSET = (int) Math.ceil(Math.log(MIN_SPEED) / LOG_GAMMA);
+    /**
+     * Liczba kubełków.
+     */
+    public static final int BUCKETS = (int) Math.ceil(Math.log(MAX_SPEED) / LOG_GAMMA) - OFFSET + 1;
+    /**
+     * Numer kubełka postoju.
+     */
+    public static final int ZERO_BUCKET = -1;
+    /**
+     * Początkowa długość zakresu kubełków.
+     */
+    private static final int INITIAL_RANGE = 16;
+
+    /**
+     * Liczniki zajętego zakresu kubełków (null, dopóki szkic nie ma próbek jazdy).
+     */
+    private long[] counts;
+    /**
+     * Numer kubełka pierwszego licznika zakresu.
+     */
+    private int first;
+    /**
+     * Liczba próbek postoju.
+     */
+    private long zeroCount;
+    /**
+     * Liczba wszystkich próbek.
+     */
+    private long count;
+
+    /**
+     * Konstruktor pustego szkicu.
+     */
+    public SpeedSketch()
+    {
+    }
+
+    /**
+     * Zwraca numer kubełka, do którego trafia prędkość.
+     *
+     * @param speed prędkość w km/h
+     * @return numer kubełka lub ZERO_BUCKET dla postoju
+     */
+    public static int bucketOf(double speed)
+    {
+        if (!(speed >= MIN_SPEED))
+        {
+            return ZERO_BUCKET;
+        }
+        int bucket = (int) Math.ceil(Math.log(speed) / LOG_GAMMA) - OFFSET;
+        return Math.min(Math.max(bucket, 0), BUCKETS - 1);
+    }
+
+    /**
+     * Dodaje próbkę prędkości.
+     *
+     * @param speed prędkość w km/h
+     */
+    public void add(double speed)
+    {
+        addToBucket(bucketOf(speed), 1);
+    }
+
+    /**
+     * Dodaje próbki do kubełka o znanym numerze (pozwala policzyć numer kubełka raz dla wielu szkiców).
+     *
+     * @param bucket numer kubełka lub ZERO_BUCKET
+     * @param n      liczba próbek
+     */
+    public void addToBucket(int bucket, long n)
+    {
+        if (bucket == ZERO_BUCKET)
+        {
+            zeroCount += n;
+        }
+        else
+        {
+            if (counts == null || bucket < first || bucket >= first + counts.length)
+            {
+                ensureRange(bucket);
+            }
+            counts[bucket - first] += n;
+        }
+        count += n;
+    }
+
+    /**
+     * Powiększa zakres kubełków tak, aby obejmował dany kubełek (co najmniej dwukrotnie, z zapasem
+     * po stronie powiększania i w granicach BUCKETS).
+     *
+     * @param bucket numer kubełka
+     */
+    private void ensureRange(int bucket)
+    {
+        if (bucket < 0 || bucket >= BUCKETS)
+        {
+            throw new IndexOutOfBoundsException("Niepoprawny numer kubełka: " + bucket);
+        }
+        if (counts == null)
+        {
+            counts = new long[INITIAL_RANGE];
+            first = Math.min(Math.max(bucket - INITIAL_RANGE / 2, 0), BUCKETS - INITIAL_RANGE);
+            return;
+        }
+        int from = Math.min(first, bucket);
+        int to = Math.max(first + counts.length, bucket + 1);
+        int length = Math.min(BUCKETS, Math.max(to - from, counts.length * 2));
+        int start = bucket < first ? Math.max(0, to - length) : Math.min(from, BUCKETS - length);
+        long[] grown = new long[length];
+        System.arraycopy(counts, 0, grown, first - start, counts.length);
+        counts = grown;
+        first = start;
+    }
+
+    /**
+     * Scala szkic z innym szkicem (dodaje jego próbki).
+     *
+     * @param other scalany szkic
+     */
+    public void merge(SpeedSketch other)
+    {
+        if (other.counts != null)
+        {
+            for (int i = 0; i < other.counts.length; i++)
+            {
+                if (other.counts[i] != 0)
+                {
+                    addToBucket(other.first + i, other.counts[i]);
+                }
+            }
+        }
+        addToBucket(ZERO_BUCKET, other.zeroCount);
+    }
+
+    /**
+     * Getter liczby próbek.
+     *
+     * @return liczba próbek
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Zwraca kwantyl prędkości.
+     *
+     * @param q rząd kwantyla z przedziału [0, 1]
+     * @return prędkość w km/h (0, gdy szkic jest pusty)
+     */
+    public double getQuantile(double q)
+    {
+        if (q < 0 || q > 1)
+        {
+            throw new IllegalArgumentException("Rząd kwantyla musi należeć do przedziału [0, 1]!");
+        }
+        if (count == 0)
+        {
+            return 0.0;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen)
+        {
+            return 0.0;
+        }
+        for (int i = 0; counts != null && i < counts.length; i++)
+        {
+            seen += counts[i];
+            if (rank < seen)
+            {
+                return 2 * Math.pow(GAMMA, first + i + OFFSET) / (GAMMA + 1);
+            }
+        }
+        return MAX_SPEED;
+    }
+
+    /**
+     * Zwraca medianę prędkości.
+     *
+     * @return mediana prędkości w km/h
+     */
+    public double getMedian()
+    {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * Czyści szkic.
+     */
+    public void reset()
+    {
+        counts = null;
+        first = 0;
+        zeroCount = 0;
+        count = 0;
+    }
+
+    /**
+     * Koduje szkic do zwartej postaci tekstowej: liczba próbek postoju, a po średniku niezerowe kubełki
+     * w postaci numer:licznik oddzielone przecinkami.
+     *
+     * @return string z zakodowanym szkicem
+     */
+    public String encode()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(zeroCount).append(';');
+        boolean leading = true;
+        for (int i = 0; counts != null && i < counts.length; i++)
+        {
+            if (counts[i] != 0)
+            {
+                if (!leading)
+                {
+                    sb.append(',');
+                }
+                sb.append(first + i).append(':').append(counts[i]);
+                leading = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Dekoduje szkic z postaci tekstowej zwróconej przez encode().
+     *
+     * @param encoded string z zakodowanym szkicem (pusty lub null - pusty szkic)
+     * @return obiekt szkicu
+     * @throws IllegalArgumentException wyjątek rzucany w przypadku niepoprawnego formatu
+     */
+    public static SpeedSketch decode(String encoded)
+    {
+        SpeedSketch sketch = new SpeedSketch();
+        if (encoded == null || encoded.trim().isEmpty())
+        {
+            return sketch;
+        }
+        try
+        {
+            String[] parts = encoded.trim().split(";", -1);
+            sketch.addToBucket(ZERO_BUCKET, Long.parseLong(parts[0]));
+            if (parts.length > 1 && !parts[1].isEmpty())
+            {
+                for (String entry : parts[1].split(","))
+                {
+                    int separator = entry.indexOf(':');
+                    sketch.addToBucket(Integer.parseInt(entry.substring(0, separator)), Long.parseLong(entry.substring(separator + 1)));
+                }
+            }
+        }
+        catch (RuntimeException e)
+        {
+            throw new IllegalArgumentException("Niepoprawny format szkicu prędkości: " + encoded, e);
+        }
+        return sketch;
+    }
+
+    /**
+     * Zwraca zakodowany szkic.
+     *
+     * @return string z zakodowanym szkicem
+     */
+    @Override
+    public String toString()
+    {
+        return encode();
+    }
+}
@@ -18,6 +18,6 @@ public class TimeTripComparator implements Comparator<Trip>
     @Override
     public int compare(Trip trip1, Trip trip2)
     {
-        return Long.compare(trip1.getElapsedTime(), trip2.getElapsedTime());
+        return Long.compare(trip1.getElapsedNanos(), trip2.getElapsedNanos());
     }
 }
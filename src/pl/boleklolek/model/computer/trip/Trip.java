@@ -7,9 +7,13 @@ import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * Ta klasa opisuje podróż.
+ * Czas trwania podróży jest mierzony monotonicznym zegarem nanosekundowym: zapisywany jest czas zakończonych
+ * odcinków oraz początek trwającego odcinka, a czas trwania jest wyliczany przy odczycie.
  */
 public class Trip implements Serializable, Comparable<Trip>
 {
@@ -35,9 +39,33 @@ public class Trip implements Serializable, Comparable<Trip>
      */
     private double maxSpeed;
     /**
-     * Czas, który upłynął od początku podróży.
+     * Czas trwania zakończonych (wstrzymanych) odcinków podróży w nanosekundach.
      */
-    private long elapsedTime;
+    private long elapsedNanos;
+    /**
+     * Czas trwania podróży w sekundach z zapisów sprzed wprowadzenia zegara nanosekundowego (tylko do odczytu).
+     */
+    private Long elapsedTime;
+    /**
+     * Zegar trwającego odcinka podróży (null, gdy podróż jest wstrzymana).
+     */
+    private transient volatile LongSupplier clock;
+    /**
+     * Odczyt zegara na początku trwającego odcinka podróży.
+     */
+    private transient long startNanos;
+    /**
+     * Szkic rozkładu prędkości podróży.
+     */
+    private SpeedSketch speedSketch;
+    /**
+     * Zużycie paliwa lub energii w podróży (w jednostkach modelu zużycia komputera pokładowego).
+     */
+    private double consumption;
+    /**
+     * Jednostka zużycia (l lub kWh; null, dopóki podróż nie była liczona żadnym modelem zużycia).
+     */
+    private String consumptionUnit;
 
     /**
      * Konstruktor nowej podróży.
@@ -47,6 +75,7 @@ public class Trip implements Serializable, Comparable<Trip>
     {
         this.uuid = UUID.randomUUID();
         this.mileage = new Mileage();
+        this.speedSketch = new SpeedSketch();
     }
 
     /**
@@ -56,15 +85,48 @@ public class Trip implements Serializable, Comparable<Trip>
      * @param averageSpeed średnia prędkość
      * @param maxSpeed     maksymalna prędkość
      * @param mileage      przebieg
-     * @param elapsedTime  czas podróży
+     * @param elapsedTime  czas podróży w sekundach
      */
     public Trip(UUID uuid, double averageSpeed, double maxSpeed, Mileage mileage, long elapsedTime)
+    {
+        this(uuid, averageSpeed, maxSpeed, mileage, elapsedTime, new SpeedSketch());
+    }
+
+    /**
+     * Konstruktor podróży ze szkicem rozkładu prędkości.
+     *
+     * @param uuid         uuid
+     * @param averageSpeed średnia prędkość
+     * @param maxSpeed     maksymalna prędkość
+     * @param mileage      przebieg
+     * @param elapsedTime  czas podróży w sekundach
+     * @param speedSketch  szkic rozkładu prędkości
+     */
+    public Trip(UUID uuid, double averageSpeed, double maxSpeed, Mileage mileage, long elapsedTime, SpeedSketch speedSketch)
+    {
+        this(uuid, averageSpeed, maxSpeed, mileage, elapsedTime, speedSketch, 0.0);
+    }
+
+    /**
+     * Konstruktor podróży ze szkicem rozkładu prędkości i zużyciem.
+     *
+     * @param uuid         uuid
+     * @param averageSpeed średnia prędkość
+     * @param maxSpeed     maksymalna prędkość
+     * @param mileage      przebieg
+     * @param elapsedTime  czas podróży w sekundach
+     * @param speedSketch  szkic rozkładu prędkości
+     * @param consumption  zużycie paliwa lub energii
+     */
+    public Trip(UUID uuid, double averageSpeed, double maxSpeed, Mileage mileage, long elapsedTime, SpeedSketch speedSketch, double consumption)
     {
         this.uuid = uuid;
         this.averageSpeed = averageSpeed;
         this.maxSpeed = maxSpeed;
         this.mileage = mileage;
-        this.elapsedTime = elapsedTime;
+        this.elapsedNanos = TimeUnit.SECONDS.toNanos(elapsedTime);
+        this.speedSketch = speedSketch;
+        this.consumption = consumption;
     }
 
     /**
@@ -127,6 +189,74 @@ public class Trip implements Serializable, Comparable<Trip>
         return mileage;
     }
 
+    /**
+     * Getter szkicu rozkładu prędkości.
+     * Szkic jest uzupełniany w każdym kroku komputera pokładowego, a kwantyle (np. mediana, p85, p95)
+     * można z niego odczytać w dowolnej chwili.
+     *
+     * @return obiekt szkicu rozkładu prędkości
+     */
+    public SpeedSketch getSpeedSketch()
+    {
+        return speedSketch;
+    }
+
+    /**
+     * Getter zużycia paliwa lub energii.
+     *
+     * @return zużycie w jednostkach modelu zużycia (l lub kWh)
+     */
+    public double getConsumption()
+    {
+        return consumption;
+    }
+
+    /**
+     * Dodaje zużycie z jednego kroku komputera pokładowego.
+     *
+     * @param amount zużycie w jednostkach modelu zużycia (ujemne przy odzyskiwaniu energii)
+     */
+    public void addConsumption(double amount)
+    {
+        consumption += amount;
+    }
+
+    /**
+     * Getter jednostki zużycia.
+     *
+     * @return jednostka zużycia (l lub kWh) lub null, jeśli jest nieznana
+     */
+    public String getConsumptionUnit()
+    {
+        return consumptionUnit;
+    }
+
+    /**
+     * Ustawia jednostkę, w której naliczane jest zużycie.
+     * Litrów paliwa i kilowatogodzin nie da się przeliczyć, więc przy zmianie jednostki zużycie podróży jest zerowane.
+     *
+     * @param unit jednostka zużycia (l lub kWh)
+     */
+    public void setConsumptionUnit(String unit)
+    {
+        if (consumptionUnit != null && !consumptionUnit.equals(unit))
+        {
+            addConsumption(-getConsumption());
+        }
+        consumptionUnit = unit;
+    }
+
+    /**
+     * Zwraca średnie zużycie na 100 km.
+     *
+     * @return zużycie na 100 km (0, gdy podróż nie ma przebiegu)
+     */
+    public double getConsumptionPer100km()
+    {
+        double distance = getMileage().get();
+        return distance > 0 ? getConsumption() / distance * 100 : 0.0;
+    }
+
     /**
      * Getter czasu, który upłynął w sekundach.
      *
@@ -134,27 +264,83 @@ public class Trip implements Serializable, Comparable<Trip>
      */
     public long getElapsedTime()
     {
-        return elapsedTime;
+        return TimeUnit.NANOSECONDS.toSeconds(getElapsedNanos());
     }
 
     /**
-     * Getter czasu w przeformatowanym stringu (00:00:00).
+     * Zwraca czas, który upłynął w nanosekundach (łącznie z trwającym odcinkiem podróży).
      *
-     * @return przeformatowany string z upłyniętym czasem
+     * @return ilość nanosekund, które upłynęły
      */
-    public String getElapsedTimeString()
+    public long getElapsedNanos()
     {
-        return String.format("%02d:%02d:%02d", elapsedTime / 3600, (elapsedTime % 3600) / 60, elapsedTime % 60);
+        LongSupplier clock = this.clock;
+        return clock != null ? elapsedNanos + clock.getAsLong() - startNanos : elapsedNanos;
+    }
+
+    /**
+     * Setter czasu trwania podróży w nanosekundach.
+     * Jeżeli podróż trwa, od tej chwili odmierzany jest nowy odcinek.
+     *
+     * @param elapsedNanos czas trwania podróży w nanosekundach
+     */
+    public void setElapsedNanos(long elapsedNanos)
+    {
+        this.elapsedNanos = elapsedNanos;
+        LongSupplier clock = this.clock;
+        if (clock != null)
+        {
+            startNanos = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Sprawdza, czy podróż trwa (czy jej czas jest odmierzany).
+     *
+     * @return prawda, jeśli podróż trwa
+     */
+    public boolean isRunning()
+    {
+        return clock != null;
     }
 
     /**
-     * Inkrementuje czas w sekundach.
+     * Rozpoczyna odcinek podróży - od tej chwili czas trwania podróży jest odmierzany podanym zegarem.
+     * Jeżeli podróż już trwa, nic się nie dzieje.
      *
-     * @param seconds liczba sekund do dodania w czasie
+     * @param clock monotoniczny zegar nanosekundowy
      */
-    public void addTime(long seconds)
+    public void start(LongSupplier clock)
     {
-        elapsedTime += seconds;
+        if (this.clock == null)
+        {
+            startNanos = clock.getAsLong();
+            this.clock = clock;
+        }
+    }
+
+    /**
+     * Wstrzymuje podróż - czas trwającego odcinka jest doliczany do czasu podróży.
+     */
+    public void pause()
+    {
+        LongSupplier clock = this.clock;
+        if (clock != null)
+        {
+            elapsedNanos += clock.getAsLong() - startNanos;
+            this.clock = null;
+        }
+    }
+
+    /**
+     * Getter czasu w przeformatowanym stringu (00:00:00).
+     *
+     * @return przeformatowany string z upłyniętym czasem
+     */
+    public String getElapsedTimeString()
+    {
+        long elapsedTime = getElapsedTime();
+        return String.format("%02d:%02d:%02d", elapsedTime / 3600, (elapsedTime % 3600) / 60, elapsedTime % 60);
     }
 
     /**
@@ -172,7 +358,52 @@ public class Trip implements Serializable, Comparable<Trip>
         {
             System.err.println(e.getMessage());
         }
-        elapsedTime = 0;
+        elapsedNanos = 0;
+        LongSupplier clock = this.clock;
+        if (clock != null)
+        {
+            startNanos = clock.getAsLong();
+        }
+        speedSketch.reset();
+        consumption = 0;
+    }
+
+    /**
+     * Zastępuje przy serializacji trwającą podróż jej migawką z czasem trwania doliczonym do bieżącej chwili.
+     * Stan podróży nie jest zmieniany, więc zapis może odbywać się poza wątkiem pętli.
+     *
+     * @return obiekt podróży lub jej migawka
+     */
+    private Object writeReplace()
+    {
+        if (!isRunning())
+        {
+            return this;
+        }
+        Trip snapshot = new Trip(getUuid(), getAverageSpeed(), getMaxSpeed(), getMileage(), 0, getSpeedSketch(), getConsumption());
+        snapshot.elapsedNanos = getElapsedNanos();
+        snapshot.consumptionUnit = getConsumptionUnit();
+        return snapshot;
+    }
+
+    /**
+     * Uzupełnia pusty szkic rozkładu prędkości podróży wczytanych z zapisów sprzed jego wprowadzenia
+     * i przelicza czas trwania zapisany w sekundach na nanosekundy.
+     *
+     * @return obiekt podróży
+     */
+    private Object readResolve()
+    {
+        if (elapsedTime != null)
+        {
+            elapsedNanos = TimeUnit.SECONDS.toNanos(elapsedTime);
+            elapsedTime = null;
+        }
+        if (speedSketch == null)
+        {
+            speedSketch = new SpeedSketch();
+        }
+        return this;
     }
 
     /**
@@ -186,17 +417,17 @@ public class Trip implements Serializable, Comparable<Trip>
     @Override
     public int compareTo(Trip trip)
     {
-        int result = -Double.compare(mileage.get(), trip.mileage.get());
+        int result = -Double.compare(getMileage().get(), trip.getMileage().get());
         if (result == 0)
         {
-            result = -Long.compare(elapsedTime, trip.elapsedTime);
+            result = -Long.compare(getElapsedNanos(), trip.getElapsedNanos());
         }
         return result;
     }
 
     /**
      * Zwraca informację o podróży, czyli UUID, średniej prędkości, prędkości maksymalnej,
-     * przebiegu oraz czasu jej trwania.
+     * przebiegu, zużycia oraz czasu jej trwania.
      *
      * @return string z informacjami o podróży
      */
@@ -204,12 +435,18 @@ public class Trip implements Serializable, Comparable<Trip>
     public String toString()
     {
         DecimalFormat df = new DecimalFormat("0.0");
+        SpeedSketch speedSketch = getSpeedSketch();
+        String unit = getConsumptionUnit() != null ? " " + getConsumptionUnit() : "";
 
         return "[Podróż]" + System.lineSeparator() +
-                "UUID: " + uuid + System.lineSeparator() +
-                "Średnia prędkość: " + df.format(averageSpeed) + " km/h" + System.lineSeparator() +
-                "Maksymalna prędkość: " + df.format(maxSpeed) + " km/h" + System.lineSeparator() +
-                "Przebieg: " + df.format(mileage.get()) + " km" + System.lineSeparator() +
+                "UUID: " + getUuid() + System.lineSeparator() +
+                "Średnia prędkość: " + df.format(getAverageSpeed()) + " km/h" + System.lineSeparator() +
+                "Maksymalna prędkość: " + df.format(getMaxSpeed()) + " km/h" + System.lineSeparator() +
+                "Mediana prędkości: " + df.format(speedSketch.getMedian()) + " km/h" + System.lineSeparator() +
+                "Prędkość p85: " + df.format(speedSketch.getQuantile(0.85)) + " km/h" + System.lineSeparator() +
+                "Prędkość p95: " + df.format(speedSketch.getQuantile(0.95)) + " km/h" + System.lineSeparator() +
+                "Przebieg: " + df.format(getMileage().get()) + " km" + System.lineSeparator() +
+                "Zużycie: " + df.format(getConsumption()) + unit + " (" + df.format(getConsumptionPer100km()) + unit + "/100 km)" + System.lineSeparator() +
                 "Czas trwania: " + getElapsedTimeString();
     }
 
@@ -221,7 +458,7 @@ public class Trip implements Serializable, Comparable<Trip>
     public String toStringShort()
     {
         DecimalFormat df = new DecimalFormat("0.0");
-        return "UUID: " + uuid + " | Przebieg: " + df.format(mileage.get()) + " km | Czas trwania: " + getElapsedTimeString();
+        return "UUID: " + getUuid() + " | Przebieg: " + df.format(getMileage().get()) + " km | Czas trwania: " + getElapsedTimeString();
     }
 
     /**
@@ -242,7 +479,7 @@ public class Trip implements Serializable, Comparable<Trip>
             return false;
         }
         Trip trip = (Trip) o;
-        return uuid.equals(trip.uuid);
+        return getUuid().equals(trip.getUuid());
     }
 
     /**
@@ -253,6 +490,6 @@ public class Trip implements Serializable, Comparable<Trip>
     @Override
     public int hashCode()
     {
-        return Objects.hash(uuid);
+        return Objects.hash(getUuid());
     }
 }
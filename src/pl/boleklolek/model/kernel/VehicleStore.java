@@ -0,0 +1,397 @@
+package pl.boleklolek.model.kernel;
+
+import pl.boleklolek.model.speedometer.dynamics.KinematicDynamics;
+import pl.boleklolek.model.speedometer.dynamics.VehicleDynamics;
+
+import java.util.Arrays;
+
+/**
+ * Ta klasa przechowuje stan fizyczny wielu pojazdów w równoległych tablicach typów prostych (structure of arrays).
+ * Każdy pojazd zajmuje jeden slot. Prędkościomierz i licznik przebiegu są jedynie widokami na dany slot.
+ * Metoda update() przesuwa cały blok pojazdów w prostych pętlach. Nową prędkość każdego pojazdu wyznacza jego model
+ * dynamiki (domyślnie wspólny model kinematyczny, którego wywołanie JIT rozwija w miejscu), a sumowanie przebiegów
+ * odbywa się w osobnej pętli bez rozgałęzień.
+ * Przebieg całkowity jest sumowany z kompensacją Kahana - przy dużym przebiegu i małym dystansie jednego kroku
+ * zwykłe dodawanie gubiłoby część każdego przyrostu, a błąd ten narastałby przez cały czas działania symulacji.
+ * Przebiegi dzienne nie są tu przechowywane - każdy z nich to przesunięcie względem przebiegu całkowitego,
+ * więc krok kosztuje tyle samo niezależnie od liczby przebiegów dziennych.
+ */
+public class VehicleStore
+{
+    /**
+     * Liczba zajętych slotów (łącznie ze zwolnionymi).
+     */
+    private int size;
+    /**
+     * Stos zwolnionych slotów.
+     */
+    private int[] free;
+    /**
+     * Liczba zwolnionych slotów.
+     */
+    private int freeCount;
+    /**
+     * Prędkości.
+     */
+    private double[] speed;
+    /**
+     * Położenia pedałów z przedziału [-1, 1].
+     */
+    private double[] pedal;
+    /**
+     * Modele dynamiki pojazdów.
+     */
+    private VehicleDynamics[] dynamics;
+    /**
+     * Prędkości maksymalne.
+     */
+    private double[] maxSpeed;
+    /**
+     * Stany tempomatów.
+     */
+    private boolean[] limiter;
+    /**
+     * Prędkości ustawione przez tempomaty.
+     */
+    private double[] limiterSpeed;
+    /**
+     * Dolne ograniczenia prędkości (prędkość tempomatu, gdy jest aktywny, w przeciwnym razie 0).
+     */
+    private double[] floor;
+    /**
+     * Przebiegi całkowite.
+     */
+    private double[] totalMileage;
+    /**
+     * Poprawki przebiegów całkowitych (utracone młodsze bity sum).
+     */
+    private double[] totalMileageError;
+    /**
+     * Dystanse przejechane w ostatnim kroku (bufor roboczy).
+     */
+    private double[] distance;
+
+    /**
+     * Konstruktor magazynu pojazdów.
+     *
+     * @param capacity początkowa pojemność
+     */
+    public VehicleStore(int capacity)
+    {
+        capacity = Math.max(capacity, 1);
+        this.free = new int[capacity];
+        this.speed = new double[capacity];
+        this.pedal = new double[capacity];
+        this.dynamics = new VehicleDynamics[capacity];
+        Arrays.fill(this.dynamics, KinematicDynamics.DEFAULT);
+        this.maxSpeed = new double[capacity];
+        this.limiter = new boolean[capacity];
+        this.limiterSpeed = new double[capacity];
+        this.floor = new double[capacity];
+        this.totalMileage = new double[capacity];
+        this.totalMileageError = new double[capacity];
+        this.distance = new double[capacity];
+    }
+
+    /**
+     * Zwraca liczbę aktywnych pojazdów.
+     *
+     * @return liczba pojazdów
+     */
+    public int size()
+    {
+        return size - freeCount;
+    }
+
+    /**
+     * Przydziela slot nowemu pojazdowi. Wszystkie wartości slotu są wyzerowane, a model dynamiki jest domyślny.
+     *
+     * @return indeks slotu
+     */
+    public int allocate()
+    {
+        if (freeCount > 0)
+        {
+            return free[--freeCount];
+        }
+        if (size == speed.length)
+        {
+            grow(size * 2);
+        }
+        return size++;
+    }
+
+    /**
+     * Zwalnia slot pojazdu. Zwolniony slot jest zerowany, więc dalsze aktualizacje bloku go nie zmieniają.
+     *
+     * @param slot indeks slotu
+     */
+    public void release(int slot)
+    {
+        speed[slot] = 0.0;
+        pedal[slot] = 0.0;
+        dynamics[slot] = KinematicDynamics.DEFAULT;
+        maxSpeed[slot] = 0.0;
+        limiter[slot] = false;
+        limiterSpeed[slot] = 0.0;
+        floor[slot] = 0.0;
+        totalMileage[slot] = 0.0;
+        totalMileageError[slot] = 0.0;
+        free[freeCount++] = slot;
+    }
+
+    /**
+     * Getter prędkości.
+     *
+     * @param slot indeks slotu
+     * @return wartość prędkości
+     */
+    public double getSpeed(int slot)
+    {
+        return speed[slot];
+    }
+
+    /**
+     * Setter prędkości.
+     *
+     * @param slot  indeks slotu
+     * @param speed prędkość
+     */
+    public void setSpeed(int slot, double speed)
+    {
+        this.speed[slot] = speed;
+    }
+
+    /**
+     * Getter położenia pedałów.
+     *
+     * @param slot indeks slotu
+     * @return położenie pedałów z przedziału [-1, 1]
+     */
+    public double getPedal(int slot)
+    {
+        return pedal[slot];
+    }
+
+    /**
+     * Setter położenia pedałów.
+     *
+     * @param slot  indeks slotu
+     * @param pedal położenie pedałów (1 - pełny gaz, 0 - bieg jałowy, -1 - pełne hamowanie), ograniczane do [-1, 1]
+     */
+    public void setPedal(int slot, double pedal)
+    {
+        this.pedal[slot] = Math.max(Math.min(pedal, 1.0), -1.0);
+    }
+
+    /**
+     * Getter modelu dynamiki pojazdu.
+     *
+     * @param slot indeks slotu
+     * @return model dynamiki pojazdu
+     */
+    public VehicleDynamics getDynamics(int slot)
+    {
+        return dynamics[slot];
+    }
+
+    /**
+     * Setter modelu dynamiki pojazdu.
+     *
+     * @param slot     indeks slotu
+     * @param dynamics model dynamiki pojazdu
+     */
+    public void setDynamics(int slot, VehicleDynamics dynamics)
+    {
+        if (dynamics == null)
+        {
+            throw new NullPointerException("Model dynamiki pojazdu nie może być pusty!");
+        }
+        this.dynamics[slot] = dynamics;
+    }
+
+    /**
+     * Getter prędkości maksymalnej.
+     *
+     * @param slot indeks slotu
+     * @return wartość prędkości maksymalnej
+     */
+    public double getMaxSpeed(int slot)
+    {
+        return maxSpeed[slot];
+    }
+
+    /**
+     * Setter prędkości maksymalnej.
+     *
+     * @param slot     indeks slotu
+     * @param maxSpeed prędkość maksymalna
+     */
+    public void setMaxSpeed(int slot, double maxSpeed)
+    {
+        this.maxSpeed[slot] = maxSpeed;
+    }
+
+    /**
+     * Sprawdza, czy tempomat jest włączony.
+     *
+     * @param slot indeks slotu
+     * @return prawda, jeśli tempomat włączony
+     */
+    public boolean isLimiter(int slot)
+    {
+        return limiter[slot];
+    }
+
+    /**
+     * Getter prędkości ustawionej przez tempomat.
+     *
+     * @param slot indeks slotu
+     * @return wartość prędkości tempomatu
+     */
+    public double getLimiterSpeed(int slot)
+    {
+        return limiterSpeed[slot];
+    }
+
+    /**
+     * Ustawia stan tempomatu.
+     *
+     * @param slot         indeks slotu
+     * @param limiter      tempomat
+     * @param limiterSpeed prędkość tempomatu
+     */
+    public void setLimiter(int slot, boolean limiter, double limiterSpeed)
+    {
+        this.limiter[slot] = limiter;
+        this.limiterSpeed[slot] = limiterSpeed;
+        this.floor[slot] = limiter ? limiterSpeed : 0.0;
+    }
+
+    /**
+     * Getter przebiegu całkowitego (z uwzględnieniem poprawki sumowania).
+     *
+     * @param slot indeks slotu
+     * @return wartość przebiegu całkowitego
+     */
+    public double getTotalMileage(int slot)
+    {
+        return totalMileage[slot] - totalMileageError[slot];
+    }
+
+    /**
+     * Setter przebiegu całkowitego.
+     *
+     * @param slot         indeks slotu
+     * @param totalMileage przebieg całkowity
+     */
+    public void setTotalMileage(int slot, double totalMileage)
+    {
+        this.totalMileage[slot] = totalMileage;
+        this.totalMileageError[slot] = 0.0;
+    }
+
+    /**
+     * Dodaje dystans do przebiegu całkowitego pojazdu.
+     *
+     * @param slot     indeks slotu
+     * @param distance dystans
+     */
+    public void addDistance(int slot, double distance)
+    {
+        add(totalMileage, totalMileageError, slot, distance);
+    }
+
+    /**
+     * Aktualizuje prędkość jednego pojazdu według jego modelu dynamiki i tempomatu.
+     *
+     * @param slot indeks slotu
+     * @param step krok czasowy w sekundach
+     */
+    public void updateSpeed(int slot, double step)
+    {
+        speed[slot] = clamp(dynamics[slot].integrate(speed[slot], pedal[slot], step), maxSpeed[slot], floor[slot]);
+    }
+
+    /**
+     * Aktualizuje prędkości i przebiegi całkowite wszystkich pojazdów w bloku.
+     *
+     * @param step krok czasowy w sekundach
+     */
+    public void update(double step)
+    {
+        int n = size;
+        double[] speed = this.speed;
+        double[] pedal = this.pedal;
+        VehicleDynamics[] dynamics = this.dynamics;
+        double[] maxSpeed = this.maxSpeed;
+        double[] floor = this.floor;
+        double[] distance = this.distance;
+        double[] totalMileage = this.totalMileage;
+        double[] totalMileageError = this.totalMileageError;
+        double factor = step / 3600;
+
+        for (int i = 0; i < n; i++)
+        {
+            double s = clamp(dynamics[i].integrate(speed[i], pedal[i], step), maxSpeed[i], floor[i]);
+            speed[i] = s;
+            distance[i] = s * factor;
+        }
+        for (int i = 0; i < n; i++)
+        {
+            add(totalMileage, totalMileageError, i, distance[i]);
+        }
+    }
+
+    /**
+     * Dodaje wartość do sumy z kompensacją Kahana.
+     * Część przyrostu utracona przy zaokrągleniu sumy trafia do poprawki i jest doliczana przy kolejnym dodawaniu.
+     *
+     * @param sum   tablica sum
+     * @param error tablica poprawek
+     * @param i     indeks
+     * @param value dodawana wartość
+     */
+    private static void add(double[] sum, double[] error, int i, double value)
+    {
+        double y = value - error[i];
+        double t = sum[i] + y;
+        error[i] = (t - sum[i]) - y;
+        sum[i] = t;
+    }
+
+    /**
+     * Ogranicza prędkość do przedziału [floor, maxSpeed] i wartości nieujemnych (bez rozgałęzień).
+     *
+     * @param speed    prędkość
+     * @param maxSpeed prędkość maksymalna
+     * @param floor    dolne ograniczenie prędkości
+     * @return ograniczona prędkość
+     */
+    private static double clamp(double speed, double maxSpeed, double floor)
+    {
+        return Math.max(Math.min(Math.max(speed, 0.0), maxSpeed), floor);
+    }
+
+    /**
+     * Powiększa tablice magazynu.
+     *
+     * @param capacity nowa pojemność
+     */
+    private void grow(int capacity)
+    {
+        free = Arrays.copyOf(free, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        pedal = Arrays.copyOf(pedal, capacity);
+        int length = dynamics.length;
+        dynamics = Arrays.copyOf(dynamics, capacity);
+        Arrays.fill(dynamics, length, capacity, KinematicDynamics.DEFAULT);
+        maxSpeed = Arrays.copyOf(maxSpeed, capacity);
+        limiter = Arrays.copyOf(limiter, capacity);
+        limiterSpeed = Arrays.copyOf(limiterSpeed, capacity);
+        floor = Arrays.copyOf(floor, capacity);
+        totalMileage = Arrays.copyOf(totalMileage, capacity);
+        totalMileageError = Arrays.copyOf(totalMileageError, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+    }
+}
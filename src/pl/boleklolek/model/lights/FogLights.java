@@ -37,6 +37,17 @@ public class FogLights implements Serializable
         return lights.clone();
     }
 
+    /**
+     * Sprawdza, czy światło w danej lokacji jest włączone (bez kopiowania tablicy).
+     *
+     * @param location lokacja
+     * @return prawda, jeśli światło jest włączone
+     */
+    public boolean isOn(FogLightsLocation location)
+    {
+        return lights[location.ordinal()];
+    }
+
     /**
      * Przełącza światła.
      *
@@ -1,5 +1,6 @@
 package pl.boleklolek.model.lights;
 
+import pl.boleklolek.loop.TimingWheel;
 import pl.boleklolek.model.lights.enums.FogLightsLocation;
 import pl.boleklolek.model.lights.enums.HeadLightsPosition;
 import pl.boleklolek.model.lights.enums.SignalLightsDirection;
@@ -69,6 +70,16 @@ public class Lights implements Serializable
         return fogLights;
     }
 
+    /**
+     * Setter koła czasowego, w którym zlecane jest miganie kierunkowskazów.
+     *
+     * @param timingWheel koło czasowe
+     */
+    public void setTimingWheel(TimingWheel timingWheel)
+    {
+        signalLights.setTimingWheel(timingWheel);
+    }
+
     /**
      * Zmienia pozycję świateł głównych.
      *
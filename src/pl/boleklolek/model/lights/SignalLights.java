@@ -1,11 +1,10 @@
 package pl.boleklolek.model.lights;
 
+import pl.boleklolek.loop.TimingWheel;
 import pl.boleklolek.model.lights.enums.SignalLightsDirection;
-import pl.boleklolek.utils.SingletonExecutor;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,9 +26,13 @@ public class SignalLights implements Serializable
      */
     private boolean active;
     /**
-     * Czynność zlecona w ScheduledServiceExecutor.
+     * Koło czasowe, w którym zlecane jest miganie.
      */
-    private transient ScheduledFuture<?> future;
+    private transient TimingWheel timingWheel;
+    /**
+     * Czynność migania zlecona w kole czasowym.
+     */
+    private transient TimingWheel.Timeout timeout;
 
     /**
      * Konstruktor świateł kierunkowych.
@@ -49,6 +52,27 @@ public class SignalLights implements Serializable
         return lights.clone();
     }
 
+    /**
+     * Sprawdza, czy światło danego kierunku jest zapalone (bez kopiowania tablicy).
+     *
+     * @param direction kierunek
+     * @return prawda, jeśli światło jest zapalone
+     */
+    public boolean isOn(SignalLightsDirection direction)
+    {
+        return lights[direction.ordinal()];
+    }
+
+    /**
+     * Setter koła czasowego.
+     *
+     * @param timingWheel koło czasowe
+     */
+    public void setTimingWheel(TimingWheel timingWheel)
+    {
+        this.timingWheel = timingWheel;
+    }
+
     /**
      * Włącza światła kierunkowe.
      *
@@ -83,7 +107,7 @@ public class SignalLights implements Serializable
     private void startFlashing(SignalLightsDirection direction)
     {
         int index = direction.ordinal();
-        future = SingletonExecutor.getInstance().scheduleAtFixedRate(() -> lights[index] = !lights[index], 0, 1, TimeUnit.SECONDS);
+        timeout = timingWheel.scheduleAtFixedRate(() -> lights[index] = !lights[index], 0, 1, TimeUnit.SECONDS);
     }
 
     /**
@@ -91,7 +115,10 @@ public class SignalLights implements Serializable
      */
     private void stopFlashing()
     {
-        future.cancel(true);
+        if (timeout != null)
+        {
+            timeout.cancel();
+        }
         Arrays.fill(lights, false);
     }
 
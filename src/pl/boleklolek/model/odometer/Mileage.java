@@ -1,9 +1,14 @@
 package pl.boleklolek.model.odometer;
 
+import pl.boleklolek.model.kernel.VehicleStore;
+
 import java.io.Serializable;
 
 /**
  * Ta klasa opisuje przebieg.
+ * Przebieg może zostać powiązany z przebiegiem całkowitym pojazdu w magazynie stanu pojazdów.
+ * Wtedy przechowuje jedynie przesunięcie początku względem przebiegu całkowitego, a jego wartość to różnica obu,
+ * dzięki czemu przejechany dystans nie musi być dodawany do każdego przebiegu osobno.
  */
 public class Mileage implements Serializable
 {
@@ -16,6 +21,22 @@ public class Mileage implements Serializable
      * Dystans.
      */
     private double distance;
+    /**
+     * Poprawka dystansu niepowiązanego z magazynem (kompensacja Kahana).
+     */
+    private transient double error;
+    /**
+     * Magazyn stanu pojazdów, z którym powiązany jest przebieg (brak - wartość przechowywana w polu distance).
+     */
+    private transient VehicleStore store;
+    /**
+     * Slot pojazdu w magazynie.
+     */
+    private transient int slot;
+    /**
+     * Przebieg całkowity pojazdu w chwili, od której liczony jest przebieg powiązany.
+     */
+    private transient double offset;
 
     /**
      * Konstruktor przebiegu.
@@ -47,7 +68,7 @@ public class Mileage implements Serializable
      */
     public double get()
     {
-        return distance;
+        return store != null ? store.getTotalMileage(slot) - offset : distance;
     }
 
     /**
@@ -62,7 +83,15 @@ public class Mileage implements Serializable
         {
             throw new MileageException("Dystans nie może być ujemny!");
         }
-        this.distance = distance;
+        if (store != null)
+        {
+            offset = store.getTotalMileage(slot) - distance;
+        }
+        else
+        {
+            this.distance = distance;
+            this.error = 0.0;
+        }
     }
 
     /**
@@ -77,7 +106,57 @@ public class Mileage implements Serializable
         {
             throw new MileageException("Dystans nie może być ujemny!");
         }
-        this.distance += distance;
+        if (store != null)
+        {
+            offset -= distance;
+        }
+        else
+        {
+            double y = distance - error;
+            double t = this.distance + y;
+            error = (t - this.distance) - y;
+            this.distance = t;
+        }
+    }
+
+    /**
+     * Wiąże przebieg z przebiegiem całkowitym pojazdu w magazynie stanu pojazdów, zachowując aktualną wartość.
+     *
+     * @param store magazyn stanu pojazdów
+     * @param slot  slot pojazdu
+     */
+    public void bind(VehicleStore store, int slot)
+    {
+        double value = get();
+        this.store = store;
+        this.slot = slot;
+        this.offset = store.getTotalMileage(slot) - value;
+    }
+
+    /**
+     * Odłącza przebieg od magazynu stanu pojazdów, zachowując jego aktualną wartość.
+     */
+    public void unbind()
+    {
+        distance = get();
+        error = 0.0;
+        store = null;
+    }
+
+    /**
+     * Podmienia powiązany przebieg na jego migawkę podczas serializacji, aby zapisać aktualną wartość.
+     *
+     * @return obiekt przebiegu do serializacji
+     */
+    private Object writeReplace()
+    {
+        if (store == null)
+        {
+            return this;
+        }
+        Mileage snapshot = new Mileage();
+        snapshot.distance = get();
+        return snapshot;
     }
 
     /**
@@ -88,6 +167,6 @@ public class Mileage implements Serializable
     @Override
     public String toString()
     {
-        return String.valueOf(distance);
+        return String.valueOf(get());
     }
 }
@@ -1,10 +1,18 @@
 package pl.boleklolek.model.odometer;
 
+import pl.boleklolek.model.kernel.VehicleStore;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 
 /**
  * Ta klasa opisuje liczniki przebiegu.
+ * Jest widokiem na slot pojazdu w magazynie stanu pojazdów. Dzienne przebiegi są liczone jako przesunięcia
+ * względem przebiegu całkowitego, więc ich liczba nie wpływa na koszt dodania dystansu.
  */
 public class Odometer implements Serializable
 {
@@ -12,25 +20,56 @@ public class Odometer implements Serializable
      * Stałe pole zawierające identyfikator wersji.
      */
     private static final long serialVersionUID = 1L;
+    /**
+     * Domyślna liczba dziennych przebiegów.
+     */
+    public static final int DEFAULT_NUM_OF_DAILY_MILEAGES = 2;
+
     /**
      * Tablica dziennych przebiegów.
      */
-    private final Mileage[] dailyMileages;
+    private Mileage[] dailyMileages;
     /**
-     * Przebieg całkowity.
+     * Przebieg całkowity (aktualizowany z magazynu przy serializacji).
      */
     private double totalMileage;
+    /**
+     * Magazyn stanu pojazdów, w którym przechowywany jest stan licznika.
+     */
+    private transient VehicleStore store;
+    /**
+     * Slot pojazdu w magazynie.
+     */
+    private transient int slot;
 
     /**
      * Konstruktor licznika przebiegu.
      */
     public Odometer()
     {
-        this.dailyMileages = new Mileage[2];
+        this.dailyMileages = new Mileage[DEFAULT_NUM_OF_DAILY_MILEAGES];
         for (int i = 0; i < this.dailyMileages.length; i++)
         {
             this.dailyMileages[i] = new Mileage();
         }
+        initStore();
+    }
+
+    /**
+     * Podpina licznik pod slot w innym magazynie, przenosząc do niego aktualny stan.
+     *
+     * @param store magazyn stanu pojazdów
+     * @param slot  slot pojazdu w magazynie
+     */
+    public void attach(VehicleStore store, int slot)
+    {
+        store.setTotalMileage(slot, getTotalMileage());
+        for (Mileage dailyMileage : dailyMileages)
+        {
+            dailyMileage.bind(store, slot);
+        }
+        this.store = store;
+        this.slot = slot;
     }
 
     /**
@@ -43,15 +82,77 @@ public class Odometer implements Serializable
         return dailyMileages.clone();
     }
 
+    /**
+     * Getter dziennego przebiegu o danym indeksie (bez kopiowania tablicy).
+     *
+     * @param index indeks
+     * @return dzienny przebieg
+     */
+    public Mileage getDailyMileage(int index)
+    {
+        return dailyMileages[index];
+    }
+
+    /**
+     * Zwraca liczbę dziennych przebiegów.
+     *
+     * @return liczba dziennych przebiegów
+     */
+    public int getNumOfDailyMileages()
+    {
+        return dailyMileages.length;
+    }
+
+    /**
+     * Zmienia liczbę dziennych przebiegów.
+     * Nowe przebiegi zaczynają od zera, a usuwane są odłączane od magazynu.
+     *
+     * @param numOfDailyMileages liczba dziennych przebiegów
+     */
+    public void setNumOfDailyMileages(int numOfDailyMileages)
+    {
+        if (numOfDailyMileages <= 0)
+        {
+            throw new IllegalArgumentException("Liczba dziennych przebiegów musi być dodatnia!");
+        }
+        Mileage[] resized = Arrays.copyOf(dailyMileages, numOfDailyMileages);
+        for (int i = numOfDailyMileages; i < dailyMileages.length; i++)
+        {
+            dailyMileages[i].unbind();
+        }
+        for (int i = dailyMileages.length; i < numOfDailyMileages; i++)
+        {
+            resized[i] = new Mileage();
+            resized[i].bind(store, slot);
+        }
+        dailyMileages = resized;
+    }
+
+    /**
+     * Zamienia dzienne przebiegi o podanych indeksach.
+     *
+     * @param i indeks pierwszego przebiegu
+     * @param j indeks drugiego przebiegu
+     */
+    public void swapDailyMileages(int i, int j)
+    {
+        Mileage temp = dailyMileages[i];
+        dailyMileages[i] = dailyMileages[j];
+        dailyMileages[j] = temp;
+    }
+
     /**
      * Setter dziennego przebiegu.
+     * Poprzedni przebieg jest odłączany od magazynu, a nowy - z nim wiązany.
      *
      * @param index        indeks
      * @param dailyMileage dzienny przebieg
      */
     public void setDailyMileage(int index, Mileage dailyMileage)
     {
+        this.dailyMileages[index].unbind();
         this.dailyMileages[index] = dailyMileage;
+        dailyMileage.bind(store, slot);
     }
 
     /**
@@ -61,22 +162,74 @@ public class Odometer implements Serializable
      */
     public double getTotalMileage()
     {
-        return totalMileage;
+        return store.getTotalMileage(slot);
     }
 
     /**
-     * Dodaje dystans do licznika (wszystkim przebiegom).
+     * Dodaje dystans do licznika (wszystkim przebiegom - przesuwając przebieg całkowity).
      *
      * @param distance dystans, który chcemy dodać do licznika
      * @throws MileageException wyjątek przebiegu, który zostanie rzucony w przypadku podania ujemnego dystansu
      */
     public void addDistance(double distance) throws MileageException
     {
+        if (distance < 0)
+        {
+            throw new MileageException("Dystans nie może być ujemny!");
+        }
+        store.addDistance(slot, distance);
+    }
+
+    /**
+     * Dodaje dystans przejechany w jednym kroku symulacji (ścieżka krytyczna).
+     * W odróżnieniu od addDistance nie rzuca wyjątku - ujemny dystans jest pomijany.
+     *
+     * @param distance dystans, który chcemy dodać do licznika
+     */
+    public void advance(double distance)
+    {
+        store.addDistance(slot, Math.max(distance, 0.0));
+    }
+
+    /**
+     * Tworzy własny, jednoelementowy magazyn i wiąże z nim przebiegi.
+     */
+    private void initStore()
+    {
+        VehicleStore store = new VehicleStore(1);
+        int slot = store.allocate();
+        store.setTotalMileage(slot, totalMileage);
         for (Mileage dailyMileage : dailyMileages)
         {
-            dailyMileage.add(distance);
+            dailyMileage.bind(store, slot);
         }
-        totalMileage += distance;
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Zapisuje licznik, uwzględniając aktualny przebieg całkowity z magazynu.
+     *
+     * @param oos strumień wyjściowy
+     * @throws IOException wyjątek wejścia/wyjścia
+     */
+    private void writeObject(ObjectOutputStream oos) throws IOException
+    {
+        totalMileage = getTotalMileage();
+        oos.defaultWriteObject();
+    }
+
+    /**
+     * Wczytuje licznik i tworzy dla niego własny magazyn.
+     *
+     * @param ois strumień wejściowy
+     * @throws IOException            wyjątek wejścia/wyjścia
+     * @throws ClassNotFoundException wyjątek klasa nie znaleziona
+     */
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
+    {
+        ois.defaultReadObject();
+        initStore();
     }
 
     /**
@@ -95,7 +248,7 @@ public class Odometer implements Serializable
         {
             sb.append("Przebieg dzienny [").append(i + 1).append("]: ").append(df.format(dailyMileages[i].get())).append(" km").append(System.lineSeparator());
         }
-        sb.append("Przebieg całkowity: ").append(df.format(totalMileage)).append(" km");
+        sb.append("Przebieg całkowity: ").append(df.format(getTotalMileage())).append(" km");
         return sb.toString();
     }
 }
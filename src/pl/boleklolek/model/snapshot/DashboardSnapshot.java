@@ -0,0 +1,231 @@
+package pl.boleklolek.model.snapshot;
+
+import pl.boleklolek.model.computer.Computer;
+
+/**
+ * Ta klasa opisuje spójną migawkę stanu deski rozdzielczej z chwili zakończenia jednego kroku pętli.
+ * Obiekt migawki jest wielokrotnego użytku - czytelnik tworzy go raz i przy każdym odczycie nadpisuje jego zawartość,
+ * dzięki czemu odczyt nie alokuje pamięci. Obiekt nie jest przeznaczony do współdzielenia między wątkami.
+ */
+public class DashboardSnapshot
+{
+    /**
+     * Wersja migawki (liczba opublikowanych kroków).
+     */
+    long version;
+    /**
+     * Prędkość.
+     */
+    double speed;
+    /**
+     * Stan tempomatu.
+     */
+    boolean limiter;
+    /**
+     * Prędkość ustawiona przez tempomat.
+     */
+    double limiterSpeed;
+    /**
+     * Przebieg całkowity.
+     */
+    double totalMileage;
+    /**
+     * Chwilowe zużycie na 100 km.
+     */
+    double instantConsumption;
+    /**
+     * Ilość paliwa lub energii w zbiorniku lub baterii.
+     */
+    double energyLevel;
+    /**
+     * Przebiegi podróży.
+     */
+    double[] tripMileage;
+    /**
+     * Średnie prędkości podróży.
+     */
+    double[] tripAverageSpeed;
+    /**
+     * Prędkości maksymalne podróży.
+     */
+    double[] tripMaxSpeed;
+    /**
+     * Czasy trwania podróży (sekundy).
+     */
+    long[] tripElapsedTime;
+    /**
+     * Średnie zużycie podróży na 100 km.
+     */
+    double[] tripConsumption;
+
+    /**
+     * Konstruktor pustej migawki.
+     */
+    public DashboardSnapshot()
+    {
+        resize(0);
+    }
+
+    /**
+     * Getter wersji migawki.
+     *
+     * @return wersja migawki
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Getter prędkości.
+     *
+     * @return wartość prędkości
+     */
+    public double getSpeed()
+    {
+        return speed;
+    }
+
+    /**
+     * Sprawdza, czy tempomat był włączony.
+     *
+     * @return prawda, jeśli tempomat był włączony
+     */
+    public boolean isLimiter()
+    {
+        return limiter;
+    }
+
+    /**
+     * Getter prędkości tempomatu.
+     *
+     * @return wartość prędkości tempomatu
+     */
+    public double getLimiterSpeed()
+    {
+        return limiterSpeed;
+    }
+
+    /**
+     * Getter przebiegu całkowitego.
+     *
+     * @return wartość przebiegu całkowitego
+     */
+    public double getTotalMileage()
+    {
+        return totalMileage;
+    }
+
+    /**
+     * Getter chwilowego zużycia.
+     *
+     * @return zużycie na 100 km
+     */
+    public double getInstantConsumption()
+    {
+        return instantConsumption;
+    }
+
+    /**
+     * Getter ilości paliwa lub energii w zbiorniku lub baterii.
+     *
+     * @return ilość paliwa lub energii
+     */
+    public double getEnergyLevel()
+    {
+        return energyLevel;
+    }
+
+    /**
+     * Zwraca liczbę podróży w migawce.
+     *
+     * @return liczba podróży
+     */
+    public int getNumOfTrips()
+    {
+        return tripMileage.length;
+    }
+
+    /**
+     * Getter przebiegu podróży.
+     *
+     * @param index indeks podróży
+     * @return wartość przebiegu podróży
+     */
+    public double getTripMileage(int index)
+    {
+        return tripMileage[index];
+    }
+
+    /**
+     * Getter średniej prędkości podróży.
+     *
+     * @param index indeks podróży
+     * @return wartość średniej prędkości podróży
+     */
+    public double getTripAverageSpeed(int index)
+    {
+        return tripAverageSpeed[index];
+    }
+
+    /**
+     * Getter prędkości maksymalnej podróży.
+     *
+     * @param index indeks podróży
+     * @return wartość prędkości maksymalnej podróży
+     */
+    public double getTripMaxSpeed(int index)
+    {
+        return tripMaxSpeed[index];
+    }
+
+    /**
+     * Getter czasu trwania podróży.
+     *
+     * @param index indeks podróży
+     * @return czas trwania podróży w sekundach
+     */
+    public long getTripElapsedTime(int index)
+    {
+        return tripElapsedTime[index];
+    }
+
+    /**
+     * Getter średniego zużycia podróży.
+     *
+     * @param index indeks podróży
+     * @return zużycie podróży na 100 km
+     */
+    public double getTripConsumption(int index)
+    {
+        return tripConsumption[index];
+    }
+
+    /**
+     * Zwraca szacowany zasięg na podstawie średniego zużycia podróży.
+     *
+     * @param index indeks podróży
+     * @return zasięg w km (0, gdy zużycie podróży nie jest jeszcze znane)
+     */
+    public double getRange(int index)
+    {
+        return Computer.getRange(energyLevel, tripConsumption[index]);
+    }
+
+    /**
+     * Dostosowuje tablice podróży do podanej liczby podróży (alokuje tylko przy zmianie rozmiaru).
+     *
+     * @param numOfTrips liczba podróży
+     */
+    void resize(int numOfTrips)
+    {
+        if (tripMileage == null || tripMileage.length != numOfTrips)
+        {
+            tripMileage = new double[numOfTrips];
+            tripAverageSpeed = new double[numOfTrips];
+            tripMaxSpeed = new double[numOfTrips];
+            tripElapsedTime = new long[numOfTrips];
+            tripConsumption = new double[numOfTrips];
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package pl.boleklolek.model.snapshot;
+
+import pl.boleklolek.model.computer.Computer;
+import pl.boleklolek.model.computer.trip.Trip;
+import pl.boleklolek.model.speedometer.Speedometer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ta klasa publikuje migawki stanu deski rozdzielczej z wykorzystaniem blokady sekwencyjnej (seqlock).
+ * Jedyny pisarz (wątek pętli) zwiększa licznik sekwencji do wartości nieparzystej, zapisuje stan i zwiększa go
+ * ponownie do wartości parzystej. Czytelnik kopiuje stan i powtarza odczyt, jeżeli w międzyczasie licznik się zmienił.
+ * Pisarz nigdy nie czeka na czytelników, a koszt publikacji nie zależy od ich liczby.
+ */
+public class SnapshotBuffer
+{
+    /**
+     * Indeks prędkości.
+     */
+    private static final int SPEED = 0;
+    /**
+     * Indeks stanu tempomatu.
+     */
+    private static final int LIMITER = 1;
+    /**
+     * Indeks prędkości tempomatu.
+     */
+    private static final int LIMITER_SPEED = 2;
+    /**
+     * Indeks przebiegu całkowitego.
+     */
+    private static final int TOTAL_MILEAGE = 3;
+    /**
+     * Indeks chwilowego zużycia na 100 km.
+     */
+    private static final int INSTANT_CONSUMPTION = 4;
+    /**
+     * Indeks ilości paliwa lub energii w zbiorniku lub baterii.
+     */
+    private static final int ENERGY_LEVEL = 5;
+    /**
+     * Indeks pierwszego pola podróży.
+     */
+    private static final int TRIPS = 6;
+    /**
+     * Liczba pól jednej podróży.
+     */
+    private static final int TRIP_FIELDS = 5;
+
+    /**
+     * Liczba podróży.
+     */
+    private final int numOfTrips;
+    /**
+     * Stan deski rozdzielczej (liczby zmiennoprzecinkowe zapisane jako bity).
+     */
+    private final AtomicLongArray data;
+    /**
+     * Licznik sekwencji (nieparzysty w trakcie zapisu).
+     */
+    private volatile long sequence;
+
+    /**
+     * Konstruktor bufora migawek.
+     *
+     * @param numOfTrips liczba podróży
+     */
+    public SnapshotBuffer(int numOfTrips)
+    {
+        this.numOfTrips = numOfTrips;
+        this.data = new AtomicLongArray(TRIPS + numOfTrips * TRIP_FIELDS);
+    }
+
+    /**
+     * Getter liczby podróży.
+     *
+     * @return liczba podróży
+     */
+    public int getNumOfTrips()
+    {
+        return numOfTrips;
+    }
+
+    /**
+     * Publikuje bieżący stan deski rozdzielczej. Może być wywoływana tylko przez jeden wątek (pisarza).
+     *
+     * @param speedometer  prędkościomierz
+     * @param computer     komputer pokładowy
+     * @param totalMileage przebieg całkowity
+     */
+    public void publish(Speedometer speedometer, Computer computer, double totalMileage)
+    {
+        long seq = sequence;
+        sequence = seq + 1;
+        data.set(SPEED, Double.doubleToRawLongBits(speedometer.getSpeed()));
+        data.set(LIMITER, speedometer.isLimiter() ? 1 : 0);
+        data.set(LIMITER_SPEED, Double.doubleToRawLongBits(speedometer.getLimiterSpeed()));
+        data.set(TOTAL_MILEAGE, Double.doubleToRawLongBits(totalMileage));
+        data.set(INSTANT_CONSUMPTION, Double.doubleToRawLongBits(computer.getInstantConsumption()));
+        data.set(ENERGY_LEVEL, Double.doubleToRawLongBits(computer.getEnergyLevel()));
+        int count = Math.min(numOfTrips, computer.getNumOfTrips());
+        for (int i = 0; i < count; i++)
+        {
+            Trip trip = computer.getTrip(i);
+            int base = TRIPS + i * TRIP_FIELDS;
+            data.set(base, Double.doubleToRawLongBits(trip.getMileage().get()));
+            data.set(base + 1, Double.doubleToRawLongBits(trip.getAverageSpeed()));
+            data.set(base + 2, Double.doubleToRawLongBits(trip.getMaxSpeed()));
+            data.set(base + 3, trip.getElapsedTime());
+            data.set(base + 4, Double.doubleToRawLongBits(trip.getConsumptionPer100km()));
+        }
+        sequence = seq + 2;
+    }
+
+    /**
+     * Odczytuje spójną migawkę do podanego obiektu, powtarzając odczyt, gdy trwał w nim zapis.
+     *
+     * @param target obiekt migawki, który zostanie nadpisany
+     * @return ten sam obiekt migawki
+     */
+    public DashboardSnapshot read(DashboardSnapshot target)
+    {
+        target.resize(numOfTrips);
+        while (true)
+        {
+            long before = sequence;
+            if ((before & 1) == 0)
+            {
+                target.speed = Double.longBitsToDouble(data.get(SPEED));
+                target.limiter = data.get(LIMITER) != 0;
+                target.limiterSpeed = Double.longBitsToDouble(data.get(LIMITER_SPEED));
+                target.totalMileage = Double.longBitsToDouble(data.get(TOTAL_MILEAGE));
+                target.instantConsumption = Double.longBitsToDouble(data.get(INSTANT_CONSUMPTION));
+                target.energyLevel = Double.longBitsToDouble(data.get(ENERGY_LEVEL));
+                for (int i = 0; i < numOfTrips; i++)
+                {
+                    int base = TRIPS + i * TRIP_FIELDS;
+                    target.tripMileage[i] = Double.longBitsToDouble(data.get(base));
+                    target.tripAverageSpeed[i] = Double.longBitsToDouble(data.get(base + 1));
+                    target.tripMaxSpeed[i] = Double.longBitsToDouble(data.get(base + 2));
+                    target.tripElapsedTime[i] = data.get(base + 3);
+                    target.tripConsumption[i] = Double.longBitsToDouble(data.get(base + 4));
+                }
+                if (sequence == before)
+                {
+                    target.version = before >>> 1;
+                    return target;
+                }
+            }
+            Thread.yield();
+        }
+    }
+}
@@ -1,66 +1,62 @@
 package pl.boleklolek.model.speedometer;
 
 import pl.boleklolek.loop.Updateable;
+import pl.boleklolek.model.kernel.VehicleStore;
+import pl.boleklolek.model.speedometer.dynamics.VehicleDynamics;
 
 /**
  * Ta klasa opisuje prędkościomierz.
+ * Jest widokiem na slot pojazdu w magazynie stanu pojazdów.
+ * Kierowca steruje położeniem pedałów, a prędkość wyznacza wymienny model dynamiki pojazdu.
  */
 public class Speedometer implements Updateable
 {
     /**
-     * Prędkość maksymalna.
+     * Magazyn stanu pojazdów, w którym przechowywany jest stan prędkościomierza.
      */
-    private final double maxSpeed;
+    private VehicleStore store;
     /**
-     * Domyślne przyspieszenie.
+     * Slot pojazdu w magazynie.
      */
-    private final double defaultAcceleration;
-    /**
-     * Prędkość.
-     */
-    private double speed;
-    /**
-     * Przyspieszenie.
-     */
-    private double acceleration;
-    /**
-     * Tempomat.
-     */
-    private boolean limiter;
-    /**
-     * Prędkość ustawiona przez tempomat.
-     */
-    private double limiterSpeed;
+    private int slot;
 
     /**
      * Konstruktor prędkościomierza.
      * Domyślnie ustawia maksymalna prędkość na 230 km/h.
+     * Stan przechowywany jest we własnym, jednoelementowym magazynie, a prędkość wyznacza domyślny model kinematyczny.
      */
     public Speedometer()
     {
-        this.maxSpeed = 230.0;
-        this.defaultAcceleration = -7.0;
-        this.acceleration = defaultAcceleration;
+        this.store = new VehicleStore(1);
+        this.slot = store.allocate();
+        this.store.setMaxSpeed(slot, 230.0);
     }
 
     /**
-     * Getter prędkości maksymalnej.
+     * Podpina prędkościomierz pod slot w innym magazynie, przenosząc do niego aktualny stan.
      *
-     * @return wartość prędkości maksymalnej
+     * @param store magazyn stanu pojazdów
+     * @param slot  slot pojazdu w magazynie
      */
-    public double getMaxSpeed()
+    public void attach(VehicleStore store, int slot)
     {
-        return maxSpeed;
+        store.setMaxSpeed(slot, this.store.getMaxSpeed(this.slot));
+        store.setPedal(slot, this.store.getPedal(this.slot));
+        store.setDynamics(slot, this.store.getDynamics(this.slot));
+        store.setLimiter(slot, this.store.isLimiter(this.slot), this.store.getLimiterSpeed(this.slot));
+        store.setSpeed(slot, this.store.getSpeed(this.slot));
+        this.store = store;
+        this.slot = slot;
     }
 
     /**
-     * Getter domyślnego przyspieszenia.
+     * Getter prędkości maksymalnej.
      *
-     * @return wartość domyślnego przyspieszenia
+     * @return wartość prędkości maksymalnej
      */
-    public double getDefaultAcceleration()
+    public double getMaxSpeed()
     {
-        return defaultAcceleration;
+        return store.getMaxSpeed(slot);
     }
 
     /**
@@ -70,17 +66,47 @@ public class Speedometer implements Updateable
      */
     public double getSpeed()
     {
-        return speed;
+        return store.getSpeed(slot);
+    }
+
+    /**
+     * Getter położenia pedałów.
+     *
+     * @return położenie pedałów z przedziału [-1, 1]
+     */
+    public double getPedal()
+    {
+        return store.getPedal(slot);
     }
 
     /**
-     * Setter przyspieszenia.
+     * Setter położenia pedałów.
      *
-     * @param acceleration przyśpieszenie
+     * @param pedal położenie pedałów (1 - pełny gaz, 0 - bieg jałowy, -1 - pełne hamowanie)
      */
-    public void setAcceleration(double acceleration)
+    public void setPedal(double pedal)
     {
-        this.acceleration = acceleration;
+        store.setPedal(slot, pedal);
+    }
+
+    /**
+     * Getter modelu dynamiki pojazdu.
+     *
+     * @return model dynamiki pojazdu
+     */
+    public VehicleDynamics getDynamics()
+    {
+        return store.getDynamics(slot);
+    }
+
+    /**
+     * Setter modelu dynamiki pojazdu.
+     *
+     * @param dynamics model dynamiki pojazdu
+     */
+    public void setDynamics(VehicleDynamics dynamics)
+    {
+        store.setDynamics(slot, dynamics);
     }
 
     /**
@@ -90,7 +116,7 @@ public class Speedometer implements Updateable
      */
     public boolean isLimiter()
     {
-        return limiter;
+        return store.isLimiter(slot);
     }
 
     /**
@@ -100,7 +126,7 @@ public class Speedometer implements Updateable
      */
     public void setLimiter(boolean limiter)
     {
-        this.limiter = limiter;
+        store.setLimiter(slot, limiter, store.getLimiterSpeed(slot));
     }
 
     /**
@@ -110,7 +136,7 @@ public class Speedometer implements Updateable
      */
     public double getLimiterSpeed()
     {
-        return limiterSpeed;
+        return store.getLimiterSpeed(slot);
     }
 
     /**
@@ -118,36 +144,23 @@ public class Speedometer implements Updateable
      */
     public void toggleLimiter()
     {
+        double speed = store.getSpeed(slot);
         if (speed >= 20)
         {
-            limiter = !limiter;
-            if (limiter)
-            {
-                limiterSpeed = speed;
-            }
+            boolean limiter = !store.isLimiter(slot);
+            store.setLimiter(slot, limiter, limiter ? speed : store.getLimiterSpeed(slot));
         }
     }
 
     /**
-     * Aktualizuje prędkość względem przyspieszenia i tempomatu.
+     * Aktualizuje prędkość według modelu dynamiki pojazdu i tempomatu.
+     *
+     * @param step krok czasowy w sekundach
      */
     @Override
-    public void update()
+    public void update(double step)
     {
-        speed += acceleration / DELTA_TIME;
-
-        if (speed < 0.0)
-        {
-            speed = 0.0;
-        }
-        if (speed > maxSpeed)
-        {
-            speed = maxSpeed;
-        }
-        if (limiter && speed < limiterSpeed)
-        {
-            speed = limiterSpeed;
-        }
+        store.updateSpeed(slot, step);
     }
 
     /**
@@ -159,7 +172,7 @@ public class Speedometer implements Updateable
     public String toString()
     {
         return "-- PRĘDKOŚCIOMIERZ --" + System.lineSeparator() +
-                "Prędkość: " + (int) speed + " km/h" + System.lineSeparator() +
-                "Tempomat: " + (limiter ? "aktywny (" + (int) limiterSpeed + " km/h)" : "nieaktywny");
+                "Prędkość: " + (int) getSpeed() + " km/h" + System.lineSeparator() +
+                "Tempomat: " + (isLimiter() ? "aktywny (" + (int) getLimiterSpeed() + " km/h)" : "nieaktywny");
     }
 }
@@ -0,0 +1,74 @@
+package pl.boleklolek.model.speedometer.dynamics;
+
+/**
+ * Ta klasa opisuje kinematyczny model dynamiki pojazdu o stałych przyspieszeniach.
+ * Bez wciśniętych pedałów pojazd zwalnia ze stałym opóźnieniem, a gaz i hamulec dodają do niego stałe przyspieszenia
+ * proporcjonalne do położenia pedałów. Przy stałym przyspieszeniu metoda Eulera jest dokładna.
+ */
+public class KinematicDynamics implements VehicleDynamics
+{
+    /**
+     * Domyślny model (przyspieszenia w km/h na sekundę: -7 na biegu jałowym, +25 przy pełnym gazie,
+     * -35 przy pełnym hamowaniu).
+     */
+    public static final KinematicDynamics DEFAULT = new KinematicDynamics(-7.0, 25.0, 35.0);
+
+    /**
+     * Przyspieszenie na biegu jałowym (km/h na sekundę).
+     */
+    private final double idleAcceleration;
+    /**
+     * Przyspieszenie dodawane przy pełnym gazie (km/h na sekundę).
+     */
+    private final double throttleAcceleration;
+    /**
+     * Opóźnienie dodawane przy pełnym hamowaniu (km/h na sekundę).
+     */
+    private final double brakeDeceleration;
+
+    /**
+     * Konstruktor modelu kinematycznego.
+     *
+     * @param idleAcceleration     przyspieszenie na biegu jałowym (km/h na sekundę)
+     * @param throttleAcceleration przyspieszenie dodawane przy pełnym gazie (km/h na sekundę)
+     * @param brakeDeceleration    opóźnienie dodawane przy pełnym hamowaniu (km/h na sekundę)
+     */
+    public KinematicDynamics(double idleAcceleration, double throttleAcceleration, double brakeDeceleration)
+    {
+        if (throttleAcceleration < 0 || brakeDeceleration < 0)
+        {
+            throw new IllegalArgumentException("Przyspieszenie gazu i opóźnienie hamowania nie mogą być ujemne!");
+        }
+        this.idleAcceleration = idleAcceleration;
+        this.throttleAcceleration = throttleAcceleration;
+        this.brakeDeceleration = brakeDeceleration;
+    }
+
+    /**
+     * Wyznacza prędkość pojazdu po jednym kroku.
+     *
+     * @param speed prędkość w km/h
+     * @param pedal położenie pedałów z przedziału [-1, 1]
+     * @param step  krok czasowy w sekundach
+     * @return prędkość po kroku w km/h
+     */
+    @Override
+    public double integrate(double speed, double pedal, double step)
+    {
+        double acceleration = idleAcceleration
+                + throttleAcceleration * Math.max(pedal, 0.0)
+                + brakeDeceleration * Math.min(pedal, 0.0);
+        return speed + acceleration * step;
+    }
+
+    /**
+     * Zwraca nazwę modelu.
+     *
+     * @return nazwa modelu
+     */
+    @Override
+    public String toString()
+    {
+        return "kinematyczny";
+    }
+}
@@ -0,0 +1,230 @@
+package pl.boleklolek.model.speedometer.dynamics;
+
+import pl.boleklolek.model.speedometer.dynamics.enums.Integrator;
+
+/**
+ * Ta klasa opisuje fizyczny model ruchu wzdłużnego pojazdu.
+ * Na pojazd o zadanej masie działa siła napędowa silnika przeniesiona przez skrzynię biegów, opór powietrza
+ * (proporcjonalny do kwadratu prędkości), opór toczenia i siła hamowania. Silnik ma ograniczony moment obrotowy
+ * i moc, a automatyczna skrzynia wybiera najniższy bieg, na którym nie zostaje przekroczona maksymalna prędkość
+ * obrotowa - bieg wynika więc wprost z prędkości i model nie przechowuje stanu.
+ * Wszystkie obliczenia wykonywane są na liczbach typu double, bez alokacji.
+ */
+public class LongitudinalDynamics implements VehicleDynamics
+{
+    /**
+     * Przyspieszenie ziemskie (m/s^2).
+     */
+    private static final double GRAVITY = 9.81;
+    /**
+     * Gęstość powietrza (kg/m^3).
+     */
+    private static final double AIR_DENSITY = 1.225;
+    /**
+     * Przelicznik km/h na m/s.
+     */
+    private static final double KMH = 3.6;
+    /**
+     * Przelicznik obr/min na rad/s.
+     */
+    private static final double RPM = Math.PI / 30;
+    /**
+     * Prędkość obrotowa biegu jałowego (obr/min) - poniżej niej sprzęgło się ślizga, a silnik utrzymuje te obroty.
+     */
+    private static final double IDLE_RPM = 900.0;
+
+    /**
+     * Masa pojazdu (kg).
+     */
+    private final double mass;
+    /**
+     * Współczynnik oporu powietrza (połowa iloczynu gęstości powietrza i powierzchni oporu, kg/m).
+     */
+    private final double dragFactor;
+    /**
+     * Siła oporu toczenia (N).
+     */
+    private final double rollingForce;
+    /**
+     * Promień koła (m).
+     */
+    private final double wheelRadius;
+    /**
+     * Całkowite przełożenia kolejnych biegów (razem z przekładnią główną).
+     */
+    private final double[] ratios;
+    /**
+     * Maksymalne prędkości na kolejnych biegach (m/s).
+     */
+    private final double[] gearSpeeds;
+    /**
+     * Sprawność układu napędowego.
+     */
+    private final double efficiency;
+    /**
+     * Maksymalny moment obrotowy silnika (Nm).
+     */
+    private final double maxTorque;
+    /**
+     * Moc maksymalna silnika (W).
+     */
+    private final double maxPower;
+    /**
+     * Maksymalna siła hamowania (N).
+     */
+    private final double maxBrakeForce;
+    /**
+     * Metoda całkowania.
+     */
+    private final Integrator integrator;
+
+    /**
+     * Konstruktor modelu ruchu wzdłużnego.
+     *
+     * @param mass                 masa pojazdu (kg)
+     * @param dragArea             powierzchnia oporu, czyli iloczyn współczynnika oporu i powierzchni czołowej (m^2)
+     * @param rollingCoefficient   współczynnik oporu toczenia
+     * @param wheelRadius          promień koła (m)
+     * @param gearRatios           przełożenia biegów, od pierwszego (malejąco)
+     * @param finalDrive           przełożenie przekładni głównej
+     * @param efficiency           sprawność układu napędowego z przedziału (0, 1]
+     * @param maxTorque            maksymalny moment obrotowy silnika (Nm)
+     * @param maxPower             moc maksymalna silnika (kW)
+     * @param maxRpm               maksymalna prędkość obrotowa silnika (obr/min)
+     * @param maxBrakeDeceleration maksymalne opóźnienie hamowania (m/s^2)
+     * @param integrator           metoda całkowania
+     */
+    public LongitudinalDynamics(double mass, double dragArea, double rollingCoefficient, double wheelRadius,
+                                double[] gearRatios, double finalDrive, double efficiency, double maxTorque,
+                                double maxPower, double maxRpm, double maxBrakeDeceleration, Integrator integrator)
+    {
+        if (mass <= 0 || dragArea < 0 || rollingCoefficient < 0 || wheelRadius <= 0 || gearRatios.length == 0
+                || finalDrive <= 0 || efficiency <= 0 || efficiency > 1 || maxTorque <= 0 || maxPower <= 0
+                || maxRpm <= IDLE_RPM || maxBrakeDeceleration < 0 || integrator == null)
+        {
+            throw new IllegalArgumentException("Niepoprawne parametry modelu pojazdu!");
+        }
+        this.mass = mass;
+        this.dragFactor = 0.5 * AIR_DENSITY * dragArea;
+        this.rollingForce = rollingCoefficient * mass * GRAVITY;
+        this.wheelRadius = wheelRadius;
+        this.ratios = new double[gearRatios.length];
+        this.gearSpeeds = new double[gearRatios.length];
+        for (int i = 0; i < gearRatios.length; i++)
+        {
+            if (gearRatios[i] <= 0 || (i > 0 && gearRatios[i] >= gearRatios[i - 1]))
+            {
+                throw new IllegalArgumentException("Przełożenia biegów muszą być dodatnie i malejące!");
+            }
+            ratios[i] = gearRatios[i] * finalDrive;
+            gearSpeeds[i] = maxRpm * RPM * wheelRadius / ratios[i];
+        }
+        this.efficiency = efficiency;
+        this.maxTorque = maxTorque;
+        this.maxPower = maxPower * 1000;
+        this.maxBrakeForce = maxBrakeDeceleration * mass;
+        this.integrator = integrator;
+    }
+
+    /**
+     * Tworzy model typowego samochodu osobowego (1400 kg, 110 kW, 250 Nm, sześciobiegowa skrzynia).
+     *
+     * @param integrator metoda całkowania
+     * @return model samochodu osobowego
+     */
+    public static LongitudinalDynamics passengerCar(Integrator integrator)
+    {
+        return new LongitudinalDynamics(1400.0, 0.65, 0.012, 0.31,
+                new double[]{3.6, 2.1, 1.4, 1.0, 0.8, 0.65}, 3.9, 0.9, 250.0, 110.0, 6500.0, 8.0, integrator);
+    }
+
+    /**
+     * Getter metody całkowania.
+     *
+     * @return metoda całkowania
+     */
+    public Integrator getIntegrator()
+    {
+        return integrator;
+    }
+
+    /**
+     * Wyznacza prędkość pojazdu po jednym kroku wybraną metodą całkowania.
+     * Kierunek sił tarcia (toczenia i hamowania) jest ustalany na początku kroku - są one nieciągłe w zerze, więc
+     * wyznaczanie ich kierunku w punktach pośrednich RK4 powodowałoby oscylacje wokół postoju. Jeżeli w trakcie kroku
+     * pojazd się zatrzyma, wynik jest ujemny i magazyn stanu pojazdów ogranicza go do zera.
+     *
+     * @param speed prędkość w km/h
+     * @param pedal położenie pedałów z przedziału [-1, 1]
+     * @param step  krok czasowy w sekundach
+     * @return prędkość po kroku w km/h
+     */
+    @Override
+    public double integrate(double speed, double pedal, double step)
+    {
+        double v = speed / KMH;
+        double throttle = Math.max(pedal, 0.0);
+        double brake = Math.max(-pedal, 0.0);
+        double friction = Math.signum(v) * (rollingForce + brake * maxBrakeForce);
+        if (integrator == Integrator.RK4)
+        {
+            double k1 = acceleration(v, throttle, friction);
+            double k2 = acceleration(v + 0.5 * step * k1, throttle, friction);
+            double k3 = acceleration(v + 0.5 * step * k2, throttle, friction);
+            double k4 = acceleration(v + step * k3, throttle, friction);
+            v += step / 6 * (k1 + 2 * k2 + 2 * k3 + k4);
+        }
+        else
+        {
+            double explicit = (throttle * driveForce(v) - friction) / mass;
+            v = (v + step * explicit) / (1 + step * dragFactor * Math.abs(v) / mass);
+        }
+        return v * KMH;
+    }
+
+    /**
+     * Wyznacza przyspieszenie pojazdu.
+     *
+     * @param v        prędkość (m/s)
+     * @param throttle położenie pedału gazu z przedziału [0, 1]
+     * @param friction siła tarcia (toczenia i hamowania) ze znakiem prędkości (N)
+     * @return przyspieszenie (m/s^2)
+     */
+    private double acceleration(double v, double throttle, double friction)
+    {
+        return (throttle * driveForce(v) - dragFactor * v * Math.abs(v) - friction) / mass;
+    }
+
+    /**
+     * Wyznacza siłę napędową przy pełnym gazie na najniższym biegu, na którym nie zostaje przekroczona
+     * maksymalna prędkość obrotowa silnika. Powyżej prędkości maksymalnej najwyższego biegu siła jest zerowa.
+     *
+     * @param v prędkość (m/s)
+     * @return siła napędowa (N)
+     */
+    private double driveForce(double v)
+    {
+        double w = Math.abs(v);
+        for (int i = 0; i < ratios.length; i++)
+        {
+            if (w <= gearSpeeds[i])
+            {
+                double omega = Math.max(w * ratios[i] / wheelRadius, IDLE_RPM * RPM);
+                double torque = Math.min(maxTorque, maxPower / omega);
+                return torque * ratios[i] * efficiency / wheelRadius;
+            }
+        }
+        return 0.0;
+    }
+
+    /**
+     * Zwraca nazwę modelu.
+     *
+     * @return nazwa modelu
+     */
+    @Override
+    public String toString()
+    {
+        return "fizyczny (" + (integrator == Integrator.RK4 ? "RK4" : "półniejawny Euler") + ")";
+    }
+}
@@ -0,0 +1,21 @@
+package pl.boleklolek.model.speedometer.dynamics;
+
+/**
+ * Ten interfejs opisuje model dynamiki pojazdu, który wyznacza prędkość po jednym kroku symulacji
+ * na podstawie prędkości bieżącej i położenia pedałów.
+ * Implementacje są wywoływane dla każdego pojazdu w każdym kroku pętli, dlatego nie mogą alokować pamięci.
+ * Muszą też być niezmienne - jeden obiekt modelu jest współdzielony przez wiele pojazdów i wątków.
+ */
+public interface VehicleDynamics
+{
+    /**
+     * Wyznacza prędkość pojazdu po jednym kroku.
+     * Wynik nie jest ograniczany - prędkość maksymalną, tempomat i wartości ujemne uwzględnia magazyn stanu pojazdów.
+     *
+     * @param speed prędkość w km/h
+     * @param pedal położenie pedałów z przedziału [-1, 1] (1 - pełny gaz, 0 - bieg jałowy, -1 - pełne hamowanie)
+     * @param step  krok czasowy w sekundach
+     * @return prędkość po kroku w km/h
+     */
+    double integrate(double speed, double pedal, double step);
+}
@@ -0,0 +1,17 @@
+package pl.boleklolek.model.speedometer.dynamics.enums;
+
+/**
+ * Ta klasa enum określa metodę całkowania równania ruchu pojazdu.
+ */
+public enum Integrator
+{
+    /**
+     * Półniejawna metoda Eulera - siły napędu, toczenia i hamowania liczone są jawnie, a opór powietrza niejawnie
+     * (po linearyzacji), dzięki czemu krok jest stabilny także przy dużych prędkościach.
+     */
+    SEMI_IMPLICIT_EULER,
+    /**
+     * Klasyczna metoda Rungego-Kutty czwartego rzędu.
+     */
+    RK4
+}
@@ -0,0 +1,28 @@
+package pl.boleklolek.model.speedometer.enums;
+
+/**
+ * Ta klasa enum określa polecenia kierowcy przekazywane do wątku pętli.
+ */
+public enum DriverCommand
+{
+    /**
+     * Przyspieszanie.
+     */
+    ACCELERATE,
+    /**
+     * Bieg jałowy.
+     */
+    IDLE,
+    /**
+     * Hamowanie.
+     */
+    BRAKE,
+    /**
+     * Przełączenie tempomatu.
+     */
+    TOGGLE_LIMITER,
+    /**
+     * Tankowanie (napełnienie zbiornika paliwa lub baterii).
+     */
+    REFUEL
+}
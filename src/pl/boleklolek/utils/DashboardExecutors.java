@@ -0,0 +1,178 @@
+package pl.boleklolek.utils;
+
+import pl.boleklolek.utils.enums.ExecutorRole;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Ta klasa zawiera osobne, nazwane pule wątków dla poszczególnych ról aplikacji.
+ * Dzięki rozdzieleniu ról wolne zadania jednego podsystemu nie opóźniają pozostałych (np. pętli fizyki).
+ * Rozmiary pul są wczytywane z pliku ustawień executors.xml.
+ * W trybie wątków wirtualnych blokujące zadania interfejsu konsolowego i wejścia/wyjścia są uruchamiane
+ * w wątkach wirtualnych, dzięki czemu nie zajmują wątków platformowych potrzebnych pętlom fizyki.
+ */
+public class DashboardExecutors
+{
+    /**
+     * Konstruktor prywatny.
+     */
+    private DashboardExecutors()
+    {
+    }
+
+    /**
+     * Getter puli wątków danej roli.
+     *
+     * @param role rola puli wątków
+     * @return pula wątków
+     */
+    public static MonitoredExecutor get(ExecutorRole role)
+    {
+        return Holder.INSTANCES.get(role);
+    }
+
+    /**
+     * Zwraca wykonawcę dla zadań blokujących danej roli.
+     * W trybie wątków wirtualnych dla interfejsu konsolowego i wejścia/wyjścia jest to wykonawca wątków wirtualnych,
+     * w pozostałych przypadkach - pula wątków tej roli.
+     *
+     * @param role rola puli wątków
+     * @return wykonawca zadań blokujących
+     */
+    public static ExecutorService blocking(ExecutorRole role)
+    {
+        ExecutorService executor = Holder.VIRTUAL.get(role);
+        return executor != null ? executor : get(role);
+    }
+
+    /**
+     * Sprawdza, czy zadania blokujące są uruchamiane w wątkach wirtualnych.
+     *
+     * @return prawda, jeśli tryb wątków wirtualnych jest aktywny
+     */
+    public static boolean isVirtual()
+    {
+        return !Holder.VIRTUAL.isEmpty();
+    }
+
+    /**
+     * Zamyka wszystkie pule wątków.
+     */
+    public static void shutdown()
+    {
+        for (MonitoredExecutor executor : Holder.INSTANCES.values())
+        {
+            executor.shutdown();
+        }
+        for (ExecutorService executor : Holder.VIRTUAL.values())
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Zwraca statystyki wszystkich pul wątków.
+     *
+     * @return string ze statystykami pul wątków
+     */
+    public static String report()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("-- PULE WĄTKÓW --");
+        for (MonitoredExecutor executor : Holder.INSTANCES.values())
+        {
+            sb.append(System.lineSeparator());
+            if (Holder.VIRTUAL.containsKey(executor.getRole()))
+            {
+                sb.append(String.format("%-8s wątki wirtualne", executor.getRole()));
+            }
+            else
+            {
+                sb.append(executor);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Klasa trzymająca instancje pul wątków.
+     */
+    private static class Holder
+    {
+        /**
+         * Stałe ustawienia pul wątków.
+         */
+        private static final ExecutorSettings SETTINGS = loadSettings();
+        /**
+         * Stałe instancje pul wątków dla każdej roli.
+         */
+        private static final Map<ExecutorRole, MonitoredExecutor> INSTANCES = create();
+        /**
+         * Stałe instancje wykonawców wątków wirtualnych (puste, gdy tryb jest wyłączony lub niedostępny).
+         */
+        private static final Map<ExecutorRole, ExecutorService> VIRTUAL = createVirtual();
+
+        /**
+         * Wczytuje ustawienia pul wątków.
+         * Gdy nie uda się ich wczytać, zapisywane są ustawienia domyślne.
+         *
+         * @return obiekt ustawień pul wątków
+         */
+        private static ExecutorSettings loadSettings()
+        {
+            ExecutorSettings settings = new ExecutorSettings();
+            try
+            {
+                settings.load();
+            }
+            catch (IOException | ClassNotFoundException e)
+            {
+                settings.save();
+            }
+            return settings;
+        }
+
+        /**
+         * Tworzy pule wątków na podstawie ustawień.
+         *
+         * @return mapa pul wątków
+         */
+        private static Map<ExecutorRole, MonitoredExecutor> create()
+        {
+            ExecutorSettings settings = SETTINGS;
+            Map<ExecutorRole, MonitoredExecutor> executors = new EnumMap<>(ExecutorRole.class);
+            for (ExecutorRole role : ExecutorRole.values())
+            {
+                executors.put(role, new MonitoredExecutor(role, settings.getThreads(role)));
+            }
+            return executors;
+        }
+
+        /**
+         * Tworzy wykonawców wątków wirtualnych dla interfejsu konsolowego i wejścia/wyjścia.
+         * Gdy maszyna wirtualna nie obsługuje wątków wirtualnych, zadania pozostają w pulach wątków platformowych.
+         *
+         * @return mapa wykonawców wątków wirtualnych
+         */
+        private static Map<ExecutorRole, ExecutorService> createVirtual()
+        {
+            Map<ExecutorRole, ExecutorService> executors = new EnumMap<>(ExecutorRole.class);
+            if (SETTINGS.isVirtualThreads())
+            {
+                if (!VirtualThreads.isSupported())
+                {
+                    System.err.println("Wątki wirtualne nie są dostępne - używane są pule wątków platformowych.");
+                    return executors;
+                }
+                for (ExecutorRole role : new ExecutorRole[]{ExecutorRole.CONSOLE, ExecutorRole.IO})
+                {
+                    VirtualThreads.newExecutor("dashboard-" + role.name().toLowerCase() + "-virtual-").ifPresent(executor -> executors.put(role, executor));
+                }
+            }
+            return executors;
+        }
+    }
+}
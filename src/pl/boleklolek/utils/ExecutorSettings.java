@@ -0,0 +1,165 @@
+package pl.boleklolek.utils;
+
+import pl.boleklolek.dao.serializers.Serializer;
+import pl.boleklolek.dao.serializers.XMLSerializer;
+import pl.boleklolek.utils.enums.ExecutorRole;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Ta klasa przechowuje rozmiary pul wątków poszczególnych ról w pliku XML.
+ */
+public class ExecutorSettings implements Serializable
+{
+    /**
+     * Stałe pole zawierające identyfikator wersji.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Serializer.
+     */
+    private final transient Serializer serializer;
+    /**
+     * Plik ustawień pul wątków.
+     */
+    private final transient String saveFile;
+
+    /**
+     * Liczba wątków pętli fizyki (pula powiększa się, gdy uruchomionych pętli jest więcej).
+     */
+    private int tickThreads;
+    /**
+     * Liczba wątków odświeżania interfejsu graficznego.
+     */
+    private int uiThreads;
+    /**
+     * Liczba wątków czynności okresowych.
+     */
+    private int timerThreads;
+    /**
+     * Liczba wątków operacji wejścia/wyjścia.
+     */
+    private int ioThreads;
+    /**
+     * Liczba wątków interfejsu konsolowego.
+     */
+    private int consoleThreads;
+    /**
+     * Pole informujące, czy zadania blokujące (konsola, wejście/wyjście) mają działać w wątkach wirtualnych.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * Konstruktor ustawień pul wątków.
+     * Tworzy domyślne ustawienia zapisywane w pliku executors.xml w folderze aplikacji.
+     */
+    public ExecutorSettings()
+    {
+        this.serializer = new XMLSerializer();
+        this.saveFile = "executors.xml";
+        ((XMLSerializer) this.serializer).alias("executors", ExecutorSettings.class);
+        initDefault();
+    }
+
+    /**
+     * Getter liczby wątków danej roli.
+     *
+     * @param role rola puli wątków
+     * @return liczba wątków
+     */
+    public int getThreads(ExecutorRole role)
+    {
+        switch (role)
+        {
+            case TICK:
+                return tickThreads;
+            case UI:
+                return uiThreads;
+            case TIMER:
+                return timerThreads;
+            case IO:
+                return ioThreads;
+            case CONSOLE:
+                return consoleThreads;
+            default:
+                throw new IllegalArgumentException(String.valueOf(role));
+        }
+    }
+
+    /**
+     * Sprawdza, czy zadania blokujące mają działać w wątkach wirtualnych.
+     *
+     * @return prawda, jeśli tryb wątków wirtualnych jest włączony
+     */
+    public boolean isVirtualThreads()
+    {
+        return virtualThreads;
+    }
+
+    /**
+     * Setter trybu wątków wirtualnych.
+     *
+     * @param virtualThreads tryb wątków wirtualnych
+     */
+    public void setVirtualThreads(boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Zapisuje ustawienia pul wątków do pliku XML.
+     */
+    public void save()
+    {
+        try
+        {
+            serializer.serialize(this, saveFile);
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Wczytuje ustawienia pul wątków z pliku XML.
+     * Gdy którykolwiek rozmiar jest niedodatni, przywracane są ustawienia domyślne.
+     *
+     * @throws IOException            wyjątek wejścia/wyjścia
+     * @throws ClassNotFoundException wyjątek klasa nie znaleziona
+     */
+    public void load() throws IOException, ClassNotFoundException
+    {
+        ExecutorSettings settings = serializer.deserialize(ExecutorSettings.class, saveFile);
+        for (ExecutorRole role : ExecutorRole.values())
+        {
+            if (settings.getThreads(role) <= 0)
+            {
+                initDefault();
+                return;
+            }
+        }
+        tickThreads = settings.tickThreads;
+        uiThreads = settings.uiThreads;
+        timerThreads = settings.timerThreads;
+        ioThreads = settings.ioThreads;
+        consoleThreads = settings.consoleThreads;
+        virtualThreads = settings.virtualThreads;
+    }
+
+    /**
+     * Inicjalizuje ustawienia domyślne.
+     * Pętla fizyki: 1, interfejs graficzny: 1, czynności okresowe: 2, wejście/wyjście: 2, konsola: 1, wątki wirtualne: wyłączone.
+     */
+    private void initDefault()
+    {
+        tickThreads = 1;
+        uiThreads = 1;
+        timerThreads = 2;
+        ioThreads = 2;
+        consoleThreads = 1;
+        virtualThreads = false;
+    }
+}
@@ -0,0 +1,224 @@
+package pl.boleklolek.utils;
+
+import pl.boleklolek.utils.enums.ExecutorRole;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ta klasa opisuje pulę wątków danej roli, która zbiera statystyki swojej pracy:
+ * głębokość kolejki, liczbę aktywnych wątków, opóźnienie startu zadań względem planu oraz czas ich wykonania.
+ */
+public class MonitoredExecutor extends ScheduledThreadPoolExecutor
+{
+    /**
+     * Rola puli wątków.
+     */
+    private final ExecutorRole role;
+    /**
+     * Skonfigurowana liczba wątków.
+     */
+    private final int configuredThreads;
+    /**
+     * Czas startu zadania wykonywanego przez dany wątek.
+     */
+    private final ThreadLocal<long[]> taskStart;
+    /**
+     * Liczba wykonanych zadań.
+     */
+    private final LongAdder tasks;
+    /**
+     * Suma opóźnień startu zadań (nanosekundy).
+     */
+    private final LongAdder totalLatency;
+    /**
+     * Maksymalne opóźnienie startu zadania (nanosekundy).
+     */
+    private final AtomicLong maxLatency;
+    /**
+     * Suma czasów wykonania zadań (nanosekundy).
+     */
+    private final LongAdder totalExecution;
+    /**
+     * Liczba wątków zarezerwowanych na stałe przez długotrwałe pętle.
+     */
+    private int reservedThreads;
+
+    /**
+     * Konstruktor puli wątków.
+     *
+     * @param role    rola puli wątków
+     * @param threads liczba wątków
+     */
+    public MonitoredExecutor(ExecutorRole role, int threads)
+    {
+        super(threads, new RoleThreadFactory(role));
+        this.role = role;
+        this.configuredThreads = threads;
+        this.taskStart = ThreadLocal.withInitial(() -> new long[1]);
+        this.tasks = new LongAdder();
+        this.totalLatency = new LongAdder();
+        this.maxLatency = new AtomicLong();
+        this.totalExecution = new LongAdder();
+        this.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Getter roli puli wątków.
+     *
+     * @return rola puli wątków
+     */
+    public ExecutorRole getRole()
+    {
+        return role;
+    }
+
+    /**
+     * Zwraca liczbę zadań oczekujących w kolejce.
+     *
+     * @return głębokość kolejki
+     */
+    public int getQueueDepth()
+    {
+        return getQueue().size();
+    }
+
+    /**
+     * Zwraca średnie opóźnienie startu zadań względem zaplanowanego czasu.
+     *
+     * @return średnie opóźnienie w mikrosekundach
+     */
+    public double getAverageLatency()
+    {
+        long count = tasks.sum();
+        return count > 0 ? totalLatency.sum() / 1000.0 / count : 0.0;
+    }
+
+    /**
+     * Zwraca maksymalne opóźnienie startu zadania względem zaplanowanego czasu.
+     *
+     * @return maksymalne opóźnienie w mikrosekundach
+     */
+    public double getMaxLatency()
+    {
+        return maxLatency.get() / 1000.0;
+    }
+
+    /**
+     * Zwraca średni czas wykonania zadania.
+     *
+     * @return średni czas wykonania w mikrosekundach
+     */
+    public double getAverageExecutionTime()
+    {
+        long count = tasks.sum();
+        return count > 0 ? totalExecution.sum() / 1000.0 / count : 0.0;
+    }
+
+    /**
+     * Rezerwuje wątek dla długotrwałej pętli, powiększając pulę, aby nie zabrakło wątków dla pozostałych zadań.
+     */
+    public synchronized void reserveThread()
+    {
+        reservedThreads++;
+        setCorePoolSize(Math.max(configuredThreads, reservedThreads));
+    }
+
+    /**
+     * Zwalnia wątek zarezerwowany przez długotrwałą pętlę.
+     */
+    public synchronized void releaseThread()
+    {
+        reservedThreads--;
+    }
+
+    /**
+     * Zapamiętuje czas startu zadania i opóźnienie względem planu.
+     *
+     * @param thread   wątek
+     * @param runnable zadanie
+     */
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable)
+    {
+        super.beforeExecute(thread, runnable);
+        long now = System.nanoTime();
+        if (runnable instanceof Delayed)
+        {
+            long latency = Math.max(0, -((Delayed) runnable).getDelay(TimeUnit.NANOSECONDS));
+            totalLatency.add(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+        }
+        taskStart.get()[0] = now;
+    }
+
+    /**
+     * Zapisuje czas wykonania zadania.
+     *
+     * @param runnable  zadanie
+     * @param throwable wyjątek rzucony przez zadanie
+     */
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable)
+    {
+        totalExecution.add(System.nanoTime() - taskStart.get()[0]);
+        tasks.increment();
+        super.afterExecute(runnable, throwable);
+    }
+
+    /**
+     * Zwraca informacje o statystykach puli wątków.
+     *
+     * @return string ze statystykami puli wątków
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%-8s wątki: %d/%d | kolejka: %d | zadania: %d | opóźnienie śr./maks.: %.0f/%.0f µs | wykonanie śr.: %.0f µs",
+                role, getActiveCount(), getPoolSize(), getQueueDepth(), tasks.sum(),
+                getAverageLatency(), getMaxLatency(), getAverageExecutionTime());
+    }
+
+    /**
+     * Fabryka wątków nadająca im nazwy według roli puli.
+     */
+    private static class RoleThreadFactory implements ThreadFactory
+    {
+        /**
+         * Prefiks nazwy wątków.
+         */
+        private final String prefix;
+        /**
+         * Licznik utworzonych wątków.
+         */
+        private final AtomicInteger counter;
+
+        /**
+         * Konstruktor fabryki wątków.
+         *
+         * @param role rola puli wątków
+         */
+        RoleThreadFactory(ExecutorRole role)
+        {
+            this.prefix = "dashboard-" + role.name().toLowerCase() + "-";
+            this.counter = new AtomicInteger();
+        }
+
+        /**
+         * Tworzy nowy wątek z nazwą zgodną z rolą.
+         *
+         * @param runnable zadanie
+         * @return nowy wątek
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            return new Thread(runnable, prefix + counter.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package pl.boleklolek.utils;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Ta klasa tworzy wykonawców opartych na wątkach wirtualnych (Java 21+).
+ * Aplikacja jest kompilowana dla Javy 8, dlatego API wątków wirtualnych jest wywoływane refleksyjnie,
+ * a na starszych maszynach wirtualnych zwracany jest pusty wynik.
+ */
+public final class VirtualThreads
+{
+    /**
+     * Konstruktor prywatny.
+     */
+    private VirtualThreads()
+    {
+    }
+
+    /**
+     * Sprawdza, czy maszyna wirtualna obsługuje wątki wirtualne.
+     *
+     * @return prawda, jeśli wątki wirtualne są dostępne
+     */
+    public static boolean isSupported()
+    {
+        return factory("dashboard-probe-").isPresent();
+    }
+
+    /**
+     * Tworzy wykonawcę uruchamiającego każde zadanie w nowym, nazwanym wątku wirtualnym.
+     *
+     * @param prefix przedrostek nazw wątków
+     * @return wykonawca lub pusty wynik, gdy wątki wirtualne nie są dostępne
+     */
+    public static Optional<ExecutorService> newExecutor(String prefix)
+    {
+        return factory(prefix).flatMap(factory ->
+        {
+            try
+            {
+                return Optional.of((ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory));
+            }
+            catch (ReflectiveOperationException | RuntimeException e)
+            {
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Tworzy fabrykę nazwanych wątków wirtualnych.
+     *
+     * @param prefix przedrostek nazw wątków
+     * @return fabryka wątków lub pusty wynik, gdy wątki wirtualne nie są dostępne
+     */
+    private static Optional<ThreadFactory> factory(String prefix)
+    {
+        try
+        {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return Optional.of((ThreadFactory) builderClass.getMethod("factory").invoke(builder));
+        }
+        catch (ReflectiveOperationException | RuntimeException e)
+        {
+            return Optional.empty();
+        }
+    }
+}
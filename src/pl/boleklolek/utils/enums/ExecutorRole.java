@@ -0,0 +1,28 @@
+package pl.boleklolek.utils.enums;
+
+/**
+ * Ta klasa enum określa role pul wątków aplikacji.
+ */
+public enum ExecutorRole
+{
+    /**
+     * Pętle aktualizujące fizykę pojazdów.
+     */
+    TICK,
+    /**
+     * Odświeżanie interfejsu graficznego.
+     */
+    UI,
+    /**
+     * Czynności okresowe niezależne od kroków pętli głównej (czynności deski rozdzielczej korzystają z jej koła czasowego).
+     */
+    TIMER,
+    /**
+     * Blokujące operacje wejścia/wyjścia (pliki, baza danych).
+     */
+    IO,
+    /**
+     * Interfejs konsolowy.
+     */
+    CONSOLE
+}
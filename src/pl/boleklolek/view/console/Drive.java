@@ -6,6 +6,9 @@ import io.bretty.console.view.ViewConfig;
 import pl.boleklolek.model.lights.enums.FogLightsLocation;
 import pl.boleklolek.model.lights.enums.HeadLightsPosition;
 import pl.boleklolek.model.lights.enums.SignalLightsDirection;
+import pl.boleklolek.model.snapshot.DashboardSnapshot;
+
+import java.text.DecimalFormat;
 
 /**
  * Ta klasa zapewnia obsługę samochodu (deski rozdzielczej).
@@ -16,6 +19,10 @@ class Drive extends MenuView
      * Menu.
      */
     private final Menu menu;
+    /**
+     * Migawka stanu deski rozdzielczej wielokrotnego użytku.
+     */
+    private final DashboardSnapshot snapshot = new DashboardSnapshot();
 
     /**
      * Konstruktor Drive.
@@ -34,6 +41,7 @@ class Drive extends MenuView
         this.addMenuItem(new BrakeAction("Hamowanie...", "Hamuj", menu.config));
         this.addMenuItem(new IdleAction("Wrzucanie luzu...", "Wrzuć na luz", menu.config));
         this.addMenuItem(new LimiterAction("Przełączanie tempomatu...", "Przełącz tempomat", menu.config));
+        this.addMenuItem(new RefuelAction("Tankowanie...", "Zatankuj", menu.config));
         this.addMenuItem(new HeadLightsAction("Przełączanie świateł głównych...", "Przełącz światła główne", menu.config));
         this.addMenuItem(new SignalLightsLeftAction("Włączanie lewego kierunkowskazu...", "Włącz lewy kierunkowskaz", menu.config));
         this.addMenuItem(new SignalLightsRightAction("Włączanie prawego kierunkowskazu...", "Włącz prawy kierunkowskaz", menu.config));
@@ -46,13 +54,25 @@ class Drive extends MenuView
 
     /**
      * Odświeża stan deski rozdzielczej w menu.
+     * Prędkość i przebiegi są odczytywane ze spójnej migawki stanu, a nie z obiektów aktualizowanych przez pętlę.
      */
     private void refreshState()
     {
-        String car = menu.dashboard.getSpeedometer() + System.lineSeparator() +
-                menu.dashboard.getOdometer() + System.lineSeparator() +
-                menu.dashboard.getLights() + System.lineSeparator();
-        this.setRunningTitle(car);
+        DashboardSnapshot state = menu.dashboard.readSnapshot(snapshot);
+        DecimalFormat df = new DecimalFormat("0.0");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("-- PRĘDKOŚCIOMIERZ --").append(System.lineSeparator());
+        sb.append("Prędkość: ").append((int) state.getSpeed()).append(" km/h").append(System.lineSeparator());
+        sb.append("Tempomat: ").append(state.isLimiter() ? "aktywny (" + (int) state.getLimiterSpeed() + " km/h)" : "nieaktywny").append(System.lineSeparator());
+        sb.append("-- LICZNIK --").append(System.lineSeparator());
+        for (int i = 0; i < state.getNumOfTrips(); i++)
+        {
+            sb.append("Przebieg dzienny [").append(i + 1).append("]: ").append(df.format(state.getTripMileage(i))).append(" km").append(System.lineSeparator());
+        }
+        sb.append("Przebieg całkowity: ").append(df.format(state.getTotalMileage())).append(" km").append(System.lineSeparator());
+        sb.append(menu.dashboard.getLights()).append(System.lineSeparator());
+        this.setRunningTitle(sb.toString());
     }
 
     /**
@@ -171,6 +191,35 @@ class Drive extends MenuView
         }
     }
 
+    /**
+     * Klasa czynności obsługującej tankowanie samochodu.
+     */
+    class RefuelAction extends ActionView
+    {
+        /**
+         * Konstruktor RefuelAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public RefuelAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Tankuje samochód.
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            menu.dashboard.refuelCar();
+            refreshState();
+            goBack();
+        }
+    }
+
     /**
      * Klasa czynności obsługującej zmianę głównych świateł.
      */
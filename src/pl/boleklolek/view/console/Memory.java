@@ -4,8 +4,17 @@ import io.bretty.console.view.ActionView;
 import io.bretty.console.view.MenuView;
 import io.bretty.console.view.ViewConfig;
 import pl.boleklolek.dao.DAO;
+import pl.boleklolek.dao.archive.MemoryArchive;
+import pl.boleklolek.dao.archive.TripArchive;
+import pl.boleklolek.model.computer.enums.TripOrder;
+import pl.boleklolek.model.computer.trip.Trip;
+import pl.boleklolek.utils.DashboardExecutors;
+import pl.boleklolek.utils.enums.ExecutorRole;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 /**
  * Ta klasa zapewnia zarządzanie pamięcią komputera pokładowego.
@@ -33,11 +42,25 @@ class Memory extends MenuView
         this.addMenuItem(new NewTripAction("Tworzenie nowej podróży", "Nowa podróż", menu.config));
         this.addMenuItem(new ResetTripAction("Resetowanie podróży", "Reset podróży", menu.config));
         this.addMenuItem(new ShowMemoryAction("Zawartość komputera pokładowego", "Sprawdź pamięć", menu.config));
+        this.addMenuItem(new SortMemoryAction("Sortowanie pamięci", "Sortuj pamięć", menu.config));
+        this.addMenuItem(new ArchiveAction("Przeglądanie archiwum podróży", "Archiwum podróży", menu.config));
         String warning = "Cała pamięć komputera pokładowego wraz z aktualnymi podróżami zostanie UTRACONA!";
         this.addMenuItem(new ImportMenu("Import pamięci" + System.lineSeparator() + warning, "Import", menu.config));
         this.addMenuItem(new ExportMenu("Export pamięci", "Export", menu.config));
     }
 
+    /**
+     * Wykonuje blokującą operację pamięci w wykonawcy wejścia/wyjścia i czeka na jej zakończenie.
+     * W trybie wątków wirtualnych operacja nie zajmuje wątku platformowego.
+     *
+     * @param task operacja
+     * @throws Exception wyjątek rzucony przez operację lub przerwanie oczekiwania
+     */
+    private void runBlocking(Callable<Void> task) throws Exception
+    {
+        DashboardExecutors.blocking(ExecutorRole.IO).submit(task).get();
+    }
+
     /**
      * Klasa czynności obsługującej tworzenie nowej podróży.
      */
@@ -61,8 +84,8 @@ class Memory extends MenuView
         @Override
         public void executeCustomAction()
         {
-            int trip = this.prompt("Wybierz podróż (A - 0, B - 1): ", Integer.class);
-            if (trip == 0 || trip == 1)
+            int trip = this.prompt(menu.tripPrompt(), Integer.class);
+            if (menu.isTripIndex(trip))
             {
                 menu.dashboard.startNewTrip(trip);
                 this.actionSuccessful();
@@ -97,8 +120,8 @@ class Memory extends MenuView
         @Override
         public void executeCustomAction()
         {
-            int trip = this.prompt("Wybierz podróż (A - 0, B - 1): ", Integer.class);
-            if (trip == 0 || trip == 1)
+            int trip = this.prompt(menu.tripPrompt(), Integer.class);
+            if (menu.isTripIndex(trip))
             {
                 menu.dashboard.resetTrip(trip);
                 this.actionSuccessful();
@@ -137,6 +160,114 @@ class Memory extends MenuView
         }
     }
 
+    /**
+     * Klasa czynności obsługującej sortowanie podróży w pamięci.
+     */
+    class SortMemoryAction extends ActionView
+    {
+        /**
+         * Konstruktor SortMemoryAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public SortMemoryAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Sortuje podróże w pamięci według wybranego kryterium, od największej wartości.
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            TripOrder[] orders = TripOrder.values();
+            for (int i = 0; i < orders.length; i++)
+            {
+                System.out.println((i + 1) + ". " + orders[i]);
+            }
+            int order = this.prompt("Wybierz kryterium: ", Integer.class);
+            if (order >= 1 && order <= orders.length)
+            {
+                menu.dashboard.getComputer().sortTripsInMemory(orders[order - 1]);
+                this.actionSuccessful();
+            }
+            else
+            {
+                this.actionFailed();
+            }
+        }
+    }
+
+    /**
+     * Klasa czynności obsługującej przeglądanie archiwum podróży.
+     */
+    class ArchiveAction extends ActionView
+    {
+        /**
+         * Liczba podróży na stronie.
+         */
+        private static final int PAGE_SIZE = 20;
+
+        /**
+         * Konstruktor ArchiveAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public ArchiveAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Wyświetla wybraną stronę archiwum podróży i przywraca wybraną podróż do pamięci komputera pokładowego.
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            TripArchive archive;
+            try
+            {
+                archive = ((MemoryArchive) menu.memoryDAOs.get(DAO.ARCHIVE)).getArchive();
+            }
+            catch (IOException exception)
+            {
+                this.actionFailed();
+                return;
+            }
+            int pages = Math.max(1, (archive.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+            System.out.println("Podróże w archiwum: " + archive.size() + ", stron: " + pages);
+            int page = this.prompt("Wybierz stronę (1 - " + pages + "): ", Integer.class);
+            if (page < 1 || page > pages)
+            {
+                this.actionFailed();
+                return;
+            }
+            List<Trip> trips = archive.getPage(page - 1, PAGE_SIZE);
+            for (int i = 0; i < trips.size(); i++)
+            {
+                System.out.println("[" + (i + 1) + "] " + trips.get(i).toStringShort());
+            }
+            int trip = this.prompt("Wybierz podróż do przywrócenia do pamięci (0 - pomiń): ", Integer.class);
+            if (trip == 0)
+            {
+                this.actionSuccessful();
+            }
+            else if (trip >= 1 && trip <= trips.size() && menu.dashboard.getComputer().addTripToMemory(trips.get(trip - 1)))
+            {
+                this.actionSuccessful();
+            }
+            else
+            {
+                this.actionFailed();
+            }
+        }
+    }
+
     /**
      * Klasa obsługująca strukturę menu importu pamięci.
      */
@@ -155,6 +286,7 @@ class Memory extends MenuView
             super(runningTitle, nameInParentMenu, viewConfig);
             this.addMenuItem(new ImportXmlAction("Import XML", "XML", menu.config));
             this.addMenuItem(new ImportSqlAction("Import SQL", "SQL", menu.config));
+            this.addMenuItem(new ImportArchiveAction("Import archiwum", "Archiwum", menu.config));
         }
 
         /**
@@ -187,7 +319,11 @@ class Memory extends MenuView
                     try
                     {
                         menu.dashboard.setMemoryFile(filepath);
-                        menu.dashboard.loadMemory();
+                        runBlocking(() ->
+                        {
+                            menu.dashboard.loadMemory();
+                            return null;
+                        });
                         this.actionSuccessful();
                     }
                     catch (Exception exception)
@@ -233,7 +369,55 @@ class Memory extends MenuView
                 menu.dashboard.setMemoryDAO(menu.memoryDAOs.get(DAO.DATABASE));
                 try
                 {
-                    menu.dashboard.loadMemory();
+                    runBlocking(() ->
+                    {
+                        menu.dashboard.loadMemory();
+                        return null;
+                    });
+                    this.actionSuccessful();
+                }
+                catch (Exception exception)
+                {
+                    this.actionFailed();
+                }
+                finally
+                {
+                    menu.dashboard.setMemoryDAO(menu.memoryDAOs.get(DAO.XML));
+                }
+            }
+        }
+
+        /**
+         * Klasa czynności obsługującej import z archiwum podróży.
+         */
+        class ImportArchiveAction extends ActionView
+        {
+            /**
+             * Konstruktor ImportArchiveAction.
+             *
+             * @param runningTitle     nazwa czynności
+             * @param nameInParentMenu nazwa w menu
+             * @param viewConfig       konfiguracja
+             */
+            public ImportArchiveAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+            {
+                super(runningTitle, nameInParentMenu, viewConfig);
+            }
+
+            /**
+             * Wczytuje pamięć komputera pokładowego z archiwum podróży.
+             */
+            @Override
+            public void executeCustomAction()
+            {
+                menu.dashboard.setMemoryDAO(menu.memoryDAOs.get(DAO.ARCHIVE));
+                try
+                {
+                    runBlocking(() ->
+                    {
+                        menu.dashboard.loadMemory();
+                        return null;
+                    });
                     this.actionSuccessful();
                 }
                 catch (Exception exception)
@@ -266,6 +450,7 @@ class Memory extends MenuView
             super(runningTitle, nameInParentMenu, viewConfig);
             this.addMenuItem(new ExportXmlAction("Export XML", "XML", menu.config));
             this.addMenuItem(new ExportSqlAction("Export SQL", "SQL", menu.config));
+            this.addMenuItem(new ExportArchiveAction("Export archiwum", "Archiwum", menu.config));
         }
 
         /**
@@ -298,7 +483,11 @@ class Memory extends MenuView
                     try
                     {
                         menu.dashboard.setMemoryFile(filepath + ".xml");
-                        menu.dashboard.saveMemory();
+                        runBlocking(() ->
+                        {
+                            menu.dashboard.saveMemory();
+                            return null;
+                        });
                         this.actionSuccessful();
                     }
                     catch (Exception exception)
@@ -344,7 +533,55 @@ class Memory extends MenuView
                 menu.dashboard.setMemoryDAO(menu.memoryDAOs.get(DAO.DATABASE));
                 try
                 {
-                    menu.dashboard.saveMemory();
+                    runBlocking(() ->
+                    {
+                        menu.dashboard.saveMemory();
+                        return null;
+                    });
+                    this.actionSuccessful();
+                }
+                catch (Exception exception)
+                {
+                    this.actionFailed();
+                }
+                finally
+                {
+                    menu.dashboard.setMemoryDAO(menu.memoryDAOs.get(DAO.XML));
+                }
+            }
+        }
+
+        /**
+         * Klasa czynności obsługującej export do archiwum podróży.
+         */
+        class ExportArchiveAction extends ActionView
+        {
+            /**
+             * Konstruktor ExportArchiveAction.
+             *
+             * @param runningTitle     nazwa czynności
+             * @param nameInParentMenu nazwa w menu
+             * @param viewConfig       konfiguracja
+             */
+            public ExportArchiveAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+            {
+                super(runningTitle, nameInParentMenu, viewConfig);
+            }
+
+            /**
+             * Zapisuje pamięć komputera pokładowego do archiwum podróży.
+             */
+            @Override
+            public void executeCustomAction()
+            {
+                menu.dashboard.setMemoryDAO(menu.memoryDAOs.get(DAO.ARCHIVE));
+                try
+                {
+                    runBlocking(() ->
+                    {
+                        menu.dashboard.saveMemory();
+                        return null;
+                    });
                     this.actionSuccessful();
                 }
                 catch (Exception exception)
@@ -4,7 +4,9 @@ import io.bretty.console.view.MenuView;
 import io.bretty.console.view.ViewConfig;
 import pl.boleklolek.dao.DAO;
 import pl.boleklolek.dao.MemoryDAO;
+import pl.boleklolek.loop.DashboardLoop;
 import pl.boleklolek.model.Dashboard;
+import pl.boleklolek.model.computer.Computer;
 
 import java.util.Map;
 
@@ -17,6 +19,10 @@ public class Menu
      * Deska rozdzielcza.
      */
     final Dashboard dashboard;
+    /**
+     * Pętla deski rozdzielczej.
+     */
+    final DashboardLoop loop;
     /**
      * DAO pamięci.
      */
@@ -35,11 +41,13 @@ public class Menu
      * Tworzy konfigurację komunikatów menu.
      *
      * @param dashboard  deska rozdzielcza
+     * @param loop       pętla deski rozdzielczej
      * @param memoryDAOS DAO pamięci
      */
-    public Menu(Dashboard dashboard, Map<DAO, MemoryDAO> memoryDAOS)
+    public Menu(Dashboard dashboard, DashboardLoop loop, Map<DAO, MemoryDAO> memoryDAOS)
     {
         this.dashboard = dashboard;
+        this.loop = loop;
         this.memoryDAOs = memoryDAOS;
         this.config = buildConfig();
         this.menu = createMenuView();
@@ -53,6 +61,28 @@ public class Menu
         menu.display();
     }
 
+    /**
+     * Zwraca komunikat wyboru aktualnej podróży.
+     *
+     * @return string z komunikatem wyboru podróży
+     */
+    String tripPrompt()
+    {
+        int last = dashboard.getComputer().getNumOfTrips() - 1;
+        return "Wybierz podróż (A - 0" + (last > 0 ? ", ..., " + Computer.getTripName(last) + " - " + last : "") + "): ";
+    }
+
+    /**
+     * Sprawdza, czy indeks aktualnej podróży jest poprawny.
+     *
+     * @param trip indeks podróży
+     * @return prawda, jeśli podróż o danym indeksie istnieje
+     */
+    boolean isTripIndex(int trip)
+    {
+        return trip >= 0 && trip < dashboard.getComputer().getNumOfTrips();
+    }
+
     /**
      * Tworzy konfigurację komunikatów menu.
      *
@@ -3,6 +3,11 @@ package pl.boleklolek.view.console;
 import io.bretty.console.view.ActionView;
 import io.bretty.console.view.MenuView;
 import io.bretty.console.view.ViewConfig;
+import pl.boleklolek.model.computer.Computer;
+import pl.boleklolek.model.computer.consumption.enums.ConsumptionType;
+import pl.boleklolek.utils.DashboardExecutors;
+
+import java.util.Arrays;
 
 /**
  * Ta klasa zapewnia obsługę menu ustawień.
@@ -27,40 +32,55 @@ class Settings extends MenuView
     {
         super(runningTitle, nameInParentMenu, viewConfig);
         this.menu = menu;
-        this.addMenuItem(new AvgSpeedFreqAction("Ustawianie szybkości aktualizacji prędkości średniej", "Zmień szybkość aktualizacji prędkości średniej", menu.config));
+        this.addMenuItem(new AvgSpeedWindowsAction("Ustawianie okien średnich prędkości kroczących", "Zmień okna średnich prędkości kroczących", menu.config));
         this.addMenuItem(new TripIndexLcdAction("Zmiana wyświetlanej podróży na ekranie LCD", "Zmień wyświetlaną podróż na LCD", menu.config));
+        this.addMenuItem(new NumOfTripsAction("Zmiana liczby podróży", "Zmień liczbę podróży", menu.config));
+        this.addMenuItem(new ConsumptionAction("Zmiana rodzaju napędu i pojemności zbiornika", "Zmień model zużycia", menu.config));
+        this.addMenuItem(new SpeedFactorAction("Zmiana szybkości symulacji", "Zmień szybkość symulacji", menu.config));
+        this.addMenuItem(new ExecutorsAction("Statystyki pul wątków", "Statystyki wątków", menu.config));
+        this.addMenuItem(new LoopAction("Statystyki pętli głównej", "Statystyki pętli", menu.config));
         this.addMenuItem(new SaveAction("Zapis ustawień", "Zapisz", menu.config));
     }
 
     /**
-     * Klasa czynności obsługującej zmianę szybkości aktualizacji średniej prędkości.
+     * Klasa czynności obsługującej zmianę okien średnich prędkości kroczących.
      */
-    class AvgSpeedFreqAction extends ActionView
+    class AvgSpeedWindowsAction extends ActionView
     {
         /**
-         * Konstruktor AvgSpeedFreqAction.
+         * Konstruktor AvgSpeedWindowsAction.
          *
          * @param runningTitle     nazwa czynności
          * @param nameInParentMenu nazwa w menu
          * @param viewConfig       konfiguracja
          */
-        public AvgSpeedFreqAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        public AvgSpeedWindowsAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
         {
             super(runningTitle, nameInParentMenu, viewConfig);
         }
 
         /**
-         * Zmienia szybkość aktualizacji średniej prędkości.
+         * Zmienia okna średnich prędkości kroczących.
          */
         @Override
         public void executeCustomAction()
         {
-            System.out.println("Zmiana nastąpi przy ponownym uruchomieniu programu lub przy utworzeniu nowej podróży.");
-            System.out.println("Aktualna szybkość aktualizacji prędkości średniej: " + menu.dashboard.getSettings().getFrequencyOfAvgSpeed() + " sekundy");
-            int freq = this.prompt("Podaj dodatnią liczbę całkowitą: ", Integer.class);
-            if (freq > 0)
+            System.out.println("Zebrane średnie kroczące zostaną wyzerowane.");
+            System.out.println("Aktualne okna średnich prędkości kroczących: " + Arrays.toString(menu.dashboard.getSettings().getAvgSpeedWindows()) + " min");
+            String value = this.prompt("Podaj długości okien w minutach, oddzielone przecinkami: ", String.class);
+            int[] windows;
+            try
+            {
+                windows = Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+            }
+            catch (NumberFormatException e)
             {
-                menu.dashboard.getSettings().setFreqOfAvgSpeed(freq);
+                this.actionFailed();
+                return;
+            }
+            if (windows.length > 0 && Arrays.stream(windows).allMatch(window -> window > 0))
+            {
+                menu.dashboard.setAvgSpeedWindows(windows);
                 this.actionSuccessful();
             }
             else
@@ -93,9 +113,9 @@ class Settings extends MenuView
         @Override
         public void executeCustomAction()
         {
-            System.out.println("Aktualnie wyświetlana podróż: " + (menu.dashboard.getSettings().getActualTripIndex() == 0 ? "A" : "B"));
-            int trip = this.prompt("Wybierz podróż (A - 0, B - 1): ", Integer.class);
-            if (trip == 0 || trip == 1)
+            System.out.println("Aktualnie wyświetlana podróż: " + Computer.getTripName(menu.dashboard.getSettings().getActualTripIndex()));
+            int trip = this.prompt(menu.tripPrompt(), Integer.class);
+            if (menu.isTripIndex(trip))
             {
                 menu.dashboard.getSettings().setActualTripIndex(trip);
                 this.actionSuccessful();
@@ -107,6 +127,183 @@ class Settings extends MenuView
         }
     }
 
+    /**
+     * Klasa czynności obsługującej zmianę liczby aktualnych podróży.
+     */
+    class NumOfTripsAction extends ActionView
+    {
+        /**
+         * Konstruktor NumOfTripsAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public NumOfTripsAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Zmienia liczbę aktualnych podróży.
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            System.out.println("Zmiana nastąpi przy ponownym uruchomieniu programu.");
+            System.out.println("Aktualna liczba podróży: " + menu.dashboard.getSettings().getNumOfTrips());
+            int numOfTrips = this.prompt("Podaj liczbę całkowitą od 1 do " + pl.boleklolek.dao.xml.Settings.MAX_NUM_OF_TRIPS + ": ", Integer.class);
+            if (pl.boleklolek.dao.xml.Settings.isValidNumOfTrips(numOfTrips))
+            {
+                menu.dashboard.setNumOfTrips(numOfTrips);
+                this.actionSuccessful();
+            }
+            else
+            {
+                this.actionFailed();
+            }
+        }
+    }
+
+    /**
+     * Klasa czynności obsługującej zmianę modelu zużycia paliwa lub energii.
+     */
+    class ConsumptionAction extends ActionView
+    {
+        /**
+         * Konstruktor ConsumptionAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public ConsumptionAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Zmienia rodzaj napędu i pojemność zbiornika paliwa lub baterii (zbiornik zostaje napełniony).
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            System.out.println("Aktualny napęd: " + menu.dashboard.getSettings().getConsumptionType() + ", pojemność zbiornika: " + menu.dashboard.getSettings().getEnergyCapacity() + " " + menu.dashboard.getSettings().getConsumptionType().getUnit());
+            ConsumptionType[] types = ConsumptionType.values();
+            for (int i = 0; i < types.length; i++)
+            {
+                System.out.println((i + 1) + ". " + types[i]);
+            }
+            int type = this.prompt("Wybierz napęd: ", Integer.class);
+            if (type < 1 || type > types.length)
+            {
+                this.actionFailed();
+                return;
+            }
+            double capacity = this.prompt("Podaj pojemność zbiornika (" + types[type - 1].getUnit() + "): ", Double.class);
+            if (capacity > 0)
+            {
+                menu.dashboard.setConsumption(types[type - 1], capacity);
+                this.actionSuccessful();
+            }
+            else
+            {
+                this.actionFailed();
+            }
+        }
+    }
+
+    /**
+     * Klasa czynności obsługującej zmianę mnożnika szybkości symulacji.
+     */
+    class SpeedFactorAction extends ActionView
+    {
+        /**
+         * Konstruktor SpeedFactorAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public SpeedFactorAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Zmienia mnożnik szybkości symulacji.
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            System.out.println("Aktualna szybkość symulacji: x" + menu.dashboard.getClock().getSpeedFactor());
+            double speedFactor = this.prompt("Podaj mnożnik szybkości symulacji (np. 0.5, 10, 100): ", Double.class);
+            try
+            {
+                menu.dashboard.setSpeedFactor(speedFactor);
+                this.actionSuccessful();
+            }
+            catch (IllegalArgumentException e)
+            {
+                this.actionFailed();
+            }
+        }
+    }
+
+    /**
+     * Klasa czynności obsługującej wyświetlenie statystyk pul wątków.
+     */
+    class ExecutorsAction extends ActionView
+    {
+        /**
+         * Konstruktor ExecutorsAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public ExecutorsAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Wyświetla statystyki pul wątków.
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            System.out.println(DashboardExecutors.report());
+        }
+    }
+
+    /**
+     * Klasa czynności obsługującej wyświetlanie statystyk pętli głównej.
+     */
+    class LoopAction extends ActionView
+    {
+        /**
+         * Konstruktor LoopAction.
+         *
+         * @param runningTitle     nazwa czynności
+         * @param nameInParentMenu nazwa w menu
+         * @param viewConfig       konfiguracja
+         */
+        public LoopAction(String runningTitle, String nameInParentMenu, ViewConfig viewConfig)
+        {
+            super(runningTitle, nameInParentMenu, viewConfig);
+        }
+
+        /**
+         * Wyświetla statystyki pętli głównej (histogramy czasu aktualizacji i spóźnień kroków).
+         */
+        @Override
+        public void executeCustomAction()
+        {
+            System.out.println(menu.loop);
+        }
+    }
+
     /**
      * Klasa czynności obsługującej zapis ustawień.
      */
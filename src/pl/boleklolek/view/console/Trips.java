@@ -2,6 +2,7 @@ package pl.boleklolek.view.console;
 
 import io.bretty.console.view.ActionView;
 import io.bretty.console.view.ViewConfig;
+import pl.boleklolek.model.computer.Computer;
 
 /**
  * Klasa czynności obsługującej wyświetlenie aktualnych podróży.
@@ -28,12 +29,14 @@ class Trips extends ActionView
     }
 
     /**
-     * Wyświetla informacje o aktualnych podróżach (A i B).
+     * Wyświetla informacje o aktualnych podróżach (A, B, ...).
      */
     @Override
     public void executeCustomAction()
     {
-        System.out.println("[Podróż A]" + menu.dashboard.getComputer().getTrips()[0].toString().substring(8) + System.lineSeparator());
-        System.out.println("[Podróż B]" + menu.dashboard.getComputer().getTrips()[1].toString().substring(8) + System.lineSeparator());
+        for (int i = 0; i < menu.dashboard.getComputer().getNumOfTrips(); i++)
+        {
+            System.out.println("[Podróż " + Computer.getTripName(i) + "]" + menu.dashboard.getComputer().getTrip(i).toString().substring(8) + System.lineSeparator());
+        }
     }
 }
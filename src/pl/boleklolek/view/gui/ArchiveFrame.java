@@ -0,0 +1,298 @@
+package pl.boleklolek.view.gui;
+
+import pl.boleklolek.dao.archive.MemoryArchive;
+import pl.boleklolek.dao.archive.TripArchive;
+import pl.boleklolek.model.computer.Computer;
+import pl.boleklolek.model.computer.trip.Trip;
+
+import javax.swing.*;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ta klasa obsługuje okienko przeglądania archiwum podróży.
+ * Archiwum jest przeglądane stronami (wczytywane są tylko podróże bieżącej strony), a wybraną podróż
+ * można przywrócić do pamięci komputera pokładowego.
+ */
+public class ArchiveFrame
+{
+    /**
+     * Liczba podróży na stronie.
+     */
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * Komputer pokładowy.
+     */
+    private final Computer computer;
+    /**
+     * Archiwum podróży.
+     */
+    private final MemoryArchive archive;
+
+    /**
+     * Ramka.
+     */
+    private final JFrame frame;
+    /**
+     * Layout.
+     */
+    private final GridBagLayout layout;
+    /**
+     * Lista podróży bieżącej strony.
+     */
+    private final JList<String> list;
+    /**
+     * Etykieta numeru strony.
+     */
+    private final JLabel lblPage;
+    /**
+     * Podróże bieżącej strony.
+     */
+    private List<Trip> trips;
+    /**
+     * Numer bieżącej strony (od 0).
+     */
+    private int page;
+
+    /**
+     * Konstrukor okienka archiwum podróży.
+     *
+     * @param computer komputer pokładowy
+     * @param archive  archiwum podróży
+     */
+    public ArchiveFrame(Computer computer, MemoryArchive archive)
+    {
+        this.computer = computer;
+        this.archive = archive;
+        this.trips = new ArrayList<>();
+
+        this.frame = createFrame();
+        this.layout = new GridBagLayout();
+        this.createLayout();
+
+        this.lblPage = new JLabel();
+        this.list = new JList<>();
+        this.createList();
+
+        this.createButtons();
+
+        this.frame.setVisible(true);
+    }
+
+    /**
+     * Tworzy ramkę.
+     *
+     * @return obiekt ramki
+     */
+    private JFrame createFrame()
+    {
+        JFrame frame = new JFrame("Archiwum podróży");
+        frame.setMinimumSize(new Dimension(725, 525));
+        frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        frame.setLocationRelativeTo(null);
+        frame.setIconImage(new ImageIcon(DashboardFrame.class.getResource("/pl/boleklolek/view/gui/resources/cardashboard.png")).getImage());
+        return frame;
+    }
+
+    /**
+     * Tworzy ustawienia layoutu.
+     */
+    private void createLayout()
+    {
+        layout.columnWidths = new int[]{10, 50, 140, 0};
+        layout.rowHeights = new int[]{10, 100, 100, 100, 100, 100, 100, 100, 100, 0};
+        layout.columnWeights = new double[]{0.0, 1.0, 0.0, Double.MIN_VALUE};
+        layout.rowWeights = new double[]{0.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, Double.MIN_VALUE};
+        frame.getContentPane().setLayout(layout);
+    }
+
+    /**
+     * Tworzy listę podróży.
+     */
+    private void createList()
+    {
+        list.setBorder(new LineBorder(new Color(0, 0, 0)));
+        list.setFont(new Font("Tahoma", Font.PLAIN, 12));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        GridBagConstraints gbc_list = new GridBagConstraints();
+        gbc_list.fill = GridBagConstraints.BOTH;
+        gbc_list.gridheight = 7;
+        gbc_list.insets = new Insets(0, 0, 0, 5);
+        gbc_list.gridx = 1;
+        gbc_list.gridy = 1;
+        frame.getContentPane().add(new JScrollPane(list), gbc_list);
+        list.setModel(new DefaultListModel<>());
+
+        GridBagConstraints gbc_lblPage = new GridBagConstraints();
+        gbc_lblPage.insets = new Insets(0, 0, 0, 5);
+        gbc_lblPage.gridx = 1;
+        gbc_lblPage.gridy = 8;
+        frame.getContentPane().add(lblPage, gbc_lblPage);
+        refreshList();
+    }
+
+    /**
+     * Tworzy przyciski służące do przeglądania archiwum.
+     */
+    private void createButtons()
+    {
+        Dimension btnDim = new Dimension(120, 25);
+
+        JButton btnPrevPage = new JButton("Poprzednia strona");
+        btnPrevPage.setMinimumSize(btnDim);
+        btnPrevPage.addActionListener(e ->
+        {
+            if (page > 0)
+            {
+                page--;
+            }
+            refreshList();
+        });
+        GridBagConstraints gbc_btnPrevPage = new GridBagConstraints();
+        gbc_btnPrevPage.insets = new Insets(0, 0, 5, 0);
+        gbc_btnPrevPage.gridx = 2;
+        gbc_btnPrevPage.gridy = 1;
+        frame.getContentPane().add(btnPrevPage, gbc_btnPrevPage);
+
+        JButton btnNextPage = new JButton("Następna strona");
+        btnNextPage.setMinimumSize(btnDim);
+        btnNextPage.addActionListener(e ->
+        {
+            page++;
+            refreshList();
+        });
+        GridBagConstraints gbc_btnNextPage = new GridBagConstraints();
+        gbc_btnNextPage.insets = new Insets(0, 0, 5, 0);
+        gbc_btnNextPage.gridx = 2;
+        gbc_btnNextPage.gridy = 2;
+        frame.getContentPane().add(btnNextPage, gbc_btnNextPage);
+
+        JTextField tfUuid = new JTextField();
+        tfUuid.setToolTipText("UUID podróży");
+        tfUuid.setMinimumSize(btnDim);
+        tfUuid.setPreferredSize(btnDim);
+        GridBagConstraints gbc_tfUuid = new GridBagConstraints();
+        gbc_tfUuid.insets = new Insets(0, 0, 5, 0);
+        gbc_tfUuid.gridx = 2;
+        gbc_tfUuid.gridy = 3;
+        frame.getContentPane().add(tfUuid, gbc_tfUuid);
+
+        JButton btnFind = new JButton("Szukaj (UUID)");
+        btnFind.setMinimumSize(btnDim);
+        btnFind.addActionListener(e -> findTrip(tfUuid.getText().trim()));
+        GridBagConstraints gbc_btnFind = new GridBagConstraints();
+        gbc_btnFind.insets = new Insets(0, 0, 5, 0);
+        gbc_btnFind.gridx = 2;
+        gbc_btnFind.gridy = 4;
+        frame.getContentPane().add(btnFind, gbc_btnFind);
+
+        JButton btnRestore = new JButton("Przywróć do pamięci");
+        btnRestore.setMinimumSize(btnDim);
+        btnRestore.addActionListener(e ->
+        {
+            int select = list.getSelectedIndex();
+            if (select != -1)
+            {
+                if (computer.addTripToMemory(trips.get(select)))
+                {
+                    JOptionPane.showMessageDialog(frame, "Przywrócono podróż do pamięci komputera pokładowego!", "SUKCES", JOptionPane.INFORMATION_MESSAGE);
+                }
+                else
+                {
+                    new ErrorFrame(frame, "Podróż jest już w pamięci komputera pokładowego!");
+                }
+            }
+        });
+        GridBagConstraints gbc_btnRestore = new GridBagConstraints();
+        gbc_btnRestore.insets = new Insets(0, 0, 5, 0);
+        gbc_btnRestore.gridx = 2;
+        gbc_btnRestore.gridy = 5;
+        frame.getContentPane().add(btnRestore, gbc_btnRestore);
+
+        JButton btnRefresh = new JButton("Odśwież");
+        btnRefresh.setMinimumSize(btnDim);
+        btnRefresh.addActionListener(e -> refreshList());
+        GridBagConstraints gbc_btnRefresh = new GridBagConstraints();
+        gbc_btnRefresh.insets = new Insets(0, 0, 5, 0);
+        gbc_btnRefresh.gridx = 2;
+        gbc_btnRefresh.gridy = 6;
+        frame.getContentPane().add(btnRefresh, gbc_btnRefresh);
+
+        JButton btnOk = new JButton("Ok");
+        btnOk.setMinimumSize(btnDim);
+        btnOk.addActionListener(e -> frame.dispose());
+        GridBagConstraints gbc_btnOk = new GridBagConstraints();
+        gbc_btnOk.gridx = 2;
+        gbc_btnOk.gridy = 8;
+        frame.getContentPane().add(btnOk, gbc_btnOk);
+    }
+
+    /**
+     * Przechodzi do strony z podróżą o danym UUID i zaznacza ją.
+     *
+     * @param text UUID podróży
+     */
+    private void findTrip(String text)
+    {
+        UUID uuid;
+        try
+        {
+            uuid = UUID.fromString(text);
+        }
+        catch (IllegalArgumentException e)
+        {
+            new ErrorFrame(frame, "Niepoprawny UUID podróży!");
+            return;
+        }
+        try
+        {
+            int row = archive.getArchive().indexOf(uuid);
+            if (row == -1)
+            {
+                new ErrorFrame(frame, "Brak podróży w archiwum!");
+                return;
+            }
+            page = row / PAGE_SIZE;
+            refreshList();
+            list.setSelectedIndex(row % PAGE_SIZE);
+            list.ensureIndexIsVisible(row % PAGE_SIZE);
+        }
+        catch (IOException e)
+        {
+            new ErrorFrame(frame, "Błąd pliku archiwum podróży!");
+        }
+    }
+
+    /**
+     * Odświeża listę podróży bieżącej strony.
+     */
+    private void refreshList()
+    {
+        DefaultListModel<String> model = (DefaultListModel<String>) list.getModel();
+        model.clear();
+        try
+        {
+            TripArchive tripArchive = archive.getArchive();
+            int size = tripArchive.size();
+            int pages = Math.max(1, (size + PAGE_SIZE - 1) / PAGE_SIZE);
+            page = Math.min(page, pages - 1);
+            trips = tripArchive.getPage(page, PAGE_SIZE);
+            for (Trip trip : trips)
+            {
+                model.addElement(trip.toStringShort());
+            }
+            lblPage.setText("Strona " + (page + 1) + " z " + pages + " (podróże: " + size + ")");
+        }
+        catch (IOException e)
+        {
+            trips = new ArrayList<>();
+            lblPage.setText("");
+            new ErrorFrame(frame, "Błąd pliku archiwum podróży!");
+        }
+    }
+}
@@ -4,11 +4,18 @@ import eu.hansolo.steelseries.gauges.Radial;
 import eu.hansolo.steelseries.tools.*;
 import pl.boleklolek.dao.DAO;
 import pl.boleklolek.dao.MemoryDAO;
+import pl.boleklolek.dao.archive.MemoryArchive;
+import pl.boleklolek.dao.xml.Settings;
+import pl.boleklolek.loop.DashboardLoop;
 import pl.boleklolek.model.Dashboard;
+import pl.boleklolek.model.computer.Computer;
+import pl.boleklolek.model.computer.consumption.enums.ConsumptionType;
 import pl.boleklolek.model.lights.enums.FogLightsLocation;
 import pl.boleklolek.model.lights.enums.HeadLightsPosition;
 import pl.boleklolek.model.lights.enums.SignalLightsDirection;
-import pl.boleklolek.utils.SingletonExecutor;
+import pl.boleklolek.model.snapshot.DashboardSnapshot;
+import pl.boleklolek.utils.DashboardExecutors;
+import pl.boleklolek.utils.enums.ExecutorRole;
 import pl.boleklolek.view.gui.callbacks.DashboardKeyListener;
 import pl.boleklolek.view.gui.lcd.DashboardLcd;
 
@@ -19,12 +26,15 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Ta klasa odpowiada za główne okno aplikacji.
@@ -35,6 +45,10 @@ public class DashboardFrame
      * Deska rozdzielcza.
      */
     private final Dashboard dashboard;
+    /**
+     * Pętla deski rozdzielczej.
+     */
+    private final DashboardLoop loop;
     /**
      * Wyświetlacz LCD.
      */
@@ -52,7 +66,15 @@ public class DashboardFrame
      */
     private final Radial speedometer;
     /**
-     * Indeks aktualnej podróży (A - 0 lub B - 1).
+     * Migawka stanu odczytywana przy odświeżaniu prędkościomierza.
+     */
+    private final DashboardSnapshot frameSnapshot = new DashboardSnapshot();
+    /**
+     * Migawka stanu odczytywana przy odświeżaniu ekranu LCD.
+     */
+    private final DashboardSnapshot lcdSnapshot = new DashboardSnapshot();
+    /**
+     * Indeks aktualnej podróży (A - 0, B - 1, ...).
      */
     private int actualTripIndex;
     /**
@@ -122,20 +144,23 @@ public class DashboardFrame
 
     /**
      * Konstruktor ramki deski rodzielczej.
-     * Wywołuje dwie pętle w osobnych wątkach z pomocą SingletonExecutora.
+     * Wywołuje dwie pętle w puli wątków odświeżania interfejsu graficznego.
      * Jedna z nich odpowiada za odświeżanie okienka co około 60 klatek na sekundę, natomiast druga aktualizuje ekran LCD 5 razy na sekundę.
+     * Odświeżanie biegnie w czasie rzeczywistym, niezależnie od mnożnika szybkości symulacji.
      *
      * @param dashboard  deska rozdzielcza
+     * @param loop       pętla deski rozdzielczej
      * @param memoryDAOs DAO pamięci
      */
-    public DashboardFrame(Dashboard dashboard, Map<DAO, MemoryDAO> memoryDAOs)
+    public DashboardFrame(Dashboard dashboard, DashboardLoop loop, Map<DAO, MemoryDAO> memoryDAOs)
     {
         this.dashboard = dashboard;
+        this.loop = loop;
         this.memoryDAOs = memoryDAOs;
 
         this.frame = createFrame();
         this.speedometer = createSpeedometer();
-        this.dashboardLcd = new DashboardLcd(this.speedometer);
+        this.dashboardLcd = new DashboardLcd(this.speedometer, dashboard.getComputer().getConsumptionModel().getUnit());
         this.actualTripIndex = getTripLcdIndex();
         this.frame.getContentPane().add(this.speedometer);
         this.createLights();
@@ -145,8 +170,8 @@ public class DashboardFrame
         this.frame.setFocusable(true);
         this.frame.addKeyListener(new DashboardKeyListener(this.dashboard, this));
 
-        SingletonExecutor.getInstance().scheduleAtFixedRate(this::update, 0, 1_000_000 / 60, TimeUnit.MICROSECONDS);
-        SingletonExecutor.getInstance().scheduleAtFixedRate(this::updateLcd, 0, 1_000_000 / 5, TimeUnit.MICROSECONDS);
+        DashboardExecutors.get(ExecutorRole.UI).scheduleAtFixedRate(this::update, 0, 1_000_000 / 60, TimeUnit.MICROSECONDS);
+        DashboardExecutors.get(ExecutorRole.UI).scheduleAtFixedRate(this::updateLcd, 0, 1_000_000 / 5, TimeUnit.MICROSECONDS);
     }
 
     /**
@@ -186,11 +211,11 @@ public class DashboardFrame
     /**
      * Pokazuje okienko dialogowe z informacjami o podróży.
      *
-     * @param tripIndex indeks podróży (A - 0 lub B - 1)
+     * @param tripIndex indeks podróży (A - 0, B - 1, ...)
      */
     public void showTripInfo(int tripIndex)
     {
-        JOptionPane.showMessageDialog(frame, dashboard.getComputer().getTrips()[tripIndex], "Podróż " + (char) ('A' + tripIndex), JOptionPane.INFORMATION_MESSAGE);
+        JOptionPane.showMessageDialog(frame, dashboard.getComputer().getTrip(tripIndex), "Podróż " + Computer.getTripName(tripIndex), JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
@@ -257,7 +282,7 @@ public class DashboardFrame
      * W menu Podróż mamy dwie podróże (A i B) oraz managera podróży.
      * W menu Pamięć możemy importować lub eksportować podróże z pliku XML lub z bazy danych.
      * W menu Ustawienia mamy ogólne ustawienia dotyczące wyboru podróży na ekranie LCD
-     * i szybkości aktualizacji prędkości średniej (domyślnie 2s).
+     * i szybkości aktualizacji prędkości średniej (domyślnie 2s) oraz mnożnik szybkości symulacji.
      * W menu Pomoc możemy sprawdzić klawiszologię i informacje o programie.
      *
      * @return obiekt menu
@@ -267,13 +292,19 @@ public class DashboardFrame
         JMenuBar menuBar = new JMenuBar();
 
         JMenu mnTrip = new JMenu("Podróż");
-        mnTrip.add(createMenuTrip("A", 0));
-        mnTrip.add(createMenuTrip("B", 1));
+        for (int i = 0; i < dashboard.getComputer().getNumOfTrips(); i++)
+        {
+            mnTrip.add(createMenuTrip(Computer.getTripName(i), i));
+        }
 
         JMenuItem mntmTripManager = new JMenuItem("Manager");
         mntmTripManager.addActionListener(e -> new TripManagerFrame(dashboard.getComputer()));
         mnTrip.add(mntmTripManager);
 
+        JMenuItem mntmTripArchive = new JMenuItem("Archiwum");
+        mntmTripArchive.addActionListener(e -> new ArchiveFrame(dashboard.getComputer(), (MemoryArchive) memoryDAOs.get(DAO.ARCHIVE)));
+        mnTrip.add(mntmTripArchive);
+
         menuBar.add(mnTrip);
 
         JMenu mnMemory = new JMenu("Pamięć");
@@ -294,7 +325,7 @@ public class DashboardFrame
                 int res = jfc.showOpenDialog(frame);
                 if (res == JFileChooser.APPROVE_OPTION)
                 {
-                    SingletonExecutor.getInstance().submit(() ->
+                    DashboardExecutors.blocking(ExecutorRole.IO).submit(() ->
                     {
                         Optional<String> prevSaveFile = dashboard.getMemoryFile();
                         if (prevSaveFile.isPresent())
@@ -330,7 +361,7 @@ public class DashboardFrame
             int result = JOptionPane.showConfirmDialog(frame, "Cała pamięć komputera pokładowego wraz z aktualnymi podróżami zostanie UTRACONA!", "UWAGA", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE);
             if (result == JOptionPane.OK_OPTION)
             {
-                SingletonExecutor.getInstance().submit(() ->
+                DashboardExecutors.blocking(ExecutorRole.IO).submit(() ->
                 {
                     dashboard.setMemoryDAO(memoryDAOs.get(DAO.DATABASE));
                     JDialog loading = getLoading();
@@ -353,6 +384,35 @@ public class DashboardFrame
         });
         mnImport.add(mntmSQLimport);
 
+        JMenuItem mntmArchiveImport = new JMenuItem("Archiwum");
+        mntmArchiveImport.addActionListener(e ->
+        {
+            int result = JOptionPane.showConfirmDialog(frame, "Cała pamięć komputera pokładowego wraz z aktualnymi podróżami zostanie UTRACONA!", "UWAGA", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE);
+            if (result == JOptionPane.OK_OPTION)
+            {
+                DashboardExecutors.blocking(ExecutorRole.IO).submit(() ->
+                {
+                    dashboard.setMemoryDAO(memoryDAOs.get(DAO.ARCHIVE));
+                    JDialog loading = getLoading();
+                    try
+                    {
+                        dashboard.loadMemory();
+                        JOptionPane.showMessageDialog(frame, "Pomyślnie wczytano pamięć z archiwum podróży!", "SUKCES", JOptionPane.INFORMATION_MESSAGE);
+                    }
+                    catch (Exception exception)
+                    {
+                        new ErrorFrame(frame, "Błąd pliku archiwum podróży!");
+                    }
+                    finally
+                    {
+                        loading.dispose();
+                        dashboard.setMemoryDAO(memoryDAOs.get(DAO.XML));
+                    }
+                });
+            }
+        });
+        mnImport.add(mntmArchiveImport);
+
         JMenu mnExport = new JMenu("Export");
         mnMemory.add(mnExport);
 
@@ -365,7 +425,7 @@ public class DashboardFrame
             int result = jfc.showSaveDialog(frame);
             if (result == JFileChooser.APPROVE_OPTION)
             {
-                SingletonExecutor.getInstance().submit(() ->
+                DashboardExecutors.blocking(ExecutorRole.IO).submit(() ->
                 {
                     Optional<String> prevSaveFile = dashboard.getMemoryFile();
                     if (prevSaveFile.isPresent())
@@ -396,7 +456,7 @@ public class DashboardFrame
 
         JMenuItem mntmSQLexport = new JMenuItem("SQL");
         mntmSQLexport.addActionListener(e ->
-                SingletonExecutor.getInstance().submit(() ->
+                DashboardExecutors.blocking(ExecutorRole.IO).submit(() ->
                 {
                     dashboard.setMemoryDAO(memoryDAOs.get(DAO.DATABASE));
                     JDialog loading = getLoading();
@@ -417,6 +477,29 @@ public class DashboardFrame
                 }));
         mnExport.add(mntmSQLexport);
 
+        JMenuItem mntmArchiveExport = new JMenuItem("Archiwum");
+        mntmArchiveExport.addActionListener(e ->
+                DashboardExecutors.blocking(ExecutorRole.IO).submit(() ->
+                {
+                    dashboard.setMemoryDAO(memoryDAOs.get(DAO.ARCHIVE));
+                    JDialog loading = getLoading();
+                    try
+                    {
+                        dashboard.saveMemory();
+                        JOptionPane.showMessageDialog(frame, "Pomyślnie zapisano pamięć do archiwum podróży!", "SUKCES", JOptionPane.INFORMATION_MESSAGE);
+                    }
+                    catch (Exception exception)
+                    {
+                        new ErrorFrame(frame, "Błąd pliku archiwum podróży!");
+                    }
+                    finally
+                    {
+                        loading.dispose();
+                        dashboard.setMemoryDAO(memoryDAOs.get(DAO.XML));
+                    }
+                }));
+        mnExport.add(mntmArchiveExport);
+
         JMenu mnSettings = new JMenu("Ustawienia");
         menuBar.add(mnSettings);
 
@@ -425,37 +508,149 @@ public class DashboardFrame
 
         ButtonGroup tripLcdGroup = new ButtonGroup();
 
-        JRadioButtonMenuItem rdbtnmntmLcdTripA = new JRadioButtonMenuItem("A");
-        createIndexTripItem(mnLcdTrip, rdbtnmntmLcdTripA, 0);
-        tripLcdGroup.add(rdbtnmntmLcdTripA);
+        for (int i = 0; i < dashboard.getComputer().getNumOfTrips(); i++)
+        {
+            JRadioButtonMenuItem rdbtnmntmLcdTrip = new JRadioButtonMenuItem(Computer.getTripName(i));
+            createIndexTripItem(mnLcdTrip, rdbtnmntmLcdTrip, i);
+            tripLcdGroup.add(rdbtnmntmLcdTrip);
+        }
 
-        JRadioButtonMenuItem rdbtnmntmLcdTripB = new JRadioButtonMenuItem("B");
-        createIndexTripItem(mnLcdTrip, rdbtnmntmLcdTripB, 1);
-        tripLcdGroup.add(rdbtnmntmLcdTripB);
+        JMenuItem mntmNumOfTrips = new JMenuItem("Liczba podróży - " + dashboard.getSettings().getNumOfTrips());
+        mntmNumOfTrips.addActionListener(e ->
+        {
+            String value;
+            Matcher matcher;
+            do
+            {
+                value = JOptionPane.showInputDialog("Zmiana nastąpi przy ponownym uruchomieniu programu." + System.lineSeparator() + "Podaj liczbę całkowitą od 1 do " + Settings.MAX_NUM_OF_TRIPS + ":");
+                if (value == null)
+                {
+                    return;
+                }
+                Pattern pattern = Pattern.compile("^[1-9]\\d{0,2}$");
+                matcher = pattern.matcher(value);
+            } while (!matcher.find() || !Settings.isValidNumOfTrips(Integer.parseInt(value)));
+            dashboard.setNumOfTrips(Integer.parseInt(value));
+            mntmNumOfTrips.setText("Liczba podróży - " + dashboard.getSettings().getNumOfTrips());
+        });
+        mnSettings.add(mntmNumOfTrips);
 
         JMenu mnAvgSpeed = new JMenu("Średnia prędkość");
         mnSettings.add(mnAvgSpeed);
 
-        JMenuItem mntmAvgSpeedFreq = new JMenuItem("Szybkość aktualizacji - " + dashboard.getSettings().getFrequencyOfAvgSpeed() + " s");
-        mntmAvgSpeedFreq.addActionListener(e ->
+        JMenuItem mntmAvgSpeedWindows = new JMenuItem("Okna średnich kroczących - " + formatAvgSpeedWindows() + " min");
+        mntmAvgSpeedWindows.addActionListener(e ->
+        {
+            String value;
+            Matcher matcher;
+            do
+            {
+                value = JOptionPane.showInputDialog("Zebrane średnie kroczące zostaną wyzerowane." + System.lineSeparator() + "Podaj długości okien w minutach, oddzielone przecinkami:", formatAvgSpeedWindows());
+                if (value == null)
+                {
+                    return;
+                }
+                Pattern pattern = Pattern.compile("^\\s*[1-9]\\d*(\\s*,\\s*[1-9]\\d*)*\\s*$");
+                matcher = pattern.matcher(value);
+            } while (!matcher.find());
+            int[] windows = Arrays.stream(value.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+            dashboard.setAvgSpeedWindows(windows);
+            mntmAvgSpeedWindows.setText("Okna średnich kroczących - " + formatAvgSpeedWindows() + " min");
+        });
+        mnAvgSpeed.add(mntmAvgSpeedWindows);
+
+        JMenuItem mntmRollingAvgSpeed = new JMenuItem("Średnie kroczące");
+        mntmRollingAvgSpeed.addActionListener(e ->
+        {
+            DecimalFormat df = new DecimalFormat("0.0");
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < dashboard.getComputer().getNumOfAvgSpeedWindows(); i++)
+            {
+                sb.append("Ostatnie ").append(dashboard.getComputer().getAvgSpeedWindow(i)).append(" min: ").append(df.format(dashboard.getComputer().getRollingAverageSpeed(i))).append(" km/h").append(System.lineSeparator());
+            }
+            JOptionPane.showMessageDialog(frame, sb.toString(), "Średnie kroczące", JOptionPane.INFORMATION_MESSAGE);
+        });
+        mnAvgSpeed.add(mntmRollingAvgSpeed);
+
+        JMenu mnConsumption = new JMenu("Zużycie");
+        mnSettings.add(mnConsumption);
+
+        JMenuItem mntmEnergyCapacity = new JMenuItem();
+        ButtonGroup consumptionGroup = new ButtonGroup();
+        for (ConsumptionType type : ConsumptionType.values())
+        {
+            JRadioButtonMenuItem rdbtnmntmConsumptionType = new JRadioButtonMenuItem("Napęd - " + type);
+            rdbtnmntmConsumptionType.setSelected(dashboard.getSettings().getConsumptionType() == type);
+            rdbtnmntmConsumptionType.addActionListener(e ->
+            {
+                dashboard.setConsumption(type, type.getDefaultCapacity());
+                dashboardLcd.setConsumptionUnit(type.getUnit());
+                mntmEnergyCapacity.setText(formatEnergyCapacity());
+            });
+            consumptionGroup.add(rdbtnmntmConsumptionType);
+            mnConsumption.add(rdbtnmntmConsumptionType);
+        }
+
+        mntmEnergyCapacity.setText(formatEnergyCapacity());
+        mntmEnergyCapacity.addActionListener(e ->
         {
             String value;
             Matcher matcher;
             do
             {
-                value = JOptionPane.showInputDialog("Zmiana nastąpi przy ponownym uruchomieniu programu lub przy utworzeniu nowej podróży." + System.lineSeparator() + "Podaj dodatnią liczbę całkowitą:");
+                value = JOptionPane.showInputDialog("Zbiornik zostanie napełniony." + System.lineSeparator() + "Podaj pojemność zbiornika (" + dashboard.getSettings().getConsumptionType().getUnit() + "):", dashboard.getSettings().getEnergyCapacity());
                 if (value == null)
                 {
                     return;
                 }
-                Pattern pattern = Pattern.compile("^[1-9]\\d*$");
+                Pattern pattern = Pattern.compile("^\\d*[1-9]\\d*(\\.\\d+)?$");
                 matcher = pattern.matcher(value);
             } while (!matcher.find());
-            int frequency = Integer.parseInt(value);
-            dashboard.setFreqOfAvgSpeed(frequency);
-            mntmAvgSpeedFreq.setText("Szybkość aktualizacji - " + dashboard.getSettings().getFrequencyOfAvgSpeed() + " s");
+            dashboard.setConsumption(dashboard.getSettings().getConsumptionType(), Double.parseDouble(value));
+            mntmEnergyCapacity.setText(formatEnergyCapacity());
+        });
+        mnConsumption.add(mntmEnergyCapacity);
+
+        JMenuItem mntmRefuel = new JMenuItem("Zatankuj");
+        mntmRefuel.addActionListener(e -> dashboard.refuelCar());
+        mnConsumption.add(mntmRefuel);
+
+        JMenuItem mntmConsumptionInfo = new JMenuItem("Zużycie i zasięg");
+        mntmConsumptionInfo.addActionListener(e ->
+        {
+            DecimalFormat df = new DecimalFormat("0.0");
+            Computer computer = dashboard.getComputer();
+            String unit = computer.getConsumptionModel().getUnit();
+            StringBuilder sb = new StringBuilder();
+            sb.append("Zużycie chwilowe: ").append(df.format(computer.getInstantConsumption())).append(" ").append(unit).append("/100 km").append(System.lineSeparator());
+            sb.append("Stan zbiornika: ").append(df.format(computer.getEnergyLevel())).append(" / ").append(df.format(computer.getEnergyCapacity())).append(" ").append(unit).append(System.lineSeparator());
+            for (int i = 0; i < computer.getNumOfTrips(); i++)
+            {
+                sb.append("Podróż ").append(Computer.getTripName(i)).append(": ").append(df.format(computer.getTrip(i).getConsumptionPer100km())).append(" ").append(unit).append("/100 km, zasięg ").append(df.format(computer.getRange(i))).append(" km").append(System.lineSeparator());
+            }
+            JOptionPane.showMessageDialog(frame, sb.toString(), "Zużycie i zasięg", JOptionPane.INFORMATION_MESSAGE);
         });
-        mnAvgSpeed.add(mntmAvgSpeedFreq);
+        mnConsumption.add(mntmConsumptionInfo);
+
+        JMenuItem mntmSpeedFactor = new JMenuItem("Szybkość symulacji - x" + dashboard.getClock().getSpeedFactor());
+        mntmSpeedFactor.addActionListener(e ->
+        {
+            String value = JOptionPane.showInputDialog("Podaj mnożnik szybkości symulacji (np. 0.5, 10, 100):", dashboard.getClock().getSpeedFactor());
+            if (value == null)
+            {
+                return;
+            }
+            try
+            {
+                dashboard.setSpeedFactor(Double.parseDouble(value));
+                mntmSpeedFactor.setText("Szybkość symulacji - x" + dashboard.getClock().getSpeedFactor());
+            }
+            catch (IllegalArgumentException exception)
+            {
+                JOptionPane.showMessageDialog(frame, "Niepoprawny mnożnik szybkości symulacji!", "Błąd", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        mnSettings.add(mntmSpeedFactor);
 
         JMenuItem mntmSaveSettings = new JMenuItem("Zapisz ustawienia");
         mntmSaveSettings.addActionListener(e -> dashboard.saveSettings());
@@ -482,6 +677,26 @@ public class DashboardFrame
         mntmKeyboardControls.addActionListener(e -> JOptionPane.showMessageDialog(frame, keyboardLabel, mntmKeyboardControls.getText(), JOptionPane.INFORMATION_MESSAGE));
         mnHelp.add(mntmKeyboardControls);
 
+        JMenuItem mntmExecutors = new JMenuItem("Statystyki wątków");
+        mntmExecutors.addActionListener(e ->
+        {
+            JTextArea report = new JTextArea(DashboardExecutors.report());
+            report.setEditable(false);
+            report.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+            JOptionPane.showMessageDialog(frame, report, mntmExecutors.getText(), JOptionPane.INFORMATION_MESSAGE);
+        });
+        mnHelp.add(mntmExecutors);
+
+        JMenuItem mntmLoop = new JMenuItem("Statystyki pętli");
+        mntmLoop.addActionListener(e ->
+        {
+            JTextArea report = new JTextArea(loop.toString());
+            report.setEditable(false);
+            report.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+            JOptionPane.showMessageDialog(frame, report, mntmLoop.getText(), JOptionPane.INFORMATION_MESSAGE);
+        });
+        mnHelp.add(mntmLoop);
+
         JMenuItem mntmAbout = new JMenuItem("O programie");
         String about = "<html><b>Programowanie komponentowe</b><br>" +
                 "<h1>Symulacja deski rozdzielczej<br>samochodu</h1>" +
@@ -534,7 +749,7 @@ public class DashboardFrame
         mnTrip.add(mntmNewTrip);
 
         JMenuItem mntmInfoTrip = new JMenuItem("Przebieg podróży");
-        mntmInfoTrip.addActionListener(e -> JOptionPane.showMessageDialog(frame, dashboard.getComputer().getTrips()[tripIndex], "Podróż " + name, JOptionPane.INFORMATION_MESSAGE));
+        mntmInfoTrip.addActionListener(e -> JOptionPane.showMessageDialog(frame, dashboard.getComputer().getTrip(tripIndex), "Podróż " + name, JOptionPane.INFORMATION_MESSAGE));
         mnTrip.add(mntmInfoTrip);
 
         return mnTrip;
@@ -846,7 +1061,7 @@ public class DashboardFrame
     private int getTripLcdIndex()
     {
         int index = dashboard.getSettings().getActualTripIndex();
-        if (index < 0 || index > dashboard.getComputer().getTrips().length - 1)
+        if (index < 0 || index > dashboard.getComputer().getNumOfTrips() - 1)
         {
             index = 0;
             dashboard.setActualTripIndex(index);
@@ -855,14 +1070,36 @@ public class DashboardFrame
     }
 
     /**
-     * Aktualizuje prędkościomierz w zależności od bieżącej prędkości.
+     * Zwraca długości okien średnich prędkości kroczących oddzielone przecinkami.
+     *
+     * @return string z długościami okien w minutach
+     */
+    private String formatAvgSpeedWindows()
+    {
+        return Arrays.stream(dashboard.getSettings().getAvgSpeedWindows()).mapToObj(String::valueOf).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Zwraca tekst pozycji menu z pojemnością zbiornika paliwa lub baterii.
+     *
+     * @return tekst pozycji menu
      */
-    private void updateSpeedometer()
+    private String formatEnergyCapacity()
     {
-        double currentSpeed = dashboard.getSpeedometer().getSpeed();
+        return "Pojemność zbiornika - " + dashboard.getSettings().getEnergyCapacity() + " " + dashboard.getSettings().getConsumptionType().getUnit();
+    }
+
+    /**
+     * Aktualizuje prędkościomierz w zależności od prędkości z migawki stanu.
+     *
+     * @param snapshot migawka stanu deski rozdzielczej
+     */
+    private void updateSpeedometer(DashboardSnapshot snapshot)
+    {
+        double currentSpeed = snapshot.getSpeed();
         if (currentSpeed > 0.0 && currentSpeed < dashboard.getSpeedometer().getMaxSpeed())
         {
-            if (!(dashboard.getSpeedometer().isLimiter() && currentSpeed == dashboard.getSpeedometer().getLimiterSpeed()))
+            if (!(snapshot.isLimiter() && currentSpeed == snapshot.getLimiterSpeed()))
             {
                 speedometer.setValue(currentSpeed);
             }
@@ -871,40 +1108,58 @@ public class DashboardFrame
 
     /**
      * Aktualizuje informację wyświetlaną na ekranie LCD.
-     * Możliwość wyboru 6 opcji: prędkość, przebieg podróży, przebieg całkowity, średnia prędkość, prędkość maksymalna oraz czas podróży.
+     * Możliwość wyboru 9 opcji: prędkość, przebieg podróży, przebieg całkowity, średnia prędkość, prędkość maksymalna,
+     * zużycie chwilowe, średnie zużycie podróży, zasięg oraz czas podróży.
+     * Wartości pochodzą z jednej migawki stanu, więc pochodzą z tego samego kroku pętli.
      */
     public void updateLcd()
     {
+        DashboardSnapshot snapshot = dashboard.readSnapshot(lcdSnapshot);
         switch (dashboardLcd.getLcdInformation())
         {
             case SPEED:
             {
-                speedometer.setLcdValue(dashboard.getSpeedometer().getSpeed());
+                speedometer.setLcdValue(snapshot.getSpeed());
                 break;
             }
             case TRIP_MILEAGE:
             {
-                speedometer.setLcdValue(dashboard.getOdometer().getDailyMileages()[actualTripIndex].get());
+                speedometer.setLcdValue(snapshot.getTripMileage(actualTripIndex));
                 break;
             }
             case TOTAL_MILEAGE:
             {
-                speedometer.setLcdValue(dashboard.getOdometer().getTotalMileage());
+                speedometer.setLcdValue(snapshot.getTotalMileage());
                 break;
             }
             case AVG_SPEED:
             {
-                speedometer.setLcdValue(dashboard.getComputer().getTrips()[actualTripIndex].getAverageSpeed());
+                speedometer.setLcdValue(snapshot.getTripAverageSpeed(actualTripIndex));
                 break;
             }
             case MAX_SPEED:
             {
-                speedometer.setLcdValue(dashboard.getComputer().getTrips()[actualTripIndex].getMaxSpeed());
+                speedometer.setLcdValue(snapshot.getTripMaxSpeed(actualTripIndex));
+                break;
+            }
+            case INSTANT_CONSUMPTION:
+            {
+                speedometer.setLcdValue(snapshot.getInstantConsumption());
+                break;
+            }
+            case CONSUMPTION:
+            {
+                speedometer.setLcdValue(snapshot.getTripConsumption(actualTripIndex));
+                break;
+            }
+            case RANGE:
+            {
+                speedometer.setLcdValue(snapshot.getRange(actualTripIndex));
                 break;
             }
             case TIME:
             {
-                speedometer.setLcdValue(dashboard.getComputer().getTrips()[actualTripIndex].getElapsedTime());
+                speedometer.setLcdValue(snapshot.getTripElapsedTime(actualTripIndex));
                 break;
             }
         }
@@ -924,8 +1179,8 @@ public class DashboardFrame
         lightDaily.setEnabled(rdbtnDaily.isSelected());
         lightOff.setEnabled(rdbtnOff.isSelected());
 
-        chckbxFogFront.setSelected(dashboard.getLights().getFogLights().getLights()[FogLightsLocation.FRONT.ordinal()]);
-        chckbxFogBack.setSelected(dashboard.getLights().getFogLights().getLights()[FogLightsLocation.BACK.ordinal()]);
+        chckbxFogFront.setSelected(dashboard.getLights().getFogLights().isOn(FogLightsLocation.FRONT));
+        chckbxFogBack.setSelected(dashboard.getLights().getFogLights().isOn(FogLightsLocation.BACK));
         lightFogFront.setEnabled(chckbxFogFront.isSelected());
         lightFogBack.setEnabled(chckbxFogBack.isSelected());
     }
@@ -935,9 +1190,10 @@ public class DashboardFrame
      */
     private void update()
     {
-        updateSpeedometer();
-        lightTurnLeft.setEnabled(dashboard.getLights().getSignalLights().getLights()[SignalLightsDirection.LEFT.ordinal()]);
-        lightTurnRight.setEnabled(dashboard.getLights().getSignalLights().getLights()[SignalLightsDirection.RIGHT.ordinal()]);
-        tglbtnLimiter.setSelected(dashboard.getSpeedometer().isLimiter());
+        DashboardSnapshot snapshot = dashboard.readSnapshot(frameSnapshot);
+        updateSpeedometer(snapshot);
+        lightTurnLeft.setEnabled(dashboard.getLights().getSignalLights().isOn(SignalLightsDirection.LEFT));
+        lightTurnRight.setEnabled(dashboard.getLights().getSignalLights().isOn(SignalLightsDirection.RIGHT));
+        tglbtnLimiter.setSelected(snapshot.isLimiter());
     }
 }
@@ -1,7 +1,7 @@
 package pl.boleklolek.view.gui;
 
 import pl.boleklolek.model.computer.Computer;
-import pl.boleklolek.model.computer.trip.TimeTripComparator;
+import pl.boleklolek.model.computer.enums.TripOrder;
 import pl.boleklolek.model.computer.trip.Trip;
 
 import javax.swing.*;
@@ -60,7 +60,7 @@ public class TripManagerFrame
     private JFrame createFrame()
     {
         JFrame frame = new JFrame("Zarządzanie podróżami");
-        frame.setMinimumSize(new Dimension(725, 425));
+        frame.setMinimumSize(new Dimension(725, 525));
         frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
         frame.setLocationRelativeTo(null);
         frame.setIconImage(new ImageIcon(DashboardFrame.class.getResource("/pl/boleklolek/view/gui/resources/cardashboard.png")).getImage());
@@ -73,9 +73,9 @@ public class TripManagerFrame
     private void createLayout()
     {
         layout.columnWidths = new int[]{10, 50, 140, 0};
-        layout.rowHeights = new int[]{10, 100, 100, 100, 100, 100, 100, 100, 100, 100, 0};
+        layout.rowHeights = new int[]{10, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100, 0};
         layout.columnWeights = new double[]{0.0, 1.0, 0.0, Double.MIN_VALUE};
-        layout.rowWeights = new double[]{0.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, Double.MIN_VALUE};
+        layout.rowWeights = new double[]{0.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0, Double.MIN_VALUE};
         frame.getContentPane().setLayout(layout);
     }
 
@@ -89,7 +89,7 @@ public class TripManagerFrame
         list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         GridBagConstraints gbc_list = new GridBagConstraints();
         gbc_list.fill = GridBagConstraints.BOTH;
-        gbc_list.gridheight = 8;
+        gbc_list.gridheight = 9;
         gbc_list.insets = new Insets(0, 0, 0, 5);
         gbc_list.gridx = 1;
         gbc_list.gridy = 1;
@@ -105,89 +105,48 @@ public class TripManagerFrame
     {
         Dimension btnDim = new Dimension(120, 25);
 
-        JButton btnCheckTripA = new JButton("Sprawdź podróż A");
-        btnCheckTripA.setMinimumSize(btnDim);
-        btnCheckTripA.addActionListener(e ->
+        JComboBox<String> cbTrip = new JComboBox<>();
+        for (int i = 0; i < computer.getNumOfTrips(); i++)
         {
-            refreshList();
-            Trip tripA = computer.getTrips()[0];
-            list.setSelectedIndex(computer.getMemory().getAll().indexOf(tripA));
-        });
-        GridBagConstraints gbc_btnCheckTripA = new GridBagConstraints();
-        gbc_btnCheckTripA.insets = new Insets(0, 0, 5, 0);
-        gbc_btnCheckTripA.gridx = 2;
-        gbc_btnCheckTripA.gridy = 1;
-        frame.getContentPane().add(btnCheckTripA, gbc_btnCheckTripA);
-
-        JButton btnSetTripA = new JButton("Ustaw podróż A");
-        btnSetTripA.setMinimumSize(btnDim);
-        btnSetTripA.addActionListener(e ->
-        {
-            int select = list.getSelectedIndex();
-            if (select != -1)
-            {
-                if (computer.getTrips()[0].equals(computer.getMemory().get(select)))
-                {
-                    return;
-                }
-                else if (computer.getTrips()[1].equals(computer.getMemory().get(select)))
-                {
-                    computer.swapTrips();
-                }
-                else
-                {
-                    computer.loadTripFromMemory(0, select);
-                }
-            }
-            refreshList();
-        });
-        GridBagConstraints gbc_btnSetTripA = new GridBagConstraints();
-        gbc_btnSetTripA.insets = new Insets(0, 0, 5, 0);
-        gbc_btnSetTripA.gridx = 2;
-        gbc_btnSetTripA.gridy = 2;
-        frame.getContentPane().add(btnSetTripA, gbc_btnSetTripA);
-
-        JButton btnCheckTripB = new JButton("Sprawdź podróż B");
-        btnCheckTripB.setMinimumSize(btnDim);
-        btnCheckTripB.addActionListener(e ->
+            cbTrip.addItem("Podróż " + Computer.getTripName(i));
+        }
+        cbTrip.setMinimumSize(btnDim);
+        GridBagConstraints gbc_cbTrip = new GridBagConstraints();
+        gbc_cbTrip.insets = new Insets(0, 0, 5, 0);
+        gbc_cbTrip.gridx = 2;
+        gbc_cbTrip.gridy = 1;
+        frame.getContentPane().add(cbTrip, gbc_cbTrip);
+
+        JButton btnCheckTrip = new JButton("Sprawdź podróż");
+        btnCheckTrip.setMinimumSize(btnDim);
+        btnCheckTrip.addActionListener(e ->
         {
             refreshList();
-            Trip tripB = computer.getTrips()[1];
-            list.setSelectedIndex(computer.getMemory().getAll().indexOf(tripB));
+            Trip trip = computer.getTrip(cbTrip.getSelectedIndex());
+            list.setSelectedIndex(computer.getMemory().indexOf(trip.getUuid()));
         });
-        GridBagConstraints gbc_btnCheckTripB = new GridBagConstraints();
-        gbc_btnCheckTripB.insets = new Insets(0, 0, 5, 0);
-        gbc_btnCheckTripB.gridx = 2;
-        gbc_btnCheckTripB.gridy = 3;
-        frame.getContentPane().add(btnCheckTripB, gbc_btnCheckTripB);
-
-        JButton btnSetTripB = new JButton("Ustaw podróż B");
-        btnSetTripB.setMinimumSize(btnDim);
-        btnSetTripB.addActionListener(e ->
+        GridBagConstraints gbc_btnCheckTrip = new GridBagConstraints();
+        gbc_btnCheckTrip.insets = new Insets(0, 0, 5, 0);
+        gbc_btnCheckTrip.gridx = 2;
+        gbc_btnCheckTrip.gridy = 2;
+        frame.getContentPane().add(btnCheckTrip, gbc_btnCheckTrip);
+
+        JButton btnSetTrip = new JButton("Ustaw podróż");
+        btnSetTrip.setMinimumSize(btnDim);
+        btnSetTrip.addActionListener(e ->
         {
             int select = list.getSelectedIndex();
             if (select != -1)
             {
-                if (computer.getTrips()[1].equals(computer.getMemory().get(select)))
-                {
-                    return;
-                }
-                else if (computer.getTrips()[0].equals(computer.getMemory().get(select)))
-                {
-                    computer.swapTrips();
-                }
-                else
-                {
-                    computer.loadTripFromMemory(1, select);
-                }
+                computer.setTrip(cbTrip.getSelectedIndex(), select);
             }
             refreshList();
         });
-        GridBagConstraints gbc_btnSetTripB = new GridBagConstraints();
-        gbc_btnSetTripB.insets = new Insets(0, 0, 5, 0);
-        gbc_btnSetTripB.gridx = 2;
-        gbc_btnSetTripB.gridy = 4;
-        frame.getContentPane().add(btnSetTripB, gbc_btnSetTripB);
+        GridBagConstraints gbc_btnSetTrip = new GridBagConstraints();
+        gbc_btnSetTrip.insets = new Insets(0, 0, 5, 0);
+        gbc_btnSetTrip.gridx = 2;
+        gbc_btnSetTrip.gridy = 3;
+        frame.getContentPane().add(btnSetTrip, gbc_btnSetTrip);
 
         JButton btnRemoveTrip = new JButton("Usuń podróż");
         btnRemoveTrip.setMinimumSize(btnDim);
@@ -203,42 +162,68 @@ public class TripManagerFrame
         GridBagConstraints gbc_btnRemoveTrip = new GridBagConstraints();
         gbc_btnRemoveTrip.insets = new Insets(0, 0, 5, 0);
         gbc_btnRemoveTrip.gridx = 2;
-        gbc_btnRemoveTrip.gridy = 5;
+        gbc_btnRemoveTrip.gridy = 4;
         frame.getContentPane().add(btnRemoveTrip, gbc_btnRemoveTrip);
 
         JButton btnSortMileage = new JButton("Sortuj (przebieg)");
         btnSortMileage.setMinimumSize(btnDim);
         btnSortMileage.addActionListener(e ->
         {
-            computer.sortTripsInMemory(null);
+            computer.sortTripsInMemory(TripOrder.MILEAGE);
             refreshList();
         });
         GridBagConstraints gbc_btnSortMileage = new GridBagConstraints();
         gbc_btnSortMileage.insets = new Insets(0, 0, 5, 0);
         gbc_btnSortMileage.gridx = 2;
-        gbc_btnSortMileage.gridy = 6;
+        gbc_btnSortMileage.gridy = 5;
         frame.getContentPane().add(btnSortMileage, gbc_btnSortMileage);
 
         JButton btnSortTime = new JButton("Sortuj (czas)");
         btnSortTime.setMinimumSize(btnDim);
         btnSortTime.addActionListener(e ->
         {
-            computer.sortTripsInMemory(new TimeTripComparator().reversed());
+            computer.sortTripsInMemory(TripOrder.ELAPSED_TIME);
             refreshList();
         });
         GridBagConstraints gbc_btnSortTime = new GridBagConstraints();
         gbc_btnSortTime.insets = new Insets(0, 0, 5, 0);
         gbc_btnSortTime.gridx = 2;
-        gbc_btnSortTime.gridy = 7;
+        gbc_btnSortTime.gridy = 6;
         frame.getContentPane().add(btnSortTime, gbc_btnSortTime);
 
+        JButton btnSortAvgSpeed = new JButton("Sortuj (śr. prędkość)");
+        btnSortAvgSpeed.setMinimumSize(btnDim);
+        btnSortAvgSpeed.addActionListener(e ->
+        {
+            computer.sortTripsInMemory(TripOrder.AVERAGE_SPEED);
+            refreshList();
+        });
+        GridBagConstraints gbc_btnSortAvgSpeed = new GridBagConstraints();
+        gbc_btnSortAvgSpeed.insets = new Insets(0, 0, 5, 0);
+        gbc_btnSortAvgSpeed.gridx = 2;
+        gbc_btnSortAvgSpeed.gridy = 7;
+        frame.getContentPane().add(btnSortAvgSpeed, gbc_btnSortAvgSpeed);
+
+        JButton btnSortMaxSpeed = new JButton("Sortuj (maks. prędkość)");
+        btnSortMaxSpeed.setMinimumSize(btnDim);
+        btnSortMaxSpeed.addActionListener(e ->
+        {
+            computer.sortTripsInMemory(TripOrder.MAX_SPEED);
+            refreshList();
+        });
+        GridBagConstraints gbc_btnSortMaxSpeed = new GridBagConstraints();
+        gbc_btnSortMaxSpeed.insets = new Insets(0, 0, 5, 0);
+        gbc_btnSortMaxSpeed.gridx = 2;
+        gbc_btnSortMaxSpeed.gridy = 8;
+        frame.getContentPane().add(btnSortMaxSpeed, gbc_btnSortMaxSpeed);
+
         JButton btnRefresh = new JButton("Odśwież");
         btnRefresh.setMinimumSize(btnDim);
         btnRefresh.addActionListener(e -> refreshList());
         GridBagConstraints gbc_btnRefresh = new GridBagConstraints();
         gbc_btnRefresh.insets = new Insets(0, 0, 5, 0);
         gbc_btnRefresh.gridx = 2;
-        gbc_btnRefresh.gridy = 8;
+        gbc_btnRefresh.gridy = 9;
         frame.getContentPane().add(btnRefresh, gbc_btnRefresh);
 
         JButton btnOk = new JButton("Ok");
@@ -246,7 +231,7 @@ public class TripManagerFrame
         btnOk.addActionListener(e -> frame.dispose());
         GridBagConstraints gbc_btnOk = new GridBagConstraints();
         gbc_btnOk.gridx = 2;
-        gbc_btnOk.gridy = 9;
+        gbc_btnOk.gridy = 10;
         frame.getContentPane().add(btnOk, gbc_btnOk);
     }
 
@@ -257,7 +242,7 @@ public class TripManagerFrame
     {
         DefaultListModel<String> model = (DefaultListModel<String>) list.getModel();
         model.clear();
-        for (Trip trip : computer.getMemory().getAll())
+        for (Trip trip : computer.getMemory())
         {
             model.addElement(trip.toStringShort());
         }
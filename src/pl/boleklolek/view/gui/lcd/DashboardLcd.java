@@ -15,15 +15,21 @@ public class DashboardLcd
      * Informacja na ekranie LCD.
      */
     private LcdInformation lcdInformation;
+    /**
+     * Jednostka zużycia paliwa lub energii (l lub kWh).
+     */
+    private String consumptionUnit;
 
     /**
      * Konstruktor klasy ekranu LCD.
      *
-     * @param speedometer komponent prędkościomierza
+     * @param speedometer     komponent prędkościomierza
+     * @param consumptionUnit jednostka zużycia paliwa lub energii
      */
-    public DashboardLcd(Radial speedometer)
+    public DashboardLcd(Radial speedometer, String consumptionUnit)
     {
         this.speedometer = speedometer;
+        this.consumptionUnit = consumptionUnit;
         this.lcdInformation = LcdInformation.SPEED;
         changeLcdInformation();
     }
@@ -38,6 +44,17 @@ public class DashboardLcd
         return lcdInformation;
     }
 
+    /**
+     * Setter jednostki zużycia paliwa lub energii.
+     *
+     * @param consumptionUnit jednostka zużycia (l lub kWh)
+     */
+    public void setConsumptionUnit(String consumptionUnit)
+    {
+        this.consumptionUnit = consumptionUnit;
+        changeLcdInformation();
+    }
+
     /**
      * Ustawia następną informację na ekranie LCD.
      */
@@ -98,6 +115,27 @@ public class DashboardLcd
                 speedometer.setLcdUnitString("km/h");
                 break;
             }
+            case INSTANT_CONSUMPTION:
+            {
+                speedometer.setLcdInfoString("zużycie chwilowe");
+                speedometer.setLcdDecimals(1);
+                speedometer.setLcdUnitString(consumptionUnit + "/100km");
+                break;
+            }
+            case CONSUMPTION:
+            {
+                speedometer.setLcdInfoString("średnie zużycie");
+                speedometer.setLcdDecimals(1);
+                speedometer.setLcdUnitString(consumptionUnit + "/100km");
+                break;
+            }
+            case RANGE:
+            {
+                speedometer.setLcdInfoString("zasięg");
+                speedometer.setLcdDecimals(0);
+                speedometer.setLcdUnitString("km");
+                break;
+            }
             case TIME:
             {
                 speedometer.setLcdInfoString("czas podróży");
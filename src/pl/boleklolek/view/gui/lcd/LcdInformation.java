@@ -32,6 +32,18 @@ public enum LcdInformation
      * Informacja LCD: Prędkość maksymalna.
      */
     MAX_SPEED,
+    /**
+     * Informacja LCD: Zużycie chwilowe.
+     */
+    INSTANT_CONSUMPTION,
+    /**
+     * Informacja LCD: Średnie zużycie podróży.
+     */
+    CONSUMPTION,
+    /**
+     * Informacja LCD: Zasięg.
+     */
+    RANGE,
     /**
      * Informacja LCD: Czas podróży.
      */